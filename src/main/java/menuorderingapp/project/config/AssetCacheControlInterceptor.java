@@ -0,0 +1,30 @@
+package menuorderingapp.project.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Fingerprinted asset URLs (name-{md5}.ext, produced by the content version strategy in WebConfig) never change
+ * content, so they are cached for a year without revalidation. Plain URLs, such as image paths stored on menus,
+ * are revalidated against Last-Modified instead of falling through to Spring Security's no-store default.
+ */
+public class AssetCacheControlInterceptor implements HandlerInterceptor {
+
+    private static final Pattern FINGERPRINTED = Pattern.compile("-[0-9a-f]{32}\\.[^/]+$");
+
+    static final String IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue();
+    static final String REVALIDATE = CacheControl.noCache().cachePublic().getHeaderValue();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        boolean fingerprinted = FINGERPRINTED.matcher(request.getRequestURI()).find();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, fingerprinted ? IMMUTABLE : REVALIDATE);
+        return true;
+    }
+}
@@ -1,6 +1,8 @@
 package menuorderingapp.project.config;
 
-import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,9 +10,15 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class FlywayConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(FlywayConfig.class);
+
     @Bean
-    public FlywayMigrationStrategy flywayRepairStrategy() {
+    public FlywayMigrationStrategy flywayRepairStrategy(@Value("${app.flyway.fast-path:false}") boolean fastPath) {
         return flyway -> {
+            if (fastPath && FlywayFastPath.isUpToDate(flyway)) {
+                log.info("Database schema matches the bundled migrations, skipping Flyway validation");
+                return;
+            }
             flyway.repair();
             flyway.migrate();
         };
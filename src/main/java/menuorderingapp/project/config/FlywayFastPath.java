@@ -0,0 +1,161 @@
+package menuorderingapp.project.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Startup shortcut for Flyway: when every bundled versioned migration is already applied with the same
+ * checksum, migrate would only validate, so it can be skipped. Costs one query on the schema history table
+ * instead of Flyway's full resolve and validate. Anything unexpected (failed or unknown rows, repeatable or
+ * non-classpath migrations, missing history table) answers false and startup takes the normal path.
+ */
+public final class FlywayFastPath {
+
+    private FlywayFastPath() {
+    }
+
+    public static boolean isUpToDate(Flyway flyway) {
+        Configuration config = flyway.getConfiguration();
+        Map<MigrationVersion, Integer> local;
+        try {
+            local = resolveChecksums(config);
+        } catch (IOException e) {
+            return false;
+        }
+        if (local == null || local.isEmpty()) {
+            return false;
+        }
+
+        String table = config.getDefaultSchema() != null
+                ? config.getDefaultSchema() + "." + config.getTable() : config.getTable();
+        List<AppliedMigration> applied;
+        try {
+            applied = new JdbcTemplate(config.getDataSource()).query(
+                    "SELECT version, checksum, type, success FROM " + table + " WHERE version IS NOT NULL",
+                    (rs, rowNum) -> new AppliedMigration(
+                            MigrationVersion.fromVersion(rs.getString("version")),
+                            rs.getObject("checksum", Integer.class),
+                            rs.getString("type"),
+                            rs.getBoolean("success")));
+        } catch (DataAccessException e) {
+            return false;
+        }
+        return matches(local, applied);
+    }
+
+    /**
+     * True when each local migration is applied with the same checksum (or covered by the baseline) and no
+     * applied migration within the local range is missing locally. Newer applied versions are ignored, like
+     * Flyway's default future-migration handling during a rolling deploy.
+     */
+    public static boolean matches(Map<MigrationVersion, Integer> local, List<AppliedMigration> applied) {
+        MigrationVersion baseline = null;
+        Map<MigrationVersion, Integer> appliedChecksums = new HashMap<>();
+        for (AppliedMigration migration : applied) {
+            if (!migration.success()) {
+                return false;
+            }
+            if ("BASELINE".equals(migration.type())) {
+                if (baseline == null || migration.version().compareTo(baseline) > 0) {
+                    baseline = migration.version();
+                }
+            } else if ("SQL".equals(migration.type())) {
+                appliedChecksums.put(migration.version(), migration.checksum());
+            } else {
+                return false;
+            }
+        }
+
+        MigrationVersion latestLocal = null;
+        for (Map.Entry<MigrationVersion, Integer> migration : local.entrySet()) {
+            MigrationVersion version = migration.getKey();
+            if (latestLocal == null || version.compareTo(latestLocal) > 0) {
+                latestLocal = version;
+            }
+            if (baseline != null && version.compareTo(baseline) <= 0) {
+                continue;
+            }
+            if (!Objects.equals(appliedChecksums.get(version), migration.getValue())) {
+                return false;
+            }
+        }
+
+        for (MigrationVersion version : appliedChecksums.keySet()) {
+            if (latestLocal != null && version.compareTo(latestLocal) <= 0 && !local.containsKey(version)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checksums of the versioned SQL migrations in the configured locations, or null if the locations
+     * contain anything this shortcut doesn't handle.
+     */
+    public static Map<MigrationVersion, Integer> resolveChecksums(Configuration config) throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(config.getClassLoader());
+        Map<MigrationVersion, Integer> checksums = new TreeMap<>();
+
+        for (Location location : config.getLocations()) {
+            if (!location.isClassPath()) {
+                return null;
+            }
+            for (String suffix : config.getSqlMigrationSuffixes()) {
+                for (Resource resource : resolver.getResources("classpath*:" + location.getPath() + "/**/*" + suffix)) {
+                    String filename = Objects.requireNonNull(resource.getFilename());
+                    if (filename.startsWith(config.getRepeatableSqlMigrationPrefix())) {
+                        return null;
+                    }
+                    if (!filename.startsWith(config.getSqlMigrationPrefix())) {
+                        continue;
+                    }
+                    int separator = filename.indexOf(config.getSqlMigrationSeparator());
+                    if (separator < 0) {
+                        return null;
+                    }
+                    String version = filename.substring(config.getSqlMigrationPrefix().length(), separator);
+                    checksums.put(MigrationVersion.fromVersion(version), checksum(resource, config.getEncoding()));
+                }
+            }
+        }
+        return checksums;
+    }
+
+    // Flyway's checksum: CRC32 over each line without its line break, byte order mark removed
+    static int checksum(Resource resource, Charset encoding) throws IOException {
+        CRC32 crc32 = new CRC32();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(),
+                encoding != null ? encoding : StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            if (line != null && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                line = line.substring(1);
+            }
+            while (line != null) {
+                crc32.update(line.getBytes(StandardCharsets.UTF_8));
+                line = reader.readLine();
+            }
+        }
+        return (int) crc32.getValue();
+    }
+
+    public record AppliedMigration(MigrationVersion version, Integer checksum, String type, boolean success) {
+    }
+}
@@ -0,0 +1,211 @@
+package menuorderingapp.project.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import menuorderingapp.project.model.dto.ApiResponse;
+import menuorderingapp.project.service.IdempotencyService;
+import menuorderingapp.project.util.SecurityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Idempotency-Key contract for order and payment submission. The first request with a key is processed
+ * normally and its 2xx response stored; retries with the same key and body get that response back
+ * (with Idempotent-Replayed: true) instead of creating another order or payment.
+ * Failed attempts aren't stored, so the client can retry them with the same key. Once the request has
+ * succeeded the claim is never released, even if storing the response fails; retries then get 409 until the
+ * in-progress claim times out rather than creating a second order or payment.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int COMPLETE_ATTEMPTS = 3;
+
+    private static final List<String> IDEMPOTENT_PATHS = List.of(
+            "/customer/api/orders",
+            "/customer/api/payments",
+            "/customer/api/orders/*/simulate-payment",
+            "/cashier/api/orders",
+            "/cashier/api/payments"
+    );
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public IdempotencyFilter(IdempotencyService idempotencyService, ObjectMapper objectMapper) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return IDEMPOTENT_PATHS.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        Long cashierId = SecurityUtils.getCurrentCashierId();
+        String key = sha256((request.getRequestURI() + "|" + (cashierId != null ? cashierId : "") + "|" + idempotencyKey)
+                .getBytes(StandardCharsets.UTF_8));
+        String requestHash = sha256(body);
+
+        IdempotencyService.Claim claim = idempotencyService.claim(key, requestHash);
+        switch (claim.outcome()) {
+            case REPLAY -> {
+                IdempotencyService.StoredResponse stored = claim.response();
+                response.setStatus(stored.status());
+                response.setContentType(stored.contentType());
+                response.setHeader(REPLAYED_HEADER, "true");
+                response.getOutputStream().write(stored.body());
+                return;
+            }
+            case IN_PROGRESS -> {
+                writeError(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still being processed");
+                return;
+            }
+            case MISMATCH -> {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, HEADER + " was already used for a different request");
+                return;
+            }
+            case ACQUIRED -> {
+                // processed below
+            }
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean succeeded = false;
+        try {
+            chain.doFilter(new CachedBodyRequest(request, body), cachingResponse);
+            int status = cachingResponse.getStatus();
+            if (status >= 200 && status < 300) {
+                succeeded = true;
+                complete(key, requestHash, new IdempotencyService.StoredResponse(
+                        status, cachingResponse.getContentType(), cachingResponse.getContentAsByteArray()));
+            }
+        } finally {
+            if (!succeeded) {
+                idempotencyService.release(key);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private void complete(String key, String requestHash, IdempotencyService.StoredResponse response) {
+        for (int attempt = 1; attempt <= COMPLETE_ATTEMPTS; attempt++) {
+            try {
+                idempotencyService.complete(key, requestHash, response);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == COMPLETE_ATTEMPTS) {
+                    // The order or payment is already committed: keep the claim so retries get 409, not a duplicate
+                    log.error("Could not store idempotent response after {} attempts; keeping the claim in progress",
+                            COMPLETE_ATTEMPTS, e);
+                } else {
+                    log.warn("Storing idempotent response failed (attempt {}), retrying", attempt, e);
+                }
+            }
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message));
+    }
+
+    private static String sha256(byte[] value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
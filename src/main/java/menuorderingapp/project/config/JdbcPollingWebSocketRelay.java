@@ -0,0 +1,24 @@
+package menuorderingapp.project.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default relay: an in-memory broker per node, with each node polling order_events under its own
+ * checkpoint and broadcasting to the clients connected to it. Needs nothing beyond the shared database.
+ */
+@Component
+@ConditionalOnProperty(name = "app.websocket.relay", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcPollingWebSocketRelay implements WebSocketRelay {
+
+    @Override
+    public void configureBroker(MessageBrokerRegistry registry, String... destinationPrefixes) {
+        registry.enableSimpleBroker(destinationPrefixes);
+    }
+
+    @Override
+    public boolean isClusterWide() {
+        return false;
+    }
+}
@@ -1,15 +1,22 @@
 package menuorderingapp.project.config;
 
+import menuorderingapp.project.security.BoundedPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class PasswordEncoderConfig {
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${spring.security.bcrypt.strength:10}") int strength,
+            @Value("${app.security.hashing.threads:0}") int threads,
+            @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.hashing.timeout-ms:5000}") long timeoutMillis) {
+        // Half the cores by default, so a login burst can't take the whole CPU from order traffic
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, timeoutMillis);
     }
 }
@@ -0,0 +1,108 @@
+package menuorderingapp.project.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import menuorderingapp.project.model.dto.ApiResponse;
+import menuorderingapp.project.service.RateLimitService;
+import menuorderingapp.project.util.SecurityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the routes in app.rate-limit.routes per client and answers 429 with Retry-After once a
+ * client's bucket is empty. Runs in the security chain after JWT authentication so CASHIER keys resolve,
+ * and before form login so refused attempts never reach BCrypt.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final RateLimitProperties properties;
+    private final RateLimitService rateLimitService;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimitService rateLimitService,
+                           ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.rateLimitService = rateLimitService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Map.Entry<String, RateLimitProperties.Route> route = findRoute(request.getMethod(), path);
+        if (route == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RateLimitProperties.Route limit = route.getValue();
+        long waitNanos = rateLimitService.tryAcquire(route.getKey(), clientKey(request, limit.getKey()),
+                limit.getCapacity(), limit.getRefillPerMinute());
+        if (waitNanos == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        log.debug("Rate limit '{}' exceeded for {} {}", route.getKey(), request.getMethod(), path);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("Too many requests, retry in " + retryAfter + " seconds"));
+    }
+
+    private Map.Entry<String, RateLimitProperties.Route> findRoute(String method, String path) {
+        for (Map.Entry<String, RateLimitProperties.Route> entry : properties.getRoutes().entrySet()) {
+            RateLimitProperties.Route route = entry.getValue();
+            if (!route.getMethods().isEmpty() && route.getMethods().stream().noneMatch(method::equalsIgnoreCase)) {
+                continue;
+            }
+            if (route.getPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path))) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    // Session and cashier keys fall back to the client IP for anonymous, sessionless requests
+    private String clientKey(HttpServletRequest request, RateLimitProperties.KeyType keyType) {
+        if (keyType == RateLimitProperties.KeyType.CASHIER) {
+            Long cashierId = SecurityUtils.getCurrentCashierId();
+            if (cashierId != null) {
+                return "cashier:" + cashierId;
+            }
+        } else if (keyType == RateLimitProperties.KeyType.SESSION) {
+            HttpSession session = request.getSession(false);
+            if (session != null) {
+                return "session:" + session.getId();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
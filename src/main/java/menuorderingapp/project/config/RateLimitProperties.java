@@ -0,0 +1,64 @@
+package menuorderingapp.project.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes throttled by RateLimitFilter, from app.rate-limit.routes.&lt;name&gt;.*. The first route (in file order)
+ * whose path and method match a request applies.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private int maxBuckets = 50000;
+    private long evictIntervalMs = 60000;
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getMaxBuckets() { return maxBuckets; }
+    public void setMaxBuckets(int maxBuckets) { this.maxBuckets = maxBuckets; }
+
+    public long getEvictIntervalMs() { return evictIntervalMs; }
+    public void setEvictIntervalMs(long evictIntervalMs) { this.evictIntervalMs = evictIntervalMs; }
+
+    public Map<String, Route> getRoutes() { return routes; }
+    public void setRoutes(Map<String, Route> routes) { this.routes = routes; }
+
+    public enum KeyType {
+        IP, SESSION, CASHIER
+    }
+
+    public static class Route {
+
+        private List<String> paths = new ArrayList<>();
+        // Empty means every method
+        private List<String> methods = new ArrayList<>();
+        private KeyType key = KeyType.IP;
+        private int capacity = 10;
+        private int refillPerMinute = 60;
+
+        public List<String> getPaths() { return paths; }
+        public void setPaths(List<String> paths) { this.paths = paths; }
+
+        public List<String> getMethods() { return methods; }
+        public void setMethods(List<String> methods) { this.methods = methods; }
+
+        public KeyType getKey() { return key; }
+        public void setKey(KeyType key) { this.key = key; }
+
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+
+        public int getRefillPerMinute() { return refillPerMinute; }
+        public void setRefillPerMinute(int refillPerMinute) { this.refillPerMinute = refillPerMinute; }
+    }
+}
@@ -0,0 +1,107 @@
+package menuorderingapp.project.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import menuorderingapp.project.util.SecurityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides whether a read-only transaction may use the replica.
+ * Reads go to primary while the replica is lagging or unreachable, and for a short window after the
+ * same session wrote something, so a cashier never reads an order back from a replica that hasn't seen it yet.
+ */
+public class ReadReplicaGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaGuard.class);
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long readYourWritesWindowMs;
+    private final long maxLagSeconds;
+    private final Map<String, Long> lastWriteBySession = new ConcurrentHashMap<>();
+    private volatile boolean replicaHealthy = true;
+
+    public ReadReplicaGuard(DataSource replicaDataSource, long readYourWritesWindowMs, long maxLagSeconds) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.readYourWritesWindowMs = readYourWritesWindowMs;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public boolean canReadFromReplica() {
+        if (!replicaHealthy) {
+            return false;
+        }
+        String session = currentSessionKey();
+        if (session == null) {
+            return true;
+        }
+        Long lastWrite = lastWriteBySession.get(session);
+        return lastWrite == null || System.currentTimeMillis() - lastWrite > readYourWritesWindowMs;
+    }
+
+    public void recordWrite() {
+        String session = currentSessionKey();
+        if (session == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        lastWriteBySession.put(session, now);
+        if (lastWriteBySession.size() > PRUNE_THRESHOLD) {
+            lastWriteBySession.values().removeIf(writtenAt -> now - writtenAt > readYourWritesWindowMs);
+        }
+    }
+
+    public boolean isReplicaHealthy() {
+        return replicaHealthy;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void checkReplicaLag() {
+        boolean healthy;
+        try {
+            List<Long> lag = replicaJdbcTemplate.query("SHOW REPLICA STATUS", (rs, rowNum) -> {
+                long seconds = rs.getLong("Seconds_Behind_Source");
+                return rs.wasNull() ? Long.MAX_VALUE : seconds;
+            });
+            // No replica status means the instance isn't replicating (e.g. a second local database); treat as current
+            healthy = lag.isEmpty() || lag.get(0) <= maxLagSeconds;
+            if (!healthy) {
+                log.warn("Replica lag {}s exceeds {}s, routing reads to primary",
+                        lag.get(0) == Long.MAX_VALUE ? "unknown" : lag.get(0), maxLagSeconds);
+            }
+        } catch (Exception e) {
+            log.warn("Replica health check failed, routing reads to primary: {}", e.getMessage());
+            healthy = false;
+        }
+        if (healthy && !replicaHealthy) {
+            log.info("Replica caught up, routing read-only transactions to replica again");
+        }
+        replicaHealthy = healthy;
+    }
+
+    private String currentSessionKey() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            return session.getId();
+        }
+        Long cashierId = SecurityUtils.getCurrentCashierId();
+        return cashierId != null ? "cashier:" + cashierId : null;
+    }
+}
@@ -0,0 +1,81 @@
+package menuorderingapp.project.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces the single auto-configured pool with a primary pool and a replica pool when
+ * app.datasource.replica.enabled=true. Read-only transactions (reports, menu reads) use the replica
+ * so they stop competing with checkout writes for the primary's connections.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username}") String username,
+                                              @Value("${app.datasource.replica.password}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadReplicaGuard readReplicaGuard(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                             @Value("${app.datasource.replica.read-your-writes-window-ms:5000}") long readYourWritesWindowMs,
+                                             @Value("${app.datasource.replica.max-lag-seconds:5}") long maxLagSeconds) {
+        return new ReadReplicaGuard(replicaDataSource, readYourWritesWindowMs, maxLagSeconds);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReadReplicaGuard readReplicaGuard) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, readReplicaGuard));
+    }
+
+    /**
+     * With open-in-view one Hibernate session, and by default one connection, spans the whole request, so the
+     * routing decision of its first transaction would stick: a read-only lookup followed by a write would run
+     * the write on the replica. Releasing the connection after every transaction makes each one route again.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandling() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,39 @@
+package menuorderingapp.project.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to primary.
+ * Must sit behind a LazyConnectionDataSourceProxy so the connection is fetched after the
+ * transaction's read-only flag has been set, and Hibernate must give the connection back after each
+ * transaction (see ReplicaDataSourceConfig) so the next one is routed on its own.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {PRIMARY, REPLICA}
+
+    private final ReadReplicaGuard guard;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadReplicaGuard guard) {
+        this.guard = guard;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Target.PRIMARY;
+        }
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return guard.canReadFromReplica() ? Target.REPLICA : Target.PRIMARY;
+        }
+        guard.recordWrite();
+        return Target.PRIMARY;
+    }
+}
@@ -27,16 +27,22 @@ public class SecurityConfig {
     private final CashierUserDetailsService cashierUserDetailsService;
     private final PasswordEncoder passwordEncoder;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     @Value("${app.cors.allowed-origins:*}")
     private String allowedOrigins;
 
+    @Value("${app.security.password-upgrade.enabled:true}")
+    private boolean passwordUpgradeEnabled;
+
     public SecurityConfig(CashierUserDetailsService cashierUserDetailsService,
                           PasswordEncoder passwordEncoder,
-                          JwtAuthenticationFilter jwtAuthenticationFilter) {
+                          JwtAuthenticationFilter jwtAuthenticationFilter,
+                          RateLimitFilter rateLimitFilter) {
         this.cashierUserDetailsService = cashierUserDetailsService;
         this.passwordEncoder = passwordEncoder;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
@@ -69,6 +75,7 @@ public class SecurityConfig {
                                 "/css/**",
                                 "/js/**",
                                 "/images/**",
+                                "/media/**",
                                 "/webjars/**",
                                 "/favicon.ico"
                         ).permitAll()
@@ -86,6 +93,7 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class)
                 .formLogin(form -> form
                         .loginPage("/auth/login")
                         .loginProcessingUrl("/auth/login")
@@ -167,9 +175,12 @@ public class SecurityConfig {
 
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(cashierUserDetailsService);
+        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(cashierUserDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder);
+        if (passwordUpgradeEnabled) {
+            // Re-hash on login when the stored hash is below the configured strength
+            authProvider.setUserDetailsPasswordService(cashierUserDetailsService);
+        }
         return authProvider;
     }
 
@@ -0,0 +1,144 @@
+package menuorderingapp.project.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes each compressible classpath:/static asset and a max-compression .gz next to it into
+ * app.assets.precompressed-dir before the server starts. WebConfig lists that directory ahead of the classpath,
+ * so EncodedResourceResolver serves the .gz as is instead of Tomcat compressing the file again on every request.
+ * Files from an earlier build that no longer match the classpath are rewritten or removed.
+ */
+@Component
+public class StaticAssetPrecompressor {
+
+    private static final Logger log = LoggerFactory.getLogger(StaticAssetPrecompressor.class);
+
+    private static final String STATIC_ROOT = "classpath:/static/";
+    private static final Set<String> COMPRESSIBLE = Set.of("css", "js", "svg", "json", "txt", "html");
+
+    private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+    private final Path targetDir;
+    private final int minSize;
+
+    public StaticAssetPrecompressor(@Value("${app.assets.precompressed-dir:data/static-assets}") String targetDir,
+                                    @Value("${app.assets.precompress-min-size:1024}") int minSize) {
+        this.targetDir = Paths.get(targetDir);
+        this.minSize = minSize;
+    }
+
+    @PostConstruct
+    public void precompressOnStartup() {
+        try {
+            List<String> written = precompress();
+            log.info("Precompressed static assets in {} ({} updated)", targetDir.toAbsolutePath(), written.size());
+        } catch (IOException e) {
+            // Assets are still served from the classpath, just compressed per request
+            log.warn("Failed to precompress static assets into {}: {}", targetDir, e.getMessage());
+        }
+    }
+
+    /**
+     * Brings the target directory in line with classpath:/static and returns the relative paths it had to write.
+     */
+    public List<String> precompress() throws IOException {
+        String rootUrl = resourceResolver.getResource(STATIC_ROOT).getURL().toString();
+        Set<Path> expected = new HashSet<>();
+        List<String> written = new ArrayList<>();
+
+        for (Resource resource : resourceResolver.getResources(STATIC_ROOT + "**/*")) {
+            String url = resource.getURL().toString();
+            if (!resource.isReadable() || !url.startsWith(rootUrl) || !isCompressible(url)) {
+                continue;
+            }
+            byte[] content;
+            try (InputStream in = resource.getInputStream()) {
+                content = in.readAllBytes();
+            }
+            if (content.length < minSize) {
+                continue;
+            }
+            byte[] gzipped = gzip(content);
+            if (gzipped.length >= content.length) {
+                continue;
+            }
+
+            String relativePath = url.substring(rootUrl.length());
+            Path file = targetDir.resolve(relativePath).normalize();
+            Path gzFile = file.resolveSibling(file.getFileName() + ".gz");
+            expected.add(file);
+            expected.add(gzFile);
+
+            if (writeIfChanged(file, content) | writeIfChanged(gzFile, gzipped)) {
+                written.add(relativePath);
+            }
+        }
+
+        removeStale(expected);
+        return written;
+    }
+
+    private boolean isCompressible(String url) {
+        int dot = url.lastIndexOf('.');
+        return dot > url.lastIndexOf('/') && COMPRESSIBLE.contains(url.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 3);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    private boolean writeIfChanged(Path file, byte[] content) throws IOException {
+        if (Files.isRegularFile(file) && Arrays.equals(Files.readAllBytes(file), content)) {
+            return false;
+        }
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        Files.write(temp, content);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return true;
+    }
+
+    private void removeStale(Set<Path> expected) throws IOException {
+        if (!Files.isDirectory(targetDir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(targetDir)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                if (!expected.contains(file.normalize())) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+}
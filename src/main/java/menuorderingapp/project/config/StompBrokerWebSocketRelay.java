@@ -0,0 +1,56 @@
+package menuorderingapp.project.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Forwards /topic to an external STOMP broker (RabbitMQ with rabbitmq_stomp, ActiveMQ, ...), which fans
+ * each message out to subscribers on every node. Requires reactor-netty: build with -Pstomp-relay.
+ */
+@Component
+@ConditionalOnProperty(name = "app.websocket.relay", havingValue = "stomp")
+public class StompBrokerWebSocketRelay implements WebSocketRelay {
+
+    @Value("${app.websocket.stomp.host:localhost}")
+    private String host;
+
+    @Value("${app.websocket.stomp.port:61613}")
+    private int port;
+
+    @Value("${app.websocket.stomp.login:guest}")
+    private String login;
+
+    @Value("${app.websocket.stomp.passcode:guest}")
+    private String passcode;
+
+    @Value("${app.websocket.stomp.virtual-host:}")
+    private String virtualHost;
+
+    @Override
+    public void configureBroker(MessageBrokerRegistry registry, String... destinationPrefixes) {
+        if (!ClassUtils.isPresent("reactor.netty.tcp.TcpClient", getClass().getClassLoader())) {
+            throw new IllegalStateException(
+                    "app.websocket.relay=stomp needs reactor-netty on the classpath, build with -Pstomp-relay");
+        }
+
+        StompBrokerRelayRegistration relay = registry.enableStompBrokerRelay(destinationPrefixes)
+                .setRelayHost(host)
+                .setRelayPort(port)
+                .setClientLogin(login)
+                .setClientPasscode(passcode)
+                .setSystemLogin(login)
+                .setSystemPasscode(passcode);
+        if (!virtualHost.isBlank()) {
+            relay.setVirtualHost(virtualHost);
+        }
+    }
+
+    @Override
+    public boolean isClusterWide() {
+        return true;
+    }
+}
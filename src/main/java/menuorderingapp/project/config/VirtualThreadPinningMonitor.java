@@ -0,0 +1,71 @@
+package menuorderingapp.project.config;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Logs virtual threads that stay pinned to their carrier (blocking inside synchronized or native code),
+ * using the JDK's own jdk.VirtualThreadPinned JFR event. Pinned threads hold a carrier for the whole
+ * blocking call, so a few of them around JDBC or pool access can starve every other request.
+ */
+@Component
+@ConditionalOnProperty(name = "app.threads.pinning-monitor.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final int STACK_DEPTH = 8;
+
+    private final Duration threshold;
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${app.threads.pinning-monitor.threshold-ms:20}") long thresholdMs) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+        log.info("Virtual thread pinning monitor started (threshold {} ms)", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public long getPinnedCount() {
+        return pinnedCount.get();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.incrementAndGet();
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        String stack = frames.stream()
+                .limit(STACK_DEPTH)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n    at "));
+        log.warn("Virtual thread pinned for {} ms\n    at {}", event.getDuration().toMillis(), stack);
+    }
+}
@@ -1,13 +1,36 @@
 package menuorderingapp.project.config;
 
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.nio.file.Paths;
+import java.time.Duration;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private static final String[] ASSET_PATHS = {"/css/**", "/js/**", "/images/**"};
+
+    private final String precompressedLocation;
+    private final String mediaLocation;
+
+    public WebConfig(@Value("${app.assets.precompressed-dir:data/static-assets}") String precompressedDir,
+                     @Value("${app.images.dir:data/media}") String mediaDir) {
+        this.precompressedLocation = directoryLocation(precompressedDir);
+        this.mediaLocation = directoryLocation(mediaDir);
+    }
+
     @Override
     public void addViewControllers(ViewControllerRegistry registry) {
         registry.addViewController("/").setViewName("redirect:/customer/menu");
@@ -20,11 +43,45 @@ public class WebConfig implements WebMvcConfigurer {
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         registry.addResourceHandler("/static/**")
                 .addResourceLocations("classpath:/static/");
-        registry.addResourceHandler("/css/**")
-                .addResourceLocations("classpath:/static/css/");
-        registry.addResourceHandler("/js/**")
-                .addResourceLocations("classpath:/static/js/");
-        registry.addResourceHandler("/images/**")
-                .addResourceLocations("classpath:/static/images/");
+        addAssetHandler(registry, "/css/**", "css/");
+        addAssetHandler(registry, "/js/**", "js/");
+        addAssetHandler(registry, "/images/**", "images/");
+        // Uploaded menu images are named by their content hash
+        registry.addResourceHandler("/media/**")
+                .addResourceLocations(mediaLocation)
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable());
+        // Webjar paths already carry the library version
+        registry.addResourceHandler("/webjars/**")
+                .addResourceLocations("classpath:/META-INF/resources/webjars/")
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AssetCacheControlInterceptor()).addPathPatterns(ASSET_PATHS);
+    }
+
+    /**
+     * Rewrites @{/js/...} links in templates to their fingerprinted URLs.
+     */
+    @Bean
+    public FilterRegistrationBean<ResourceUrlEncodingFilter> resourceUrlEncodingFilter() {
+        FilterRegistrationBean<ResourceUrlEncodingFilter> registration =
+                new FilterRegistrationBean<>(new ResourceUrlEncodingFilter());
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ERROR);
+        return registration;
+    }
+
+    private void addAssetHandler(ResourceHandlerRegistry registry, String pattern, String folder) {
+        registry.addResourceHandler(pattern)
+                .addResourceLocations(precompressedLocation + folder, "classpath:/static/" + folder)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+    private static String directoryLocation(String dir) {
+        String location = Paths.get(dir).toAbsolutePath().toUri().toString();
+        return location.endsWith("/") ? location : location + "/";
     }
 }
@@ -2,10 +2,16 @@ package menuorderingapp.project.config;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import menuorderingapp.project.util.CustomerOrderSession;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.server.support.HttpSessionHandshakeInterceptor;
+
+import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -14,23 +20,56 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Value("${app.cors.allowed-origins:*}")
     private String allowedOrigins;
 
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final WebSocketRelay webSocketRelay;
+    private final WebSocketSubscriptionInterceptor subscriptionInterceptor;
+
+    public WebSocketConfig(WebSocketRelay webSocketRelay, WebSocketSubscriptionInterceptor subscriptionInterceptor) {
+        this.webSocketRelay = webSocketRelay;
+        this.subscriptionInterceptor = subscriptionInterceptor;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        webSocketRelay.configureBroker(config, "/topic");
         config.setApplicationDestinationPrefixes("/app");
+        // Virtual-thread channels have no fixed pool to serialize work, so keep per-session order explicitly
+        config.setPreservePublishOrder(virtualThreads);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(subscriptionInterceptor);
+        if (virtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor("stomp-inbound-"));
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor("stomp-outbound-"));
+        }
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.setPreserveReceiveOrder(virtualThreads);
+
         boolean wildcard = allowedOrigins.contains("*");
         String[] origins = wildcard ? new String[]{"*"} : allowedOrigins.split(",");
+        // Only the customer's own order numbers are copied from the HTTP session, for subscription checks
+        HttpSessionHandshakeInterceptor customerOrders =
+                new HttpSessionHandshakeInterceptor(List.of(CustomerOrderSession.SESSION_KEY));
 
         if (wildcard) {
-            registry.addEndpoint("/ws").setAllowedOriginPatterns("*").withSockJS();
-            registry.addEndpoint("/ws").setAllowedOriginPatterns("*");
+            registry.addEndpoint("/ws").setAllowedOriginPatterns("*").addInterceptors(customerOrders).withSockJS();
+            registry.addEndpoint("/ws").setAllowedOriginPatterns("*").addInterceptors(customerOrders);
         } else {
-            registry.addEndpoint("/ws").setAllowedOrigins(origins).withSockJS();
-            registry.addEndpoint("/ws").setAllowedOrigins(origins);
+            registry.addEndpoint("/ws").setAllowedOrigins(origins).addInterceptors(customerOrders).withSockJS();
+            registry.addEndpoint("/ws").setAllowedOrigins(origins).addInterceptors(customerOrders);
         }
     }
 }
@@ -0,0 +1,17 @@
+package menuorderingapp.project.config;
+
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+
+/**
+ * How /topic broadcasts reach clients connected to other nodes. Selected with app.websocket.relay.
+ */
+public interface WebSocketRelay {
+
+    void configureBroker(MessageBrokerRegistry registry, String... destinationPrefixes);
+
+    /**
+     * True when one send reaches subscribers on every node, so only one node should publish each order event.
+     * Otherwise every node relays the outbox to its own subscribers.
+     */
+    boolean isClusterWide();
+}
@@ -0,0 +1,59 @@
+package menuorderingapp.project.config;
+
+import menuorderingapp.project.security.CashierUserDetails;
+import menuorderingapp.project.util.CustomerOrderSession;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Decides who may subscribe to what. Cashiers (logged in through the session or a JWT on the handshake) may
+ * subscribe to anything. Everyone else gets the public topics and /topic/orders/{orderNumber} for orders their
+ * own browser session created. Broker destinations are patterns, so anything that isn't a plain order number
+ * is refused rather than matched.
+ */
+@Component
+public class WebSocketSubscriptionInterceptor implements ChannelInterceptor {
+
+    public static final String ORDER_TOPIC_PREFIX = "/topic/orders/";
+
+    private static final Set<String> PUBLIC_TOPICS = Set.of("/topic/menu", "/topic/pong");
+
+    private static final Pattern ORDER_NUMBER = Pattern.compile("[A-Za-z0-9-]{1,50}");
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            return message;
+        }
+        String destination = accessor.getDestination();
+        if (isCashier(accessor.getUser()) || (destination != null && PUBLIC_TOPICS.contains(destination))) {
+            return message;
+        }
+        if (destination != null && destination.startsWith(ORDER_TOPIC_PREFIX)) {
+            String orderNumber = destination.substring(ORDER_TOPIC_PREFIX.length());
+            if (ORDER_NUMBER.matcher(orderNumber).matches()
+                    && CustomerOrderSession.owns(accessor.getSessionAttributes(), orderNumber)) {
+                return message;
+            }
+        }
+        throw new AccessDeniedException("Not allowed to subscribe to " + destination);
+    }
+
+    private boolean isCashier(Principal user) {
+        return user instanceof Authentication authentication
+                && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof CashierUserDetails;
+    }
+}
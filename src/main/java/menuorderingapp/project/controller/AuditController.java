@@ -0,0 +1,142 @@
+package menuorderingapp.project.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import menuorderingapp.project.model.MenuAuditLog;
+import menuorderingapp.project.model.dto.ApiResponse;
+import menuorderingapp.project.model.dto.AuditLogPageResponse;
+import menuorderingapp.project.model.dto.MenuAuditLogResponse;
+import menuorderingapp.project.service.MenuAuditService;
+import menuorderingapp.project.util.BusinessDayClock;
+import menuorderingapp.project.util.Constants;
+import menuorderingapp.project.util.SecurityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@Lazy
+@RequestMapping("/cashier/api/audit")
+public class AuditController extends BaseController {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditController.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final MenuAuditService menuAuditService;
+    private final ObjectMapper objectMapper;
+    private final BusinessDayClock businessDayClock;
+
+    public AuditController(MenuAuditService menuAuditService, ObjectMapper objectMapper,
+                           BusinessDayClock businessDayClock) {
+        this.menuAuditService = menuAuditService;
+        this.objectMapper = objectMapper;
+        this.businessDayClock = businessDayClock;
+    }
+
+    @GetMapping("/logs")
+    public ResponseEntity<ApiResponse<AuditLogPageResponse>> getAuditLogs(
+            @RequestParam(required = false) Long menuId,
+            @RequestParam(required = false) Long cashierId,
+            @RequestParam(required = false) MenuAuditLog.AuditAction action,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + Constants.DEFAULT_PAGE_SIZE) int limit) {
+
+        if (SecurityUtils.getCurrentCashier() == null) {
+            return unauthorized("Not authenticated");
+        }
+
+        LocalDateTime cursorCreatedAt = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                cursorCreatedAt = LocalDateTime.parse(parts[0]);
+                cursorId = Long.parseLong(parts[1]);
+            } catch (Exception e) {
+                return error("Invalid cursor");
+            }
+        }
+
+        try {
+            int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+            // Fetch one extra row to know whether another page exists without a COUNT query
+            List<MenuAuditLog> logs = menuAuditService.getAuditLogPage(menuId, cashierId, action,
+                    startDate != null ? businessDayClock.dayRange(startDate).start() : null,
+                    endDate != null ? businessDayClock.dayRange(endDate).end() : null,
+                    cursorCreatedAt, cursorId, pageSize + 1);
+
+            boolean hasMore = logs.size() > pageSize;
+            List<MenuAuditLog> page = hasMore ? logs.subList(0, pageSize) : logs;
+
+            String nextCursor = null;
+            if (hasMore) {
+                MenuAuditLog last = page.get(page.size() - 1);
+                nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                        (last.getCreatedAt() + "|" + last.getId()).getBytes(StandardCharsets.UTF_8));
+            }
+
+            List<MenuAuditLogResponse> items = page.stream()
+                    .map(this::convertToAuditLogResponse)
+                    .collect(Collectors.toList());
+
+            return success(new AuditLogPageResponse(items, nextCursor, hasMore));
+        } catch (Exception e) {
+            log.error("Failed to fetch audit logs: {}", e.getMessage(), e);
+            return error("Failed to fetch audit logs");
+        }
+    }
+
+    @GetMapping(value = "/menus/{menuId}/timeline", produces = "application/x-ndjson")
+    public void streamMenuTimeline(@PathVariable Long menuId, HttpServletResponse response) throws IOException {
+        if (SecurityUtils.getCurrentCashier() == null) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        response.setContentType("application/x-ndjson;charset=UTF-8");
+        OutputStream out = response.getOutputStream();
+        menuAuditService.streamMenuTimeline(menuId, entry -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(entry));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.flush();
+    }
+
+    private MenuAuditLogResponse convertToAuditLogResponse(MenuAuditLog auditLog) {
+        MenuAuditLogResponse response = new MenuAuditLogResponse();
+        response.setId(auditLog.getId());
+        response.setMenuId(auditLog.getMenu() != null ? auditLog.getMenu().getId() : null);
+        response.setMenuName(auditLog.getMenuName());
+        response.setAction(auditLog.getAction());
+        response.setOldValues(auditLog.getOldValues());
+        response.setNewValues(auditLog.getNewValues());
+        response.setCreatedAt(auditLog.getCreatedAt());
+
+        if (auditLog.getCashier() != null) {
+            response.setCashierId(auditLog.getCashier().getId());
+            response.setCashierUsername(auditLog.getCashier().getUsername());
+        }
+
+        return response;
+    }
+}
@@ -1,10 +1,12 @@
 package menuorderingapp.project.controller;
 
+import menuorderingapp.project.exception.PasswordHashingBusyException;
 import menuorderingapp.project.model.Cashier;
 import menuorderingapp.project.model.dto.*;
 import menuorderingapp.project.service.AuthService;
 import menuorderingapp.project.service.CashierService;
 import menuorderingapp.project.util.JwtUtil;
+import menuorderingapp.project.util.SecurityUtils;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import jakarta.servlet.http.HttpSession;
@@ -59,7 +61,7 @@ public class AuthController extends BaseController {
     public ResponseEntity<ApiResponse<LoginResponse>> apiLogin(@Valid @RequestBody LoginRequest loginRequest) {
         try {
             String token = authService.login(loginRequest.getUsername(), loginRequest.getPassword());
-            Cashier cashier = authService.getCashierFromSession(token);
+            Cashier cashier = SecurityUtils.getCurrentCashier().getCashier();
 
             LoginResponse loginResponse = new LoginResponse();
             loginResponse.setSessionToken(token);
@@ -68,6 +70,8 @@ public class AuthController extends BaseController {
 
             return success(loginResponse);
 
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (Exception e) {
             return unauthorized("Invalid credentials");
         }
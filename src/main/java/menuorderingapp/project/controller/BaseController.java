@@ -5,6 +5,7 @@ import menuorderingapp.project.model.Menu;
 import menuorderingapp.project.model.Order;
 import menuorderingapp.project.model.OrderItem;
 import menuorderingapp.project.model.dto.*;
+import menuorderingapp.project.service.MenuImageService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -51,6 +52,7 @@ public class BaseController {
         response.setAvailable(menu.getAvailable());
         response.setIsPromo(menu.getIsPromo());
         response.setPromoPrice(menu.getPromoPrice());
+        response.setPrepTimeMinutes(menu.getPrepTimeMinutes());
         response.setCurrentPrice(menu.getCurrentPrice());
 
         if (menu.getCategory() != null) {
@@ -63,6 +65,12 @@ public class BaseController {
         return response;
     }
 
+    protected MenuResponse convertToMenuResponse(Menu menu, MenuImageService menuImageService) {
+        MenuResponse response = convertToMenuResponse(menu);
+        response.setImageSrcset(menuImageService.getSrcset(menu.getImageUrl()));
+        return response;
+    }
+
     protected OrderResponse convertToOrderResponse(Order order) {
         OrderResponse response = new OrderResponse();
         response.setId(order.getId());
@@ -75,6 +83,7 @@ public class BaseController {
         response.setCustomerName(order.getCustomerName());
         response.setCreatedAt(order.getCreatedAt());
         response.setUpdatedAt(order.getUpdatedAt());
+        response.setVersion(order.getVersion());
 
         List<OrderItemResponse> itemResponses = order.getOrderItems().stream()
                 .map(this::convertToOrderItemResponse)
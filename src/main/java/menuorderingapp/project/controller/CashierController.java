@@ -1,11 +1,15 @@
 package menuorderingapp.project.controller;
 
+import menuorderingapp.project.exception.OrderConflictException;
+import menuorderingapp.project.exception.OrderNotFoundException;
 import menuorderingapp.project.model.*;
 import menuorderingapp.project.model.dto.*;
 import menuorderingapp.project.service.*;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
+import menuorderingapp.project.util.BusinessDayClock;
 import menuorderingapp.project.util.Constants;
+import menuorderingapp.project.util.DateRange;
 import menuorderingapp.project.util.SecurityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,11 +17,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,27 +44,31 @@ public class CashierController extends BaseController {
     private final ReportService reportService;
     private final InvoiceService invoiceService;
     private final AuthService authService;
-    private final OrderWebSocketController webSocketController;
     private final MenuAuditService menuAuditService;
     private final ObjectMapper objectMapper;
     private final CashierService cashierService;
+    private final BusinessDayClock businessDayClock;
+    private final KitchenQueueService kitchenQueueService;
+    private final MenuImageService menuImageService;
 
     public CashierController(OrderService orderService, MenuService menuService,
                              PaymentService paymentService, ReportService reportService,
                              InvoiceService invoiceService, AuthService authService,
-                             OrderWebSocketController webSocketController,
                              MenuAuditService menuAuditService, ObjectMapper objectMapper,
-                             CashierService cashierService) {
+                             CashierService cashierService, BusinessDayClock businessDayClock,
+                             KitchenQueueService kitchenQueueService, MenuImageService menuImageService) {
         this.orderService = orderService;
         this.menuService = menuService;
         this.paymentService = paymentService;
         this.reportService = reportService;
         this.invoiceService = invoiceService;
         this.authService = authService;
-        this.webSocketController = webSocketController;
         this.menuAuditService = menuAuditService;
         this.objectMapper = objectMapper;
         this.cashierService = cashierService;
+        this.businessDayClock = businessDayClock;
+        this.kitchenQueueService = kitchenQueueService;
+        this.menuImageService = menuImageService;
     }
 
     @GetMapping("/dashboard")
@@ -129,6 +139,30 @@ public class CashierController extends BaseController {
         return "cashier/orders";
     }
 
+    // Kitchen Display Page
+    @GetMapping("/kitchen")
+    public String showKitchenPage(Model model, HttpSession session) {
+        if (!isAuthenticatedCashier()) {
+            return "redirect:/auth/login";
+        }
+
+        model.addAttribute("cashier", session.getAttribute("cashier"));
+        model.addAttribute("currentPath", "/cashier/kitchen");
+
+        return "cashier/kitchen";
+    }
+
+    // Kitchen Queue API, served from memory
+    @GetMapping("/api/kitchen/queue")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<List<KitchenTicket>>> getKitchenQueue() {
+        if (!isAuthenticatedCashier()) {
+            return unauthorized("Not authenticated");
+        }
+
+        return success(kitchenQueueService.getQueue());
+    }
+
     // Get All Orders API
     @GetMapping("/api/orders/all")
     @ResponseBody
@@ -187,10 +221,7 @@ public class CashierController extends BaseController {
         }
 
         try {
-            LocalDateTime startOfDay = date.atStartOfDay();
-            LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-
-            List<Order> orders = orderService.getOrdersByDateRange(startOfDay, endOfDay);
+            List<Order> orders = orderService.getOrdersByDateRange(businessDayClock.dayRange(date));
 
             List<OrderResponse> orderResponses = orders.stream()
                     .map(this::convertToOrderResponse)
@@ -243,13 +274,7 @@ public class CashierController extends BaseController {
             }
 
             Order savedOrder = orderService.createOrder(order);
-            OrderResponse orderResponse = convertToOrderResponse(savedOrder);
-
-            // Broadcast order creation via WebSocket
-            webSocketController.broadcastOrderUpdate(orderResponse);
-            webSocketController.broadcastDashboardUpdate();
-
-            return created(orderResponse);
+            return created(convertToOrderResponse(savedOrder));
 
         } catch (Exception e) {
             log.error("Failed to create order: {}", e.getMessage(), e);
@@ -282,19 +307,38 @@ public class CashierController extends BaseController {
             }
 
             Order updatedOrder = orderService.updateOrderStatus(orderId, orderStatus);
-            OrderResponse orderResponse = convertToOrderResponse(updatedOrder);
-
-            webSocketController.broadcastOrderUpdate(orderResponse);
-            webSocketController.broadcastDashboardUpdate();
-
-            return success("Order status updated", orderResponse);
+            return success("Order status updated", convertToOrderResponse(updatedOrder));
 
+        } catch (OrderConflictException | OrderNotFoundException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to update order status for order {}: {}", orderId, e.getMessage(), e);
             return error("Failed to update order status");
         }
     }
 
+    // Update the status of several orders at once, e.g. the kitchen marking a round of tickets ready
+    @PutMapping("/api/orders/status")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<List<StatusTransitionResult>>> updateOrderStatuses(
+            @Valid @RequestBody StatusTransitionRequest request) {
+
+        if (!isAuthenticatedCashier()) {
+            return unauthorized("Not authenticated");
+        }
+
+        try {
+            List<StatusTransitionResult> results =
+                    orderService.updateOrderStatuses(request.getOrderIds(), request.getStatus());
+            long applied = results.stream().filter(StatusTransitionResult::isApplied).count();
+            return success(applied + " of " + results.size() + " orders updated", results);
+
+        } catch (Exception e) {
+            log.error("Failed to update order statuses for {}: {}", request.getOrderIds(), e.getMessage(), e);
+            return error("Failed to update order statuses");
+        }
+    }
+
     // Process Payment (Cashier)
     @PostMapping("/api/payments")
     @ResponseBody
@@ -339,18 +383,6 @@ public class CashierController extends BaseController {
             }
 
             if (paymentSuccess) {
-                // Generate invoice
-                var currentCashier = SecurityUtils.getCurrentCashier();
-                Optional<Order> orderOpt = orderService.getOrderByNumber(paymentRequest.getOrderNumber());
-                if (orderOpt.isPresent() && currentCashier != null) {
-                    invoiceService.generateInvoice(orderOpt.get(), currentCashier.getCashierId());
-
-                    // Broadcast payment update via WebSocket
-                    OrderResponse orderResponse = convertToOrderResponse(orderOpt.get());
-                    webSocketController.broadcastOrderUpdate(orderResponse);
-                    webSocketController.broadcastDashboardUpdate();
-                }
-
                 return success(paymentResponse);
             } else {
                 return error("Payment processing failed");
@@ -384,15 +416,15 @@ public class CashierController extends BaseController {
         }
 
         try {
-            LocalDate start = startDate != null ? LocalDate.parse(startDate) : LocalDate.now();
-            LocalDate end = endDate != null ? LocalDate.parse(endDate) : LocalDate.now();
+            LocalDate start = startDate != null ? LocalDate.parse(startDate) : businessDayClock.today();
+            LocalDate end = endDate != null ? LocalDate.parse(endDate) : businessDayClock.today();
+            DateRange range = businessDayClock.dayRange(start, end);
 
-            java.util.Map<String, Object> reportData = reportService.getSalesReport(
-                    start.atStartOfDay(), end.atTime(LocalTime.MAX));
+            java.util.Map<String, Object> reportData = reportService.getSalesReport(range);
 
             SalesReportResponse response = new SalesReportResponse();
-            response.setStartDate(start.atStartOfDay());
-            response.setEndDate(end.atTime(LocalTime.MAX));
+            response.setStartDate(range.start());
+            response.setEndDate(range.end());
             response.setTotalRevenue((Double) reportData.get("totalRevenue"));
             response.setTotalOrders((Long) reportData.get("totalOrders"));
             response.setAverageOrderValue((Double) reportData.get("averageOrderValue"));
@@ -541,7 +573,7 @@ public class CashierController extends BaseController {
             // Log availability change
             menuAuditService.logAvailabilityChange(updatedMenu, currentCashier, oldAvailability, updatedMenu.getAvailable());
 
-            MenuResponse response = convertToMenuResponse(updatedMenu);
+            MenuResponse response = convertToMenuResponse(updatedMenu, menuImageService);
             return success("Menu availability updated", response);
 
         } catch (Exception e) {
@@ -550,6 +582,24 @@ public class CashierController extends BaseController {
         }
     }
 
+    // Upload Menu Image - returns the URL to put in imageUrl; resized variants follow in the background
+    @PostMapping("/api/menus/images")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<MenuImageService.StoredImage>> uploadMenuImage(
+            @RequestParam("file") MultipartFile file) throws IOException {
+
+        if (!isAuthenticatedCashier()) {
+            return unauthorized("Not authenticated");
+        }
+        if (file.isEmpty()) {
+            return error("Image file is required");
+        }
+
+        try (InputStream content = file.getInputStream()) {
+            return created(menuImageService.store(content));
+        }
+    }
+
     // Create New Menu
     @PostMapping("/api/menus")
     @ResponseBody
@@ -584,13 +634,16 @@ public class CashierController extends BaseController {
             newMenu.setImageUrl(menuRequest.getImageUrl());
             newMenu.setIsPromo(menuRequest.getIsPromo());
             newMenu.setPromoPrice(menuRequest.getIsPromo() ? menuRequest.getPromoPrice() : null);
+            if (menuRequest.getPrepTimeMinutes() != null) {
+                newMenu.setPrepTimeMinutes(menuRequest.getPrepTimeMinutes());
+            }
 
             Menu savedMenu = menuService.saveMenu(newMenu);
 
             // Log the creation in audit log
             menuAuditService.logMenuCreate(savedMenu, currentCashier);
 
-            MenuResponse response = convertToMenuResponse(savedMenu);
+            MenuResponse response = convertToMenuResponse(savedMenu, menuImageService);
             return created(response);
 
         } catch (Exception e) {
@@ -638,6 +691,8 @@ public class CashierController extends BaseController {
             menuDetails.setAvailable(menuRequest.getAvailable());
             menuDetails.setIsPromo(menuRequest.getIsPromo());
             menuDetails.setPromoPrice(menuRequest.getPromoPrice());
+            menuDetails.setPrepTimeMinutes(menuRequest.getPrepTimeMinutes() != null
+                    ? menuRequest.getPrepTimeMinutes() : existingMenu.getPrepTimeMinutes());
 
             // Set category if provided
             if (menuRequest.getCategoryId() != null) {
@@ -659,7 +714,7 @@ public class CashierController extends BaseController {
                 menuAuditService.logPriceChange(updatedMenu, currentCashier, oldPrice.doubleValue(), updatedMenu.getPrice().doubleValue());
             }
 
-            MenuResponse response = convertToMenuResponse(updatedMenu);
+            MenuResponse response = convertToMenuResponse(updatedMenu, menuImageService);
             return success("Menu updated successfully", response);
 
         } catch (Exception e) {
@@ -1,11 +1,16 @@
 package menuorderingapp.project.controller;
 
+import menuorderingapp.project.exception.OrderConflictException;
 import menuorderingapp.project.model.*;
 import menuorderingapp.project.model.dto.*;
-import menuorderingapp.project.service.InvoiceService;
+import menuorderingapp.project.service.MenuAvailabilityService;
+import menuorderingapp.project.service.MenuImageService;
+import menuorderingapp.project.service.MenuPageCacheService;
 import menuorderingapp.project.service.MenuService;
 import menuorderingapp.project.service.OrderService;
 import menuorderingapp.project.service.PaymentService;
+import menuorderingapp.project.util.CustomerOrderSession;
+import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,18 +31,24 @@ public class CustomerController extends BaseController {
     private static final Logger log = LoggerFactory.getLogger(CustomerController.class);
 
     private final MenuService menuService;
+    private final MenuAvailabilityService menuAvailabilityService;
+    private final MenuPageCacheService menuPageCacheService;
+    private final MenuImageService menuImageService;
     private final OrderService orderService;
     private final PaymentService paymentService;
-    private final InvoiceService invoiceService;
 
     @Value("${app.simulate-payment.enabled:true}")
     private boolean simulatePaymentEnabled;
 
-    public CustomerController(MenuService menuService, OrderService orderService, PaymentService paymentService, InvoiceService invoiceService) {
+    public CustomerController(MenuService menuService, MenuAvailabilityService menuAvailabilityService,
+                              MenuPageCacheService menuPageCacheService, MenuImageService menuImageService,
+                              OrderService orderService, PaymentService paymentService) {
         this.menuService = menuService;
+        this.menuAvailabilityService = menuAvailabilityService;
+        this.menuPageCacheService = menuPageCacheService;
+        this.menuImageService = menuImageService;
         this.orderService = orderService;
         this.paymentService = paymentService;
-        this.invoiceService = invoiceService;
     }
 
     @GetMapping("/menu")
@@ -45,28 +56,13 @@ public class CustomerController extends BaseController {
                                @RequestParam(required = false) String category,
                                @RequestParam(required = false) String search) {
 
-        List<Category> categories = menuService.getAllCategories();
-        List<Menu> menus;
-
         if (search != null && !search.trim().isEmpty()) {
-            menus = menuService.searchMenus(search);
             model.addAttribute("searchTerm", search);
         } else if (category != null && !category.equals("SEMUA")) {
-            Optional<Category> selectedCategory = categories.stream()
-                    .filter(c -> c.getName().equals(category))
-                    .findFirst();
-            if (selectedCategory.isPresent()) {
-                menus = menuService.getMenusByCategory(selectedCategory.get().getId());
-            } else {
-                menus = menuService.getAvailableMenus();
-            }
             model.addAttribute("selectedCategory", category);
-        } else {
-            menus = menuService.getAvailableMenus();
         }
 
-        model.addAttribute("categories", categories);
-        model.addAttribute("menus", menus);
+        model.addAttribute("menuPage", menuPageCacheService.getMenuPage(category, search));
         model.addAttribute("cartSummary", new CartSummary());
 
         return "customer/menu";
@@ -96,15 +92,22 @@ public class CustomerController extends BaseController {
         }
 
         List<MenuResponse> menuResponses = menus.stream()
-                .map(this::convertToMenuResponse)
+                .map(menu -> convertToMenuResponse(menu, menuImageService))
                 .collect(Collectors.toList());
 
         return success(menuResponses);
     }
 
+    @GetMapping("/api/menus/availability")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<MenuUpdate>> getMenuAvailability() {
+        return success(menuAvailabilityService.getSnapshot());
+    }
+
     @PostMapping("/api/orders")
     @ResponseBody
-    public ResponseEntity<ApiResponse<OrderResponse>> createOrder(@Valid @RequestBody OrderRequest orderRequest) {
+    public ResponseEntity<ApiResponse<OrderResponse>> createOrder(@Valid @RequestBody OrderRequest orderRequest,
+                                                                  HttpSession session) {
         try {
             Order order = new Order();
             order.setOrderType(Order.OrderType.CUSTOMER_SELF);
@@ -122,6 +125,7 @@ public class CustomerController extends BaseController {
             }
 
             Order savedOrder = orderService.createOrder(order);
+            CustomerOrderSession.remember(session, savedOrder.getOrderNumber());
             return created(convertToOrderResponse(savedOrder));
 
         } catch (Exception e) {
@@ -139,6 +143,8 @@ public class CustomerController extends BaseController {
         try {
             Order updatedOrder = orderService.addItemToOrder(orderId, itemRequest.getMenuId(), itemRequest.getQuantity());
             return success("Item added to order", convertToOrderResponse(updatedOrder));
+        } catch (OrderConflictException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to add item to order {}: {}", orderId, e.getMessage(), e);
             return error("Failed to add item");
@@ -149,11 +155,14 @@ public class CustomerController extends BaseController {
     @ResponseBody
     public ResponseEntity<ApiResponse<OrderResponse>> removeItemFromOrder(
             @PathVariable Long orderId,
-            @PathVariable Long itemId) {
+            @PathVariable Long itemId,
+            @RequestParam(required = false) Long version) {
 
         try {
-            Order updatedOrder = orderService.removeItemFromOrder(orderId, itemId);
+            Order updatedOrder = orderService.removeItemFromOrder(orderId, itemId, version);
             return success("Item removed from order", convertToOrderResponse(updatedOrder));
+        } catch (OrderConflictException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to remove item {} from order {}: {}", itemId, orderId, e.getMessage(), e);
             return error("Failed to remove item");
@@ -165,11 +174,14 @@ public class CustomerController extends BaseController {
     public ResponseEntity<ApiResponse<OrderResponse>> updateItemQuantity(
             @PathVariable Long orderId,
             @PathVariable Long itemId,
-            @RequestParam Integer quantity) {
+            @RequestParam Integer quantity,
+            @RequestParam(required = false) Long version) {
 
         try {
-            Order updatedOrder = orderService.updateItemQuantity(orderId, itemId, quantity);
+            Order updatedOrder = orderService.updateItemQuantity(orderId, itemId, quantity, version);
             return success("Quantity updated", convertToOrderResponse(updatedOrder));
+        } catch (OrderConflictException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to update quantity for item {} in order {}: {}", itemId, orderId, e.getMessage(), e);
             return error("Failed to update quantity");
@@ -240,14 +252,9 @@ public class CustomerController extends BaseController {
                 return error("Cannot pay a cancelled order");
             }
 
-            order.setPaymentStatus(Order.PaymentStatus.PAID);
-            order.setPaymentMethod(Order.PaymentMethod.QR_CODE);
-            order.setStatus(Order.OrderStatus.CONFIRMED);
-
-            Order updatedOrder = orderService.saveOrder(order);
-
-            Long cashierId = updatedOrder.getCashier() != null ? updatedOrder.getCashier().getId() : null;
-            invoiceService.generateInvoice(updatedOrder, cashierId);
+            if (!paymentService.simulateQRPayment(orderNumber)) {
+                return error("Payment simulation failed");
+            }
 
             PaymentResponse paymentResponse = new PaymentResponse();
             paymentResponse.setSuccess(true);
@@ -285,10 +292,6 @@ public class CustomerController extends BaseController {
             paymentResponse.setMessage(paymentSuccess ? "Payment successful" : "Payment failed");
 
             if (paymentSuccess) {
-                Optional<Order> orderOpt = orderService.getOrderByNumber(paymentRequest.getOrderNumber());
-                if (orderOpt.isPresent()) {
-                    invoiceService.generateInvoice(orderOpt.get(), null);
-                }
                 return success(paymentResponse);
             } else {
                 return error("Payment processing failed");
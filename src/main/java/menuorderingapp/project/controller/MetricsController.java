@@ -0,0 +1,96 @@
+package menuorderingapp.project.controller;
+
+import menuorderingapp.project.model.dto.ApiResponse;
+import menuorderingapp.project.security.BoundedPasswordEncoder;
+import menuorderingapp.project.service.MenuImageService;
+import menuorderingapp.project.service.MenuPageCacheService;
+import menuorderingapp.project.service.PendingOrderExpiryService;
+import menuorderingapp.project.service.RateLimitService;
+import menuorderingapp.project.service.SessionCleanupService;
+import menuorderingapp.project.util.SecurityUtils;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Lazy
+@RequestMapping("/cashier/api/metrics")
+public class MetricsController extends BaseController {
+
+    private final RateLimitService rateLimitService;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final SessionCleanupService sessionCleanupService;
+    private final MenuPageCacheService menuPageCacheService;
+    private final MenuImageService menuImageService;
+    private final PendingOrderExpiryService pendingOrderExpiryService;
+
+    public MetricsController(RateLimitService rateLimitService,
+                             BoundedPasswordEncoder passwordEncoder,
+                             SessionCleanupService sessionCleanupService,
+                             MenuPageCacheService menuPageCacheService,
+                             MenuImageService menuImageService,
+                             PendingOrderExpiryService pendingOrderExpiryService) {
+        this.rateLimitService = rateLimitService;
+        this.passwordEncoder = passwordEncoder;
+        this.sessionCleanupService = sessionCleanupService;
+        this.menuPageCacheService = menuPageCacheService;
+        this.menuImageService = menuImageService;
+        this.pendingOrderExpiryService = pendingOrderExpiryService;
+    }
+
+    @GetMapping("/rate-limits")
+    public ResponseEntity<ApiResponse<RateLimitService.RateLimitStats>> getRateLimitStats() {
+        if (SecurityUtils.getCurrentCashier() == null) {
+            return unauthorized("Not authenticated");
+        }
+
+        return success(rateLimitService.getStats());
+    }
+
+    @GetMapping("/password-hashing")
+    public ResponseEntity<ApiResponse<BoundedPasswordEncoder.HashingStats>> getPasswordHashingStats() {
+        if (SecurityUtils.getCurrentCashier() == null) {
+            return unauthorized("Not authenticated");
+        }
+
+        return success(passwordEncoder.getStats());
+    }
+
+    @GetMapping("/sessions")
+    public ResponseEntity<ApiResponse<SessionCleanupService.SessionCleanupStats>> getSessionCleanupStats() {
+        if (SecurityUtils.getCurrentCashier() == null) {
+            return unauthorized("Not authenticated");
+        }
+
+        return success(sessionCleanupService.getStats());
+    }
+
+    @GetMapping("/menu-page-cache")
+    public ResponseEntity<ApiResponse<MenuPageCacheService.MenuPageCacheStats>> getMenuPageCacheStats() {
+        if (SecurityUtils.getCurrentCashier() == null) {
+            return unauthorized("Not authenticated");
+        }
+
+        return success(menuPageCacheService.getStats());
+    }
+
+    @GetMapping("/images")
+    public ResponseEntity<ApiResponse<MenuImageService.ImageStats>> getImageStats() {
+        if (SecurityUtils.getCurrentCashier() == null) {
+            return unauthorized("Not authenticated");
+        }
+
+        return success(menuImageService.getStats());
+    }
+
+    @GetMapping("/pending-orders")
+    public ResponseEntity<ApiResponse<PendingOrderExpiryService.PendingOrderExpiryStats>> getPendingOrderExpiryStats() {
+        if (SecurityUtils.getCurrentCashier() == null) {
+            return unauthorized("Not authenticated");
+        }
+
+        return success(pendingOrderExpiryService.getStats());
+    }
+}
@@ -1,26 +1,69 @@
 package menuorderingapp.project.controller;
 
+import menuorderingapp.project.config.WebSocketRelay;
 import menuorderingapp.project.model.dto.OrderResponse;
+import menuorderingapp.project.service.BroadcastService;
+import menuorderingapp.project.service.OrderEventConsumer;
+import menuorderingapp.project.service.OrderEventService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Broadcasts order changes from the outbox relay. Runs after the invoice and rollup consumers
+ * so a dashboard refresh already sees the new totals. With a node-local broker every node relays
+ * under its own checkpoint; with a cluster-wide broker one shared checkpoint publishes each event once.
+ * Each order also goes to its own /topic/orders/{orderNumber}, which is what customer pages subscribe to;
+ * WebSocketSubscriptionInterceptor keeps the shared topics to cashiers.
+ */
 @Controller
-public class OrderWebSocketController {
+@Order(3)
+public class OrderWebSocketController extends BaseController implements OrderEventConsumer {
+
+    public static final String ORDERS_TOPIC = "/topic/orders";
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final BroadcastService broadcastService;
+    private final String consumerName;
 
-    public OrderWebSocketController(SimpMessagingTemplate messagingTemplate) {
-        this.messagingTemplate = messagingTemplate;
+    public OrderWebSocketController(BroadcastService broadcastService, WebSocketRelay webSocketRelay,
+                                    @Value("${app.node-id:local}") String nodeId) {
+        this.broadcastService = broadcastService;
+        this.consumerName = webSocketRelay.isClusterWide() ? "websocket" : "websocket@" + nodeId;
     }
 
     public void broadcastOrderUpdate(OrderResponse order) {
-        messagingTemplate.convertAndSend("/topic/orders", order);
+        broadcastService.send(ORDERS_TOPIC, order);
+        if (order.getOrderNumber() != null) {
+            broadcastService.sendUnsequenced(ORDERS_TOPIC + "/" + order.getOrderNumber(), order);
+        }
     }
 
     public void broadcastDashboardUpdate() {
-        messagingTemplate.convertAndSend("/topic/dashboard", "refresh");
+        broadcastService.send("/topic/dashboard", "refresh");
+    }
+
+    @Override
+    public String getConsumerName() {
+        return consumerName;
+    }
+
+    @Override
+    public void consume(List<OrderEventService.OrderEvent> events) {
+        // Several events for one order in a batch collapse into a single update with its current state
+        Map<Long, OrderResponse> updates = new LinkedHashMap<>();
+        for (OrderEventService.OrderEvent event : events) {
+            if (event.order() != null) {
+                updates.put(event.order().getId(), convertToOrderResponse(event.order()));
+            }
+        }
+        updates.values().forEach(this::broadcastOrderUpdate);
+        broadcastDashboardUpdate();
     }
 
     @MessageMapping("/ping")
@@ -3,7 +3,10 @@ package menuorderingapp.project.controller;
 import menuorderingapp.project.model.dto.ApiResponse;
 import menuorderingapp.project.model.dto.ReportRequest;
 import menuorderingapp.project.service.ReportService;
+import menuorderingapp.project.util.BusinessDayClock;
+import menuorderingapp.project.util.DateRange;
 import menuorderingapp.project.util.SecurityUtils;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
@@ -18,13 +21,16 @@ import java.util.List;
 import java.util.Map;
 
 @RestController
+@Lazy
 @RequestMapping("/api/reports")
 public class ReportController extends BaseController {
 
     private final ReportService reportService;
+    private final BusinessDayClock businessDayClock;
 
-    public ReportController(ReportService reportService) {
+    public ReportController(ReportService reportService, BusinessDayClock businessDayClock) {
         this.reportService = reportService;
+        this.businessDayClock = businessDayClock;
     }
 
     @PostMapping("/sales")
@@ -36,9 +42,8 @@ public class ReportController extends BaseController {
         }
 
         try {
-            LocalDateTime startDate = reportRequest.getStartDate().atStartOfDay();
-            LocalDateTime endDate = reportRequest.getEndDate().atTime(23, 59, 59);
-            Map<String, Object> report = reportService.getSalesReport(startDate, endDate);
+            DateRange range = businessDayClock.dayRange(reportRequest.getStartDate(), reportRequest.getEndDate());
+            Map<String, Object> report = reportService.getSalesReport(range);
             return success(report);
         } catch (Exception e) {
             return error("Failed to generate sales report");
@@ -72,9 +77,8 @@ public class ReportController extends BaseController {
         }
 
         try {
-            LocalDateTime start = LocalDate.parse(startDate).atStartOfDay();
-            LocalDateTime end = LocalDate.parse(endDate).atTime(23, 59, 59);
-            var topItems = reportService.getTopSellingItems(start, end);
+            DateRange range = businessDayClock.dayRange(LocalDate.parse(startDate), LocalDate.parse(endDate));
+            var topItems = reportService.getTopSellingItems(range);
             return success(topItems);
         } catch (Exception e) {
             return error("Failed to get top selling items");
@@ -92,9 +96,8 @@ public class ReportController extends BaseController {
         }
 
         try {
-            LocalDateTime start = LocalDate.parse(startDate).atStartOfDay();
-            LocalDateTime end = LocalDate.parse(endDate).atTime(23, 59, 59);
-            Map<String, Object> report = reportService.getSalesReport(start, end);
+            DateRange range = businessDayClock.dayRange(LocalDate.parse(startDate), LocalDate.parse(endDate));
+            Map<String, Object> report = reportService.getSalesReport(range);
 
             String pdfContent = generatePdfContent(report);
             byte[] pdfBytes = pdfContent.getBytes();
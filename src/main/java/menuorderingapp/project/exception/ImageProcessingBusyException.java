@@ -0,0 +1,12 @@
+package menuorderingapp.project.exception;
+
+/**
+ * Image variant queue is full. The original upload is already stored, so retrying the same file only
+ * queues its variants again.
+ */
+public class ImageProcessingBusyException extends RuntimeException {
+
+    public ImageProcessingBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package menuorderingapp.project.exception;
+
+/**
+ * The order changed between reading and writing it, or is in a status the change isn't allowed from. Nothing
+ * was saved; the client should reload the order and decide again.
+ */
+public class OrderConflictException extends RuntimeException {
+
+    public OrderConflictException(String message) {
+        super(message);
+    }
+
+    public OrderConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,18 @@
+package menuorderingapp.project.exception;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Password hashing pool is saturated. An AuthenticationException so form login treats it as a failed
+ * attempt instead of an error page.
+ */
+public class PasswordHashingBusyException extends AuthenticationServiceException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
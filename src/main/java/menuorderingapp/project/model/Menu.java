@@ -34,6 +34,9 @@ public class Menu {
     @Column(name = "promo_price", precision = 10, scale = 2)
     private BigDecimal promoPrice;
 
+    @Column(name = "prep_time_minutes", nullable = false)
+    private Integer prepTimeMinutes = 5;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
@@ -133,6 +136,14 @@ public class Menu {
         this.promoPrice = promoPrice;
     }
 
+    public Integer getPrepTimeMinutes() {
+        return prepTimeMinutes;
+    }
+
+    public void setPrepTimeMinutes(Integer prepTimeMinutes) {
+        this.prepTimeMinutes = prepTimeMinutes;
+    }
+
     public Category getCategory() {
         return category;
     }
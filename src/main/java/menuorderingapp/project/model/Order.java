@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Entity
@@ -45,12 +47,19 @@ public class Order {
     @JoinColumn(name = "cashier_id")
     private Cashier cashier;
 
+    @Column(name = "confirmed_at")
+    private LocalDateTime confirmedAt;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> orderItems = new ArrayList<>();
 
@@ -61,11 +70,19 @@ public class Order {
         if (orderNumber == null) {
             orderNumber = "ORD-" + UUID.randomUUID().toString().replace("-", "").substring(0, 8).toUpperCase();
         }
+        markConfirmed();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        markConfirmed();
+    }
+
+    private void markConfirmed() {
+        if (confirmedAt == null && status != null && status != OrderStatus.PENDING && status != OrderStatus.CANCELLED) {
+            confirmedAt = LocalDateTime.now();
+        }
     }
 
     public Order() {
@@ -157,6 +174,14 @@ public class Order {
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getConfirmedAt() {
+        return confirmedAt;
+    }
+
+    public void setConfirmedAt(LocalDateTime confirmedAt) {
+        this.confirmedAt = confirmedAt;
+    }
+
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
@@ -165,6 +190,14 @@ public class Order {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<OrderItem> getOrderItems() {
         return orderItems;
     }
@@ -192,7 +225,22 @@ public class Order {
     }
 
     public enum OrderStatus {
-        PENDING, CONFIRMED, PREPARING, READY, COMPLETED, CANCELLED
+        PENDING, CONFIRMED, PREPARING, READY, COMPLETED, CANCELLED;
+
+        /**
+         * The statuses an order may move to this one from. Status updates only match rows in one of these,
+         * so the check and the write are a single statement.
+         */
+        public Set<OrderStatus> allowedFrom() {
+            return switch (this) {
+                case PENDING -> EnumSet.noneOf(OrderStatus.class);
+                case CONFIRMED -> EnumSet.of(PENDING);
+                case PREPARING -> EnumSet.of(CONFIRMED);
+                case READY -> EnumSet.of(PREPARING);
+                case COMPLETED -> EnumSet.of(READY);
+                case CANCELLED -> EnumSet.of(PENDING, CONFIRMED, PREPARING, READY);
+            };
+        }
     }
 
     public enum OrderType {
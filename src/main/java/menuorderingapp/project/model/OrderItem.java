@@ -30,6 +30,10 @@ public class OrderItem {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -98,6 +102,10 @@ public class OrderItem {
         this.createdAt = createdAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public BigDecimal getSubtotal() {
         return price.multiply(new BigDecimal(quantity));
     }
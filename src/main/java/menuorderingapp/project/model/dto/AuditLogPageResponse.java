@@ -0,0 +1,30 @@
+package menuorderingapp.project.model.dto;
+
+import java.util.List;
+
+public class AuditLogPageResponse {
+
+    private List<MenuAuditLogResponse> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public AuditLogPageResponse() {}
+
+    public AuditLogPageResponse(List<MenuAuditLogResponse> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<MenuAuditLogResponse> getItems() { return items; }
+
+    public void setItems(List<MenuAuditLogResponse> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
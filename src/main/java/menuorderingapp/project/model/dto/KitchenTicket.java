@@ -0,0 +1,81 @@
+package menuorderingapp.project.model.dto;
+
+import menuorderingapp.project.model.Order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class KitchenTicket {
+
+    public enum SlaState {
+        ON_TRACK,
+        /** Still CONFIRMED past the time it had to start to finish within the SLA. */
+        START_LATE,
+        /** Not READY by the SLA due time. */
+        OVERDUE
+    }
+
+    private Long orderId;
+    private String orderNumber;
+    private String customerName;
+    private Order.OrderType orderType;
+    private Order.OrderStatus status;
+    private List<Item> items;
+    private Integer prepTimeMinutes;
+    private LocalDateTime confirmedAt;
+    private LocalDateTime startBy;
+    private LocalDateTime dueAt;
+    private SlaState slaState;
+
+
+    public KitchenTicket() {
+    }
+
+
+    public Long getOrderId() { return orderId; }
+
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+
+    public String getOrderNumber() { return orderNumber; }
+
+    public void setOrderNumber(String orderNumber) { this.orderNumber = orderNumber; }
+
+    public String getCustomerName() { return customerName; }
+
+    public void setCustomerName(String customerName) { this.customerName = customerName; }
+
+    public Order.OrderType getOrderType() { return orderType; }
+
+    public void setOrderType(Order.OrderType orderType) { this.orderType = orderType; }
+
+    public Order.OrderStatus getStatus() { return status; }
+
+    public void setStatus(Order.OrderStatus status) { this.status = status; }
+
+    public List<Item> getItems() { return items; }
+
+    public void setItems(List<Item> items) { this.items = items; }
+
+    public Integer getPrepTimeMinutes() { return prepTimeMinutes; }
+
+    public void setPrepTimeMinutes(Integer prepTimeMinutes) { this.prepTimeMinutes = prepTimeMinutes; }
+
+    public LocalDateTime getConfirmedAt() { return confirmedAt; }
+
+    public void setConfirmedAt(LocalDateTime confirmedAt) { this.confirmedAt = confirmedAt; }
+
+    public LocalDateTime getStartBy() { return startBy; }
+
+    public void setStartBy(LocalDateTime startBy) { this.startBy = startBy; }
+
+    public LocalDateTime getDueAt() { return dueAt; }
+
+    public void setDueAt(LocalDateTime dueAt) { this.dueAt = dueAt; }
+
+    public SlaState getSlaState() { return slaState; }
+
+    public void setSlaState(SlaState slaState) { this.slaState = slaState; }
+
+    public record Item(String menuName, Integer quantity, Integer prepTimeMinutes) {
+    }
+}
@@ -0,0 +1,55 @@
+package menuorderingapp.project.model.dto;
+
+import java.util.List;
+
+/**
+ * Message on /topic/kitchen. UPSERT and ALERT carry the ticket; REMOVE only the order id; BATCH carries the
+ * updates for several orders that changed together, to be applied in order.
+ */
+public class KitchenUpdate {
+
+    public enum Type {
+        UPSERT,
+        REMOVE,
+        ALERT,
+        BATCH
+    }
+
+    private Type type;
+    private Long orderId;
+    private KitchenTicket ticket;
+    private List<KitchenUpdate> updates;
+
+
+    public KitchenUpdate() {
+    }
+
+    public KitchenUpdate(Type type, Long orderId, KitchenTicket ticket) {
+        this.type = type;
+        this.orderId = orderId;
+        this.ticket = ticket;
+    }
+
+    public static KitchenUpdate batch(List<KitchenUpdate> updates) {
+        KitchenUpdate batch = new KitchenUpdate(Type.BATCH, null, null);
+        batch.setUpdates(updates);
+        return batch;
+    }
+
+
+    public Type getType() { return type; }
+
+    public void setType(Type type) { this.type = type; }
+
+    public Long getOrderId() { return orderId; }
+
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+
+    public KitchenTicket getTicket() { return ticket; }
+
+    public void setTicket(KitchenTicket ticket) { this.ticket = ticket; }
+
+    public List<KitchenUpdate> getUpdates() { return updates; }
+
+    public void setUpdates(List<KitchenUpdate> updates) { this.updates = updates; }
+}
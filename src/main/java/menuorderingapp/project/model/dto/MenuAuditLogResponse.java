@@ -0,0 +1,56 @@
+package menuorderingapp.project.model.dto;
+
+import menuorderingapp.project.model.MenuAuditLog;
+
+import java.time.LocalDateTime;
+
+public class MenuAuditLogResponse {
+
+    private Long id;
+    private Long menuId;
+    private String menuName;
+    private Long cashierId;
+    private String cashierUsername;
+    private MenuAuditLog.AuditAction action;
+    private String oldValues;
+    private String newValues;
+    private LocalDateTime createdAt;
+
+    public MenuAuditLogResponse() {}
+
+    public Long getId() { return id; }
+
+    public void setId(Long id) { this.id = id; }
+
+    public Long getMenuId() { return menuId; }
+
+    public void setMenuId(Long menuId) { this.menuId = menuId; }
+
+    public String getMenuName() { return menuName; }
+
+    public void setMenuName(String menuName) { this.menuName = menuName; }
+
+    public Long getCashierId() { return cashierId; }
+
+    public void setCashierId(Long cashierId) { this.cashierId = cashierId; }
+
+    public String getCashierUsername() { return cashierUsername; }
+
+    public void setCashierUsername(String cashierUsername) { this.cashierUsername = cashierUsername; }
+
+    public MenuAuditLog.AuditAction getAction() { return action; }
+
+    public void setAction(MenuAuditLog.AuditAction action) { this.action = action; }
+
+    public String getOldValues() { return oldValues; }
+
+    public void setOldValues(String oldValues) { this.oldValues = oldValues; }
+
+    public String getNewValues() { return newValues; }
+
+    public void setNewValues(String newValues) { this.newValues = newValues; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,14 @@
+package menuorderingapp.project.model.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * What a kiosk card shows for one menu. price is what the customer pays; originalPrice is set only while a
+ * promo price applies. A deleted menu is sent as unavailable without prices.
+ */
+public record MenuAvailability(Long menuId, boolean available, BigDecimal price, BigDecimal originalPrice) {
+
+    public static MenuAvailability removed(Long menuId) {
+        return new MenuAvailability(menuId, false, null, null);
+    }
+}
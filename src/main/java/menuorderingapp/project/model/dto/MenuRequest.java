@@ -1,6 +1,7 @@
 package menuorderingapp.project.model.dto;
 
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -25,6 +26,9 @@ public class MenuRequest {
 
     private BigDecimal promoPrice;
 
+    @Min(value = 1, message = "Preparation time must be at least 1 minute")
+    private Integer prepTimeMinutes;
+
     @NotNull(message = "Category ID is required")
     private Long categoryId;
 
@@ -96,6 +100,14 @@ public class MenuRequest {
         this.promoPrice = promoPrice;
     }
 
+    public Integer getPrepTimeMinutes() {
+        return prepTimeMinutes;
+    }
+
+    public void setPrepTimeMinutes(Integer prepTimeMinutes) {
+        this.prepTimeMinutes = prepTimeMinutes;
+    }
+
     public Long getCategoryId() {
         return categoryId;
     }
@@ -10,9 +10,11 @@ public class MenuResponse {
     private String description;
     private BigDecimal price;
     private String imageUrl;
+    private String imageSrcset;
     private Boolean available;
     private Boolean isPromo;
     private BigDecimal promoPrice;
+    private Integer prepTimeMinutes;
     private BigDecimal currentPrice;
     private CategoryResponse category;
     private LocalDateTime createdAt;
@@ -42,6 +44,10 @@ public class MenuResponse {
 
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
 
+    public String getImageSrcset() { return imageSrcset; }
+
+    public void setImageSrcset(String imageSrcset) { this.imageSrcset = imageSrcset; }
+
     public Boolean getAvailable() { return available; }
 
     public void setAvailable(Boolean available) { this.available = available; }
@@ -54,6 +60,10 @@ public class MenuResponse {
 
     public void setPromoPrice(BigDecimal promoPrice) { this.promoPrice = promoPrice; }
 
+    public Integer getPrepTimeMinutes() { return prepTimeMinutes; }
+
+    public void setPrepTimeMinutes(Integer prepTimeMinutes) { this.prepTimeMinutes = prepTimeMinutes; }
+
     public BigDecimal getCurrentPrice() { return currentPrice; }
 
     public void setCurrentPrice(BigDecimal currentPrice) { this.currentPrice = currentPrice; }
@@ -0,0 +1,52 @@
+package menuorderingapp.project.model.dto;
+
+import menuorderingapp.project.model.MenuAuditLog;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class MenuTimelineEntry {
+
+    private Long auditId;
+    private MenuAuditLog.AuditAction action;
+    private Long cashierId;
+    private LocalDateTime changedAt;
+    private BigDecimal price;
+    private BigDecimal promoPrice;
+    private Boolean isPromo;
+    private Boolean available;
+
+    public MenuTimelineEntry() {}
+
+    public Long getAuditId() { return auditId; }
+
+    public void setAuditId(Long auditId) { this.auditId = auditId; }
+
+    public MenuAuditLog.AuditAction getAction() { return action; }
+
+    public void setAction(MenuAuditLog.AuditAction action) { this.action = action; }
+
+    public Long getCashierId() { return cashierId; }
+
+    public void setCashierId(Long cashierId) { this.cashierId = cashierId; }
+
+    public LocalDateTime getChangedAt() { return changedAt; }
+
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+
+    public BigDecimal getPrice() { return price; }
+
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public BigDecimal getPromoPrice() { return promoPrice; }
+
+    public void setPromoPrice(BigDecimal promoPrice) { this.promoPrice = promoPrice; }
+
+    public Boolean getIsPromo() { return isPromo; }
+
+    public void setIsPromo(Boolean isPromo) { this.isPromo = isPromo; }
+
+    public Boolean getAvailable() { return available; }
+
+    public void setAvailable(Boolean available) { this.available = available; }
+}
@@ -0,0 +1,11 @@
+package menuorderingapp.project.model.dto;
+
+import java.util.List;
+
+/**
+ * Message on /topic/menu: the menus whose card changed between fromVersion and catalogVersion. A page at a
+ * version older than fromVersion missed an update and reloads the snapshot, which has the same shape with
+ * fromVersion 0 and every menu in it.
+ */
+public record MenuUpdate(long fromVersion, long catalogVersion, List<MenuAvailability> menus) {
+}
@@ -0,0 +1,37 @@
+package menuorderingapp.project.model.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import menuorderingapp.project.model.Order;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class StatusTransitionRequest {
+
+    @NotEmpty(message = "At least one order ID is required")
+    @Size(max = 200, message = "At most 200 orders can be updated at once")
+    private List<@NotNull(message = "Order ID is required") Long> orderIds = new ArrayList<>();
+
+    @NotNull(message = "Status is required")
+    private Order.OrderStatus status;
+
+
+    public StatusTransitionRequest() {
+    }
+
+    public StatusTransitionRequest(List<Long> orderIds, Order.OrderStatus status) {
+        this.orderIds = orderIds;
+        this.status = status;
+    }
+
+
+    public List<Long> getOrderIds() { return orderIds; }
+
+    public void setOrderIds(List<Long> orderIds) { this.orderIds = orderIds; }
+
+    public Order.OrderStatus getStatus() { return status; }
+
+    public void setStatus(Order.OrderStatus status) { this.status = status; }
+}
@@ -0,0 +1,50 @@
+package menuorderingapp.project.model.dto;
+
+import menuorderingapp.project.model.Order;
+
+/**
+ * Outcome of a status change for one order. status is the order's status afterwards (null if it doesn't
+ * exist); a rejected change says why in reason.
+ */
+public class StatusTransitionResult {
+
+    private Long orderId;
+    private String orderNumber;
+    private boolean applied;
+    private Order.OrderStatus status;
+    private String reason;
+
+
+    public StatusTransitionResult() {
+    }
+
+    public StatusTransitionResult(Long orderId, String orderNumber, boolean applied, Order.OrderStatus status,
+                                  String reason) {
+        this.orderId = orderId;
+        this.orderNumber = orderNumber;
+        this.applied = applied;
+        this.status = status;
+        this.reason = reason;
+    }
+
+
+    public Long getOrderId() { return orderId; }
+
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+
+    public String getOrderNumber() { return orderNumber; }
+
+    public void setOrderNumber(String orderNumber) { this.orderNumber = orderNumber; }
+
+    public boolean isApplied() { return applied; }
+
+    public void setApplied(boolean applied) { this.applied = applied; }
+
+    public Order.OrderStatus getStatus() { return status; }
+
+    public void setStatus(Order.OrderStatus status) { this.status = status; }
+
+    public String getReason() { return reason; }
+
+    public void setReason(String reason) { this.reason = reason; }
+}
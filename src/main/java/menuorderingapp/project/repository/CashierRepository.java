@@ -2,9 +2,12 @@ package menuorderingapp.project.repository;
 
 import menuorderingapp.project.model.Cashier;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,4 +30,12 @@ public interface CashierRepository extends JpaRepository<Cashier, Long> {
     boolean existsByUsername(String username);
 
     long countByIsActiveTrue();
+
+    @Modifying
+    @Query("UPDATE Cashier c SET c.lastLogin = :lastLogin WHERE c.id = :id")
+    int updateLastLogin(@Param("id") Long id, @Param("lastLogin") LocalDateTime lastLogin);
+
+    @Modifying
+    @Query("UPDATE Cashier c SET c.passwordHash = :passwordHash WHERE c.username = :username")
+    int updatePasswordHash(@Param("username") String username, @Param("passwordHash") String passwordHash);
 }
@@ -22,10 +22,6 @@ public interface CashierSessionRepository extends JpaRepository<CashierSession,
     @Query("SELECT cs FROM CashierSession cs WHERE cs.expiresAt < :now")
     List<CashierSession> findExpiredSessions(@Param("now") LocalDateTime now);
 
-    @Modifying
-    @Query("DELETE FROM CashierSession cs WHERE cs.expiresAt < :now")
-    void deleteExpiredSessions(@Param("now") LocalDateTime now);
-
     @Modifying
     @Query("DELETE FROM CashierSession cs WHERE cs.cashier = :cashier")
     void deleteByCashier(@Param("cashier") Cashier cashier);
@@ -0,0 +1,46 @@
+package menuorderingapp.project.repository;
+
+import menuorderingapp.project.model.dto.MenuAvailability;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public class CatalogVersionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long findVersion() {
+        Long version = jdbcTemplate.queryForObject("SELECT version FROM catalog_version WHERE id = 1", Long.class);
+        return version != null ? version : 0;
+    }
+
+    /**
+     * Must run in the transaction that changes the menu or category, so the new version becomes visible
+     * together with the change.
+     */
+    public void increment() {
+        jdbcTemplate.update("UPDATE catalog_version SET version = version + 1 WHERE id = 1");
+    }
+
+    /**
+     * Availability and price of every menu. Read in the same transaction as {@link #findVersion()} to get the
+     * state belonging to that version.
+     */
+    public List<MenuAvailability> findMenuAvailability() {
+        return jdbcTemplate.query("SELECT id, available, price, is_promo, promo_price FROM menus ORDER BY id",
+                (rs, rowNum) -> {
+                    BigDecimal price = rs.getBigDecimal("price");
+                    BigDecimal promoPrice = rs.getBigDecimal("promo_price");
+                    boolean promo = rs.getBoolean("is_promo") && promoPrice != null;
+                    return new MenuAvailability(rs.getLong("id"), rs.getBoolean("available"),
+                            promo ? promoPrice : price, promo ? price : null);
+                });
+    }
+}
@@ -0,0 +1,42 @@
+package menuorderingapp.project.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Repository
+public class DailySalesRollupRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DailySalesRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Recomputes a business day's rows from the paid orders created in [start, end).
+     * Rebuilding instead of incrementing keeps redelivered events from double counting.
+     */
+    @Transactional
+    public void rebuildDay(LocalDate businessDate, LocalDateTime start, LocalDateTime end) {
+        jdbcTemplate.update("DELETE FROM daily_sales_rollup WHERE business_date = ?", Date.valueOf(businessDate));
+        jdbcTemplate.update(
+                "INSERT INTO daily_sales_rollup (business_date, payment_method, order_count, revenue) " +
+                "SELECT ?, COALESCE(payment_method, 'UNKNOWN'), COUNT(*), SUM(total) FROM orders " +
+                "WHERE payment_status = 'PAID' AND created_at >= ? AND created_at < ? " +
+                "GROUP BY COALESCE(payment_method, 'UNKNOWN')",
+                Date.valueOf(businessDate), Timestamp.valueOf(start), Timestamp.valueOf(end));
+    }
+
+    public BigDecimal getRevenue(LocalDate businessDate) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(revenue), 0) FROM daily_sales_rollup WHERE business_date = ?",
+                BigDecimal.class, Date.valueOf(businessDate));
+    }
+}
@@ -0,0 +1,88 @@
+package menuorderingapp.project.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class IdempotencyKeyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdempotencyKeyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Claims the key for a new request. Returns false if a row for the key already exists.
+     */
+    public boolean insertInProgress(String keyHash, String requestHash, LocalDateTime now, LocalDateTime expiresAt) {
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO idempotency_keys (key_hash, request_hash, status, created_at, expires_at) " +
+                    "VALUES (?, ?, 'IN_PROGRESS', ?, ?)",
+                    keyHash, requestHash, Timestamp.valueOf(now), Timestamp.valueOf(expiresAt));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Re-claims a key whose row has expired, or whose in-progress claim is older than staleBefore
+     * (the node handling it most likely died mid-request).
+     */
+    public boolean takeOver(String keyHash, String requestHash, LocalDateTime now,
+                            LocalDateTime staleBefore, LocalDateTime expiresAt) {
+        return jdbcTemplate.update(
+                "UPDATE idempotency_keys SET request_hash = ?, status = 'IN_PROGRESS', response_status = NULL, " +
+                "response_content_type = NULL, response_body = NULL, created_at = ?, expires_at = ? " +
+                "WHERE key_hash = ? AND (expires_at < ? OR (status = 'IN_PROGRESS' AND created_at < ?))",
+                requestHash, Timestamp.valueOf(now), Timestamp.valueOf(expiresAt), keyHash,
+                Timestamp.valueOf(now), Timestamp.valueOf(staleBefore)) == 1;
+    }
+
+    public Optional<IdempotencyKeyRow> findByKeyHash(String keyHash) {
+        List<IdempotencyKeyRow> rows = jdbcTemplate.query(
+                "SELECT request_hash, status, response_status, response_content_type, response_body, expires_at " +
+                "FROM idempotency_keys WHERE key_hash = ?",
+                (rs, rowNum) -> new IdempotencyKeyRow(
+                        rs.getString("request_hash"),
+                        "COMPLETED".equals(rs.getString("status")),
+                        rs.getInt("response_status"),
+                        rs.getString("response_content_type"),
+                        rs.getBytes("response_body"),
+                        rs.getTimestamp("expires_at").toLocalDateTime()),
+                keyHash);
+        return rows.stream().findFirst();
+    }
+
+    public void markCompleted(String keyHash, int responseStatus, String contentType, byte[] body) {
+        jdbcTemplate.update(
+                "UPDATE idempotency_keys SET status = 'COMPLETED', response_status = ?, " +
+                "response_content_type = ?, response_body = ? WHERE key_hash = ?",
+                responseStatus, contentType, body, keyHash);
+    }
+
+    public void deleteInProgress(String keyHash) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE key_hash = ? AND status = 'IN_PROGRESS'", keyHash);
+    }
+
+    public int deleteExpired(LocalDateTime now, int limit) {
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < ? LIMIT ?",
+                Timestamp.valueOf(now), limit);
+    }
+
+    public record IdempotencyKeyRow(String requestHash,
+                                    boolean completed,
+                                    int responseStatus,
+                                    String responseContentType,
+                                    byte[] responseBody,
+                                    LocalDateTime expiresAt) {
+    }
+}
@@ -21,14 +21,12 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
 
     List<Invoice> findByCashierOrderByCreatedAtDesc(Cashier cashier);
 
-    List<Invoice> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
-
-    @Query("SELECT i FROM Invoice i JOIN FETCH i.order o JOIN FETCH o.orderItems LEFT JOIN FETCH i.cashier WHERE i.createdAt BETWEEN :startDate AND :endDate ORDER BY i.createdAt DESC")
+    @Query("SELECT i FROM Invoice i JOIN FETCH i.order o JOIN FETCH o.orderItems LEFT JOIN FETCH i.cashier WHERE i.createdAt >= :startDate AND i.createdAt < :endDate ORDER BY i.createdAt DESC")
     List<Invoice> findInvoicesByDateRange(@Param("startDate") LocalDateTime startDate,
                                           @Param("endDate") LocalDateTime endDate);
 
-    @Query("SELECT SUM(i.finalAmount) FROM Invoice i WHERE i.createdAt BETWEEN :start AND :end")
-    Double getTotalInvoiceAmountBetween(@Param("start") LocalDateTime start,
+    @Query("SELECT SUM(i.finalAmount) FROM Invoice i WHERE i.createdAt >= :start AND i.createdAt < :end")
+    Double getTotalInvoiceAmountInRange(@Param("start") LocalDateTime start,
                                         @Param("end") LocalDateTime end);
 
     @Query("SELECT i FROM Invoice i JOIN FETCH i.order LEFT JOIN FETCH i.cashier WHERE i.id = :id")
@@ -3,6 +3,7 @@ package menuorderingapp.project.repository;
 import menuorderingapp.project.model.Cashier;
 import menuorderingapp.project.model.Menu;
 import menuorderingapp.project.model.MenuAuditLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,19 +17,33 @@ public interface MenuAuditLogRepository extends JpaRepository<MenuAuditLog, Long
 
     List<MenuAuditLog> findByMenuOrderByCreatedAtDesc(Menu menu);
 
-    List<MenuAuditLog> findByCashierOrderByCreatedAtDesc(Cashier cashier);
-
     List<MenuAuditLog> findByActionOrderByCreatedAtDesc(MenuAuditLog.AuditAction action);
 
-    List<MenuAuditLog> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
-
-    @Query("SELECT mal FROM MenuAuditLog mal WHERE mal.menu = :menu AND mal.createdAt BETWEEN :start AND :end ORDER BY mal.createdAt DESC")
+    @Query("SELECT mal FROM MenuAuditLog mal WHERE mal.menu = :menu AND mal.createdAt >= :start AND mal.createdAt < :end ORDER BY mal.createdAt DESC")
     List<MenuAuditLog> findMenuAuditsByDateRange(@Param("menu") Menu menu,
                                                  @Param("start") LocalDateTime start,
                                                  @Param("end") LocalDateTime end);
 
-    @Query("SELECT COUNT(mal) FROM MenuAuditLog mal WHERE mal.cashier = :cashier AND mal.createdAt BETWEEN :start AND :end")
+    @Query("SELECT COUNT(mal) FROM MenuAuditLog mal WHERE mal.cashier = :cashier AND mal.createdAt >= :start AND mal.createdAt < :end")
     long countByCashierAndDateRange(@Param("cashier") Cashier cashier,
                                     @Param("start") LocalDateTime start,
                                     @Param("end") LocalDateTime end);
+
+    @Query("SELECT mal FROM MenuAuditLog mal LEFT JOIN FETCH mal.cashier " +
+            "WHERE (:menuId IS NULL OR mal.menu.id = :menuId) " +
+            "AND (:cashierId IS NULL OR mal.cashier.id = :cashierId) " +
+            "AND (:action IS NULL OR mal.action = :action) " +
+            "AND (:from IS NULL OR mal.createdAt >= :from) " +
+            "AND (:to IS NULL OR mal.createdAt < :to) " +
+            "AND (:cursorCreatedAt IS NULL OR mal.createdAt < :cursorCreatedAt " +
+            "     OR (mal.createdAt = :cursorCreatedAt AND mal.id < :cursorId)) " +
+            "ORDER BY mal.createdAt DESC, mal.id DESC")
+    List<MenuAuditLog> findAuditPage(@Param("menuId") Long menuId,
+                                     @Param("cashierId") Long cashierId,
+                                     @Param("action") MenuAuditLog.AuditAction action,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                     @Param("cursorId") Long cursorId,
+                                     Pageable pageable);
 }
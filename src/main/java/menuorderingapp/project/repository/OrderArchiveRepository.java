@@ -0,0 +1,130 @@
+package menuorderingapp.project.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class OrderArchiveRepository {
+
+    private static final String[] ARCHIVE_TABLES = {"orders_archive", "order_items_archive", "invoices_archive"};
+
+    private static final String ARCHIVE_MONTH = "(YEAR(o.created_at) * 100 + MONTH(o.created_at))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public OrderArchiveRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    public LocalDateTime findOldestOrderBefore(LocalDateTime cutoff) {
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(created_at) FROM orders WHERE created_at < ?", Timestamp.class, Timestamp.valueOf(cutoff));
+        return oldest != null ? oldest.toLocalDateTime() : null;
+    }
+
+    public List<Long> findOrderIdsCreatedBetween(LocalDateTime start, LocalDateTime end, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM orders WHERE created_at >= ? AND created_at < ? ORDER BY created_at, id LIMIT ?",
+                Long.class, Timestamp.valueOf(start), Timestamp.valueOf(end), limit);
+    }
+
+    public void moveOrdersToArchive(List<Long> orderIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", orderIds);
+
+        namedJdbcTemplate.update(
+                "INSERT INTO orders_archive (archive_month, id, order_number, total, status, order_type, " +
+                "payment_method, payment_status, customer_name, cashier_id, created_at, updated_at) " +
+                "SELECT " + ARCHIVE_MONTH + ", o.id, o.order_number, o.total, o.status, o.order_type, " +
+                "o.payment_method, o.payment_status, o.customer_name, o.cashier_id, o.created_at, o.updated_at " +
+                "FROM orders o WHERE o.id IN (:ids)", params);
+
+        namedJdbcTemplate.update(
+                "INSERT INTO order_items_archive (archive_month, id, order_id, menu_id, quantity, price, created_at) " +
+                "SELECT " + ARCHIVE_MONTH + ", oi.id, oi.order_id, oi.menu_id, oi.quantity, oi.price, oi.created_at " +
+                "FROM order_items oi JOIN orders o ON o.id = oi.order_id WHERE oi.order_id IN (:ids)", params);
+
+        namedJdbcTemplate.update(
+                "INSERT INTO invoices_archive (archive_month, id, invoice_number, order_id, cashier_id, " +
+                "total_amount, tax_amount, final_amount, payment_method, created_at) " +
+                "SELECT " + ARCHIVE_MONTH + ", i.id, i.invoice_number, i.order_id, i.cashier_id, " +
+                "i.total_amount, i.tax_amount, i.final_amount, i.payment_method, i.created_at " +
+                "FROM invoices i JOIN orders o ON o.id = i.order_id WHERE i.order_id IN (:ids)", params);
+
+        namedJdbcTemplate.update("DELETE FROM invoices WHERE order_id IN (:ids)", params);
+        namedJdbcTemplate.update("DELETE FROM order_items WHERE order_id IN (:ids)", params);
+        namedJdbcTemplate.update("DELETE FROM orders WHERE id IN (:ids)", params);
+    }
+
+    /**
+     * Splits a partition for the given month off p_future in every archive table.
+     * Only possible for months above the current highest bound, which holds because months are archived oldest first.
+     */
+    public void ensureMonthPartition(int archiveMonth) {
+        for (String table : ARCHIVE_TABLES) {
+            Long highestBound = jdbcTemplate.queryForObject(
+                    "SELECT MAX(CAST(PARTITION_DESCRIPTION AS UNSIGNED)) FROM information_schema.PARTITIONS " +
+                    "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME <> 'p_future'",
+                    Long.class, table);
+            if (highestBound != null && highestBound > archiveMonth) {
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION p_future INTO (" +
+                    "PARTITION p" + archiveMonth + " VALUES LESS THAN (" + (archiveMonth + 1) + "), " +
+                    "PARTITION p_future VALUES LESS THAN MAXVALUE)");
+        }
+    }
+
+    public List<PaymentMethodTotal> getPaidTotalsByPaymentMethod(LocalDateTime start, LocalDateTime end) {
+        return jdbcTemplate.query(
+                "SELECT payment_method, COUNT(*) AS order_count, SUM(total) AS revenue FROM orders_archive " +
+                "WHERE archive_month BETWEEN ? AND ? AND payment_status = 'PAID' AND created_at >= ? AND created_at < ? " +
+                "GROUP BY payment_method",
+                (rs, rowNum) -> new PaymentMethodTotal(rs.getString("payment_method"),
+                        rs.getLong("order_count"), rs.getBigDecimal("revenue")),
+                toArchiveMonth(start), toArchiveMonth(end), Timestamp.valueOf(start), Timestamp.valueOf(end));
+    }
+
+    public List<CashierTotal> getPaidTotalsByCashier(LocalDateTime start, LocalDateTime end) {
+        return jdbcTemplate.query(
+                "SELECT cashier_id, COUNT(*) AS order_count, SUM(total) AS revenue FROM orders_archive " +
+                "WHERE archive_month BETWEEN ? AND ? AND payment_status = 'PAID' AND created_at >= ? AND created_at < ? " +
+                "AND cashier_id IS NOT NULL GROUP BY cashier_id",
+                (rs, rowNum) -> new CashierTotal(rs.getLong("cashier_id"),
+                        rs.getLong("order_count"), rs.getBigDecimal("revenue")),
+                toArchiveMonth(start), toArchiveMonth(end), Timestamp.valueOf(start), Timestamp.valueOf(end));
+    }
+
+    public List<MenuTotal> getPaidTotalsByMenu(LocalDateTime start, LocalDateTime end) {
+        return jdbcTemplate.query(
+                "SELECT oi.menu_id, SUM(oi.quantity) AS quantity, SUM(oi.price * oi.quantity) AS revenue " +
+                "FROM orders_archive o JOIN order_items_archive oi " +
+                "ON oi.archive_month = o.archive_month AND oi.order_id = o.id " +
+                "WHERE o.archive_month BETWEEN ? AND ? AND o.payment_status = 'PAID' AND o.created_at >= ? AND o.created_at < ? " +
+                "GROUP BY oi.menu_id",
+                (rs, rowNum) -> new MenuTotal(rs.getLong("menu_id"),
+                        rs.getLong("quantity"), rs.getBigDecimal("revenue")),
+                toArchiveMonth(start), toArchiveMonth(end), Timestamp.valueOf(start), Timestamp.valueOf(end));
+    }
+
+    public static int toArchiveMonth(LocalDateTime dateTime) {
+        return dateTime.getYear() * 100 + dateTime.getMonthValue();
+    }
+
+    public record PaymentMethodTotal(String paymentMethod, long orderCount, BigDecimal revenue) {
+    }
+
+    public record CashierTotal(Long cashierId, long orderCount, BigDecimal revenue) {
+    }
+
+    public record MenuTotal(Long menuId, long quantity, BigDecimal revenue) {
+    }
+}
@@ -0,0 +1,174 @@
+package menuorderingapp.project.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.List;
+
+@Repository
+public class OrderEventRepository {
+
+    private static final int GAP_BATCH_SIZE = 500;
+
+    private static final RowMapper<OrderEventRow> ROW_MAPPER = (rs, rowNum) -> new OrderEventRow(
+            rs.getLong("id"),
+            rs.getObject("order_id", Long.class),
+            rs.getString("event_type"),
+            rs.getObject("cashier_id", Long.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderEventRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(Long orderId, String eventType, Long cashierId) {
+        jdbcTemplate.update(
+                "INSERT INTO order_events (order_id, event_type, cashier_id) VALUES (?, ?, ?)",
+                new Object[]{orderId, eventType, cashierId},
+                new int[]{Types.BIGINT, Types.VARCHAR, Types.BIGINT});
+    }
+
+    /**
+     * Locks the consumer's checkpoint row for the rest of the transaction, so only one node delivers
+     * to a consumer at a time. Returns null if another node holds it. A consumer seen for the first
+     * time starts after the newest event.
+     */
+    public Long lockCheckpoint(String consumer) {
+        List<Long> lastEventId = selectCheckpointForUpdate(consumer);
+        if (!lastEventId.isEmpty()) {
+            return lastEventId.get(0);
+        }
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_event_checkpoints WHERE consumer = ?", Integer.class, consumer);
+        if (existing != null && existing > 0) {
+            return null;
+        }
+        jdbcTemplate.update(
+                "INSERT IGNORE INTO order_event_checkpoints (consumer, last_event_id) " +
+                "SELECT ?, COALESCE(MAX(id), 0) FROM order_events", consumer);
+        lastEventId = selectCheckpointForUpdate(consumer);
+        return lastEventId.isEmpty() ? null : lastEventId.get(0);
+    }
+
+    private List<Long> selectCheckpointForUpdate(String consumer) {
+        return jdbcTemplate.queryForList(
+                "SELECT last_event_id FROM order_event_checkpoints WHERE consumer = ? FOR UPDATE SKIP LOCKED",
+                Long.class, consumer);
+    }
+
+    public void advanceCheckpoint(String consumer, long lastEventId) {
+        jdbcTemplate.update(
+                "UPDATE order_event_checkpoints SET last_event_id = ? WHERE consumer = ?", lastEventId, consumer);
+    }
+
+    /**
+     * Events after the checkpoint that are at least settleMillis old. Ids are assigned at insert but become
+     * visible at commit, so a slower transaction's lower id can still be missing here; the delay only makes
+     * that rarer. Callers record the missing ids as gaps and pick them up with {@link #findByIds}.
+     */
+    public List<OrderEventRow> findAfter(long lastEventId, long settleMillis, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, order_id, event_type, cashier_id FROM order_events " +
+                "WHERE id > ? AND created_at <= CURRENT_TIMESTAMP(3) - INTERVAL ? MICROSECOND ORDER BY id LIMIT ?",
+                ROW_MAPPER, lastEventId, settleMillis * 1000, limit);
+    }
+
+    public List<OrderEventRow> findByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", ids.stream().map(id -> "?").toList());
+        return jdbcTemplate.query(
+                "SELECT id, order_id, event_type, cashier_id FROM order_events WHERE id IN (" + placeholders + ") " +
+                "ORDER BY id", ROW_MAPPER, ids.toArray());
+    }
+
+    public List<Long> findGaps(String consumer) {
+        return jdbcTemplate.queryForList(
+                "SELECT event_id FROM order_event_gaps WHERE consumer = ? ORDER BY event_id", Long.class, consumer);
+    }
+
+    public void insertGaps(String consumer, List<Long> eventIds) {
+        jdbcTemplate.batchUpdate(
+                "INSERT IGNORE INTO order_event_gaps (consumer, event_id) VALUES (?, ?)",
+                eventIds, GAP_BATCH_SIZE, (ps, eventId) -> {
+                    ps.setString(1, consumer);
+                    ps.setLong(2, eventId);
+                });
+    }
+
+    public void deleteGaps(String consumer, List<Long> eventIds) {
+        jdbcTemplate.batchUpdate(
+                "DELETE FROM order_event_gaps WHERE consumer = ? AND event_id = ?",
+                eventIds, GAP_BATCH_SIZE, (ps, eventId) -> {
+                    ps.setString(1, consumer);
+                    ps.setLong(2, eventId);
+                });
+    }
+
+    /**
+     * Stops waiting for gaps older than timeoutMillis; by then their transaction has rolled back.
+     */
+    public int deleteExpiredGaps(String consumer, long timeoutMillis) {
+        return jdbcTemplate.update(
+                "DELETE FROM order_event_gaps WHERE consumer = ? " +
+                "AND detected_at < CURRENT_TIMESTAMP(3) - INTERVAL ? MICROSECOND", consumer, timeoutMillis * 1000);
+    }
+
+    /**
+     * Lowest id still present, or 0 when the table is empty. Ids below it were purged rather than skipped.
+     */
+    public long findOldestId() {
+        Long oldest = jdbcTemplate.queryForObject("SELECT COALESCE(MIN(id), 0) FROM order_events", Long.class);
+        return oldest != null ? oldest : 0;
+    }
+
+    /**
+     * Marks this node's consumers as alive, so other nodes don't drop their checkpoints.
+     */
+    public void touchCheckpoints(List<String> consumers) {
+        if (consumers.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", consumers.stream().map(c -> "?").toList());
+        jdbcTemplate.update(
+                "UPDATE order_event_checkpoints SET updated_at = CURRENT_TIMESTAMP WHERE consumer IN (" + placeholders + ")",
+                consumers.toArray());
+    }
+
+    /**
+     * Drops checkpoints no running node has touched within the retention window (a stopped node's kitchen@node
+     * and websocket@node, or a renamed consumer) and their gaps. A node that comes back after that starts again
+     * from the newest event.
+     */
+    public int deleteStaleCheckpoints(int retentionHours) {
+        int dropped = jdbcTemplate.update(
+                "DELETE FROM order_event_checkpoints WHERE updated_at < CURRENT_TIMESTAMP - INTERVAL ? HOUR",
+                retentionHours);
+        if (dropped > 0) {
+            jdbcTemplate.update(
+                    "DELETE FROM order_event_gaps WHERE consumer NOT IN (SELECT consumer FROM order_event_checkpoints)");
+        }
+        return dropped;
+    }
+
+    /**
+     * Deletes events every checkpoint in the cluster has passed that are older than the retention window.
+     */
+    public int deleteDelivered(int retentionHours, int limit) {
+        Long delivered = jdbcTemplate.queryForObject(
+                "SELECT MIN(last_event_id) FROM order_event_checkpoints", Long.class);
+        if (delivered == null || delivered == 0) {
+            return 0;
+        }
+        return jdbcTemplate.update(
+                "DELETE FROM order_events WHERE id <= ? AND created_at < CURRENT_TIMESTAMP(3) - INTERVAL ? HOUR " +
+                "ORDER BY id LIMIT ?", delivered, retentionHours, limit);
+    }
+
+    public record OrderEventRow(long id, Long orderId, String eventType, Long cashierId) {
+    }
+}
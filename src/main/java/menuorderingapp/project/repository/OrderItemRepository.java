@@ -24,10 +24,10 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     @Query("SELECT oi.menu, SUM(oi.quantity) as totalQuantity, SUM(oi.price * oi.quantity) as totalRevenue " +
             "FROM OrderItem oi " +
             "JOIN oi.order o " +
-            "WHERE o.paymentStatus = 'PAID' AND o.createdAt BETWEEN :start AND :end " +
+            "WHERE o.paymentStatus = 'PAID' AND o.createdAt >= :start AND o.createdAt < :end " +
             "GROUP BY oi.menu " +
             "ORDER BY totalQuantity DESC")
-    List<Object[]> findTopSellingMenusBetween(@Param("start") LocalDateTime start,
+    List<Object[]> findTopSellingMenusInRange(@Param("start") LocalDateTime start,
                                               @Param("end") LocalDateTime end);
 
     @Query("SELECT SUM(oi.quantity) FROM OrderItem oi WHERE oi.menu = :menu")
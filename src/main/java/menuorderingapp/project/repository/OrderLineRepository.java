@@ -0,0 +1,104 @@
+package menuorderingapp.project.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Single-line order edits as targeted statements, so a click on a 30-line order touches one order_items row
+ * and the orders row instead of loading and re-totalling the whole order. Callers run the line statement and
+ * {@link #addToTotal} in one transaction; a false result means the row moved underneath and the transaction
+ * must be rolled back.
+ */
+@Repository
+public class OrderLineRepository {
+
+    private static final String SELECT_LINE =
+            "SELECT o.version AS order_version, oi.id, oi.price, oi.quantity, oi.version FROM orders o " +
+            "LEFT JOIN order_items oi ON oi.order_id = o.id AND ";
+
+    private static final RowMapper<OrderLine> LINE_MAPPER = (rs, rowNum) -> new OrderLine(
+            rs.getLong("order_version"),
+            rs.getObject("id", Long.class),
+            rs.getBigDecimal("price"),
+            rs.getInt("quantity"),
+            rs.getLong("version"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderLineRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The order's line for a menu (the oldest if several). Empty if the order doesn't exist; a line with a
+     * null itemId if the order has no line for the menu yet.
+     */
+    public Optional<OrderLine> findByMenu(Long orderId, Long menuId) {
+        return first(jdbcTemplate.query(SELECT_LINE + "oi.menu_id = ? WHERE o.id = ? ORDER BY oi.id LIMIT 1",
+                LINE_MAPPER, menuId, orderId));
+    }
+
+    public Optional<OrderLine> findById(Long orderId, Long itemId) {
+        return first(jdbcTemplate.query(SELECT_LINE + "oi.id = ? WHERE o.id = ?", LINE_MAPPER, itemId, orderId));
+    }
+
+    public boolean incrementQuantity(Long itemId, int quantity) {
+        return jdbcTemplate.update(
+                "UPDATE order_items SET quantity = quantity + ?, version = version + 1 WHERE id = ?",
+                quantity, itemId) == 1;
+    }
+
+    public boolean setQuantity(OrderLine line, int quantity) {
+        return jdbcTemplate.update(
+                "UPDATE order_items SET quantity = ?, version = version + 1 WHERE id = ? AND version = ?",
+                quantity, line.itemId(), line.version()) == 1;
+    }
+
+    public boolean delete(OrderLine line) {
+        return jdbcTemplate.update(
+                "DELETE FROM order_items WHERE id = ? AND version = ?", line.itemId(), line.version()) == 1;
+    }
+
+    public void insert(Long orderId, Long menuId, int quantity, BigDecimal price) {
+        jdbcTemplate.update(
+                "INSERT INTO order_items (order_id, menu_id, quantity, price, created_at, version) " +
+                "VALUES (?, ?, ?, ?, ?, 0)",
+                orderId, menuId, quantity, price, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * Moves the order total by the line change and bumps the order version, so JPA writers holding an older
+     * copy of the order fail their version check instead of writing back a stale total. With expectedVersion
+     * the update only applies if nothing else changed the order since it was read.
+     */
+    public boolean addToTotal(Long orderId, BigDecimal delta, Long expectedVersion) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (expectedVersion == null) {
+            return jdbcTemplate.update(
+                    "UPDATE orders SET total = total + ?, version = version + 1, updated_at = ? WHERE id = ?",
+                    delta, now, orderId) == 1;
+        }
+        return jdbcTemplate.update(
+                "UPDATE orders SET total = total + ?, version = version + 1, updated_at = ? " +
+                "WHERE id = ? AND version = ?",
+                delta, now, orderId, expectedVersion) == 1;
+    }
+
+    private Optional<OrderLine> first(List<OrderLine> rows) {
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    public record OrderLine(long orderVersion, Long itemId, BigDecimal price, int quantity, long version) {
+
+        public boolean exists() {
+            return itemId != null;
+        }
+    }
+}
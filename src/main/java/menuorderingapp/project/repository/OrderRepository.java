@@ -3,11 +3,14 @@ package menuorderingapp.project.repository;
 import menuorderingapp.project.model.Cashier;
 import menuorderingapp.project.model.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,27 +27,72 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     List<Order> findByCashierOrderByCreatedAtDesc(Cashier cashier);
 
-    List<Order> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
-
     @Query("SELECT o FROM Order o WHERE o.createdAt >= :startDate AND o.createdAt < :endDate ORDER BY o.createdAt DESC")
     List<Order> findOrdersByDateRange(@Param("startDate") LocalDateTime startDate,
                                       @Param("endDate") LocalDateTime endDate);
 
-    @Query("SELECT o FROM Order o WHERE o.paymentStatus = 'PAID' AND o.createdAt BETWEEN :start AND :end")
-    List<Order> findPaidOrdersBetween(@Param("start") LocalDateTime start,
+    @Query("SELECT o FROM Order o WHERE o.paymentStatus = 'PAID' AND o.createdAt >= :start AND o.createdAt < :end")
+    List<Order> findPaidOrdersInRange(@Param("start") LocalDateTime start,
                                       @Param("end") LocalDateTime end);
 
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems oi LEFT JOIN FETCH oi.menu " +
+           "WHERE o.status IN :statuses")
+    List<Order> findWithItemsByStatusIn(@Param("statuses") Collection<Order.OrderStatus> statuses);
+
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems oi LEFT JOIN FETCH oi.menu WHERE o.id = :id")
+    Optional<Order> findWithItemsById(@Param("id") Long id);
+
     @Query("SELECT COUNT(o) FROM Order o WHERE o.status = :status")
     long countByStatus(Order.OrderStatus status);
 
-    @Query("SELECT SUM(o.total) FROM Order o WHERE o.paymentStatus = 'PAID' AND o.createdAt BETWEEN :start AND :end")
-    Double getTotalRevenueBetween(@Param("start") LocalDateTime start,
-                                  @Param("end") LocalDateTime end);
+    /**
+     * Compare-and-set PENDING -> PAID: only the first of several concurrent payments for an order matches, and
+     * only while the total is still the amount the payment was checked against. Returns 0 for everyone else.
+     * Paying confirms a PENDING order; an order the kitchen already moved on keeps its status.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.paymentStatus = 'PAID', o.paymentMethod = :method, " +
+           "o.status = CASE WHEN o.status = 'PENDING' THEN 'CONFIRMED' ELSE o.status END, " +
+           "o.confirmedAt = COALESCE(o.confirmedAt, :now), o.updatedAt = :now, o.version = o.version + 1 " +
+           "WHERE o.id = :id AND o.paymentStatus = 'PENDING' AND o.status <> 'CANCELLED' AND o.total = :total")
+    int markPaid(@Param("id") Long id,
+                 @Param("method") Order.PaymentMethod method,
+                 @Param("total") BigDecimal total,
+                 @Param("now") LocalDateTime now);
+
+    @Query("SELECT o.id AS id, o.orderNumber AS orderNumber, o.status AS status FROM Order o WHERE o.id IN :ids")
+    List<StatusRow> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Moves every listed order that is still in one of the from statuses, in one statement. Returns how many
+     * rows matched. confirmedAt is only filled in if it is still empty; pass null to leave it alone.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :to, o.confirmedAt = COALESCE(o.confirmedAt, :confirmedAt), " +
+           "o.updatedAt = :now, o.version = o.version + 1 WHERE o.id IN :ids AND o.status IN :from")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("from") Collection<Order.OrderStatus> from,
+                         @Param("to") Order.OrderStatus to,
+                         @Param("confirmedAt") LocalDateTime confirmedAt,
+                         @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = 'CANCELLED', o.paymentStatus = 'REFUNDED', o.updatedAt = :now, " +
+           "o.version = o.version + 1 WHERE o.id IN :ids AND o.status IN :from")
+    int cancel(@Param("ids") Collection<Long> ids,
+               @Param("from") Collection<Order.OrderStatus> from,
+               @Param("now") LocalDateTime now);
 
     List<Order> findByCustomerNameContainingIgnoreCaseOrderByCreatedAtDesc(String customerName);
 
     List<Order> findAllByOrderByCreatedAtDesc();
 
-    @Query("SELECT o FROM Order o WHERE DATE(o.createdAt) = CURRENT_DATE ORDER BY o.createdAt DESC")
-    List<Order> findTodayOrders();
+    interface StatusRow {
+
+        Long getId();
+
+        String getOrderNumber();
+
+        Order.OrderStatus getStatus();
+    }
 }
@@ -0,0 +1,79 @@
+package menuorderingapp.project.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Unpaid PENDING self-service orders created before a cutoff, read in (created_at, id) order along
+ * idx_orders_status_type_created so each chunk continues from the previous one. Cashier-assisted orders are
+ * never expired. The expiry re-checks status, payment and age, so an order paid or confirmed after it was read
+ * is kept.
+ */
+@Repository
+public class PendingOrderExpiryRepository {
+
+    private static final RowMapper<PendingOrderKey> KEY_MAPPER = (rs, rowNum) ->
+            new PendingOrderKey(rs.getLong("id"), rs.getTimestamp("created_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public PendingOrderExpiryRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    public List<PendingOrderKey> findStale(LocalDateTime cutoff, PendingOrderKey after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(
+                    "SELECT id, created_at FROM orders WHERE status = 'PENDING' AND order_type = 'CUSTOMER_SELF' " +
+                    "AND created_at < ? AND payment_status = 'PENDING' ORDER BY created_at, id LIMIT ?",
+                    KEY_MAPPER, Timestamp.valueOf(cutoff), limit);
+        }
+        Timestamp afterCreatedAt = Timestamp.valueOf(after.createdAt());
+        return jdbcTemplate.query(
+                "SELECT id, created_at FROM orders WHERE status = 'PENDING' AND order_type = 'CUSTOMER_SELF' " +
+                "AND created_at < ? AND (created_at > ? OR (created_at = ? AND id > ?)) AND payment_status = 'PENDING' " +
+                "ORDER BY created_at, id LIMIT ?",
+                KEY_MAPPER, Timestamp.valueOf(cutoff), afterCreatedAt, afterCreatedAt, after.id(), limit);
+    }
+
+    /**
+     * Cancels the orders that are still unpaid and PENDING, bumping their version so an open edit or payment
+     * holding the old state fails instead of reviving them.
+     */
+    public int expire(List<PendingOrderKey> keys, LocalDateTime cutoff, LocalDateTime now) {
+        return namedJdbcTemplate.update(
+                "UPDATE orders SET status = 'CANCELLED', updated_at = :now, version = version + 1 " +
+                "WHERE id IN (:ids) AND status = 'PENDING' AND order_type = 'CUSTOMER_SELF' " +
+                "AND payment_status = 'PENDING' AND created_at < :cutoff",
+                new MapSqlParameterSource("ids", keys.stream().map(PendingOrderKey::id).toList())
+                        .addValue("cutoff", Timestamp.valueOf(cutoff))
+                        .addValue("now", Timestamp.valueOf(now)));
+    }
+
+    public Backlog getBacklog(LocalDateTime cutoff) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) AS stale, MIN(created_at) AS oldest FROM orders " +
+                "WHERE status = 'PENDING' AND order_type = 'CUSTOMER_SELF' AND created_at < ? " +
+                "AND payment_status = 'PENDING'",
+                (rs, rowNum) -> {
+                    Timestamp oldest = rs.getTimestamp("oldest");
+                    return new Backlog(rs.getLong("stale"), oldest != null ? oldest.toLocalDateTime() : null);
+                },
+                Timestamp.valueOf(cutoff));
+    }
+
+    public record PendingOrderKey(long id, LocalDateTime createdAt) {
+    }
+
+    public record Backlog(long staleOrders, LocalDateTime oldestCreatedAt) {
+    }
+}
@@ -0,0 +1,50 @@
+package menuorderingapp.project.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class SchedulerLockRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchedulerLockRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Takes or renews the lock for leaseMillis. Succeeds if the lock is free, its lease has run out,
+     * or this owner already holds it. Lease times come from the database clock so node clocks don't matter.
+     */
+    public boolean tryAcquire(String name, String owner, long leaseMillis) {
+        jdbcTemplate.update(
+                "INSERT IGNORE INTO scheduler_locks (name, locked_by, locked_until) VALUES (?, '', CURRENT_TIMESTAMP(3))",
+                name);
+        return jdbcTemplate.update(
+                "UPDATE scheduler_locks SET locked_by = ?, locked_until = CURRENT_TIMESTAMP(3) + INTERVAL ? MICROSECOND " +
+                "WHERE name = ? AND (locked_by = ? OR locked_until <= CURRENT_TIMESTAMP(3))",
+                owner, leaseMillis * 1000, name, owner) == 1;
+    }
+
+    public void release(String name, String owner) {
+        jdbcTemplate.update(
+                "UPDATE scheduler_locks SET locked_until = CURRENT_TIMESTAMP(3) WHERE name = ? AND locked_by = ?",
+                name, owner);
+    }
+
+    public LockHolder findHolder(String name) {
+        List<LockHolder> holders = jdbcTemplate.query(
+                "SELECT locked_by, locked_until FROM scheduler_locks " +
+                "WHERE name = ? AND locked_until > CURRENT_TIMESTAMP(3)",
+                (rs, rowNum) -> new LockHolder(rs.getString("locked_by"),
+                        rs.getTimestamp("locked_until").toLocalDateTime()),
+                name);
+        return holders.isEmpty() ? null : holders.get(0);
+    }
+
+    public record LockHolder(String lockedBy, LocalDateTime lockedUntil) {
+    }
+}
@@ -0,0 +1,110 @@
+package menuorderingapp.project.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Expired rows of cashier_sessions and the Spring Session table, read in (expiry, id) order so each chunk
+ * continues from the previous one along the expiry index. Deletes re-check the expiry, so a session
+ * extended after it was read is kept.
+ */
+@Repository
+public class SessionCleanupRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final String springSessionTable;
+
+    public SessionCleanupRepository(JdbcTemplate jdbcTemplate,
+                                    NamedParameterJdbcTemplate namedJdbcTemplate,
+                                    @Value("${spring.session.jdbc.table-name:SPRING_SESSION}") String springSessionTable) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.springSessionTable = springSessionTable;
+    }
+
+    public List<CashierSessionKey> findExpiredCashierSessions(LocalDateTime now, CashierSessionKey after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(
+                    "SELECT id, expires_at FROM cashier_sessions WHERE expires_at < ? ORDER BY expires_at, id LIMIT ?",
+                    (rs, rowNum) -> new CashierSessionKey(rs.getLong("id"), rs.getTimestamp("expires_at").toLocalDateTime()),
+                    Timestamp.valueOf(now), limit);
+        }
+        Timestamp afterExpiresAt = Timestamp.valueOf(after.expiresAt());
+        return jdbcTemplate.query(
+                "SELECT id, expires_at FROM cashier_sessions WHERE expires_at < ? " +
+                "AND (expires_at > ? OR (expires_at = ? AND id > ?)) ORDER BY expires_at, id LIMIT ?",
+                (rs, rowNum) -> new CashierSessionKey(rs.getLong("id"), rs.getTimestamp("expires_at").toLocalDateTime()),
+                Timestamp.valueOf(now), afterExpiresAt, afterExpiresAt, after.id(), limit);
+    }
+
+    public int deleteCashierSessions(List<CashierSessionKey> keys, LocalDateTime now) {
+        return namedJdbcTemplate.update(
+                "DELETE FROM cashier_sessions WHERE id IN (:ids) AND expires_at < :now",
+                new MapSqlParameterSource("ids", keys.stream().map(CashierSessionKey::id).toList())
+                        .addValue("now", Timestamp.valueOf(now)));
+    }
+
+    public List<SpringSessionKey> findExpiredSpringSessions(long nowMillis, SpringSessionKey after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(
+                    "SELECT PRIMARY_ID, EXPIRY_TIME FROM " + springSessionTable + " WHERE EXPIRY_TIME < ? " +
+                    "ORDER BY EXPIRY_TIME, PRIMARY_ID LIMIT ?",
+                    (rs, rowNum) -> new SpringSessionKey(rs.getString("PRIMARY_ID"), rs.getLong("EXPIRY_TIME")),
+                    nowMillis, limit);
+        }
+        return jdbcTemplate.query(
+                "SELECT PRIMARY_ID, EXPIRY_TIME FROM " + springSessionTable + " WHERE EXPIRY_TIME < ? " +
+                "AND (EXPIRY_TIME > ? OR (EXPIRY_TIME = ? AND PRIMARY_ID > ?)) ORDER BY EXPIRY_TIME, PRIMARY_ID LIMIT ?",
+                (rs, rowNum) -> new SpringSessionKey(rs.getString("PRIMARY_ID"), rs.getLong("EXPIRY_TIME")),
+                nowMillis, after.expiryTime(), after.expiryTime(), after.primaryId(), limit);
+    }
+
+    // Session attributes go with the session through ON DELETE CASCADE
+    public int deleteSpringSessions(List<SpringSessionKey> keys, long nowMillis) {
+        return namedJdbcTemplate.update(
+                "DELETE FROM " + springSessionTable + " WHERE PRIMARY_ID IN (:ids) AND EXPIRY_TIME < :now",
+                new MapSqlParameterSource("ids", keys.stream().map(SpringSessionKey::primaryId).toList())
+                        .addValue("now", nowMillis));
+    }
+
+    public Backlog getCashierSessionBacklog(LocalDateTime now) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) AS expired, MIN(expires_at) AS oldest FROM cashier_sessions WHERE expires_at < ?",
+                (rs, rowNum) -> {
+                    Timestamp oldest = rs.getTimestamp("oldest");
+                    return new Backlog(rs.getLong("expired"), oldest != null ? oldest.toLocalDateTime() : null);
+                },
+                Timestamp.valueOf(now));
+    }
+
+    public Backlog getSpringSessionBacklog(long nowMillis) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) AS expired, MIN(EXPIRY_TIME) AS oldest FROM " + springSessionTable +
+                " WHERE EXPIRY_TIME < ?",
+                (rs, rowNum) -> {
+                    long oldest = rs.getLong("oldest");
+                    return new Backlog(rs.getLong("expired"), rs.wasNull() ? null
+                            : LocalDateTime.ofInstant(Instant.ofEpochMilli(oldest), ZoneId.systemDefault()));
+                },
+                nowMillis);
+    }
+
+    public record CashierSessionKey(long id, LocalDateTime expiresAt) {
+    }
+
+    public record SpringSessionKey(String primaryId, long expiryTime) {
+    }
+
+    public record Backlog(long expiredRows, LocalDateTime oldestExpiry) {
+    }
+}
@@ -0,0 +1,94 @@
+package menuorderingapp.project.security;
+
+import menuorderingapp.project.exception.PasswordHashingBusyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs password hashing on a small fixed pool, so a burst of logins uses at most that many cores and
+ * order traffic keeps the rest. The request thread waits for its result; when the queue is full or the
+ * wait times out the login fails fast with PasswordHashingBusyException.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final LongAdder rejected = new LongAdder();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMillis) {
+        this.delegate = delegate;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+                    Thread thread = new Thread(task, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public HashingStats getStats() {
+        return new HashingStats(executor.getMaximumPoolSize(), executor.getActiveCount(),
+                executor.getQueue().size(), executor.getCompletedTaskCount(), rejected.sum());
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Too many logins in progress, try again shortly", e);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingBusyException("Too many logins in progress, try again shortly", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public record HashingStats(int threads, int active, int queued, long completed, long rejected) {
+    }
+}
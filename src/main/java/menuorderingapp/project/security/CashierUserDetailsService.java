@@ -2,13 +2,19 @@ package menuorderingapp.project.security;
 
 import menuorderingapp.project.model.Cashier;
 import menuorderingapp.project.repository.CashierRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class CashierUserDetailsService implements UserDetailsService {
+public class CashierUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final Logger log = LoggerFactory.getLogger(CashierUserDetailsService.class);
 
     private final CashierRepository cashierRepository;
 
@@ -23,4 +29,18 @@ public class CashierUserDetailsService implements UserDetailsService {
 
         return new CashierUserDetails(cashier);
     }
+
+    /**
+     * Called after a successful login whose stored hash is weaker than the configured BCrypt strength,
+     * with the password re-hashed at the current strength.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Cashier cashier = ((CashierUserDetails) user).getCashier();
+        cashierRepository.updatePasswordHash(cashier.getUsername(), newPassword);
+        cashier.setPasswordHash(newPassword);
+        log.info("Upgraded password hash for cashier '{}'", cashier.getUsername());
+        return new CashierUserDetails(cashier);
+    }
 }
@@ -0,0 +1,19 @@
+package menuorderingapp.project.service;
+
+public interface BroadcastService {
+
+    String NODE_HEADER = "x-node";
+    String SEQUENCE_HEADER = "x-seq";
+
+    /**
+     * Sends to a /topic destination, stamped with this node's id and its next sequence number for that
+     * destination, so a client can tell it missed messages.
+     */
+    void send(String destination, Object payload);
+
+    /**
+     * Sends with the node header only. For per-order destinations, which would otherwise each keep a counter
+     * for the life of the process; their clients reload on reconnect instead of checking sequence numbers.
+     */
+    void sendUnsequenced(String destination, Object payload);
+}
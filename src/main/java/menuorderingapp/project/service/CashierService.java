@@ -2,6 +2,7 @@ package menuorderingapp.project.service;
 
 import menuorderingapp.project.model.Cashier;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,7 +26,7 @@ public interface CashierService {
 
     boolean validateCashierCredentials(String username, String password);
 
-    void updateLastLogin(Long cashierId);
+    LocalDateTime updateLastLogin(Long cashierId);
 
     long getActiveCashiersCount();
 }
@@ -0,0 +1,29 @@
+package menuorderingapp.project.service;
+
+public interface IdempotencyService {
+
+    Claim claim(String key, String requestHash);
+
+    void complete(String key, String requestHash, StoredResponse response);
+
+    void release(String key);
+
+    int purgeExpired();
+
+    enum Outcome {
+        /** The caller owns the key and must process the request, then complete or release it. */
+        ACQUIRED,
+        /** The key already completed; replay the stored response. */
+        REPLAY,
+        /** Another request with the same key is still being processed. */
+        IN_PROGRESS,
+        /** The key was used before with a different request body. */
+        MISMATCH
+    }
+
+    record Claim(Outcome outcome, StoredResponse response) {
+    }
+
+    record StoredResponse(int status, String contentType, byte[] body) {
+    }
+}
@@ -0,0 +1,30 @@
+package menuorderingapp.project.service;
+
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.KitchenTicket;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface KitchenQueueService {
+
+    /**
+     * Active orders in the order they should be started, served from memory.
+     */
+    List<KitchenTicket> getQueue();
+
+    /**
+     * Adds, updates or removes the order's ticket according to its current status.
+     */
+    void apply(Order order);
+
+    /**
+     * Applies several orders and pushes their changes as one message.
+     */
+    void applyAll(Collection<Order> orders);
+
+    /**
+     * Replaces the queue with the active orders in the database. No-op once hydrated.
+     */
+    void hydrate();
+}
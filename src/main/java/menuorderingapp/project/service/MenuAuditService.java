@@ -3,9 +3,11 @@ package menuorderingapp.project.service;
 import menuorderingapp.project.model.Cashier;
 import menuorderingapp.project.model.Menu;
 import menuorderingapp.project.model.MenuAuditLog;
+import menuorderingapp.project.model.dto.MenuTimelineEntry;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface MenuAuditService {
 
@@ -21,9 +23,11 @@ public interface MenuAuditService {
 
     List<MenuAuditLog> getMenuAuditLogs(Menu menu);
 
-    List<MenuAuditLog> getCashierAuditLogs(Cashier cashier);
-
     List<MenuAuditLog> getRecentAuditLogs(int limit);
 
-    List<MenuAuditLog> getAuditLogsByDateRange(LocalDateTime start, LocalDateTime end);
+    List<MenuAuditLog> getAuditLogPage(Long menuId, Long cashierId, MenuAuditLog.AuditAction action,
+                                       LocalDateTime from, LocalDateTime to,
+                                       LocalDateTime cursorCreatedAt, Long cursorId, int limit);
+
+    void streamMenuTimeline(Long menuId, Consumer<MenuTimelineEntry> consumer);
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package menuorderingapp.project.service;
+
+import menuorderingapp.project.model.dto.MenuUpdate;
+
+public interface MenuAvailabilityService {
+
+    /**
+     * Availability and price of every menu at the catalog version this node last published, served from memory.
+     */
+    MenuUpdate getSnapshot();
+
+    /**
+     * Publishes on /topic/menu the menus that changed since the last check, if the catalog version moved.
+     */
+    void publishChanges();
+}
@@ -0,0 +1,26 @@
+package menuorderingapp.project.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface MenuImageService {
+
+    /**
+     * Streams a JPEG or PNG upload to a content-addressed file under /media/menu and queues its resized
+     * variants. Uploading the same bytes again returns the same URL.
+     */
+    StoredImage store(InputStream content) throws IOException;
+
+    /**
+     * srcset of the resized variants of an uploaded image, or null for other URLs and while no variant exists yet.
+     */
+    String getSrcset(String imageUrl);
+
+    ImageStats getStats();
+
+    record StoredImage(String imageUrl, boolean variantsQueued) {
+    }
+
+    record ImageStats(int workers, int active, int queued, long processed, long failed, long rejected) {
+    }
+}
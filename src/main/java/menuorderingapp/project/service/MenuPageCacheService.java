@@ -0,0 +1,22 @@
+package menuorderingapp.project.service;
+
+public interface MenuPageCacheService {
+
+    /**
+     * Rendered category bar and menu grid for the customer menu page. Both are cached per catalog version;
+     * the grid per category as well, except for searches, which are rendered on every request.
+     */
+    MenuPage getMenuPage(String category, String search);
+
+    MenuPageCacheStats getStats();
+
+    /**
+     * catalogVersion is the version the cached HTML belongs to, so the page can tell which /topic/menu
+     * updates it still has to apply.
+     */
+    record MenuPage(String categoryBarHtml, String menuGridHtml, long catalogVersion) {
+    }
+
+    record MenuPageCacheStats(long catalogVersion, int cachedGrids, long hits, long misses, long renders) {
+    }
+}
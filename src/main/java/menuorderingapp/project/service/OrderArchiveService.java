@@ -0,0 +1,12 @@
+package menuorderingapp.project.service;
+
+import java.time.LocalDateTime;
+
+public interface OrderArchiveService {
+
+    int archiveClosedMonths();
+
+    LocalDateTime getHotWindowStart();
+
+    boolean reachesArchive(LocalDateTime startDate);
+}
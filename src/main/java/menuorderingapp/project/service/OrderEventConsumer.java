@@ -0,0 +1,15 @@
+package menuorderingapp.project.service;
+
+import java.util.List;
+
+/**
+ * Receives order events from the outbox relay. Delivery is at-least-once: a batch is redelivered
+ * if the consumer throws or the node stops before the checkpoint commits, so handling must be idempotent.
+ */
+public interface OrderEventConsumer {
+
+    /** Checkpoint key; changing it restarts the consumer from the newest event. */
+    String getConsumerName();
+
+    void consume(List<OrderEventService.OrderEvent> events);
+}
@@ -0,0 +1,41 @@
+package menuorderingapp.project.service;
+
+import menuorderingapp.project.model.Order;
+
+public interface OrderEventService {
+
+    /**
+     * Appends an event to the outbox. Must run inside the transaction that changes the order.
+     */
+    void publish(Order order, EventType type);
+
+    /**
+     * Appends one event that stands for a batch of orders, such as a run of the pending order expiry. It has no
+     * order; consumers that only need to know something changed (dashboards) react to it.
+     */
+    void publishSummary(EventType type);
+
+    /**
+     * Delivers the next batch of events to the consumer and advances its checkpoint, in one transaction.
+     * Returns the number of events delivered.
+     */
+    int relay(OrderEventConsumer consumer);
+
+    int purgeDelivered();
+
+    enum EventType {
+        ORDER_CREATED,
+        ORDER_UPDATED,
+        STATUS_CHANGED,
+        PAID,
+        CANCELLED,
+        ORDERS_EXPIRED
+    }
+
+    /**
+     * An outbox event with its order loaded in the delivering transaction; order is null if it no longer exists
+     * or the event is a summary.
+     */
+    record OrderEvent(long id, EventType type, Long cashierId, Order order) {
+    }
+}
@@ -1,8 +1,9 @@
 package menuorderingapp.project.service;
 
 import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.StatusTransitionResult;
+import menuorderingapp.project.util.DateRange;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,19 +23,29 @@ public interface OrderService {
 
     List<Order> getOrdersByCashier(Long cashierId);
 
+    /**
+     * Moves the order to the status if the transition table allows it from the status it is in now.
+     * Throws OrderConflictException if it doesn't.
+     */
     Order updateOrderStatus(Long orderId, Order.OrderStatus status);
 
+    /**
+     * Moves all the orders to the status in one statement. Orders the transition table doesn't allow to move
+     * are left alone and come back as rejected results, in the order the ids were given.
+     */
+    List<StatusTransitionResult> updateOrderStatuses(List<Long> orderIds, Order.OrderStatus status);
+
     Order addItemToOrder(Long orderId, Long menuId, Integer quantity);
 
-    Order removeItemFromOrder(Long orderId, Long orderItemId);
+    Order removeItemFromOrder(Long orderId, Long orderItemId, Long expectedVersion);
 
-    Order updateItemQuantity(Long orderId, Long orderItemId, Integer quantity);
+    Order updateItemQuantity(Long orderId, Long orderItemId, Integer quantity, Long expectedVersion);
 
     void cancelOrder(Long orderId);
 
     List<Order> getTodayOrders();
 
-    List<Order> getOrdersByDateRange(LocalDateTime start, LocalDateTime end);
+    List<Order> getOrdersByDateRange(DateRange range);
 
     Double getTotalRevenueToday();
 
@@ -10,6 +10,8 @@ public interface PaymentService {
 
     boolean processCashPayment(String orderNumber, Double amountTendered);
 
+    boolean simulateQRPayment(String orderNumber);
+
     String generatePaymentQRCode(Order order);
 
     boolean verifyPayment(String orderNumber);
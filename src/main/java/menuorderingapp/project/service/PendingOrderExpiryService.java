@@ -0,0 +1,30 @@
+package menuorderingapp.project.service;
+
+import java.time.LocalDateTime;
+
+public interface PendingOrderExpiryService {
+
+    /**
+     * Cancels unpaid PENDING orders older than the TTL in small chunks if this node holds the expiry lock,
+     * then writes one ORDERS_EXPIRED event for the whole run. Returns null when another node is running it.
+     */
+    ExpiryRun expireStaleOrders();
+
+    PendingOrderExpiryStats getStats();
+
+    record ExpiryRun(long ordersExpired,
+                     int batches,
+                     boolean completed,
+                     long durationMillis,
+                     LocalDateTime finishedAt) {
+    }
+
+    record PendingOrderExpiryStats(long stalePendingOrders,
+                                   LocalDateTime oldestStaleCreatedAt,
+                                   long ttlMinutes,
+                                   String lockHolder,
+                                   LocalDateTime lockedUntil,
+                                   ExpiryRun lastRun,
+                                   long totalExpired) {
+    }
+}
@@ -0,0 +1,23 @@
+package menuorderingapp.project.service;
+
+import java.util.Map;
+
+public interface RateLimitService {
+
+    /**
+     * Takes one token from the bucket for this route and client. Returns 0 if allowed, otherwise the
+     * nanoseconds until a token is available.
+     */
+    long tryAcquire(String route, String clientKey, int capacity, int refillPerMinute);
+
+    int evictIdle();
+
+    RateLimitStats getStats();
+
+    record RouteStats(long allowed, long rejected) {
+    }
+
+    record RateLimitStats(int activeBuckets, int maxBuckets, long evicted, long overflowed,
+                          Map<String, RouteStats> routes) {
+    }
+}
@@ -1,21 +1,21 @@
 package menuorderingapp.project.service;
 
 import menuorderingapp.project.model.Order;
+import menuorderingapp.project.util.DateRange;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 public interface ReportService {
 
-    Map<String, Object> getSalesReport(LocalDateTime startDate, LocalDateTime endDate);
+    Map<String, Object> getSalesReport(DateRange range);
 
     Map<String, Object> getDailySalesReport(LocalDate date);
 
-    List<Map<String, Object>> getTopSellingItems(LocalDateTime startDate, LocalDateTime endDate);
+    List<Map<String, Object>> getTopSellingItems(DateRange range);
 
-    Map<String, Object> getCashierPerformanceReport(LocalDateTime startDate, LocalDateTime endDate);
+    Map<String, Object> getCashierPerformanceReport(DateRange range);
 
-    List<Order> getOrdersForReport(LocalDateTime startDate, LocalDateTime endDate);
+    List<Order> getOrdersForReport(DateRange range);
 }
@@ -0,0 +1,33 @@
+package menuorderingapp.project.service;
+
+import java.time.LocalDateTime;
+
+public interface SessionCleanupService {
+
+    /**
+     * Deletes expired cashier and HTTP sessions in small chunks if this node holds the cleanup lock.
+     * Returns null when another node is running the cleanup.
+     */
+    CleanupRun cleanupExpiredSessions();
+
+    SessionCleanupStats getStats();
+
+    record CleanupRun(long cashierSessionsDeleted,
+                      long httpSessionsDeleted,
+                      int batches,
+                      boolean completed,
+                      long durationMillis,
+                      LocalDateTime finishedAt) {
+    }
+
+    record TableBacklog(long expiredRows, LocalDateTime oldestExpiry) {
+    }
+
+    record SessionCleanupStats(TableBacklog cashierSessions,
+                               TableBacklog httpSessions,
+                               String lockHolder,
+                               LocalDateTime lockedUntil,
+                               CleanupRun lastRun,
+                               long totalDeleted) {
+    }
+}
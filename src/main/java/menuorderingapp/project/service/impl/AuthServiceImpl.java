@@ -1,11 +1,13 @@
 package menuorderingapp.project.service.impl;
 
+import menuorderingapp.project.exception.PasswordHashingBusyException;
 import menuorderingapp.project.model.Cashier;
 import menuorderingapp.project.repository.CashierRepository;
 import menuorderingapp.project.repository.CashierSessionRepository;
 import menuorderingapp.project.security.CashierUserDetails;
 import menuorderingapp.project.service.AuthService;
 import menuorderingapp.project.service.CashierService;
+import menuorderingapp.project.service.SessionCleanupService;
 import menuorderingapp.project.util.JwtUtil;
 
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,9 +15,9 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 
 @Service
 @Transactional
@@ -26,20 +28,26 @@ public class AuthServiceImpl implements AuthService {
     private final CashierSessionRepository sessionRepository;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final SessionCleanupService sessionCleanupService;
 
     public AuthServiceImpl(CashierService cashierService,
             CashierRepository cashierRepository,
             CashierSessionRepository sessionRepository,
             AuthenticationManager authenticationManager,
-            JwtUtil jwtUtil) {
+            JwtUtil jwtUtil,
+            SessionCleanupService sessionCleanupService) {
         this.cashierService = cashierService;
         this.cashierRepository = cashierRepository;
         this.sessionRepository = sessionRepository;
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
+        this.sessionCleanupService = sessionCleanupService;
     }
 
+    // No surrounding transaction: the user lookup and last-login UPDATE each take a connection briefly
+    // instead of holding one for the whole BCrypt check
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String login(String username, String password) {
         try {
             Authentication authentication = authenticationManager.authenticate(
@@ -50,10 +58,12 @@ public class AuthServiceImpl implements AuthService {
             CashierUserDetails userDetails = (CashierUserDetails) authentication.getPrincipal();
             Cashier cashier = userDetails.getCashier();
 
-            cashierService.updateLastLogin(cashier.getId());
+            cashier.setLastLogin(cashierService.updateLastLogin(cashier.getId()));
 
             return jwtUtil.generateToken(cashier);
 
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Invalid username or password");
         }
@@ -82,8 +92,10 @@ public class AuthServiceImpl implements AuthService {
                 .orElseThrow(() -> new RuntimeException("Cashier not found"));
     }
 
+    // Chunked deletes commit one by one, so this must not join a surrounding transaction
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void cleanupExpiredSessions() {
-        sessionRepository.deleteExpiredSessions(LocalDateTime.now());
+        sessionCleanupService.cleanupExpiredSessions();
     }
 }
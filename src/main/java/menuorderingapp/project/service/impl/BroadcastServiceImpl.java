@@ -0,0 +1,44 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.service.BroadcastService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class BroadcastServiceImpl implements BroadcastService {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    // Sequences restart with the process, so the boot time is part of the node id
+    private final String node;
+    private final Map<String, Long> sequences = new HashMap<>();
+    // Held across the send so numbers reach the broker in order when the relay and kitchen timers send at once
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public BroadcastServiceImpl(SimpMessagingTemplate messagingTemplate,
+                                @Value("${app.node-id:local}") String nodeId) {
+        this.messagingTemplate = messagingTemplate;
+        this.node = nodeId + ":" + System.currentTimeMillis();
+    }
+
+    @Override
+    public void send(String destination, Object payload) {
+        lock.lock();
+        try {
+            long sequence = sequences.merge(destination, 1L, Long::sum);
+            messagingTemplate.convertAndSend(destination, payload,
+                    Map.of(NODE_HEADER, node, SEQUENCE_HEADER, Long.toString(sequence)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void sendUnsequenced(String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload, Map.of(NODE_HEADER, node));
+    }
+}
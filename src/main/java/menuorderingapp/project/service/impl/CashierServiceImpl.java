@@ -108,11 +108,12 @@ public class CashierServiceImpl implements CashierService {
     }
 
     @Override
-    public void updateLastLogin(Long cashierId) {
-        Cashier cashier = cashierRepository.findById(cashierId)
-                .orElseThrow(() -> new RuntimeException("Cashier not found with id: " + cashierId));
-        cashier.setLastLogin(LocalDateTime.now());
-        cashierRepository.save(cashier);
+    public LocalDateTime updateLastLogin(Long cashierId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (cashierRepository.updateLastLogin(cashierId, now) == 0) {
+            throw new RuntimeException("Cashier not found with id: " + cashierId);
+        }
+        return now;
     }
 
     @Override
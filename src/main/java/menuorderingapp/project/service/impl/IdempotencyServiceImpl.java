@@ -0,0 +1,128 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.repository.IdempotencyKeyRepository;
+import menuorderingapp.project.service.IdempotencyService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dedupe store for Idempotency-Key requests. The database row is the source of truth, so a retry landing on
+ * another node still sees the first attempt; completed responses are also kept in memory so replays
+ * from the same kiosk don't need a query.
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    private final IdempotencyKeyRepository repository;
+    private final Duration ttl;
+    private final Duration inProgressTimeout;
+    private final int memoryMaxEntries;
+    private final Map<String, CachedResponse> completed = new ConcurrentHashMap<>();
+
+    public IdempotencyServiceImpl(IdempotencyKeyRepository repository,
+                                  @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+                                  @Value("${app.idempotency.in-progress-timeout-seconds:60}") long inProgressTimeoutSeconds,
+                                  @Value("${app.idempotency.memory-max-entries:10000}") int memoryMaxEntries) {
+        this.repository = repository;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.inProgressTimeout = Duration.ofSeconds(inProgressTimeoutSeconds);
+        this.memoryMaxEntries = memoryMaxEntries;
+    }
+
+    @Override
+    public Claim claim(String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+
+        CachedResponse cached = completed.get(key);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            return cached.requestHash().equals(requestHash)
+                    ? new Claim(Outcome.REPLAY, cached.response())
+                    : new Claim(Outcome.MISMATCH, null);
+        }
+
+        LocalDateTime expiresAt = now.plus(ttl);
+        if (repository.insertInProgress(key, requestHash, now, expiresAt)) {
+            return new Claim(Outcome.ACQUIRED, null);
+        }
+
+        Optional<IdempotencyKeyRepository.IdempotencyKeyRow> existing = repository.findByKeyHash(key);
+        if (existing.isPresent() && existing.get().expiresAt().isAfter(now)) {
+            IdempotencyKeyRepository.IdempotencyKeyRow row = existing.get();
+            if (!row.requestHash().equals(requestHash)) {
+                return new Claim(Outcome.MISMATCH, null);
+            }
+            if (row.completed()) {
+                StoredResponse response = new StoredResponse(
+                        row.responseStatus(), row.responseContentType(), row.responseBody());
+                remember(key, requestHash, response, row.expiresAt());
+                return new Claim(Outcome.REPLAY, response);
+            }
+        }
+
+        // Expired, released between our insert and select, or stuck in progress on a dead node
+        if (existing.isEmpty() ? repository.insertInProgress(key, requestHash, now, expiresAt)
+                : repository.takeOver(key, requestHash, now, now.minus(inProgressTimeout), expiresAt)) {
+            return new Claim(Outcome.ACQUIRED, null);
+        }
+        return new Claim(Outcome.IN_PROGRESS, null);
+    }
+
+    @Override
+    public void complete(String key, String requestHash, StoredResponse response) {
+        repository.markCompleted(key, response.status(), response.contentType(), response.body());
+        remember(key, requestHash, response, LocalDateTime.now().plus(ttl));
+    }
+
+    @Override
+    public void release(String key) {
+        repository.deleteInProgress(key);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        completed.values().removeIf(cached -> !cached.expiresAt().isAfter(now));
+
+        int purged = 0;
+        try {
+            int deleted;
+            while ((deleted = repository.deleteExpired(now, PURGE_BATCH_SIZE)) > 0) {
+                purged += deleted;
+            }
+            if (purged > 0) {
+                log.info("Purged {} expired idempotency keys", purged);
+            }
+        } catch (Exception e) {
+            log.error("Failed to purge expired idempotency keys: {}", e.getMessage(), e);
+        }
+        return purged;
+    }
+
+    private void remember(String key, String requestHash, StoredResponse response, LocalDateTime expiresAt) {
+        if (completed.size() >= memoryMaxEntries) {
+            LocalDateTime now = LocalDateTime.now();
+            completed.values().removeIf(cached -> !cached.expiresAt().isAfter(now));
+            if (completed.size() >= memoryMaxEntries) {
+                return;
+            }
+        }
+        completed.put(key, new CachedResponse(requestHash, response, expiresAt));
+    }
+
+    private record CachedResponse(String requestHash, StoredResponse response, LocalDateTime expiresAt) {
+    }
+}
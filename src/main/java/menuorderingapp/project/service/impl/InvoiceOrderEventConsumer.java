@@ -0,0 +1,42 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.service.InvoiceService;
+import menuorderingapp.project.service.OrderEventConsumer;
+import menuorderingapp.project.service.OrderEventService;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the invoice for every paid order. generateInvoice returns the existing invoice on redelivery.
+ */
+@Component
+@org.springframework.core.annotation.Order(1)
+public class InvoiceOrderEventConsumer implements OrderEventConsumer {
+
+    private final InvoiceService invoiceService;
+
+    public InvoiceOrderEventConsumer(InvoiceService invoiceService) {
+        this.invoiceService = invoiceService;
+    }
+
+    @Override
+    public String getConsumerName() {
+        return "invoices";
+    }
+
+    @Override
+    public void consume(List<OrderEventService.OrderEvent> events) {
+        for (OrderEventService.OrderEvent event : events) {
+            Order order = event.order();
+            if (event.type() != OrderEventService.EventType.PAID || order == null
+                    || order.getPaymentStatus() != Order.PaymentStatus.PAID) {
+                continue;
+            }
+            Long cashierId = event.cashierId() != null ? event.cashierId()
+                    : order.getCashier() != null ? order.getCashier().getId() : null;
+            invoiceService.generateInvoice(order, cashierId);
+        }
+    }
+}
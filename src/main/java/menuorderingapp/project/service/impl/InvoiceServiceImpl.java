@@ -5,13 +5,14 @@ import menuorderingapp.project.repository.CashierRepository;
 import menuorderingapp.project.repository.InvoiceRepository;
 import menuorderingapp.project.repository.OrderRepository;
 import menuorderingapp.project.service.InvoiceService;
+import menuorderingapp.project.util.BusinessDayClock;
 import menuorderingapp.project.util.Constants;
+import menuorderingapp.project.util.DateRange;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
@@ -23,13 +24,16 @@ public class InvoiceServiceImpl implements InvoiceService {
     private final InvoiceRepository invoiceRepository;
     private final OrderRepository orderRepository;
     private final CashierRepository cashierRepository;
+    private final BusinessDayClock businessDayClock;
 
     public InvoiceServiceImpl(InvoiceRepository invoiceRepository,
                               OrderRepository orderRepository,
-                              CashierRepository cashierRepository) {
+                              CashierRepository cashierRepository,
+                              BusinessDayClock businessDayClock) {
         this.invoiceRepository = invoiceRepository;
         this.orderRepository = orderRepository;
         this.cashierRepository = cashierRepository;
+        this.businessDayClock = businessDayClock;
     }
 
     @Override
@@ -58,7 +62,7 @@ public class InvoiceServiceImpl implements InvoiceService {
         }
         invoice.setPaymentMethod(paymentMethod);
 
-        invoice.setCreatedAt(LocalDateTime.now());
+        invoice.setCreatedAt(businessDayClock.now());
 
         return invoiceRepository.save(invoice);
     }
@@ -85,10 +89,10 @@ public class InvoiceServiceImpl implements InvoiceService {
     @Transactional(readOnly = true)
     public List<Invoice> getInvoicesByDateRange(String startDate, String endDate) {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        LocalDateTime start = LocalDate.parse(startDate, formatter).atStartOfDay();
-        LocalDateTime end = LocalDate.parse(endDate, formatter).atTime(23, 59, 59);
+        DateRange range = businessDayClock.dayRange(
+                LocalDate.parse(startDate, formatter), LocalDate.parse(endDate, formatter));
 
-        return invoiceRepository.findInvoicesByDateRange(start, end);
+        return invoiceRepository.findInvoicesByDateRange(range.start(), range.end());
     }
 
     @Override
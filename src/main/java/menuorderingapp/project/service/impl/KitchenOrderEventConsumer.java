@@ -0,0 +1,63 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.service.KitchenQueueService;
+import menuorderingapp.project.service.OrderEventConsumer;
+import menuorderingapp.project.service.OrderEventService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Feeds the in-memory kitchen queue. The queue lives on every node, so each node keeps its own checkpoint;
+ * with a cluster-wide broker KitchenQueueServiceImpl lets only the lock holder broadcast the changes.
+ */
+@Component
+@org.springframework.core.annotation.Order(4)
+public class KitchenOrderEventConsumer implements OrderEventConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(KitchenOrderEventConsumer.class);
+
+    private final KitchenQueueService kitchenQueueService;
+    private final String consumerName;
+
+    public KitchenOrderEventConsumer(KitchenQueueService kitchenQueueService,
+                                     @Value("${app.node-id:local}") String nodeId) {
+        this.kitchenQueueService = kitchenQueueService;
+        this.consumerName = "kitchen@" + nodeId;
+    }
+
+    @Override
+    public String getConsumerName() {
+        return consumerName;
+    }
+
+    @Override
+    public void consume(List<OrderEventService.OrderEvent> events) {
+        // Hydrating here reads the same snapshot the events were loaded from, so replayed events can't go backwards
+        kitchenQueueService.hydrate();
+        Map<Long, Order> orders = new LinkedHashMap<>();
+        for (OrderEventService.OrderEvent event : events) {
+            if (event.order() != null) {
+                orders.put(event.order().getId(), event.order());
+            }
+        }
+        kitchenQueueService.applyAll(orders.values());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void hydrateOnStartup() {
+        try {
+            kitchenQueueService.hydrate();
+        } catch (Exception e) {
+            log.error("Failed to hydrate kitchen queue, retrying with the next order event: {}", e.getMessage(), e);
+        }
+    }
+}
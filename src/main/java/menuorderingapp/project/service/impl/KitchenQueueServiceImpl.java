@@ -0,0 +1,325 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.config.WebSocketRelay;
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.OrderItem;
+import menuorderingapp.project.model.dto.KitchenTicket;
+import menuorderingapp.project.model.dto.KitchenUpdate;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.repository.SchedulerLockRepository;
+import menuorderingapp.project.service.BroadcastService;
+import menuorderingapp.project.service.KitchenQueueService;
+import menuorderingapp.project.util.BusinessDayClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Active kitchen orders kept in memory, so kitchen screens are served without touching MySQL.
+ * Orders are ranked by the latest time they can be started and still meet their SLA:
+ * confirmed time + SLA target for the order type - prep time of the slowest item.
+ * Each order has a timer that raises an alert on /topic/kitchen when it starts late or runs overdue.
+ * Every node keeps its own queue; with a cluster-wide broker only the node holding the kitchen-publisher
+ * lock sends updates and alerts, so screens get each message once.
+ */
+@Service
+public class KitchenQueueServiceImpl implements KitchenQueueService {
+
+    private static final Logger log = LoggerFactory.getLogger(KitchenQueueServiceImpl.class);
+
+    public static final String KITCHEN_TOPIC = "/topic/kitchen";
+    public static final String LOCK_NAME = "kitchen-publisher";
+
+    private static final Set<Order.OrderStatus> ACTIVE_STATUSES =
+            EnumSet.of(Order.OrderStatus.CONFIRMED, Order.OrderStatus.PREPARING, Order.OrderStatus.READY);
+
+    private static final int DEFAULT_PREP_MINUTES = 5;
+
+    private final OrderRepository orderRepository;
+    private final BroadcastService broadcastService;
+    private final TaskScheduler taskScheduler;
+    private final BusinessDayClock businessDayClock;
+    private final Duration cashierAssistedSla;
+    private final Duration customerSelfSla;
+    private final boolean clusterWide;
+    private final SchedulerLockRepository lockRepository;
+    // Two processes started with the same node id must not share the lease
+    private final String owner;
+    private final long publisherLeaseMillis;
+    private volatile boolean publisher;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, QueuedOrder> byOrderId = new HashMap<>();
+    private final NavigableSet<QueuedOrder> byStartBy = new TreeSet<>(
+            Comparator.comparing(QueuedOrder::startBy).thenComparing(QueuedOrder::orderId));
+    private final Map<Long, ScheduledFuture<?>> slaTimers = new HashMap<>();
+    private boolean hydrated;
+
+    public KitchenQueueServiceImpl(OrderRepository orderRepository,
+                                   BroadcastService broadcastService,
+                                   TaskScheduler taskScheduler,
+                                   BusinessDayClock businessDayClock,
+                                   WebSocketRelay webSocketRelay,
+                                   SchedulerLockRepository lockRepository,
+                                   @Value("${app.node-id:local}") String nodeId,
+                                   @Value("${app.kitchen.sla.cashier-assisted-minutes:15}") long cashierAssistedMinutes,
+                                   @Value("${app.kitchen.sla.customer-self-minutes:20}") long customerSelfMinutes,
+                                   @Value("${app.kitchen.publisher-lease-ms:30000}") long publisherLeaseMillis) {
+        this.orderRepository = orderRepository;
+        this.broadcastService = broadcastService;
+        this.taskScheduler = taskScheduler;
+        this.businessDayClock = businessDayClock;
+        this.cashierAssistedSla = Duration.ofMinutes(cashierAssistedMinutes);
+        this.customerSelfSla = Duration.ofMinutes(customerSelfMinutes);
+        this.clusterWide = webSocketRelay.isClusterWide();
+        this.lockRepository = lockRepository;
+        this.owner = nodeId + ":" + System.currentTimeMillis();
+        this.publisherLeaseMillis = publisherLeaseMillis;
+        this.publisher = !clusterWide;
+    }
+
+    @Scheduled(fixedDelayString = "${app.kitchen.publisher-renew-ms:10000}")
+    public void renewPublisher() {
+        if (!clusterWide) {
+            return;
+        }
+        boolean wasPublisher = publisher;
+        try {
+            publisher = lockRepository.tryAcquire(LOCK_NAME, owner, publisherLeaseMillis);
+        } catch (Exception e) {
+            // Stop before the lease runs out and another node takes over
+            publisher = false;
+            log.error("Failed to renew the kitchen publisher lock: {}", e.getMessage());
+        }
+        if (publisher != wasPublisher) {
+            log.info(publisher ? "Publishing kitchen updates for the cluster" : "No longer publishing kitchen updates");
+        }
+    }
+
+    public boolean isPublisher() {
+        return publisher;
+    }
+
+    @Override
+    public List<KitchenTicket> getQueue() {
+        LocalDateTime now = businessDayClock.now();
+        lock.lock();
+        try {
+            List<KitchenTicket> tickets = new ArrayList<>(byStartBy.size());
+            for (QueuedOrder queued : byStartBy) {
+                tickets.add(toTicket(queued, now));
+            }
+            return tickets;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void apply(Order order) {
+        applyAll(List.of(order));
+    }
+
+    @Override
+    public void applyAll(Collection<Order> orders) {
+        List<KitchenUpdate> updates = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Order order : orders) {
+                KitchenUpdate update = applyLocked(order);
+                if (update != null) {
+                    updates.add(update);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (updates.size() == 1) {
+            publish(updates.get(0));
+        } else if (updates.size() > 1) {
+            // A bulk status change moves many tickets at once; screens get one message and re-render once
+            publish(KitchenUpdate.batch(updates));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void hydrate() {
+        lock.lock();
+        try {
+            if (hydrated) {
+                return;
+            }
+            // Read under the lock so no relayed update lands between this snapshot and the swap
+            List<Order> activeOrders = orderRepository.findWithItemsByStatusIn(ACTIVE_STATUSES);
+            slaTimers.values().forEach(timer -> timer.cancel(false));
+            slaTimers.clear();
+            byOrderId.clear();
+            byStartBy.clear();
+            activeOrders.forEach(this::applyLocked);
+            hydrated = true;
+            log.info("Kitchen queue hydrated with {} active orders", activeOrders.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private KitchenUpdate applyLocked(Order order) {
+        QueuedOrder previous = byOrderId.remove(order.getId());
+        if (previous != null) {
+            byStartBy.remove(previous);
+        }
+
+        if (!ACTIVE_STATUSES.contains(order.getStatus())) {
+            cancelTimer(order.getId());
+            return previous != null ? new KitchenUpdate(KitchenUpdate.Type.REMOVE, order.getId(), null) : null;
+        }
+
+        QueuedOrder queued = toQueuedOrder(order);
+        byOrderId.put(queued.orderId(), queued);
+        byStartBy.add(queued);
+
+        LocalDateTime now = businessDayClock.now();
+        armTimer(queued, now);
+        return new KitchenUpdate(KitchenUpdate.Type.UPSERT, queued.orderId(), toTicket(queued, now));
+    }
+
+    private QueuedOrder toQueuedOrder(Order order) {
+        List<KitchenTicket.Item> items = new ArrayList<>();
+        int prepMinutes = 0;
+        for (OrderItem item : order.getOrderItems()) {
+            Integer itemPrep = item.getMenu().getPrepTimeMinutes();
+            int minutes = itemPrep != null ? itemPrep : DEFAULT_PREP_MINUTES;
+            items.add(new KitchenTicket.Item(item.getMenu().getName(), item.getQuantity(), minutes));
+            prepMinutes = Math.max(prepMinutes, minutes);
+        }
+
+        LocalDateTime confirmedAt = order.getConfirmedAt() != null ? order.getConfirmedAt()
+                : order.getUpdatedAt() != null ? order.getUpdatedAt() : businessDayClock.now();
+        Duration sla = order.getOrderType() == Order.OrderType.CASHIER_ASSISTED ? cashierAssistedSla : customerSelfSla;
+        LocalDateTime dueAt = confirmedAt.plus(sla);
+
+        return new QueuedOrder(order.getId(), order.getOrderNumber(), order.getCustomerName(), order.getOrderType(),
+                order.getStatus(), List.copyOf(items), prepMinutes, confirmedAt,
+                dueAt.minusMinutes(prepMinutes), dueAt);
+    }
+
+    private KitchenTicket toTicket(QueuedOrder queued, LocalDateTime now) {
+        KitchenTicket ticket = new KitchenTicket();
+        ticket.setOrderId(queued.orderId());
+        ticket.setOrderNumber(queued.orderNumber());
+        ticket.setCustomerName(queued.customerName());
+        ticket.setOrderType(queued.orderType());
+        ticket.setStatus(queued.status());
+        ticket.setItems(queued.items());
+        ticket.setPrepTimeMinutes(queued.prepMinutes());
+        ticket.setConfirmedAt(queued.confirmedAt());
+        ticket.setStartBy(queued.startBy());
+        ticket.setDueAt(queued.dueAt());
+        ticket.setSlaState(slaState(queued, now));
+        return ticket;
+    }
+
+    private KitchenTicket.SlaState slaState(QueuedOrder queued, LocalDateTime now) {
+        if (queued.status() == Order.OrderStatus.READY) {
+            return KitchenTicket.SlaState.ON_TRACK;
+        }
+        if (!now.isBefore(queued.dueAt())) {
+            return KitchenTicket.SlaState.OVERDUE;
+        }
+        if (queued.status() == Order.OrderStatus.CONFIRMED && !now.isBefore(queued.startBy())) {
+            return KitchenTicket.SlaState.START_LATE;
+        }
+        return KitchenTicket.SlaState.ON_TRACK;
+    }
+
+    // One pending timer per order, armed for its next SLA threshold
+    private void armTimer(QueuedOrder queued, LocalDateTime now) {
+        cancelTimer(queued.orderId());
+        if (queued.status() == Order.OrderStatus.READY) {
+            return;
+        }
+
+        LocalDateTime next;
+        if (queued.status() == Order.OrderStatus.CONFIRMED && now.isBefore(queued.startBy())) {
+            next = queued.startBy();
+        } else if (now.isBefore(queued.dueAt())) {
+            next = queued.dueAt();
+        } else {
+            return;
+        }
+
+        long orderId = queued.orderId();
+        slaTimers.put(orderId, taskScheduler.schedule(() -> onSlaTimer(orderId),
+                Instant.now().plus(Duration.between(now, next))));
+    }
+
+    private void onSlaTimer(long orderId) {
+        KitchenUpdate alert = null;
+        lock.lock();
+        try {
+            slaTimers.remove(orderId);
+            QueuedOrder queued = byOrderId.get(orderId);
+            if (queued == null) {
+                return;
+            }
+            LocalDateTime now = businessDayClock.now();
+            KitchenTicket ticket = toTicket(queued, now);
+            if (ticket.getSlaState() != KitchenTicket.SlaState.ON_TRACK) {
+                alert = new KitchenUpdate(KitchenUpdate.Type.ALERT, orderId, ticket);
+            }
+            armTimer(queued, now);
+        } finally {
+            lock.unlock();
+        }
+        if (alert != null && publisher) {
+            log.warn("Kitchen SLA {} for order {}", alert.getTicket().getSlaState(), alert.getTicket().getOrderNumber());
+            broadcastService.send(KITCHEN_TOPIC, alert);
+        }
+    }
+
+    private void publish(KitchenUpdate update) {
+        if (publisher) {
+            broadcastService.send(KITCHEN_TOPIC, update);
+        }
+    }
+
+    private void cancelTimer(Long orderId) {
+        ScheduledFuture<?> timer = slaTimers.remove(orderId);
+        if (timer != null) {
+            timer.cancel(false);
+        }
+    }
+
+    private record QueuedOrder(long orderId,
+                               String orderNumber,
+                               String customerName,
+                               Order.OrderType orderType,
+                               Order.OrderStatus status,
+                               List<KitchenTicket.Item> items,
+                               int prepMinutes,
+                               LocalDateTime confirmedAt,
+                               LocalDateTime startBy,
+                               LocalDateTime dueAt) {
+    }
+}
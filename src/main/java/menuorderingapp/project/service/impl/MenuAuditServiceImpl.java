@@ -1,75 +1,88 @@
 package menuorderingapp.project.service.impl;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import menuorderingapp.project.model.Cashier;
 import menuorderingapp.project.model.Menu;
 import menuorderingapp.project.model.MenuAuditLog;
+import menuorderingapp.project.model.dto.MenuTimelineEntry;
 import menuorderingapp.project.repository.MenuAuditLogRepository;
 import menuorderingapp.project.service.MenuAuditService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
 public class MenuAuditServiceImpl implements MenuAuditService {
 
+    private static final Logger log = LoggerFactory.getLogger(MenuAuditServiceImpl.class);
+
+    public static final int TIMELINE_CHUNK_SIZE = 500;
+
+    private static final String TIMELINE_SQL =
+            "SELECT id, action, cashier_id, old_values, new_values, created_at FROM menu_audit_log " +
+            "WHERE menu_id = ? ORDER BY created_at, id LIMIT ?";
+
+    private static final String TIMELINE_AFTER_SQL =
+            "SELECT id, action, cashier_id, old_values, new_values, created_at FROM menu_audit_log " +
+            "WHERE menu_id = ? AND (created_at > ? OR (created_at = ? AND id > ?)) ORDER BY created_at, id LIMIT ?";
+
     private final MenuAuditLogRepository auditLogRepository;
     private final ObjectMapper objectMapper;
+    private final MenuAuditWriter auditWriter;
+    private final JdbcTemplate jdbcTemplate;
 
-    public MenuAuditServiceImpl(MenuAuditLogRepository auditLogRepository, ObjectMapper objectMapper) {
+    public MenuAuditServiceImpl(MenuAuditLogRepository auditLogRepository, ObjectMapper objectMapper,
+                                MenuAuditWriter auditWriter, JdbcTemplate jdbcTemplate) {
         this.auditLogRepository = auditLogRepository;
         this.objectMapper = objectMapper;
+        this.auditWriter = auditWriter;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
     public void logMenuCreate(Menu menu, Cashier cashier) {
-        MenuAuditLog log = new MenuAuditLog(menu, cashier, MenuAuditLog.AuditAction.CREATED);
-        log.setMenuName(menu.getName());
-        log.setNewValues(menuToJson(menu));
-        auditLogRepository.save(log);
+        enqueue(menu.getId(), menu.getName(), cashier, MenuAuditLog.AuditAction.CREATED, null, menuToJson(menu));
     }
 
     @Override
     public void logMenuUpdate(Menu menu, Cashier cashier, String oldValues, String newValues) {
-        MenuAuditLog log = new MenuAuditLog(menu, cashier, MenuAuditLog.AuditAction.UPDATED, oldValues, newValues);
-        log.setMenuName(menu.getName());
-        auditLogRepository.save(log);
+        enqueue(menu.getId(), menu.getName(), cashier, MenuAuditLog.AuditAction.UPDATED, oldValues, newValues);
     }
 
     @Override
     public void logMenuDelete(Menu menu, Cashier cashier) {
-        MenuAuditLog log = new MenuAuditLog();
-        log.setMenu(null);
-        log.setMenuName(menu.getName());
-        log.setCashier(cashier);
-        log.setAction(MenuAuditLog.AuditAction.DELETED);
-        log.setOldValues(menuToJson(menu));
-        auditLogRepository.save(log);
+        enqueue(menu.getId(), menu.getName(), cashier, MenuAuditLog.AuditAction.DELETED, menuToJson(menu), null);
     }
 
     @Override
     public void logAvailabilityChange(Menu menu, Cashier cashier, boolean oldValue, boolean newValue) {
-        MenuAuditLog log = new MenuAuditLog(menu, cashier, MenuAuditLog.AuditAction.AVAILABILITY_CHANGED);
-        log.setMenuName(menu.getName());
-        log.setOldValues(String.format("{\"available\":%b}", oldValue));
-        log.setNewValues(String.format("{\"available\":%b}", newValue));
-        auditLogRepository.save(log);
+        enqueue(menu.getId(), menu.getName(), cashier, MenuAuditLog.AuditAction.AVAILABILITY_CHANGED,
+                String.format("{\"available\":%b}", oldValue),
+                String.format("{\"available\":%b}", newValue));
     }
 
     @Override
     public void logPriceChange(Menu menu, Cashier cashier, double oldPrice, double newPrice) {
-        MenuAuditLog log = new MenuAuditLog(menu, cashier, MenuAuditLog.AuditAction.PRICE_CHANGED);
-        log.setMenuName(menu.getName());
-        log.setOldValues(String.format("{\"price\":%.2f}", oldPrice));
-        log.setNewValues(String.format("{\"price\":%.2f}", newPrice));
-        auditLogRepository.save(log);
+        enqueue(menu.getId(), menu.getName(), cashier, MenuAuditLog.AuditAction.PRICE_CHANGED,
+                String.format(Locale.ROOT, "{\"price\":%.2f}", oldPrice),
+                String.format(Locale.ROOT, "{\"price\":%.2f}", newPrice));
     }
 
     @Override
@@ -78,24 +91,100 @@ public class MenuAuditServiceImpl implements MenuAuditService {
         return auditLogRepository.findByMenuOrderByCreatedAtDesc(menu);
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public List<MenuAuditLog> getCashierAuditLogs(Cashier cashier) {
-        return auditLogRepository.findByCashierOrderByCreatedAtDesc(cashier);
-    }
-
     @Override
     @Transactional(readOnly = true)
     public List<MenuAuditLog> getRecentAuditLogs(int limit) {
         return auditLogRepository.findAll(
-                PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "createdAt"))
+                PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "createdAt", "id"))
         ).getContent();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<MenuAuditLog> getAuditLogsByDateRange(LocalDateTime start, LocalDateTime end) {
-        return auditLogRepository.findByCreatedAtBetween(start, end);
+    public List<MenuAuditLog> getAuditLogPage(Long menuId, Long cashierId, MenuAuditLog.AuditAction action,
+                                              LocalDateTime from, LocalDateTime to,
+                                              LocalDateTime cursorCreatedAt, Long cursorId, int limit) {
+        return auditLogRepository.findAuditPage(menuId, cashierId, action, from, to,
+                cursorCreatedAt, cursorId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Reads the timeline in keyset chunks outside a transaction, so the connection goes back to the pool
+     * after each chunk and a slow consumer (an HTTP client) never holds it or a server-side cursor open.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamMenuTimeline(Long menuId, Consumer<MenuTimelineEntry> consumer) {
+        MenuTimelineEntry state = new MenuTimelineEntry();
+        TimelineRow last = null;
+        List<TimelineRow> chunk;
+        do {
+            chunk = last == null
+                    ? jdbcTemplate.query(TIMELINE_SQL, this::mapTimelineRow, menuId, TIMELINE_CHUNK_SIZE)
+                    : jdbcTemplate.query(TIMELINE_AFTER_SQL, this::mapTimelineRow, menuId,
+                            last.createdAt(), last.createdAt(), last.id(), TIMELINE_CHUNK_SIZE);
+            for (TimelineRow row : chunk) {
+                consumer.accept(toTimelineEntry(state, row));
+            }
+            if (!chunk.isEmpty()) {
+                last = chunk.get(chunk.size() - 1);
+            }
+        } while (chunk.size() == TIMELINE_CHUNK_SIZE);
+    }
+
+    private TimelineRow mapTimelineRow(ResultSet rs, int rowNum) throws SQLException {
+        return new TimelineRow(
+                rs.getLong("id"),
+                MenuAuditLog.AuditAction.valueOf(rs.getString("action")),
+                rs.getObject("cashier_id", Long.class),
+                rs.getString("old_values"),
+                rs.getString("new_values"),
+                rs.getTimestamp("created_at"));
+    }
+
+    private MenuTimelineEntry toTimelineEntry(MenuTimelineEntry state, TimelineRow row) {
+        boolean deleted = row.action() == MenuAuditLog.AuditAction.DELETED;
+        applySnapshot(state, deleted ? row.oldValues() : row.newValues());
+
+        MenuTimelineEntry entry = new MenuTimelineEntry();
+        entry.setAuditId(row.id());
+        entry.setAction(row.action());
+        entry.setCashierId(row.cashierId());
+        entry.setChangedAt(row.createdAt().toLocalDateTime());
+        entry.setPrice(state.getPrice());
+        entry.setPromoPrice(state.getPromoPrice());
+        entry.setIsPromo(state.getIsPromo());
+        entry.setAvailable(deleted ? Boolean.FALSE : state.getAvailable());
+        return entry;
+    }
+
+    private void applySnapshot(MenuTimelineEntry state, String json) {
+        if (json == null || json.isBlank()) {
+            return;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            if (node.hasNonNull("price")) {
+                state.setPrice(node.get("price").decimalValue());
+            }
+            if (node.has("promoPrice")) {
+                state.setPromoPrice(node.get("promoPrice").isNull() ? null : node.get("promoPrice").decimalValue());
+            }
+            if (node.hasNonNull("isPromo")) {
+                state.setIsPromo(node.get("isPromo").asBoolean());
+            }
+            if (node.hasNonNull("available")) {
+                state.setAvailable(node.get("available").asBoolean());
+            }
+        } catch (Exception e) {
+            log.warn("Skipping unreadable audit values: {}", json);
+        }
+    }
+
+    private void enqueue(Long menuId, String menuName, Cashier cashier, MenuAuditLog.AuditAction action,
+                         String oldValues, String newValues) {
+        auditWriter.enqueue(new MenuAuditWriter.MenuAuditEvent(
+                menuId, menuName, cashier.getId(), action, oldValues, newValues, LocalDateTime.now()));
     }
 
     private String menuToJson(Menu menu) {
@@ -113,4 +202,12 @@ public class MenuAuditServiceImpl implements MenuAuditService {
             return "{}";
         }
     }
+
+    private record TimelineRow(long id,
+                               MenuAuditLog.AuditAction action,
+                               Long cashierId,
+                               String oldValues,
+                               String newValues,
+                               Timestamp createdAt) {
+    }
 }
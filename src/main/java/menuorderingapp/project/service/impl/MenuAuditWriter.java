@@ -0,0 +1,298 @@
+package menuorderingapp.project.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import menuorderingapp.project.model.MenuAuditLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffers menu audit events in memory and writes them to menu_audit_log in JDBC batches
+ * from the scheduler thread, so menu edits don't wait on audit inserts.
+ * Every event is appended to a local journal file and fsynced before enqueue returns. The journal
+ * stays open and callers share fsyncs: whoever forces the file covers everything appended so far,
+ * so concurrent edits pay for one fsync between them instead of one each. A flush moves the
+ * journal aside and deletes it only after its events are committed, so events that overflow
+ * the buffer, fail to write or are lost in a crash are replayed from the file.
+ */
+@Component
+public class MenuAuditWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuAuditWriter.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO menu_audit_log (menu_id, menu_name, cashier_id, action, old_values, new_values, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<MenuAuditEvent> buffer;
+    private final int batchSize;
+    private final Path journalFile;
+    private final Path replayFile;
+    // Locks rather than synchronized so file I/O doesn't pin the carrier when running on virtual threads
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Held while forcing the journal; taken before journalLock when both are needed
+    private final ReentrantLock forceLock = new ReentrantLock();
+    private FileChannel journal;
+    private volatile long appendedSeq;
+    private volatile long forcedSeq;
+    // Set when the journal may hold events the buffer doesn't: after an overflow, or one left by an earlier run
+    private boolean journalAhead = true;
+
+    public MenuAuditWriter(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           ObjectMapper objectMapper,
+                           @Value("${app.audit.buffer-capacity:4096}") int bufferCapacity,
+                           @Value("${app.audit.batch-size:200}") int batchSize,
+                           @Value("${app.audit.spill-file:data/menu-audit-spill.jsonl}") String spillFile) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.journalFile = Paths.get(spillFile);
+        this.replayFile = Paths.get(spillFile + ".replay");
+    }
+
+    public void enqueue(MenuAuditEvent event) {
+        long seq;
+        journalLock.lock();
+        try {
+            if (journal == null) {
+                journal = openForAppend(journalFile);
+            }
+            write(journal, List.of(event));
+            seq = ++appendedSeq;
+            if (!buffer.offer(event)) {
+                if (!journalAhead) {
+                    log.warn("Audit buffer full, next flush replays events from {}", journalFile);
+                }
+                journalAhead = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to journal audit event for menu '" + event.menuName() + "'", e);
+        } finally {
+            journalLock.unlock();
+        }
+        awaitForced(seq, event);
+    }
+
+    private void awaitForced(long seq, MenuAuditEvent event) {
+        forceLock.lock();
+        try {
+            // Another caller's force may already have covered this append while we waited for the lock
+            if (forcedSeq >= seq) {
+                return;
+            }
+            forceJournal();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to sync audit journal for menu '" + event.menuName() + "'", e);
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    // Caller holds forceLock
+    private void forceJournal() throws IOException {
+        long target = appendedSeq;
+        if (journal != null) {
+            journal.force(false);
+        }
+        forcedSeq = target;
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            // Finish an earlier flush first so events stay in order
+            if (Files.exists(replayFile) && !replay()) {
+                return;
+            }
+            List<MenuAuditEvent> batch = rotateJournal();
+            if (!Files.exists(replayFile)) {
+                return;
+            }
+            if (batch != null) {
+                writeEvents(batch);
+            } else {
+                replay();
+            }
+        } catch (IOException e) {
+            log.error("Failed to flush audit journal {}: {}", journalFile, e.getMessage(), e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayOnStartup() {
+        flush();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    /**
+     * Moves the journal to the replay file and drains the buffer. Returns the drained events when they are
+     * exactly the journal's contents, or null when the replay file has to be read instead.
+     */
+    private List<MenuAuditEvent> rotateJournal() throws IOException {
+        forceLock.lock();
+        journalLock.lock();
+        try {
+            List<MenuAuditEvent> batch = new ArrayList<>(buffer.size());
+            buffer.drainTo(batch);
+            boolean complete = !journalAhead;
+            journalAhead = false;
+            if (journal != null) {
+                // Releases callers still waiting on a force; their events are durable in the replay file
+                forceJournal();
+                journal.close();
+                journal = null;
+            }
+            if (Files.exists(journalFile)) {
+                Files.move(journalFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return complete ? batch : null;
+        } finally {
+            journalLock.unlock();
+            forceLock.unlock();
+        }
+    }
+
+    private boolean writeEvents(List<MenuAuditEvent> events) throws IOException {
+        for (int from = 0; from < events.size(); from += batchSize) {
+            if (!writeBatch(events.subList(from, Math.min(from + batchSize, events.size())))) {
+                // Keep only the unwritten tail so the next replay doesn't duplicate rows
+                rewriteReplayFile(events.subList(from, events.size()));
+                return false;
+            }
+        }
+        Files.delete(replayFile);
+        return true;
+    }
+
+    private boolean replay() throws IOException {
+        List<MenuAuditEvent> events = readReplayFile();
+        if (!writeEvents(events)) {
+            return false;
+        }
+        log.info("Replayed {} journaled audit events", events.size());
+        return true;
+    }
+
+    private boolean writeBatch(List<MenuAuditEvent> batch) {
+        try {
+            // One transaction per batch so a failure leaves nothing behind to be duplicated on replay
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+                        if (event.menuId() != null) {
+                            ps.setLong(1, event.menuId());
+                        } else {
+                            ps.setNull(1, Types.BIGINT);
+                        }
+                        ps.setString(2, event.menuName());
+                        ps.setLong(3, event.cashierId());
+                        ps.setString(4, event.action().name());
+                        ps.setString(5, event.oldValues());
+                        ps.setString(6, event.newValues());
+                        ps.setTimestamp(7, Timestamp.valueOf(event.createdAt()));
+                    }));
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to write {} audit events: {}", batch.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private List<MenuAuditEvent> readReplayFile() throws IOException {
+        List<MenuAuditEvent> events = new ArrayList<>();
+        for (String line : Files.readAllLines(replayFile, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                events.add(objectMapper.readValue(line, MenuAuditEvent.class));
+            } catch (IOException e) {
+                // A line cut short by a crash mid-append
+                log.warn("Skipping unreadable audit journal line in {}: {}", replayFile, e.getMessage());
+            }
+        }
+        return events;
+    }
+
+    private void rewriteReplayFile(List<MenuAuditEvent> events) throws IOException {
+        Path tmp = Paths.get(replayFile + ".tmp");
+        Files.deleteIfExists(tmp);
+        try (FileChannel channel = openForAppend(tmp)) {
+            write(channel, events);
+            channel.force(false);
+        }
+        Files.move(tmp, replayFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private FileChannel openForAppend(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void write(FileChannel channel, List<MenuAuditEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (MenuAuditEvent event : events) {
+            lines.append(objectMapper.writeValueAsString(event)).append('\n');
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    public record MenuAuditEvent(Long menuId,
+                                 String menuName,
+                                 Long cashierId,
+                                 MenuAuditLog.AuditAction action,
+                                 String oldValues,
+                                 String newValues,
+                                 LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,127 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.model.dto.MenuAvailability;
+import menuorderingapp.project.model.dto.MenuUpdate;
+import menuorderingapp.project.repository.CatalogVersionRepository;
+import menuorderingapp.project.service.BroadcastService;
+import menuorderingapp.project.service.MenuAvailabilityService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes sold-out and price changes to customer kiosks on /topic/menu. Every node watches the catalog version,
+ * like the menu page cache, and diffs the menus against the state it published last, so edits made on any node
+ * reach the kiosks connected to this one. With a cluster-wide broker each node sends its own copy; kiosks skip
+ * versions they already have.
+ */
+@Service
+public class MenuAvailabilityServiceImpl implements MenuAvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuAvailabilityServiceImpl.class);
+
+    public static final String MENU_TOPIC = "/topic/menu";
+
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final BroadcastService broadcastService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public MenuAvailabilityServiceImpl(CatalogVersionRepository catalogVersionRepository,
+                                       BroadcastService broadcastService,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${app.menu-push.enabled:true}") boolean enabled) {
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.broadcastService = broadcastService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    @Override
+    public MenuUpdate getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null || !enabled) {
+            lock.lock();
+            try {
+                current = snapshot != null && enabled ? snapshot : load();
+                snapshot = current;
+            } finally {
+                lock.unlock();
+            }
+        }
+        return new MenuUpdate(0, current.version(), List.copyOf(current.menus().values()));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.menu-push.poll-ms:1000}")
+    public void publishChanges() {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            Snapshot previous = snapshot;
+            if (previous != null && catalogVersionRepository.findVersion() == previous.version()) {
+                return;
+            }
+            Snapshot current = load();
+            snapshot = current;
+            if (previous == null || current.version() == previous.version()) {
+                return;
+            }
+            // Sent even when no card changed (a renamed category, say), so pages move to the new version
+            // and a later update isn't mistaken for a gap
+            broadcastService.send(MENU_TOPIC,
+                    new MenuUpdate(previous.version(), current.version(), diff(previous, current)));
+        } catch (DataAccessException e) {
+            log.warn("Menu availability check failed: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Snapshot load() {
+        // Read-write so both reads come from the primary, in one transaction so the menus match the version
+        return transactionTemplate.execute(status -> {
+            long version = catalogVersionRepository.findVersion();
+            Map<Long, MenuAvailability> menus = new LinkedHashMap<>();
+            for (MenuAvailability menu : catalogVersionRepository.findMenuAvailability()) {
+                menus.put(menu.menuId(), menu);
+            }
+            return new Snapshot(version, menus);
+        });
+    }
+
+    private List<MenuAvailability> diff(Snapshot previous, Snapshot current) {
+        List<MenuAvailability> changes = new ArrayList<>();
+        for (MenuAvailability menu : current.menus().values()) {
+            if (!Objects.equals(previous.menus().get(menu.menuId()), menu)) {
+                changes.add(menu);
+            }
+        }
+        for (Long menuId : previous.menus().keySet()) {
+            if (!current.menus().containsKey(menuId)) {
+                changes.add(MenuAvailability.removed(menuId));
+            }
+        }
+        return changes;
+    }
+
+    private record Snapshot(long version, Map<Long, MenuAvailability> menus) {
+    }
+}
@@ -0,0 +1,377 @@
+package menuorderingapp.project.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import menuorderingapp.project.exception.ImageProcessingBusyException;
+import menuorderingapp.project.exception.InvalidImageException;
+import menuorderingapp.project.repository.CatalogVersionRepository;
+import menuorderingapp.project.service.MenuImageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stores uploaded menu images under /media/menu/{first two hex}/{sha256}.{ext} and writes progressive JPEG
+ * variants ({sha256}-{width}w.jpg) for each configured width narrower than the original on a small fixed pool.
+ * Files never change once written, so WebConfig serves /media with an immutable Cache-Control.
+ * The catalog version is bumped when a variant set is written, so cached menu grids pick up the new srcset.
+ * A srcset is cached once every width the original qualifies for exists; an incomplete set (a failed or
+ * interrupted resize) is queued again instead of being re-checked on every menu render.
+ */
+@Service
+public class MenuImageServiceImpl implements MenuImageService {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuImageServiceImpl.class);
+
+    public static final String URL_PREFIX = "/media/menu/";
+
+    private static final Pattern STORED_URL = Pattern.compile("^/media/menu/[0-9a-f]{2}/([0-9a-f]{64})\\.(jpg|png)$");
+
+    private static final byte[] JPEG_MAGIC = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG_MAGIC = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final Path mediaDir;
+    private final int[] widths;
+    private final long maxPixels;
+    private final float jpegQuality;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, String> srcsets = new ConcurrentHashMap<>();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public MenuImageServiceImpl(CatalogVersionRepository catalogVersionRepository,
+                                @Value("${app.images.dir:data/media}") String dir,
+                                @Value("${app.images.widths:320,640}") int[] widths,
+                                @Value("${app.images.max-megapixels:40}") int maxMegapixels,
+                                @Value("${app.images.jpeg-quality:0.8}") float jpegQuality,
+                                @Value("${app.images.workers:2}") int workers,
+                                @Value("${app.images.queue-capacity:32}") int queueCapacity) {
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.mediaDir = Paths.get(dir, "menu");
+        this.widths = Arrays.stream(widths).sorted().toArray();
+        this.maxPixels = maxMegapixels * 1_000_000L;
+        this.jpegQuality = jpegQuality;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+                    Thread thread = new Thread(task, "menu-image-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public StoredImage store(InputStream content) throws IOException {
+        Files.createDirectories(mediaDir);
+        Path temp = Files.createTempFile(mediaDir, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            // Copied in small buffers while hashing; the upload is never held in memory as a whole
+            try (InputStream in = new DigestInputStream(content, digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            CheckedImage image = checkImage(temp);
+            String hash = HexFormat.of().formatHex(digest.digest());
+
+            Path original = originalPath(hash, image.extension());
+            Files.createDirectories(original.getParent());
+            if (!Files.exists(original)) {
+                Files.move(temp, original, StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            boolean queued = false;
+            List<Integer> existing = existingVariants(hash);
+            if (existing.isEmpty() || !existing.containsAll(targetWidths(image.width()))) {
+                queueVariants(hash, original);
+                queued = true;
+            }
+            return new StoredImage(URL_PREFIX + hash.substring(0, 2) + "/" + hash + "." + image.extension(), queued);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public String getSrcset(String imageUrl) {
+        Matcher matcher = imageUrl != null ? STORED_URL.matcher(imageUrl) : null;
+        if (matcher == null || !matcher.matches()) {
+            return null;
+        }
+        String hash = matcher.group(1);
+        String srcset = srcsets.get(hash);
+        if (srcset == null) {
+            srcset = loadSrcset(hash, originalPath(hash, matcher.group(2)));
+        }
+        return srcset.isEmpty() ? null : srcset;
+    }
+
+    private String loadSrcset(String hash, Path original) {
+        List<Integer> existing = existingVariants(hash);
+        String srcset = buildSrcset(hash, existing);
+        List<Integer> expected;
+        try {
+            expected = targetWidths(sourceWidth(original));
+        } catch (IOException e) {
+            // Original missing or unreadable, so nothing more can be written
+            expected = existing;
+        }
+        if (!existing.containsAll(expected)) {
+            try {
+                queueVariants(hash, original);
+            } catch (ImageProcessingBusyException e) {
+                // Serve what exists and try again on a later render
+                return srcset;
+            }
+        }
+        // Replaced with the full set once the queued variants are written
+        srcsets.put(hash, srcset);
+        return srcset;
+    }
+
+    @Override
+    public ImageStats getStats() {
+        return new ImageStats(executor.getMaximumPoolSize(), executor.getActiveCount(), executor.getQueue().size(),
+                processed.sum(), failed.sum(), rejected.sum());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void queueVariants(String hash, Path original) {
+        if (!pending.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    writeVariants(hash, original);
+                } finally {
+                    pending.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(hash);
+            rejected.increment();
+            throw new ImageProcessingBusyException("Too many images being processed, try again shortly", e);
+        }
+    }
+
+    private void writeVariants(String hash, Path original) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            ImageReader reader = readerFor(input);
+            try {
+                int sourceWidth = reader.getWidth(0);
+                List<Integer> targets = targetWidths(sourceWidth);
+                if (!targets.isEmpty()) {
+                    // Decode every n-th pixel when the original is far larger than the biggest variant
+                    int subsampling = Math.max(1, sourceWidth / (targets.get(targets.size() - 1) * 2));
+                    ImageReadParam param = reader.getDefaultReadParam();
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                    BufferedImage image = reader.read(0, param);
+
+                    for (int i = targets.size() - 1; i >= 0; i--) {
+                        image = resize(image, targets.get(i));
+                        writeJpeg(image, variantPath(hash, targets.get(i)));
+                    }
+                }
+                srcsets.put(hash, buildSrcset(hash, targets));
+                if (!targets.isEmpty()) {
+                    catalogVersionRepository.increment();
+                }
+            } finally {
+                reader.dispose();
+            }
+            processed.increment();
+        } catch (Exception e) {
+            failed.increment();
+            log.warn("Failed to write variants for menu image {}: {}", original.getFileName(), e.getMessage(), e);
+        }
+    }
+
+    private CheckedImage checkImage(Path file) throws IOException {
+        byte[] header = new byte[PNG_MAGIC.length];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read = in.readNBytes(header, 0, header.length);
+            header = Arrays.copyOf(header, read);
+        }
+        String extension;
+        if (startsWith(header, JPEG_MAGIC)) {
+            extension = "jpg";
+        } else if (startsWith(header, PNG_MAGIC)) {
+            extension = "png";
+        } else {
+            throw new InvalidImageException("Only JPEG and PNG images are supported");
+        }
+
+        // Dimensions come from the header alone, so an oversized image is refused before anything decodes it
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            ImageReader reader = readerFor(input);
+            try {
+                int width = reader.getWidth(0);
+                long pixels = (long) width * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new InvalidImageException("Image is larger than " + maxPixels / 1_000_000 + " megapixels");
+                }
+                return new CheckedImage(extension, width);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new InvalidImageException("Image file is damaged");
+        }
+    }
+
+    private int sourceWidth(Path original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            ImageReader reader = readerFor(input);
+            try {
+                return reader.getWidth(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private List<Integer> targetWidths(int sourceWidth) {
+        return Arrays.stream(widths).filter(w -> w < sourceWidth).boxed().toList();
+    }
+
+    private ImageReader readerFor(ImageInputStream input) throws IOException {
+        Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+        if (readers == null || !readers.hasNext()) {
+            throw new IOException("No image reader for file");
+        }
+        ImageReader reader = readers.next();
+        reader.setInput(input, true, true);
+        return reader;
+    }
+
+    private BufferedImage resize(BufferedImage source, int targetWidth) {
+        BufferedImage current = source;
+        // Halve in steps so bilinear filtering doesn't skip pixels on large reductions
+        do {
+            int width = Math.max(targetWidth, current.getWidth() / 2);
+            int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                // PNG transparency becomes white instead of black in the JPEG
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (current.getWidth() > targetWidth);
+        return current;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+
+        Path temp = Files.createTempFile(target.getParent(), "variant-", ".tmp");
+        try {
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private List<Integer> existingVariants(String hash) {
+        List<Integer> existing = new ArrayList<>();
+        for (int width : widths) {
+            if (Files.exists(variantPath(hash, width))) {
+                existing.add(width);
+            }
+        }
+        return existing;
+    }
+
+    private String buildSrcset(String hash, List<Integer> variantWidths) {
+        List<String> candidates = new ArrayList<>();
+        for (int width : variantWidths) {
+            candidates.add(URL_PREFIX + hash.substring(0, 2) + "/" + hash + "-" + width + "w.jpg " + width + "w");
+        }
+        return String.join(", ", candidates);
+    }
+
+    private Path originalPath(String hash, String extension) {
+        return mediaDir.resolve(hash.substring(0, 2)).resolve(hash + "." + extension);
+    }
+
+    private Path variantPath(String hash, int width) {
+        return mediaDir.resolve(hash.substring(0, 2)).resolve(hash + "-" + width + "w.jpg");
+    }
+
+    private boolean startsWith(byte[] bytes, byte[] prefix) {
+        return bytes.length >= prefix.length && Arrays.equals(bytes, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private record CheckedImage(String extension, int width) {
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
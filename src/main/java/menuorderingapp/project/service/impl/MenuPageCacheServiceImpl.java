@@ -0,0 +1,184 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.model.Category;
+import menuorderingapp.project.model.Menu;
+import menuorderingapp.project.repository.CatalogVersionRepository;
+import menuorderingapp.project.service.MenuImageService;
+import menuorderingapp.project.service.MenuPageCacheService;
+import menuorderingapp.project.service.MenuService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the customer menu page's category bar and menu grids as rendered HTML, so the landing page for every
+ * QR scan doesn't load and render the whole catalog. Entries belong to one catalog version; the version row is
+ * re-read at most every app.menu-page-cache.version-check-ms and a new version drops all entries on this node.
+ * Renders load menus in a read-write transaction so they come from the primary, like the version itself.
+ */
+@Service
+public class MenuPageCacheServiceImpl implements MenuPageCacheService {
+
+    private static final String ALL_CATEGORIES = "SEMUA";
+
+    private final MenuService menuService;
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final ITemplateEngine templateEngine;
+    private final AssetUrls assetUrls;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long versionCheckNanos;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+    private volatile long versionCheckedAt;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong renders = new AtomicLong();
+
+    public MenuPageCacheServiceImpl(MenuService menuService,
+                                    CatalogVersionRepository catalogVersionRepository,
+                                    ITemplateEngine templateEngine,
+                                    ResourceUrlProvider resourceUrlProvider,
+                                    MenuImageService menuImageService,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.menu-page-cache.enabled:true}") boolean enabled,
+                                    @Value("${app.menu-page-cache.version-check-ms:1000}") long versionCheckMillis) {
+        this(menuService, catalogVersionRepository, templateEngine, resourceUrlProvider, menuImageService,
+                transactionManager, enabled, versionCheckMillis, System::nanoTime);
+    }
+
+    public MenuPageCacheServiceImpl(MenuService menuService,
+                                    CatalogVersionRepository catalogVersionRepository,
+                                    ITemplateEngine templateEngine,
+                                    ResourceUrlProvider resourceUrlProvider,
+                                    MenuImageService menuImageService,
+                                    PlatformTransactionManager transactionManager,
+                                    boolean enabled,
+                                    long versionCheckMillis,
+                                    LongSupplier nanoClock) {
+        this.menuService = menuService;
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.templateEngine = templateEngine;
+        this.assetUrls = new AssetUrls(resourceUrlProvider, menuImageService);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.versionCheckNanos = versionCheckMillis * 1_000_000;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public MenuPage getMenuPage(String category, String search) {
+        Snapshot current = currentSnapshot();
+
+        if (search != null && !search.trim().isEmpty()) {
+            misses.incrementAndGet();
+            String grid = transactionTemplate.execute(status -> renderGrid(menuService.searchMenus(search)));
+            return new MenuPage(current.categoryBarHtml(), grid, current.version());
+        }
+
+        // Unknown names share the all-menus entry, so arbitrary query strings can't grow the cache
+        Optional<Category> selected = current.categories().stream()
+                .filter(c -> category != null && c.getName().equals(category))
+                .findFirst();
+        String key = selected.map(Category::getName).orElse(ALL_CATEGORIES);
+
+        String grid = current.grids().get(key);
+        if (grid != null && enabled) {
+            hits.incrementAndGet();
+            return new MenuPage(current.categoryBarHtml(), grid, current.version());
+        }
+
+        misses.incrementAndGet();
+        grid = transactionTemplate.execute(status -> renderGrid(selected
+                .map(c -> menuService.getMenusByCategory(c.getId()))
+                .orElseGet(menuService::getAvailableMenus)));
+        if (enabled) {
+            current.grids().putIfAbsent(key, grid);
+        }
+        return new MenuPage(current.categoryBarHtml(), grid, current.version());
+    }
+
+    @Override
+    public MenuPageCacheStats getStats() {
+        Snapshot current = snapshot;
+        return new MenuPageCacheStats(current != null ? current.version() : 0,
+                current != null ? current.grids().size() : 0, hits.get(), misses.get(), renders.get());
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        long now = nanoClock.getAsLong();
+        if (current != null && enabled && now - versionCheckedAt < versionCheckNanos) {
+            return current;
+        }
+
+        rebuildLock.lock();
+        try {
+            current = snapshot;
+            if (current != null && enabled && now - versionCheckedAt < versionCheckNanos) {
+                return current;
+            }
+            long version = catalogVersionRepository.findVersion();
+            if (current == null || current.version() != version || !enabled) {
+                current = transactionTemplate.execute(status -> {
+                    List<Category> categories = menuService.getAllCategories();
+                    return new Snapshot(version, categories, renderCategoryBar(categories), new ConcurrentHashMap<>());
+                });
+                snapshot = current;
+            }
+            versionCheckedAt = now;
+            return current;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private String renderCategoryBar(List<Category> categories) {
+        renders.incrementAndGet();
+        return templateEngine.process("fragments/menu-sidebar", Set.of("menu-sidebar"),
+                new Context(Locale.getDefault(), Map.of("categories", categories)));
+    }
+
+    private String renderGrid(List<Menu> menus) {
+        renders.incrementAndGet();
+        return templateEngine.process("fragments/menu-grid", Set.of("menu-grid"),
+                new Context(Locale.getDefault(), Map.of("menus", menus, "assets", assetUrls)));
+    }
+
+    /**
+     * Grids are rendered outside a request, so ResourceUrlEncodingFilter can't fingerprint image links;
+     * the template resolves them through this instead. URLs outside the static handlers are left unchanged.
+     */
+    public record AssetUrls(ResourceUrlProvider resourceUrlProvider, MenuImageService menuImageService) {
+
+        public String url(String path) {
+            String fingerprinted = path != null ? resourceUrlProvider.getForLookupPath(path) : null;
+            return fingerprinted != null ? fingerprinted : path;
+        }
+
+        public String srcset(String path) {
+            return menuImageService.getSrcset(path);
+        }
+    }
+
+    private record Snapshot(long version, List<Category> categories, String categoryBarHtml,
+                            Map<String, String> grids) {
+    }
+}
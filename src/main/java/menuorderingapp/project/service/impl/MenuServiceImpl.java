@@ -2,6 +2,7 @@ package menuorderingapp.project.service.impl;
 
 import menuorderingapp.project.model.Category;
 import menuorderingapp.project.model.Menu;
+import menuorderingapp.project.repository.CatalogVersionRepository;
 import menuorderingapp.project.repository.CategoryRepository;
 import menuorderingapp.project.repository.MenuRepository;
 import menuorderingapp.project.service.MenuService;
@@ -19,13 +20,16 @@ public class MenuServiceImpl implements MenuService {
     private final MenuRepository menuRepository;
     private final CategoryRepository categoryRepository;
     private final MenuAuditService auditService;
+    private final CatalogVersionRepository catalogVersionRepository;
 
     public MenuServiceImpl(MenuRepository menuRepository,
                           CategoryRepository categoryRepository,
-                          MenuAuditService auditService) {
+                          MenuAuditService auditService,
+                          CatalogVersionRepository catalogVersionRepository) {
         this.menuRepository = menuRepository;
         this.categoryRepository = categoryRepository;
         this.auditService = auditService;
+        this.catalogVersionRepository = catalogVersionRepository;
     }
 
     @Override
@@ -48,6 +52,7 @@ public class MenuServiceImpl implements MenuService {
 
     @Override
     public Menu saveMenu(Menu menu) {
+        catalogVersionRepository.increment();
         return menuRepository.save(menu);
     }
 
@@ -63,8 +68,10 @@ public class MenuServiceImpl implements MenuService {
         existingMenu.setAvailable(menuDetails.getAvailable());
         existingMenu.setIsPromo(menuDetails.getIsPromo());
         existingMenu.setPromoPrice(menuDetails.getPromoPrice());
+        existingMenu.setPrepTimeMinutes(menuDetails.getPrepTimeMinutes());
         existingMenu.setCategory(menuDetails.getCategory());
 
+        catalogVersionRepository.increment();
         return menuRepository.save(existingMenu);
     }
 
@@ -72,6 +79,7 @@ public class MenuServiceImpl implements MenuService {
     public void deleteMenu(Long id) {
         Menu menu = menuRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Menu not found with id: " + id));
+        catalogVersionRepository.increment();
         menuRepository.delete(menu);
     }
 
@@ -80,6 +88,7 @@ public class MenuServiceImpl implements MenuService {
         Menu menu = menuRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Menu not found with id: " + id));
         menu.setAvailable(!menu.getAvailable());
+        catalogVersionRepository.increment();
         return menuRepository.save(menu);
     }
 
@@ -118,6 +127,7 @@ public class MenuServiceImpl implements MenuService {
 
     @Override
     public Category saveCategory(Category category) {
+        catalogVersionRepository.increment();
         return categoryRepository.save(category);
     }
 
@@ -129,6 +139,7 @@ public class MenuServiceImpl implements MenuService {
         existingCategory.setName(categoryDetails.getName());
         existingCategory.setDisplayOrder(categoryDetails.getDisplayOrder());
 
+        catalogVersionRepository.increment();
         return categoryRepository.save(existingCategory);
     }
 
@@ -136,6 +147,7 @@ public class MenuServiceImpl implements MenuService {
     public void deleteCategory(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
+        catalogVersionRepository.increment();
         categoryRepository.delete(category);
     }
 
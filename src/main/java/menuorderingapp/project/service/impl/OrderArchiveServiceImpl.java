@@ -0,0 +1,124 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.repository.OrderArchiveRepository;
+import menuorderingapp.project.repository.SchedulerLockRepository;
+import menuorderingapp.project.service.OrderArchiveService;
+import menuorderingapp.project.util.BusinessDayClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves orders older than the hot window into the *_archive tables one month at a time. Only the node holding
+ * the order-archive lock moves orders, so two nodes never copy the same batch; the lease is renewed after every
+ * batch and the run stops if it was lost.
+ */
+@Service
+public class OrderArchiveServiceImpl implements OrderArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiveServiceImpl.class);
+
+    public static final String LOCK_NAME = "order-archive";
+
+    private final OrderArchiveRepository archiveRepository;
+    private final SchedulerLockRepository lockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BusinessDayClock businessDayClock;
+    // Two processes started with the same node id must not share the lease
+    private final String owner;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean archiveEnabled;
+
+    @Value("${app.archive.retain-months:3}")
+    private int retainMonths;
+
+    @Value("${app.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.archive.lock-lease-ms:60000}")
+    private long leaseMillis;
+
+    public OrderArchiveServiceImpl(OrderArchiveRepository archiveRepository,
+                                   SchedulerLockRepository lockRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   BusinessDayClock businessDayClock,
+                                   @Value("${app.node-id:local}") String nodeId) {
+        this.archiveRepository = archiveRepository;
+        this.lockRepository = lockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.businessDayClock = businessDayClock;
+        this.owner = nodeId + ":" + System.currentTimeMillis();
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (!archiveEnabled) {
+            return;
+        }
+        try {
+            int archived = archiveClosedMonths();
+            if (archived > 0) {
+                log.info("Archived {} orders created before {}", archived, getHotWindowStart());
+            }
+        } catch (Exception e) {
+            log.error("Order archival failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int archiveClosedMonths() {
+        if (!lockRepository.tryAcquire(LOCK_NAME, owner, leaseMillis)) {
+            return 0;
+        }
+        try {
+            return moveClosedMonths();
+        } finally {
+            lockRepository.release(LOCK_NAME, owner);
+        }
+    }
+
+    private int moveClosedMonths() {
+        LocalDateTime cutoff = getHotWindowStart();
+        int archived = 0;
+
+        LocalDateTime oldest;
+        while ((oldest = archiveRepository.findOldestOrderBefore(cutoff)) != null) {
+            LocalDateTime monthStart = oldest.toLocalDate().withDayOfMonth(1).atStartOfDay();
+            LocalDateTime monthEnd = monthStart.plusMonths(1);
+            LocalDateTime batchEnd = monthEnd.isBefore(cutoff) ? monthEnd : cutoff;
+
+            archiveRepository.ensureMonthPartition(OrderArchiveRepository.toArchiveMonth(monthStart));
+
+            List<Long> orderIds;
+            while (!(orderIds = archiveRepository.findOrderIdsCreatedBetween(monthStart, batchEnd, batchSize)).isEmpty()) {
+                List<Long> batch = orderIds;
+                transactionTemplate.executeWithoutResult(status -> archiveRepository.moveOrdersToArchive(batch));
+                archived += batch.size();
+                if (!lockRepository.tryAcquire(LOCK_NAME, owner, leaseMillis)) {
+                    log.warn("Lost the order archive lock, stopping this run");
+                    return archived;
+                }
+            }
+        }
+
+        return archived;
+    }
+
+    @Override
+    public LocalDateTime getHotWindowStart() {
+        return businessDayClock.now().toLocalDate().withDayOfMonth(1).minusMonths(retainMonths).atStartOfDay();
+    }
+
+    @Override
+    public boolean reachesArchive(LocalDateTime startDate) {
+        return startDate.isBefore(getHotWindowStart());
+    }
+}
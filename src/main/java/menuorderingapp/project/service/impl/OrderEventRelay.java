@@ -0,0 +1,73 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.service.OrderEventConsumer;
+import menuorderingapp.project.service.OrderEventService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Polls the order_events outbox and hands new events to each consumer in turn (invoices, sales rollup,
+ * WebSocket broadcast), so those side effects run after the order or payment commits instead of on the request path.
+ * A failing consumer is retried on the next poll without holding back the others.
+ */
+@Component
+public class OrderEventRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventRelay.class);
+
+    private final OrderEventService orderEventService;
+    private final List<OrderEventConsumer> consumers;
+
+    @Value("${app.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+
+    public OrderEventRelay(OrderEventService orderEventService, List<OrderEventConsumer> consumers) {
+        this.orderEventService = orderEventService;
+        this.consumers = consumers;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:250}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        for (OrderEventConsumer consumer : consumers) {
+            try {
+                int delivered;
+                do {
+                    delivered = orderEventService.relay(consumer);
+                } while (delivered == batchSize);
+            } catch (Exception e) {
+                log.error("Order event consumer '{}' failed, will retry: {}",
+                        consumer.getConsumerName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int purged = 0;
+            int deleted;
+            while ((deleted = orderEventService.purgeDelivered()) > 0) {
+                purged += deleted;
+            }
+            if (purged > 0) {
+                log.info("Purged {} delivered order events", purged);
+            }
+        } catch (Exception e) {
+            log.error("Failed to purge order events: {}", e.getMessage(), e);
+        }
+    }
+}
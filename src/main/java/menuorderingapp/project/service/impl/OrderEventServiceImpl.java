@@ -0,0 +1,148 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.repository.OrderEventRepository;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.OrderEventConsumer;
+import menuorderingapp.project.service.OrderEventService;
+import menuorderingapp.project.util.SecurityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class OrderEventServiceImpl implements OrderEventService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventServiceImpl.class);
+
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    private final OrderEventRepository orderEventRepository;
+    private final OrderRepository orderRepository;
+    private final List<OrderEventConsumer> consumers;
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.settle-ms:500}")
+    private long settleMillis;
+
+    @Value("${app.outbox.gap-timeout-ms:600000}")
+    private long gapTimeoutMillis;
+
+    @Value("${app.outbox.retention-hours:72}")
+    private int retentionHours;
+
+    public OrderEventServiceImpl(OrderEventRepository orderEventRepository,
+                                 OrderRepository orderRepository,
+                                 List<OrderEventConsumer> consumers) {
+        this.orderEventRepository = orderEventRepository;
+        this.orderRepository = orderRepository;
+        this.consumers = consumers;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(Order order, EventType type) {
+        orderEventRepository.insert(order.getId(), type.name(), SecurityUtils.getCurrentCashierId());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishSummary(EventType type) {
+        orderEventRepository.insert(null, type.name(), SecurityUtils.getCurrentCashierId());
+    }
+
+    @Override
+    public int relay(OrderEventConsumer consumer) {
+        String name = consumer.getConsumerName();
+        Long checkpoint = orderEventRepository.lockCheckpoint(name);
+        if (checkpoint == null) {
+            return 0;
+        }
+        // Ids the checkpoint already passed while their transaction was still open
+        List<Long> gaps = orderEventRepository.findGaps(name);
+        List<OrderEventRepository.OrderEventRow> late = orderEventRepository.findByIds(gaps);
+        List<OrderEventRepository.OrderEventRow> rows = orderEventRepository.findAfter(checkpoint, settleMillis, batchSize);
+        if (rows.isEmpty() && late.isEmpty()) {
+            expireGaps(name, gaps);
+            return 0;
+        }
+
+        List<OrderEventRepository.OrderEventRow> batch = new ArrayList<>(late);
+        batch.addAll(rows);
+        Map<Long, Order> orders = orderRepository.findAllById(batch.stream()
+                        .map(OrderEventRepository.OrderEventRow::orderId)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        consumer.consume(batch.stream()
+                .map(row -> new OrderEvent(row.id(), EventType.valueOf(row.eventType()), row.cashierId(),
+                        orders.get(row.orderId())))
+                .toList());
+
+        if (!late.isEmpty()) {
+            orderEventRepository.deleteGaps(name, late.stream().map(OrderEventRepository.OrderEventRow::id).toList());
+        }
+        if (!rows.isEmpty()) {
+            List<Long> skipped = skippedIds(checkpoint, rows);
+            if (!skipped.isEmpty()) {
+                orderEventRepository.insertGaps(name, skipped);
+            }
+            orderEventRepository.advanceCheckpoint(name, rows.get(rows.size() - 1).id());
+        }
+        expireGaps(name, gaps);
+        return batch.size();
+    }
+
+    private List<Long> skippedIds(long checkpoint, List<OrderEventRepository.OrderEventRow> rows) {
+        List<Long> skipped = new ArrayList<>();
+        long expected = checkpoint + 1;
+        if (rows.get(0).id() > expected) {
+            // A checkpoint left behind by a stopped node can point below purged events; those aren't gaps
+            expected = Math.max(expected, orderEventRepository.findOldestId());
+        }
+        for (OrderEventRepository.OrderEventRow row : rows) {
+            for (long id = expected; id < row.id(); id++) {
+                skipped.add(id);
+            }
+            expected = row.id() + 1;
+        }
+        return skipped;
+    }
+
+    private void expireGaps(String consumer, List<Long> gaps) {
+        if (gaps.isEmpty()) {
+            return;
+        }
+        int expired = orderEventRepository.deleteExpiredGaps(consumer, gapTimeoutMillis);
+        if (expired > 0) {
+            log.warn("Stopped waiting for {} order event ids for '{}'; their transactions never committed",
+                    expired, consumer);
+        }
+    }
+
+    @Override
+    public int purgeDelivered() {
+        orderEventRepository.touchCheckpoints(consumers.stream().map(OrderEventConsumer::getConsumerName).toList());
+        int dropped = orderEventRepository.deleteStaleCheckpoints(retentionHours);
+        if (dropped > 0) {
+            log.warn("Dropped {} order event checkpoints of nodes not seen for {} hours", dropped, retentionHours);
+        }
+        return orderEventRepository.deleteDelivered(retentionHours, PURGE_BATCH_SIZE);
+    }
+}
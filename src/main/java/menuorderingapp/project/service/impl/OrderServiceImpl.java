@@ -1,44 +1,93 @@
 package menuorderingapp.project.service.impl;
 
+import menuorderingapp.project.exception.OrderConflictException;
+import menuorderingapp.project.exception.OrderNotFoundException;
 import menuorderingapp.project.model.*;
+import menuorderingapp.project.model.dto.StatusTransitionResult;
 import menuorderingapp.project.repository.CashierRepository;
+import menuorderingapp.project.repository.DailySalesRollupRepository;
 import menuorderingapp.project.repository.MenuRepository;
-import menuorderingapp.project.repository.OrderItemRepository;
+import menuorderingapp.project.repository.OrderLineRepository;
+import menuorderingapp.project.repository.OrderLineRepository.OrderLine;
 import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.OrderEventService;
 import menuorderingapp.project.service.OrderService;
+import menuorderingapp.project.util.BusinessDayClock;
 import menuorderingapp.project.util.Constants;
+import menuorderingapp.project.util.DateRange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDate;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class OrderServiceImpl implements OrderService {
 
+    private static final Logger log = LoggerFactory.getLogger(OrderServiceImpl.class);
+
     private final OrderRepository orderRepository;
-    private final OrderItemRepository orderItemRepository;
+    private final OrderLineRepository orderLineRepository;
     private final MenuRepository menuRepository;
     private final CashierRepository cashierRepository;
+    private final DailySalesRollupRepository rollupRepository;
+    private final OrderEventService orderEventService;
+    private final BusinessDayClock businessDayClock;
+    private final TransactionTemplate editTransaction;
+    private final int editMaxAttempts;
+    private final long editBackoffMillis;
 
     public OrderServiceImpl(OrderRepository orderRepository,
-                            OrderItemRepository orderItemRepository,
+                            OrderLineRepository orderLineRepository,
                             MenuRepository menuRepository,
-                            CashierRepository cashierRepository) {
+                            CashierRepository cashierRepository,
+                            DailySalesRollupRepository rollupRepository,
+                            OrderEventService orderEventService,
+                            BusinessDayClock businessDayClock,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.orders.edit-retry.max-attempts:3}") int editMaxAttempts,
+                            @Value("${app.orders.edit-retry.backoff-ms:20}") long editBackoffMillis) {
         this.orderRepository = orderRepository;
-        this.orderItemRepository = orderItemRepository;
+        this.orderLineRepository = orderLineRepository;
         this.menuRepository = menuRepository;
         this.cashierRepository = cashierRepository;
+        this.rollupRepository = rollupRepository;
+        this.orderEventService = orderEventService;
+        this.businessDayClock = businessDayClock;
+        this.editTransaction = new TransactionTemplate(transactionManager);
+        this.editTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.editMaxAttempts = Math.max(1, editMaxAttempts);
+        this.editBackoffMillis = Math.max(0, editBackoffMillis);
     }
 
     @Override
     public Order createOrder(Order order) {
         order.calculateTotal();
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        orderEventService.publish(savedOrder, OrderEventService.EventType.ORDER_CREATED);
+        return savedOrder;
     }
 
     @Override
@@ -80,121 +129,241 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public Order updateOrderStatus(Long orderId, Order.OrderStatus status) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
-        order.setStatus(status);
-        return orderRepository.save(order);
+        StatusTransitionResult result = updateOrderStatuses(List.of(orderId), status).get(0);
+        requireApplied(orderId, result);
+        return orderRepository.findWithItemsById(orderId).orElseThrow(() -> new OrderNotFoundException(orderId));
     }
 
     @Override
-    public Order addItemToOrder(Long orderId, Long menuId, Integer quantity) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
-        Menu menu = menuRepository.findById(menuId)
-                .orElseThrow(() -> new RuntimeException("Menu not found with id: " + menuId));
+    public List<StatusTransitionResult> updateOrderStatuses(List<Long> orderIds, Order.OrderStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime confirmedAt = status == Order.OrderStatus.CANCELLED ? null : now;
+        return transition(orderIds, status,
+                ids -> orderRepository.transitionStatus(ids, status.allowedFrom(), status, confirmedAt, now));
+    }
 
-        if (!menu.getAvailable()) {
-            throw new RuntimeException("Menu item is not available: " + menu.getName());
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Order addItemToOrder(Long orderId, Long menuId, Integer quantity) {
+        // Adding to a line commutes with any other edit, so a lost race is simply replayed on fresh state
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return editTransaction.execute(status -> doAddItem(orderId, menuId, quantity));
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= editMaxAttempts || !backOff(attempt)) {
+                    throw new OrderConflictException("Order is being edited by someone else, please try again", e);
+                }
+                log.debug("Order {} changed concurrently, retrying add (attempt {})", orderId, attempt + 1);
+            }
         }
+    }
 
-        Optional<OrderItem> existingItem = order.getOrderItems().stream()
-                .filter(item -> item.getMenu().getId().equals(menuId))
-                .findFirst();
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Order removeItemFromOrder(Long orderId, Long orderItemId, Long expectedVersion) {
+        return failOnConflict(() -> removeLine(orderId, findLineForEdit(orderId, orderItemId, expectedVersion),
+                expectedVersion));
+    }
 
-        if (existingItem.isPresent()) {
-            OrderItem item = existingItem.get();
-            item.setQuantity(item.getQuantity() + quantity);
-            orderItemRepository.save(item);
-        } else {
-            OrderItem newItem = new OrderItem(order, menu, quantity);
-            order.addOrderItem(newItem);
-            orderItemRepository.save(newItem);
-        }
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Order updateItemQuantity(Long orderId, Long orderItemId, Integer quantity, Long expectedVersion) {
+        return failOnConflict(() -> {
+            OrderLine line = findLineForEdit(orderId, orderItemId, expectedVersion);
+
+            if (quantity <= 0) {
+                return removeLine(orderId, line, expectedVersion);
+            }
+
+            if (!orderLineRepository.setQuantity(line, quantity)) {
+                throw lineChanged(orderItemId);
+            }
+            addToTotal(orderId, line.price().multiply(BigDecimal.valueOf(quantity - line.quantity())), expectedVersion);
+
+            return publishUpdated(orderId);
+        });
+    }
 
-        order.calculateTotal();
-        return orderRepository.save(order);
+    @Override
+    public void cancelOrder(Long orderId) {
+        StatusTransitionResult result = transition(List.of(orderId), Order.OrderStatus.CANCELLED,
+                ids -> orderRepository.cancel(ids, Order.OrderStatus.CANCELLED.allowedFrom(), LocalDateTime.now()))
+                .get(0);
+        requireApplied(orderId, result);
     }
 
     @Override
-    public Order removeItemFromOrder(Long orderId, Long orderItemId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
-        OrderItem orderItem = orderItemRepository.findById(orderItemId)
-                .orElseThrow(() -> new RuntimeException("Order item not found with id: " + orderItemId));
+    @Transactional(readOnly = true)
+    public List<Order> getTodayOrders() {
+        return getOrdersByDateRange(businessDayClock.todayRange());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> getOrdersByDateRange(DateRange range) {
+        return orderRepository.findOrdersByDateRange(range.start(), range.end());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Double getTotalRevenueToday() {
+        // Maintained by the sales rollup consumer of the order event relay
+        return rollupRepository.getRevenue(businessDayClock.today()).doubleValue() * (1 + Constants.TAX_RATE);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getPendingOrdersCount() {
+        return orderRepository.countByStatus(Order.OrderStatus.PENDING);
+    }
 
-        if (!orderItem.getOrder().getId().equals(orderId)) {
-            throw new RuntimeException("Order item does not belong to this order");
+    // Reads the current statuses once to explain rejections, then moves every eligible order with one
+    // conditional update; the status condition in the update is what actually guards the transition
+    private List<StatusTransitionResult> transition(Collection<Long> orderIds, Order.OrderStatus target,
+                                                    ToIntFunction<List<Long>> update) {
+        List<Long> ids = orderIds.stream().distinct().toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Set<Order.OrderStatus> allowedFrom = target.allowedFrom();
+        Map<Long, OrderRepository.StatusRow> current = orderRepository.findStatusesByIdIn(ids).stream()
+                .collect(Collectors.toMap(OrderRepository.StatusRow::getId, Function.identity()));
+        List<Long> eligible = ids.stream()
+                .filter(id -> current.containsKey(id) && allowedFrom.contains(current.get(id).getStatus()))
+                .toList();
+
+        Set<Long> moved = new HashSet<>();
+        if (!eligible.isEmpty()) {
+            if (update.applyAsInt(eligible) == eligible.size()) {
+                moved.addAll(eligible);
+            } else {
+                // Someone else moved some of them in between; only the rows this update changed are in the target
+                // status from this transaction's point of view
+                orderRepository.findStatusesByIdIn(eligible).stream()
+                        .filter(row -> row.getStatus() == target)
+                        .forEach(row -> moved.add(row.getId()));
+            }
         }
 
-        order.removeOrderItem(orderItem);
-        orderItemRepository.delete(orderItem);
-        order.calculateTotal();
+        OrderEventService.EventType eventType = target == Order.OrderStatus.CANCELLED
+                ? OrderEventService.EventType.CANCELLED : OrderEventService.EventType.STATUS_CHANGED;
+        List<StatusTransitionResult> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            OrderRepository.StatusRow row = current.get(id);
+            if (row == null) {
+                results.add(new StatusTransitionResult(id, null, false, null, "Order not found with id: " + id));
+            } else if (moved.contains(id)) {
+                orderEventService.publish(orderRepository.getReferenceById(id), eventType);
+                results.add(new StatusTransitionResult(id, row.getOrderNumber(), true, target, null));
+            } else if (allowedFrom.contains(row.getStatus())) {
+                results.add(new StatusTransitionResult(id, row.getOrderNumber(), false, row.getStatus(),
+                        "Order was changed by someone else, reload it and try again"));
+            } else {
+                results.add(new StatusTransitionResult(id, row.getOrderNumber(), false, row.getStatus(),
+                        row.getStatus() == target ? "Order is already " + target
+                                : "Order cannot move from " + row.getStatus() + " to " + target));
+            }
+        }
+        if (ids.size() > 1) {
+            log.debug("Moved {} of {} orders to {}", moved.size(), ids.size(), target);
+        }
+        return results;
+    }
 
-        return orderRepository.save(order);
+    private void requireApplied(Long orderId, StatusTransitionResult result) {
+        if (result.getStatus() == null) {
+            throw new OrderNotFoundException(orderId);
+        }
+        if (!result.isApplied()) {
+            throw new OrderConflictException(result.getReason());
+        }
     }
 
-    @Override
-    public Order updateItemQuantity(Long orderId, Long orderItemId, Integer quantity) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
-        OrderItem orderItem = orderItemRepository.findById(orderItemId)
-                .orElseThrow(() -> new RuntimeException("Order item not found with id: " + orderItemId));
+    private Order doAddItem(Long orderId, Long menuId, Integer quantity) {
+        Menu menu = menuRepository.findById(menuId)
+                .orElseThrow(() -> new RuntimeException("Menu not found with id: " + menuId));
 
-        if (!orderItem.getOrder().getId().equals(orderId)) {
-            throw new RuntimeException("Order item does not belong to this order");
+        if (!menu.getAvailable()) {
+            throw new RuntimeException("Menu item is not available: " + menu.getName());
         }
 
-        if (quantity <= 0) {
-            return removeItemFromOrder(orderId, orderItemId);
+        OrderLine line = orderLineRepository.findByMenu(orderId, menuId)
+                .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
+
+        if (line.exists()) {
+            if (!orderLineRepository.incrementQuantity(line.itemId(), quantity)) {
+                throw lineChanged(line.itemId());
+            }
+            addToTotal(orderId, line.price().multiply(BigDecimal.valueOf(quantity)), null);
+        } else {
+            // Guarded by the order version read above, so two first adds of the same menu can't both insert a line
+            BigDecimal price = menu.getCurrentPrice();
+            orderLineRepository.insert(orderId, menuId, quantity, price);
+            addToTotal(orderId, price.multiply(BigDecimal.valueOf(quantity)), line.orderVersion());
         }
 
-        orderItem.setQuantity(quantity);
-        orderItemRepository.save(orderItem);
-        order.calculateTotal();
+        return publishUpdated(orderId);
+    }
 
-        return orderRepository.save(order);
+    // Setting a quantity or removing a line depends on what the client saw, so a concurrent change is reported
+    // back instead of being overwritten
+    private Order failOnConflict(Supplier<Order> edit) {
+        try {
+            return editTransaction.execute(status -> edit.get());
+        } catch (ConcurrencyFailureException e) {
+            throw new OrderConflictException("Order was changed by someone else, reload it and try again", e);
+        }
     }
 
-    @Override
-    public void cancelOrder(Long orderId) {
-        Order order = orderRepository.findById(orderId)
+    private OrderLine findLineForEdit(Long orderId, Long orderItemId, Long expectedVersion) {
+        OrderLine line = orderLineRepository.findById(orderId, orderItemId)
                 .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
+        if (!line.exists()) {
+            throw new RuntimeException("Order item " + orderItemId + " not found in order " + orderId);
+        }
+        if (expectedVersion != null && expectedVersion != line.orderVersion()) {
+            throw new OrderConflictException("Order was changed by someone else, reload it and try again");
+        }
+        return line;
+    }
 
-        if (order.getStatus() == Order.OrderStatus.COMPLETED) {
-            throw new RuntimeException("Cannot cancel a completed order");
+    private Order removeLine(Long orderId, OrderLine line, Long expectedVersion) {
+        if (!orderLineRepository.delete(line)) {
+            throw lineChanged(line.itemId());
         }
+        addToTotal(orderId, line.price().multiply(BigDecimal.valueOf(-line.quantity())), expectedVersion);
 
-        order.setStatus(Order.OrderStatus.CANCELLED);
-        order.setPaymentStatus(Order.PaymentStatus.REFUNDED);
-        orderRepository.save(order);
+        return publishUpdated(orderId);
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public List<Order> getTodayOrders() {
-        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-        LocalDateTime endOfDay = LocalDate.now().atTime(LocalTime.MAX);
-        return orderRepository.findOrdersByDateRange(startOfDay, endOfDay);
+    private void addToTotal(Long orderId, BigDecimal delta, Long expectedVersion) {
+        if (!orderLineRepository.addToTotal(orderId, delta, expectedVersion)) {
+            throw new OptimisticLockingFailureException("Order " + orderId + " changed while editing a line");
+        }
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public List<Order> getOrdersByDateRange(LocalDateTime start, LocalDateTime end) {
-        return orderRepository.findOrdersByDateRange(start, end);
+    private OptimisticLockingFailureException lineChanged(Long orderItemId) {
+        return new OptimisticLockingFailureException("Order item " + orderItemId + " changed while editing it");
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public Double getTotalRevenueToday() {
-        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-        LocalDateTime endOfDay = LocalDate.now().atTime(LocalTime.MAX);
-        Double revenue = orderRepository.getTotalRevenueBetween(startOfDay, endOfDay);
-        return revenue != null ? revenue * (1 + Constants.TAX_RATE) : 0.0;
+    private boolean backOff(int attempt) {
+        long pause = editBackoffMillis * attempt + ThreadLocalRandom.current().nextLong(editBackoffMillis + 1);
+        if (pause > 0) {
+            try {
+                Thread.sleep(pause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public long getPendingOrdersCount() {
-        return orderRepository.countByStatus(Order.OrderStatus.PENDING);
+    // Lines were written with plain SQL, so the order is read back once (items and menus in one query) for the response
+    private Order publishUpdated(Long orderId) {
+        Order order = orderRepository.findWithItemsById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
+        orderEventService.publish(order, OrderEventService.EventType.ORDER_UPDATED);
+        return order;
     }
 }
@@ -7,12 +7,16 @@ import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
 import menuorderingapp.project.model.Order;
 import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.OrderEventService;
 import menuorderingapp.project.service.PaymentService;
 import menuorderingapp.project.util.Constants;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Base64;
 import java.util.Optional;
 
@@ -20,9 +24,15 @@ import java.util.Optional;
 public class PaymentServiceImpl implements PaymentService {
 
     private final OrderRepository orderRepository;
+    private final OrderEventService orderEventService;
+    private final TransactionTemplate transactionTemplate;
 
-    public PaymentServiceImpl(OrderRepository orderRepository) {
+    public PaymentServiceImpl(OrderRepository orderRepository,
+                              OrderEventService orderEventService,
+                              PlatformTransactionManager transactionManager) {
         this.orderRepository = orderRepository;
+        this.orderEventService = orderEventService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -65,12 +75,7 @@ public class PaymentServiceImpl implements PaymentService {
         try {
             Thread.sleep(1000);
 
-            order.setPaymentMethod(Order.PaymentMethod.QR_CODE);
-            order.setPaymentStatus(Order.PaymentStatus.PAID);
-            order.setStatus(Order.OrderStatus.CONFIRMED);
-            orderRepository.save(order);
-
-            return true;
+            return markPaid(order, Order.PaymentMethod.QR_CODE);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             return false;
@@ -102,12 +107,26 @@ public class PaymentServiceImpl implements PaymentService {
             return false;
         }
 
-        order.setPaymentMethod(Order.PaymentMethod.CASH);
-        order.setPaymentStatus(Order.PaymentStatus.PAID);
-        order.setStatus(Order.OrderStatus.CONFIRMED);
-        orderRepository.save(order);
+        return markPaid(order, Order.PaymentMethod.CASH);
+    }
+
+    @Override
+    public boolean simulateQRPayment(String orderNumber) {
+        Optional<Order> orderOpt = orderRepository.findByOrderNumber(orderNumber);
+        if (orderOpt.isEmpty()) {
+            return false;
+        }
+
+        Order order = orderOpt.get();
 
-        return true;
+        if (order.getPaymentStatus() == Order.PaymentStatus.PAID) {
+            return false;
+        }
+        if (order.getStatus() == Order.OrderStatus.CANCELLED) {
+            return false;
+        }
+
+        return markPaid(order, Order.PaymentMethod.QR_CODE);
     }
 
     @Override
@@ -130,4 +149,16 @@ public class PaymentServiceImpl implements PaymentService {
         Optional<Order> orderOpt = orderRepository.findByOrderNumber(orderNumber);
         return orderOpt.isPresent() && orderOpt.get().getPaymentStatus() == Order.PaymentStatus.PAID;
     }
+
+    // Only the caller whose conditional update flips the order to PAID writes the PAID event (and so the invoice);
+    // the event commits with the payment and the outbox relay does the rest
+    private boolean markPaid(Order order, Order.PaymentMethod paymentMethod) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (orderRepository.markPaid(order.getId(), paymentMethod, order.getTotal(), LocalDateTime.now()) == 0) {
+                return false;
+            }
+            orderEventService.publish(order, OrderEventService.EventType.PAID);
+            return true;
+        }));
+    }
 }
@@ -0,0 +1,166 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.repository.PendingOrderExpiryRepository;
+import menuorderingapp.project.repository.PendingOrderExpiryRepository.PendingOrderKey;
+import menuorderingapp.project.repository.SchedulerLockRepository;
+import menuorderingapp.project.service.OrderEventService;
+import menuorderingapp.project.service.PendingOrderExpiryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cancels customer orders that were never paid once they are older than the TTL, so abandoned kiosk carts
+ * don't pile up in the PENDING range of idx_orders_status_created, the dashboard's pending count and the
+ * status filters. Works in short keyset-ordered chunks like the session cleanup, one node at a time under the
+ * pending-order-expiry lock, and announces the whole run with a single outbox event instead of one per order.
+ * Nothing else holds per-order state for a PENDING order: payment QR images are rendered per request and the
+ * kitchen queue only tracks confirmed orders.
+ */
+@Service
+public class PendingOrderExpiryServiceImpl implements PendingOrderExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(PendingOrderExpiryServiceImpl.class);
+
+    public static final String LOCK_NAME = "pending-order-expiry";
+
+    private final PendingOrderExpiryRepository expiryRepository;
+    private final SchedulerLockRepository lockRepository;
+    private final OrderEventService orderEventService;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+    private final long ttlMinutes;
+    private final int batchSize;
+    private final long batchPauseMillis;
+    private final long leaseMillis;
+
+    private final AtomicReference<ExpiryRun> lastRun = new AtomicReference<>();
+    private final AtomicLong totalExpired = new AtomicLong();
+
+    @Value("${app.orders.pending-expiry.enabled:true}")
+    private boolean enabled;
+
+    public PendingOrderExpiryServiceImpl(PendingOrderExpiryRepository expiryRepository,
+                                         SchedulerLockRepository lockRepository,
+                                         OrderEventService orderEventService,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${app.node-id:local}") String nodeId,
+                                         @Value("${app.orders.pending-expiry.ttl-minutes:120}") long ttlMinutes,
+                                         @Value("${app.orders.pending-expiry.batch-size:500}") int batchSize,
+                                         @Value("${app.orders.pending-expiry.batch-pause-ms:100}") long batchPauseMillis,
+                                         @Value("${app.orders.pending-expiry.lock-lease-ms:60000}") long leaseMillis) {
+        this.expiryRepository = expiryRepository;
+        this.lockRepository = lockRepository;
+        this.orderEventService = orderEventService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.owner = nodeId + ":" + System.currentTimeMillis();
+        this.ttlMinutes = ttlMinutes;
+        this.batchSize = batchSize;
+        this.batchPauseMillis = batchPauseMillis;
+        this.leaseMillis = leaseMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.pending-expiry.interval-ms:300000}",
+            initialDelayString = "${app.orders.pending-expiry.initial-delay-ms:60000}")
+    public void scheduledExpiry() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            ExpiryRun run = expireStaleOrders();
+            if (run != null && run.ordersExpired() > 0) {
+                log.info("Expired {} unpaid orders older than {} minutes in {} batches ({} ms)",
+                        run.ordersExpired(), ttlMinutes, run.batches(), run.durationMillis());
+            }
+        } catch (Exception e) {
+            log.error("Pending order expiry failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ExpiryRun expireStaleOrders() {
+        if (!lockRepository.tryAcquire(LOCK_NAME, owner, leaseMillis)) {
+            return null;
+        }
+
+        long started = System.nanoTime();
+        long expired = 0;
+        int batches = 0;
+        boolean stopped = false;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime cutoff = now.minusMinutes(ttlMinutes);
+            PendingOrderKey cursor = null;
+            while (true) {
+                List<PendingOrderKey> chunk = expiryRepository.findStale(cutoff, cursor, batchSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                expired += expiryRepository.expire(chunk, cutoff, now);
+                batches++;
+                if (chunk.size() < batchSize) {
+                    break;
+                }
+                cursor = chunk.get(chunk.size() - 1);
+                if (!pauseAndRenew()) {
+                    stopped = true;
+                    break;
+                }
+            }
+
+            if (expired > 0) {
+                transactionTemplate.executeWithoutResult(
+                        status -> orderEventService.publishSummary(OrderEventService.EventType.ORDERS_EXPIRED));
+            }
+        } finally {
+            lockRepository.release(LOCK_NAME, owner);
+            totalExpired.addAndGet(expired);
+        }
+
+        ExpiryRun run = new ExpiryRun(expired, batches, !stopped, (System.nanoTime() - started) / 1_000_000,
+                LocalDateTime.now());
+        lastRun.set(run);
+        return run;
+    }
+
+    @Override
+    public PendingOrderExpiryStats getStats() {
+        PendingOrderExpiryRepository.Backlog backlog =
+                expiryRepository.getBacklog(LocalDateTime.now().minusMinutes(ttlMinutes));
+        SchedulerLockRepository.LockHolder holder = lockRepository.findHolder(LOCK_NAME);
+
+        return new PendingOrderExpiryStats(
+                backlog.staleOrders(),
+                backlog.oldestCreatedAt(),
+                ttlMinutes,
+                holder != null ? holder.lockedBy() : null,
+                holder != null ? holder.lockedUntil() : null,
+                lastRun.get(),
+                totalExpired.get());
+    }
+
+    private boolean pauseAndRenew() {
+        if (batchPauseMillis > 0) {
+            try {
+                Thread.sleep(batchPauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        if (!lockRepository.tryAcquire(LOCK_NAME, owner, leaseMillis)) {
+            log.warn("Lost the pending order expiry lock, stopping this run");
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,121 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.config.RateLimitProperties;
+import menuorderingapp.project.service.RateLimitService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets kept as a single CAS-updated timestamp each (the time the bucket will be full again),
+ * so concurrent requests never lock. A bucket whose timestamp has passed is full and identical to a new
+ * one, which is what lets idle buckets be evicted without giving anyone extra tokens.
+ */
+@Service
+public class RateLimitServiceImpl implements RateLimitService {
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final int maxBuckets;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counters> counters = new ConcurrentHashMap<>();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    @Autowired
+    public RateLimitServiceImpl(RateLimitProperties properties) {
+        this(properties.getMaxBuckets(), System::nanoTime);
+    }
+
+    public RateLimitServiceImpl(int maxBuckets, LongSupplier nanoClock) {
+        this.maxBuckets = maxBuckets;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public long tryAcquire(String route, String clientKey, int capacity, int refillPerMinute) {
+        long now = nanoClock.getAsLong();
+        long interval = NANOS_PER_MINUTE / refillPerMinute;
+        TokenBucket bucket = bucketFor(route, clientKey, now);
+
+        long wait = bucket.tryAcquire(now, interval, interval * capacity);
+        Counters routeCounters = counters.computeIfAbsent(route, r -> new Counters());
+        (wait == 0 ? routeCounters.allowed : routeCounters.rejected).increment();
+        return wait;
+    }
+
+    private TokenBucket bucketFor(String route, String clientKey, long now) {
+        String key = route + "|" + clientKey;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxBuckets && evictIdle() == 0) {
+            // Table full of active clients: new ones share one bucket per route rather than growing memory
+            overflowed.increment();
+            key = route + "|*";
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(now));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.rate-limit.evict-interval-ms:60000}")
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        int removed = Math.max(0, before - buckets.size());
+        evicted.add(removed);
+        return removed;
+    }
+
+    @Override
+    public RateLimitStats getStats() {
+        Map<String, RouteStats> routes = new LinkedHashMap<>();
+        counters.forEach((route, c) -> routes.put(route, new RouteStats(c.allowed.sum(), c.rejected.sum())));
+        return new RateLimitStats(buckets.size(), maxBuckets, evicted.sum(), overflowed.sum(), routes);
+    }
+
+    private static final class TokenBucket {
+
+        private final AtomicLong fullAt;
+
+        private TokenBucket(long now) {
+            this.fullAt = new AtomicLong(now);
+        }
+
+        // Each token moves fullAt one interval later; the request is refused if that would put it more than
+        // capacity intervals ahead of now
+        long tryAcquire(long now, long interval, long burst) {
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current, now) + interval;
+                long excess = next - now - burst;
+                if (excess > 0) {
+                    return excess;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+            return fullAt.get() - now <= 0;
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+    }
+}
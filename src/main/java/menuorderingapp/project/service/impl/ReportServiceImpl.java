@@ -1,17 +1,22 @@
 package menuorderingapp.project.service.impl;
 
 import menuorderingapp.project.model.*;
+import menuorderingapp.project.repository.CashierRepository;
 import menuorderingapp.project.repository.InvoiceRepository;
+import menuorderingapp.project.repository.MenuRepository;
+import menuorderingapp.project.repository.OrderArchiveRepository;
 import menuorderingapp.project.repository.OrderItemRepository;
 import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.OrderArchiveService;
 import menuorderingapp.project.service.ReportService;
+import menuorderingapp.project.util.BusinessDayClock;
 import menuorderingapp.project.util.Constants;
+import menuorderingapp.project.util.DateRange;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -22,25 +27,41 @@ public class ReportServiceImpl implements ReportService {
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final InvoiceRepository invoiceRepository;
+    private final OrderArchiveRepository archiveRepository;
+    private final OrderArchiveService archiveService;
+    private final MenuRepository menuRepository;
+    private final CashierRepository cashierRepository;
+    private final BusinessDayClock businessDayClock;
 
     public ReportServiceImpl(OrderRepository orderRepository,
                              OrderItemRepository orderItemRepository,
-                             InvoiceRepository invoiceRepository) {
+                             InvoiceRepository invoiceRepository,
+                             OrderArchiveRepository archiveRepository,
+                             OrderArchiveService archiveService,
+                             MenuRepository menuRepository,
+                             CashierRepository cashierRepository,
+                             BusinessDayClock businessDayClock) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.invoiceRepository = invoiceRepository;
+        this.archiveRepository = archiveRepository;
+        this.archiveService = archiveService;
+        this.menuRepository = menuRepository;
+        this.cashierRepository = cashierRepository;
+        this.businessDayClock = businessDayClock;
     }
 
     @Override
-    public Map<String, Object> getSalesReport(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Order> orders = orderRepository.findPaidOrdersBetween(startDate, endDate);
+    public Map<String, Object> getSalesReport(DateRange range) {
+        LocalDateTime startDate = range.start();
+        LocalDateTime endDate = range.end();
+        List<Order> orders = orderRepository.findPaidOrdersInRange(startDate, endDate);
 
         double totalRevenue = orders.stream()
                 .mapToDouble(order -> order.getTotal().doubleValue() * (1 + Constants.TAX_RATE))
                 .sum();
 
         long totalOrders = orders.size();
-        double averageOrderValue = totalOrders > 0 ? totalRevenue / totalOrders : 0;
 
         Map<Order.PaymentMethod, Double> revenueByPaymentMethod = orders.stream()
                 .collect(Collectors.groupingBy(
@@ -48,6 +69,21 @@ public class ReportServiceImpl implements ReportService {
                         Collectors.summingDouble(order -> order.getTotal().doubleValue() * (1 + Constants.TAX_RATE))
                 ));
 
+        // Closed months live in the archive tables; only ranges reaching past the hot window pay for that lookup
+        if (archiveService.reachesArchive(startDate)) {
+            for (OrderArchiveRepository.PaymentMethodTotal archived :
+                    archiveRepository.getPaidTotalsByPaymentMethod(startDate, endDate)) {
+                double revenue = archived.revenue().doubleValue() * (1 + Constants.TAX_RATE);
+                totalRevenue += revenue;
+                totalOrders += archived.orderCount();
+                if (archived.paymentMethod() != null) {
+                    revenueByPaymentMethod.merge(Order.PaymentMethod.valueOf(archived.paymentMethod()), revenue, Double::sum);
+                }
+            }
+        }
+
+        double averageOrderValue = totalOrders > 0 ? totalRevenue / totalOrders : 0;
+
         Map<String, Object> report = new HashMap<>();
         report.put("startDate", startDate);
         report.put("endDate", endDate);
@@ -62,16 +98,16 @@ public class ReportServiceImpl implements ReportService {
 
     @Override
     public Map<String, Object> getDailySalesReport(LocalDate date) {
-        LocalDateTime startDate = date.atStartOfDay();
-        LocalDateTime endDate = date.atTime(LocalTime.MAX);
-        return getSalesReport(startDate, endDate);
+        return getSalesReport(businessDayClock.dayRange(date));
     }
 
     @Override
-    public List<Map<String, Object>> getTopSellingItems(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Object[]> results = orderItemRepository.findTopSellingMenusBetween(startDate, endDate);
+    public List<Map<String, Object>> getTopSellingItems(DateRange range) {
+        LocalDateTime startDate = range.start();
+        LocalDateTime endDate = range.end();
+        List<Object[]> results = orderItemRepository.findTopSellingMenusInRange(startDate, endDate);
 
-        return results.stream()
+        List<Map<String, Object>> items = results.stream()
                 .map(result -> {
                     Menu menu = (Menu) result[0];
                     Long quantity = (Long) result[1];
@@ -84,11 +120,49 @@ public class ReportServiceImpl implements ReportService {
                     return item;
                 })
                 .collect(Collectors.toList());
+
+        if (!archiveService.reachesArchive(startDate)) {
+            return items;
+        }
+
+        Map<Long, Map<String, Object>> itemsByMenuId = new LinkedHashMap<>();
+        items.forEach(item -> itemsByMenuId.put(((Menu) item.get("menu")).getId(), item));
+
+        List<OrderArchiveRepository.MenuTotal> archived = archiveRepository.getPaidTotalsByMenu(startDate, endDate);
+        Map<Long, Menu> archivedMenus = menuRepository.findAllById(archived.stream()
+                        .map(OrderArchiveRepository.MenuTotal::menuId)
+                        .filter(menuId -> !itemsByMenuId.containsKey(menuId))
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Menu::getId, menu -> menu));
+
+        for (OrderArchiveRepository.MenuTotal total : archived) {
+            Map<String, Object> item = itemsByMenuId.get(total.menuId());
+            if (item == null) {
+                Menu menu = archivedMenus.get(total.menuId());
+                if (menu == null) {
+                    continue;
+                }
+                item = new HashMap<>();
+                item.put("menu", menu);
+                item.put("quantity", 0L);
+                item.put("revenue", 0.0);
+                itemsByMenuId.put(total.menuId(), item);
+            }
+            item.put("quantity", (Long) item.get("quantity") + total.quantity());
+            item.put("revenue", (Double) item.get("revenue") + total.revenue().doubleValue());
+        }
+
+        return itemsByMenuId.values().stream()
+                .sorted(Comparator.comparing((Map<String, Object> item) -> (Long) item.get("quantity")).reversed())
+                .collect(Collectors.toList());
     }
 
     @Override
-    public Map<String, Object> getCashierPerformanceReport(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Order> orders = orderRepository.findPaidOrdersBetween(startDate, endDate);
+    public Map<String, Object> getCashierPerformanceReport(DateRange range) {
+        LocalDateTime startDate = range.start();
+        LocalDateTime endDate = range.end();
+        List<Order> orders = orderRepository.findPaidOrdersInRange(startDate, endDate);
 
         Map<Cashier, List<Order>> ordersByCashier = orders.stream()
                 .filter(order -> order.getCashier() != null)
@@ -108,6 +182,21 @@ public class ReportServiceImpl implements ReportService {
                         entry -> (long) entry.getValue().size()
                 ));
 
+        if (archiveService.reachesArchive(startDate)) {
+            Map<Long, Cashier> cashiersById = new HashMap<>();
+            ordersByCashier.keySet().forEach(cashier -> cashiersById.put(cashier.getId(), cashier));
+
+            for (OrderArchiveRepository.CashierTotal total : archiveRepository.getPaidTotalsByCashier(startDate, endDate)) {
+                Cashier cashier = cashiersById.computeIfAbsent(total.cashierId(),
+                        id -> cashierRepository.findById(id).orElse(null));
+                if (cashier == null) {
+                    continue;
+                }
+                revenueByCashier.merge(cashier, total.revenue().doubleValue() * (1 + Constants.TAX_RATE), Double::sum);
+                orderCountByCashier.merge(cashier, total.orderCount(), Long::sum);
+            }
+        }
+
         Map<String, Object> report = new HashMap<>();
         report.put("revenueByCashier", revenueByCashier);
         report.put("orderCountByCashier", orderCountByCashier);
@@ -118,7 +207,7 @@ public class ReportServiceImpl implements ReportService {
     }
 
     @Override
-    public List<Order> getOrdersForReport(LocalDateTime startDate, LocalDateTime endDate) {
-        return orderRepository.findOrdersByDateRange(startDate, endDate);
+    public List<Order> getOrdersForReport(DateRange range) {
+        return orderRepository.findOrdersByDateRange(range.start(), range.end());
     }
 }
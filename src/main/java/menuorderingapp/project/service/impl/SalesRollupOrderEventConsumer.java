@@ -0,0 +1,68 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.repository.DailySalesRollupRepository;
+import menuorderingapp.project.service.OrderEventConsumer;
+import menuorderingapp.project.service.OrderEventService;
+import menuorderingapp.project.util.BusinessDayClock;
+import menuorderingapp.project.util.DateRange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps daily_sales_rollup current by rebuilding each business day that a batch of events touches.
+ */
+@Component
+@Order(2)
+public class SalesRollupOrderEventConsumer implements OrderEventConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesRollupOrderEventConsumer.class);
+
+    private final DailySalesRollupRepository rollupRepository;
+    private final BusinessDayClock businessDayClock;
+
+    public SalesRollupOrderEventConsumer(DailySalesRollupRepository rollupRepository,
+                                         BusinessDayClock businessDayClock) {
+        this.rollupRepository = rollupRepository;
+        this.businessDayClock = businessDayClock;
+    }
+
+    @Override
+    public String getConsumerName() {
+        return "sales-rollup";
+    }
+
+    @Override
+    public void consume(List<OrderEventService.OrderEvent> events) {
+        Set<LocalDate> days = new TreeSet<>();
+        events.stream()
+                .map(OrderEventService.OrderEvent::order)
+                .filter(Objects::nonNull)
+                .forEach(order -> days.add(businessDayClock.businessDateOf(order.getCreatedAt())));
+        days.forEach(this::rebuild);
+    }
+
+    // Orders paid before this node started have no event to replay, so today's row is rebuilt once up front
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildToday() {
+        try {
+            rebuild(businessDayClock.today());
+        } catch (Exception e) {
+            log.error("Failed to rebuild today's sales rollup: {}", e.getMessage(), e);
+        }
+    }
+
+    private void rebuild(LocalDate day) {
+        DateRange range = businessDayClock.dayRange(day);
+        rollupRepository.rebuildDay(day, range.start(), range.end());
+    }
+}
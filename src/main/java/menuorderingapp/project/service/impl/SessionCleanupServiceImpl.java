@@ -0,0 +1,170 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.repository.SchedulerLockRepository;
+import menuorderingapp.project.repository.SessionCleanupRepository;
+import menuorderingapp.project.service.SessionCleanupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Purges expired rows from cashier_sessions and the Spring Session table (which replaces Spring Session's
+ * own single-statement cleanup). Each chunk is its own short DELETE with a pause in between, so logins and
+ * session writes never queue behind one long delete. Only the node holding the session-cleanup lock runs it;
+ * the lease is renewed after every chunk and the run stops if it was lost.
+ */
+@Service
+public class SessionCleanupServiceImpl implements SessionCleanupService {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionCleanupServiceImpl.class);
+
+    public static final String LOCK_NAME = "session-cleanup";
+
+    private final SessionCleanupRepository sessionCleanupRepository;
+    private final SchedulerLockRepository lockRepository;
+    // Two processes started with the same node id must not share the lease
+    private final String owner;
+    private final int batchSize;
+    private final long batchPauseMillis;
+    private final long leaseMillis;
+
+    private final AtomicReference<CleanupRun> lastRun = new AtomicReference<>();
+    private final AtomicLong totalDeleted = new AtomicLong();
+
+    @Value("${app.session-cleanup.enabled:true}")
+    private boolean enabled;
+
+    public SessionCleanupServiceImpl(SessionCleanupRepository sessionCleanupRepository,
+                                     SchedulerLockRepository lockRepository,
+                                     @Value("${app.node-id:local}") String nodeId,
+                                     @Value("${app.session-cleanup.batch-size:500}") int batchSize,
+                                     @Value("${app.session-cleanup.batch-pause-ms:100}") long batchPauseMillis,
+                                     @Value("${app.session-cleanup.lock-lease-ms:60000}") long leaseMillis) {
+        this.sessionCleanupRepository = sessionCleanupRepository;
+        this.lockRepository = lockRepository;
+        this.owner = nodeId + ":" + System.currentTimeMillis();
+        this.batchSize = batchSize;
+        this.batchPauseMillis = batchPauseMillis;
+        this.leaseMillis = leaseMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${app.session-cleanup.interval-ms:600000}",
+            initialDelayString = "${app.session-cleanup.initial-delay-ms:60000}")
+    public void scheduledCleanup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            CleanupRun run = cleanupExpiredSessions();
+            if (run != null && run.cashierSessionsDeleted() + run.httpSessionsDeleted() > 0) {
+                log.info("Deleted {} expired cashier sessions and {} expired HTTP sessions in {} batches ({} ms)",
+                        run.cashierSessionsDeleted(), run.httpSessionsDeleted(), run.batches(), run.durationMillis());
+            }
+        } catch (Exception e) {
+            log.error("Session cleanup failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public CleanupRun cleanupExpiredSessions() {
+        if (!lockRepository.tryAcquire(LOCK_NAME, owner, leaseMillis)) {
+            return null;
+        }
+
+        long started = System.nanoTime();
+        Progress progress = new Progress();
+        long cashierSessions = 0;
+        long httpSessions = 0;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            long nowMillis = System.currentTimeMillis();
+
+            cashierSessions = this.<SessionCleanupRepository.CashierSessionKey>deleteInChunks(
+                    after -> sessionCleanupRepository.findExpiredCashierSessions(now, after, batchSize),
+                    keys -> sessionCleanupRepository.deleteCashierSessions(keys, now),
+                    progress);
+            if (!progress.stopped) {
+                httpSessions = this.<SessionCleanupRepository.SpringSessionKey>deleteInChunks(
+                        after -> sessionCleanupRepository.findExpiredSpringSessions(nowMillis, after, batchSize),
+                        keys -> sessionCleanupRepository.deleteSpringSessions(keys, nowMillis),
+                        progress);
+            }
+        } finally {
+            lockRepository.release(LOCK_NAME, owner);
+            totalDeleted.addAndGet(cashierSessions + httpSessions);
+        }
+
+        CleanupRun run = new CleanupRun(cashierSessions, httpSessions, progress.batches, !progress.stopped,
+                (System.nanoTime() - started) / 1_000_000, LocalDateTime.now());
+        lastRun.set(run);
+        return run;
+    }
+
+    @Override
+    public SessionCleanupStats getStats() {
+        LocalDateTime now = LocalDateTime.now();
+        SessionCleanupRepository.Backlog cashierSessions = sessionCleanupRepository.getCashierSessionBacklog(now);
+        SessionCleanupRepository.Backlog httpSessions =
+                sessionCleanupRepository.getSpringSessionBacklog(System.currentTimeMillis());
+        SchedulerLockRepository.LockHolder holder = lockRepository.findHolder(LOCK_NAME);
+
+        return new SessionCleanupStats(
+                new TableBacklog(cashierSessions.expiredRows(), cashierSessions.oldestExpiry()),
+                new TableBacklog(httpSessions.expiredRows(), httpSessions.oldestExpiry()),
+                holder != null ? holder.lockedBy() : null,
+                holder != null ? holder.lockedUntil() : null,
+                lastRun.get(),
+                totalDeleted.get());
+    }
+
+    private <K> long deleteInChunks(Function<K, List<K>> findAfter, ToIntFunction<List<K>> delete, Progress progress) {
+        long deleted = 0;
+        K cursor = null;
+        while (true) {
+            List<K> chunk = findAfter.apply(cursor);
+            if (chunk.isEmpty()) {
+                return deleted;
+            }
+            deleted += delete.applyAsInt(chunk);
+            progress.batches++;
+            if (chunk.size() < batchSize) {
+                return deleted;
+            }
+            cursor = chunk.get(chunk.size() - 1);
+            if (!pauseAndRenew()) {
+                progress.stopped = true;
+                return deleted;
+            }
+        }
+    }
+
+    private boolean pauseAndRenew() {
+        if (batchPauseMillis > 0) {
+            try {
+                Thread.sleep(batchPauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        if (!lockRepository.tryAcquire(LOCK_NAME, owner, leaseMillis)) {
+            log.warn("Lost the session cleanup lock, stopping this run");
+            return false;
+        }
+        return true;
+    }
+
+    private static final class Progress {
+        private int batches;
+        private boolean stopped;
+    }
+}
@@ -0,0 +1,61 @@
+package menuorderingapp.project.util;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+/**
+ * Single source of "today" and day ranges for orders and reports.
+ * A business day starts at the configured cut-off, so with a 04:00 cut-off an order placed at
+ * 01:30 on the 12th still belongs to the late shift of the 11th.
+ */
+@Component
+public class BusinessDayClock {
+
+    private final Clock clock;
+    private final LocalTime cutoff;
+
+    @Autowired
+    public BusinessDayClock(@Value("${app.business-day.zone:Asia/Jakarta}") String zone,
+                            @Value("${app.business-day.cutoff:00:00}") String cutoff) {
+        this(Clock.system(ZoneId.of(zone)), LocalTime.parse(cutoff));
+    }
+
+    public BusinessDayClock(Clock clock, LocalTime cutoff) {
+        this.clock = clock;
+        this.cutoff = cutoff;
+    }
+
+    public LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    public LocalDate today() {
+        return businessDateOf(now());
+    }
+
+    public LocalDate businessDateOf(LocalDateTime dateTime) {
+        return dateTime.minusHours(cutoff.getHour()).minusMinutes(cutoff.getMinute()).toLocalDate();
+    }
+
+    public DateRange todayRange() {
+        return dayRange(today());
+    }
+
+    public DateRange dayRange(LocalDate day) {
+        return dayRange(day, day);
+    }
+
+    /**
+     * Range covering the business days from {@code firstDay} through {@code lastDay}, both inclusive.
+     */
+    public DateRange dayRange(LocalDate firstDay, LocalDate lastDay) {
+        return new DateRange(firstDay.atTime(cutoff), lastDay.plusDays(1).atTime(cutoff));
+    }
+}
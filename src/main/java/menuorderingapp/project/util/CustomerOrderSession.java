@@ -0,0 +1,43 @@
+package menuorderingapp.project.util;
+
+import jakarta.servlet.http.HttpSession;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order numbers created from one customer browser session. The WebSocket handshake copies them into the STOMP
+ * session, so a customer can subscribe to /topic/orders/{orderNumber} for those orders and no others.
+ */
+public final class CustomerOrderSession {
+
+    public static final String SESSION_KEY = "customerOrderNumbers";
+
+    private static final int MAX_ORDERS = 20;
+
+    private CustomerOrderSession() {
+    }
+
+    public static void remember(HttpSession session, String orderNumber) {
+        LinkedHashSet<String> orders = new LinkedHashSet<>();
+        for (Object owned : owned(session.getAttribute(SESSION_KEY))) {
+            orders.add(owned.toString());
+        }
+        orders.add(orderNumber);
+        while (orders.size() > MAX_ORDERS) {
+            orders.remove(orders.iterator().next());
+        }
+        // Set again rather than mutating, so the session store writes the new value
+        session.setAttribute(SESSION_KEY, orders);
+    }
+
+    public static boolean owns(Map<String, Object> sessionAttributes, String orderNumber) {
+        return sessionAttributes != null && owned(sessionAttributes.get(SESSION_KEY)).contains(orderNumber);
+    }
+
+    private static Collection<?> owned(Object value) {
+        return value instanceof Collection<?> orders ? orders : List.of();
+    }
+}
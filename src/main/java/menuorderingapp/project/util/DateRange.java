@@ -0,0 +1,23 @@
+package menuorderingapp.project.util;
+
+import java.time.LocalDateTime;
+
+/**
+ * Half-open time range [start, end). Repository queries compare with {@code >= start AND < end}
+ * so the created_at indexes can be range-scanned and adjacent ranges never overlap.
+ */
+public record DateRange(LocalDateTime start, LocalDateTime end) {
+
+    public DateRange {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Date range bounds are required");
+        }
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("Date range end must be after start");
+        }
+    }
+
+    public boolean contains(LocalDateTime dateTime) {
+        return !dateTime.isBefore(start) && dateTime.isBefore(end);
+    }
+}
@@ -0,0 +1,8 @@
+-- Lease-based locks so a scheduled job runs on one node at a time. A node holds the lock while
+-- locked_until is in the future (database clock) and renews it as it makes progress.
+CREATE TABLE scheduler_locks
+(
+    name         VARCHAR(50)  NOT NULL PRIMARY KEY,
+    locked_by    VARCHAR(100) NOT NULL,
+    locked_until TIMESTAMP(3) NOT NULL
+);
@@ -0,0 +1,10 @@
+-- Single-row counter bumped in the same transaction as every menu or category change.
+-- Nodes compare it to decide whether cached menu page fragments are still current.
+CREATE TABLE catalog_version
+(
+    id         TINYINT      NOT NULL PRIMARY KEY,
+    version    BIGINT       NOT NULL,
+    updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3)
+);
+
+INSERT INTO catalog_version (id, version) VALUES (1, 1);
@@ -0,0 +1,4 @@
+-- Optimistic locking for concurrent order edits; every UPDATE checks and bumps the version it read.
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER updated_at;
+
+ALTER TABLE order_items ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER created_at;
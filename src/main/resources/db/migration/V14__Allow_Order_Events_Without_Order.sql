@@ -0,0 +1,2 @@
+-- Summary events (e.g. a batch of expired unpaid orders) describe many orders at once and carry no order id.
+ALTER TABLE order_events MODIFY order_id BIGINT NULL;
@@ -0,0 +1,9 @@
+-- Ids a consumer's checkpoint moved past while they were missing: an insert that hadn't committed yet, or one
+-- that rolled back. The relay keeps looking for them and delivers the ones that show up until they expire.
+CREATE TABLE order_event_gaps
+(
+    consumer    VARCHAR(50)  NOT NULL,
+    event_id    BIGINT       NOT NULL,
+    detected_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (consumer, event_id)
+);
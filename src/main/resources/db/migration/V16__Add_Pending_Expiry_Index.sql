@@ -0,0 +1,3 @@
+-- status = 'PENDING' AND order_type = 'CUSTOMER_SELF' ORDER BY created_at, id (PendingOrderExpiryRepository);
+-- keeps the expiry keyset walk off cashier-assisted orders, which are never expired
+CREATE INDEX idx_orders_status_type_created ON orders (status, order_type, created_at);
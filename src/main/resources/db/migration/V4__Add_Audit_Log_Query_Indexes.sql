@@ -0,0 +1,11 @@
+-- Composite indexes for keyset-paged audit log queries (ORDER BY created_at DESC, id DESC)
+-- and per-menu timeline replay (ORDER BY created_at, id)
+CREATE INDEX idx_menu_audit_created_id ON menu_audit_log (created_at, id);
+CREATE INDEX idx_menu_audit_menu_created_id ON menu_audit_log (menu_id, created_at, id);
+CREATE INDEX idx_menu_audit_cashier_created_id ON menu_audit_log (cashier_id, created_at, id);
+CREATE INDEX idx_menu_audit_action_created_id ON menu_audit_log (action, created_at, id);
+
+-- Superseded by the composite indexes above (cashier_id FK is served by idx_menu_audit_cashier_created_id)
+DROP INDEX idx_menu_audit_created_at ON menu_audit_log;
+DROP INDEX idx_menu_audit_menu_id ON menu_audit_log;
+DROP INDEX idx_menu_audit_cashier_id ON menu_audit_log;
@@ -0,0 +1,63 @@
+-- Archive tables for closed months of orders, order_items and invoices.
+-- Rows are moved here by OrderArchiveService; the live tables keep only the hot window.
+-- Partitioned by archive_month (yyyyMM of the order's created_at). New monthly partitions
+-- are split off p_future by the archival job. No foreign keys: partitioned InnoDB tables can't have them.
+
+CREATE TABLE orders_archive
+(
+    archive_month  INT                                                                           NOT NULL,
+    id             BIGINT                                                                        NOT NULL,
+    order_number   VARCHAR(255),
+    total          DECIMAL(10, 2)                                                                NOT NULL,
+    status         ENUM ('PENDING', 'CONFIRMED', 'PREPARING', 'READY', 'COMPLETED', 'CANCELLED') NOT NULL,
+    order_type     ENUM ('CUSTOMER_SELF', 'CASHIER_ASSISTED')                                    NOT NULL,
+    payment_method ENUM ('QR_CODE', 'CASH', 'CREDIT_CARD'),
+    payment_status ENUM ('PENDING', 'PAID', 'FAILED', 'REFUNDED'),
+    customer_name  VARCHAR(255),
+    cashier_id     BIGINT,
+    created_at     TIMESTAMP                                                                     NULL,
+    updated_at     TIMESTAMP                                                                     NULL,
+    PRIMARY KEY (archive_month, id),
+    KEY idx_orders_archive_order_number (order_number),
+    KEY idx_orders_archive_paid_created (payment_status, created_at)
+) ROW_FORMAT = COMPRESSED
+    PARTITION BY RANGE (archive_month) (
+        PARTITION p_future VALUES LESS THAN MAXVALUE
+        );
+
+CREATE TABLE order_items_archive
+(
+    archive_month INT            NOT NULL,
+    id            BIGINT         NOT NULL,
+    order_id      BIGINT         NOT NULL,
+    menu_id       BIGINT         NOT NULL,
+    quantity      INT            NOT NULL,
+    price         DECIMAL(10, 2) NOT NULL,
+    created_at    TIMESTAMP      NULL,
+    PRIMARY KEY (archive_month, id),
+    KEY idx_order_items_archive_order_id (archive_month, order_id),
+    KEY idx_order_items_archive_menu_id (menu_id)
+) ROW_FORMAT = COMPRESSED
+    PARTITION BY RANGE (archive_month) (
+        PARTITION p_future VALUES LESS THAN MAXVALUE
+        );
+
+CREATE TABLE invoices_archive
+(
+    archive_month  INT                                     NOT NULL,
+    id             BIGINT                                  NOT NULL,
+    invoice_number VARCHAR(255)                            NOT NULL,
+    order_id       BIGINT                                  NOT NULL,
+    cashier_id     BIGINT,
+    total_amount   DECIMAL(10, 2)                          NOT NULL,
+    tax_amount     DECIMAL(10, 2),
+    final_amount   DECIMAL(10, 2)                          NOT NULL,
+    payment_method ENUM ('QR_CODE', 'CASH', 'CREDIT_CARD') NOT NULL,
+    created_at     TIMESTAMP                               NULL,
+    PRIMARY KEY (archive_month, id),
+    KEY idx_invoices_archive_invoice_number (invoice_number),
+    KEY idx_invoices_archive_order_id (order_id)
+) ROW_FORMAT = COMPRESSED
+    PARTITION BY RANGE (archive_month) (
+        PARTITION p_future VALUES LESS THAN MAXVALUE
+        );
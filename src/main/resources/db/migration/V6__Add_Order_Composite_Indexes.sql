@@ -0,0 +1,17 @@
+-- Composite indexes for the hot order/report access paths
+
+-- payment_status = 'PAID' AND created_at BETWEEN ... (findPaidOrdersBetween, getTotalRevenueBetween);
+-- total is included so the revenue SUM is answered from the index alone
+CREATE INDEX idx_orders_payment_status_created ON orders (payment_status, created_at, total);
+
+-- status = ? ORDER BY created_at DESC (findByStatusOrderByCreatedAtDesc, countByStatus)
+CREATE INDEX idx_orders_status_created ON orders (status, created_at);
+
+-- order_items joined from paid orders and grouped by menu (findTopSellingMenusBetween);
+-- covering so the join never touches the clustered rows
+CREATE INDEX idx_order_items_order_menu ON order_items (order_id, menu_id, quantity, price);
+
+-- Superseded by the composite indexes above (order_items.order_id FK is served by idx_order_items_order_menu)
+DROP INDEX idx_orders_status ON orders;
+DROP INDEX idx_orders_payment_status ON orders;
+DROP INDEX idx_order_items_order_id ON order_items;
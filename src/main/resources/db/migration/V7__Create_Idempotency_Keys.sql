@@ -0,0 +1,15 @@
+-- Responses of order/payment POSTs keyed by the client's Idempotency-Key header, so retries replay the
+-- original response instead of creating the order or payment again. Rows expire after app.idempotency.ttl-hours.
+CREATE TABLE idempotency_keys
+(
+    key_hash              CHAR(64)                           NOT NULL PRIMARY KEY,
+    request_hash          CHAR(64)                           NOT NULL,
+    status                ENUM ('IN_PROGRESS', 'COMPLETED')  NOT NULL,
+    response_status       INT,
+    response_content_type VARCHAR(255),
+    response_body         MEDIUMBLOB,
+    created_at            TIMESTAMP                          NOT NULL,
+    expires_at            TIMESTAMP                          NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires ON idempotency_keys (expires_at);
@@ -0,0 +1,32 @@
+-- Transactional outbox: one row per order/payment change, written in the same transaction as the change.
+-- OrderEventRelay delivers rows to each consumer in id order and records its progress in order_event_checkpoints.
+-- No foreign key on order_id so archival can still move the order out of the hot tables.
+CREATE TABLE order_events
+(
+    id         BIGINT AUTO_INCREMENT PRIMARY KEY,
+    order_id   BIGINT       NOT NULL,
+    event_type VARCHAR(30)  NOT NULL,
+    cashier_id BIGINT,
+    created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+);
+
+CREATE INDEX idx_order_events_created ON order_events (created_at);
+
+CREATE TABLE order_event_checkpoints
+(
+    consumer      VARCHAR(50) NOT NULL PRIMARY KEY,
+    last_event_id BIGINT      NOT NULL,
+    updated_at    TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+-- Paid order totals per business day, rebuilt by the sales rollup consumer for every day an event touches.
+-- revenue is pre-tax like orders.total.
+CREATE TABLE daily_sales_rollup
+(
+    business_date  DATE           NOT NULL,
+    payment_method VARCHAR(20)    NOT NULL,
+    order_count    INT            NOT NULL,
+    revenue        DECIMAL(12, 2) NOT NULL,
+    updated_at     TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (business_date, payment_method)
+);
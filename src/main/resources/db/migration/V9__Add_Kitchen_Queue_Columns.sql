@@ -0,0 +1,7 @@
+-- When an order entered the kitchen (first non-PENDING status); drives kitchen queue order and SLA timers.
+ALTER TABLE orders ADD COLUMN confirmed_at TIMESTAMP NULL AFTER cashier_id;
+
+UPDATE orders SET confirmed_at = updated_at WHERE status IN ('CONFIRMED', 'PREPARING', 'READY', 'COMPLETED');
+
+-- Expected preparation time per menu item; an order takes as long as its slowest item.
+ALTER TABLE menus ADD COLUMN prep_time_minutes INT NOT NULL DEFAULT 5 AFTER promo_price;
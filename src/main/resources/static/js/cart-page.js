@@ -5,6 +5,9 @@ document.addEventListener('DOMContentLoaded', function() {
     const csrfToken = document.querySelector('meta[name="_csrf"]')?.content;
     const csrfHeader = document.querySelector('meta[name="_csrf_header"]')?.content;
 
+    // Reused while the order payload is unchanged so a retried submit can't create a second order
+    let pendingOrder = null;
+
     loadCartItems();
 
     // ========== LOAD CART ITEMS FROM BACKEND ==========
@@ -313,11 +316,17 @@ document.addEventListener('DOMContentLoaded', function() {
                     headers[csrfHeader] = csrfToken;
                 }
 
+                const body = JSON.stringify(orderData);
+                if (!pendingOrder || pendingOrder.body !== body) {
+                    pendingOrder = { body: body, key: generateIdempotencyKey() };
+                }
+                headers['Idempotency-Key'] = pendingOrder.key;
+
                 // Create order
                 return fetch('/customer/api/orders', {
                     method: 'POST',
                     headers: headers,
-                    body: JSON.stringify(orderData)
+                    body: body
                 });
             })
             .then(response => {
@@ -328,6 +337,7 @@ document.addEventListener('DOMContentLoaded', function() {
                 if (!orderResponse) return; // Cart was empty
 
                 if (orderResponse.success) {
+                    pendingOrder = null;
                     showNotification('Pesanan berhasil dibuat!', 'success');
                     // Clear cart on backend
                     return fetch('/customer/api/cart/clear', {
@@ -352,6 +362,16 @@ document.addEventListener('DOMContentLoaded', function() {
             });
     };
 
+    // ========== IDEMPOTENCY KEY ==========
+    function generateIdempotencyKey() {
+        if (window.crypto && crypto.randomUUID) {
+            return crypto.randomUUID();
+        }
+        // randomUUID needs a secure context; plain-HTTP LAN deployments fall back to random bytes
+        const bytes = crypto.getRandomValues(new Uint8Array(16));
+        return Array.from(bytes, b => b.toString(16).padStart(2, '0')).join('');
+    }
+
     // ========== NOTIFICATION HELPER ==========
     function showNotification(message, type) {
         // Remove existing notifications
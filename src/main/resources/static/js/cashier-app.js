@@ -6,6 +6,7 @@ class CashierApp {
         this.currentCashier = null;
         this.csrfToken = null;
         this.csrfHeader = null;
+        this.idempotencyKeys = {};
         this.init();
     }
 
@@ -154,6 +155,19 @@ class CashierApp {
         return {};
     }
 
+    // Same key while the payload is unchanged, so a retried submit replays instead of duplicating
+    idempotencyKeyFor(scope, body) {
+        const pending = this.idempotencyKeys[scope];
+        if (pending && pending.body === body) {
+            return pending.key;
+        }
+        const key = window.crypto && crypto.randomUUID
+            ? crypto.randomUUID()
+            : Array.from(crypto.getRandomValues(new Uint8Array(16)), b => b.toString(16).padStart(2, '0')).join('');
+        this.idempotencyKeys[scope] = { body: body, key: key };
+        return key;
+    }
+
     setupEventListeners() {
         // Refresh buttons
         document.querySelectorAll('[data-action="refresh"]').forEach(btn => {
@@ -406,18 +420,21 @@ class CashierApp {
                 paymentData.cashAmount = parseFloat(amount);
             }
 
+            const body = JSON.stringify(paymentData);
             const response = await fetch('/cashier/api/payments', {
                 method: 'POST',
                 headers: {
                     'Content-Type': 'application/json',
+                    'Idempotency-Key': this.idempotencyKeyFor('payment', body),
                     ...this.getCsrfHeaders()
                 },
-                body: JSON.stringify(paymentData)
+                body: body
             });
 
             const data = await response.json();
 
             if (data.success) {
+                delete this.idempotencyKeys.payment;
                 this.showToast('Payment processed successfully', 'success');
                 this.loadDashboardData();
 
@@ -988,19 +1005,22 @@ class CashierApp {
 
             console.log('Creating order with data:', requestBody);
 
+            const body = JSON.stringify(requestBody);
             const response = await fetch('/cashier/api/orders', {
                 method: 'POST',
                 headers: {
                     'Content-Type': 'application/json',
+                    'Idempotency-Key': this.idempotencyKeyFor('order', body),
                     ...this.getCsrfHeaders()
                 },
-                body: JSON.stringify(requestBody)
+                body: body
             });
 
             const data = await response.json();
             console.log('Order creation response:', data);
 
             if (data.success) {
+                delete this.idempotencyKeys.order;
                 this.showToast('Pesanan berhasil dibuat!', 'success');
 
                 // Close modal
@@ -1226,19 +1246,22 @@ class CashierApp {
         try {
             console.log('Processing payment:', paymentData);
 
+            const body = JSON.stringify(paymentData);
             const response = await fetch('/cashier/api/payments', {
                 method: 'POST',
                 headers: {
                     'Content-Type': 'application/json',
+                    'Idempotency-Key': this.idempotencyKeyFor('payment', body),
                     ...this.getCsrfHeaders()
                 },
-                body: JSON.stringify(paymentData)
+                body: body
             });
 
             const data = await response.json();
             console.log('Payment response:', data);
 
             if (data.success) {
+                delete this.idempotencyKeys.payment;
                 // Show change for cash payments
                 if (paymentMethod === 'CASH' && data.data.change > 0) {
                     this.showToast(`Pembayaran berhasil! Kembalian: Rp ${data.data.change.toLocaleString('id-ID')}`, 'success');
@@ -2376,6 +2399,8 @@ class CashierApp {
                                 <div class="mb-3">
                                     <label class="form-label">URL Gambar</label>
                                     <input type="text" class="form-control" id="editMenuImageUrl" placeholder="/images/menu/... or online url https://...">
+                                    <input type="file" class="form-control form-control-sm mt-2" accept="image/jpeg,image/png"
+                                           onchange="cashierApp.uploadMenuImage(this, 'editMenuImageUrl')">
                                 </div>
                                 <div class="mb-3">
                                     <label class="form-label">Harga Normal</label>
@@ -2506,6 +2531,41 @@ class CashierApp {
         }
     }
 
+    // Uploads the chosen JPEG/PNG and puts the returned URL into the image URL field
+    async uploadMenuImage(fileInput, urlInputId) {
+        const file = fileInput.files[0];
+        if (!file) {
+            return;
+        }
+
+        const formData = new FormData();
+        formData.append('file', file);
+
+        try {
+            const response = await fetch('/cashier/api/menus/images', {
+                method: 'POST',
+                headers: {
+                    ...this.getCsrfHeaders()
+                },
+                body: formData
+            });
+
+            const data = await response.json();
+
+            if (data.success) {
+                document.getElementById(urlInputId).value = data.data.imageUrl;
+                this.showToast('Gambar berhasil diunggah', 'success');
+            } else {
+                this.showToast('Gagal mengunggah gambar: ' + data.message, 'error');
+            }
+        } catch (error) {
+            console.error('Error uploading menu image:', error);
+            this.showToast('Terjadi kesalahan saat mengunggah gambar', 'error');
+        } finally {
+            fileInput.value = '';
+        }
+    }
+
     async createNewMenu() {
         // Validate form
         const name = document.getElementById('addMenuName').value.trim();
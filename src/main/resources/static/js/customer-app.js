@@ -3,12 +3,17 @@ const TAX_RATE = 0.10;
 class CustomerApp {
     constructor() {
         this.currentOrder = null;
+        this.cartMenuIds = new Set();
+        this.catalogVersion = null;
+        this.stompClient = null;
+        this.orderPaid = false;
         this.init();
     }
 
     init() {
         this.loadCartFromSession();
         this.setupEventListeners();
+        this.connectMenuUpdates();
 
         if (window.location.pathname.includes('/payment')) {
             this.loadPaymentPage();
@@ -135,6 +140,7 @@ class CustomerApp {
                         </div>
                     `;
                     if (cartSubtotal) cartSubtotal.textContent = 'Rp.0';
+                    this.cartMenuIds = new Set();
 
                     this.updateMobileCartSummary(0, 0);
                     return;
@@ -142,6 +148,7 @@ class CustomerApp {
 
                 let html = '';
                 const cart = data.data;
+                this.cartMenuIds = new Set(cart.items.map(item => String(item.menuId)));
 
                 cart.items.forEach(item => {
                     const itemTotal = item.price * item.quantity;
@@ -322,6 +329,116 @@ class CustomerApp {
         return 'Rp ' + amount.toLocaleString('id-ID');
     }
 
+    // Sold-out and price changes arrive on /topic/menu and are patched into the cards, so kiosks never reload
+    connectMenuUpdates() {
+        const versionMeta = document.querySelector('meta[name="catalog-version"]');
+        if (!versionMeta || !document.getElementById('menuItems') || typeof SockJS === 'undefined') {
+            return;
+        }
+        if (this.catalogVersion === null) {
+            this.catalogVersion = Number(versionMeta.content);
+        }
+
+        const socket = new SockJS('/ws');
+        this.stompClient = Stomp.over(socket);
+        this.stompClient.debug = null;
+
+        this.stompClient.connect({}, () => {
+            this.stompClient.subscribe('/topic/menu', (message) => {
+                this.handleMenuUpdate(JSON.parse(message.body));
+            });
+            // Load the snapshot after subscribing (also after a reconnect) so no change falls between the two
+            this.loadMenuAvailability();
+        }, () => {
+            setTimeout(() => this.connectMenuUpdates(), 3000);
+        });
+    }
+
+    // Versions are enough to spot a lost message: each update starts at the version the previous one ended at
+    handleMenuUpdate(update) {
+        if (update.catalogVersion <= this.catalogVersion) {
+            return;
+        }
+        if (update.fromVersion > this.catalogVersion) {
+            this.loadMenuAvailability();
+            return;
+        }
+        this.applyMenuAvailability(update.menus, false);
+        this.catalogVersion = update.catalogVersion;
+    }
+
+    async loadMenuAvailability() {
+        try {
+            const response = await fetch('/customer/api/menus/availability');
+            const data = await response.json();
+            if (data.success && data.data.catalogVersion > this.catalogVersion) {
+                this.applyMenuAvailability(data.data.menus, true);
+                this.catalogVersion = data.data.catalogVersion;
+            }
+        } catch (error) {
+            console.error('Error loading menu availability:', error);
+        }
+    }
+
+    // A full snapshot leaves out deleted menus, so cards missing from it are shown as unavailable
+    applyMenuAvailability(menus, complete) {
+        const changes = new Map(menus.map(menu => [String(menu.menuId), menu]));
+        document.querySelectorAll('#menuItems .menu-item').forEach(item => {
+            const button = item.querySelector('.btn-add-to-cart');
+            if (!button) {
+                return;
+            }
+            const change = changes.get(button.dataset.menuId);
+            if (change) {
+                this.patchMenuItem(item, button, change);
+            } else if (complete) {
+                this.patchMenuItem(item, button, {available: false, price: null, originalPrice: null});
+            }
+        });
+    }
+
+    patchMenuItem(item, button, menu) {
+        const wasAvailable = !button.disabled;
+        button.disabled = !menu.available;
+        const label = button.querySelector('span');
+        if (label) {
+            label.textContent = menu.available ? 'Tambah' : 'Tidak Tersedia';
+        }
+
+        if (menu.price != null) {
+            const priceBox = item.querySelector('.menu-price');
+            const current = item.querySelector('.price-current');
+            let original = item.querySelector('.price-original');
+            if (current) {
+                current.textContent = this.formatMenuPrice(menu.price);
+            }
+            if (menu.originalPrice != null) {
+                if (!original && priceBox) {
+                    original = document.createElement('span');
+                    original.className = 'price-original';
+                    priceBox.appendChild(original);
+                }
+                if (original) {
+                    original.textContent = this.formatMenuPrice(menu.originalPrice);
+                }
+            } else if (original) {
+                original.remove();
+            }
+            item.dataset.promo = String(menu.originalPrice != null);
+        }
+
+        // Checkout drops unavailable items, so tell the customer now rather than at the payment page
+        if (wasAvailable && !menu.available && this.cartMenuIds.has(button.dataset.menuId)) {
+            const name = item.querySelector('.menu-name')?.textContent || 'Menu';
+            this.showToast(`${name} sudah habis dan tidak akan ikut dipesan`, 'warning');
+        }
+    }
+
+    // Same format as the grid template: no decimals, comma as thousands separator
+    formatMenuPrice(amount) {
+        return 'Rp ' + Math.round(Number(amount)).toLocaleString('en-US');
+    }
+
     setupPaymentEventListeners() {
         const checkPaymentButton = document.querySelector('[onclick="checkPaymentStatus()"]');
         if (checkPaymentButton) {
@@ -407,11 +524,7 @@ class CustomerApp {
             if (data.success && data.data) {
                 const order = data.data;
                 if (order.paymentStatus === 'PAID') {
-                    this.stopPaymentStatusChecker();
-                    this.showToast('Pembayaran berhasil! Pesanan Anda sedang diproses.', 'success');
-                    setTimeout(() => {
-                        window.location.href = '/customer/menu?payment=success';
-                    }, 2000);
+                    this.handleOrderUpdate(order);
                 } else {
                     this.showToast('Pembayaran belum diterima. Silakan coba lagi dalam beberapa saat.', 'info');
                 }
@@ -424,7 +537,17 @@ class CustomerApp {
         }
     }
 
+    // Status changes for this order are pushed on its own topic; polling is only the fallback when the
+    // socket can't be used
     startPaymentStatusChecker() {
+        if (typeof SockJS !== 'undefined') {
+            this.connectOrderUpdates(this.currentOrder);
+            return;
+        }
+        this.startPaymentStatusPolling();
+    }
+
+    startPaymentStatusPolling() {
         this.paymentCheckInterval = setInterval(() => {
             this.checkPaymentStatus();
         }, 10000);
@@ -435,6 +558,62 @@ class CustomerApp {
             clearInterval(this.paymentCheckInterval);
             this.paymentCheckInterval = null;
         }
+        if (this.stompClient && this.stompClient.connected) {
+            this.stompClient.disconnect();
+        }
+    }
+
+    // Only the browser session that created the order may subscribe to it
+    connectOrderUpdates(orderNumber) {
+        const socket = new SockJS('/ws');
+        this.stompClient = Stomp.over(socket);
+        this.stompClient.debug = null;
+
+        this.stompClient.connect({}, () => {
+            this.stompClient.subscribe(`/topic/orders/${orderNumber}`, (message) => {
+                this.handleOrderUpdate(JSON.parse(message.body));
+            });
+            // Fetch after subscribing (also after a reconnect) so a payment between the two isn't missed
+            this.refreshOrder(orderNumber);
+        }, (error) => {
+            // Also called when the socket closes after a refusal, by which time polling has taken over
+            if (this.orderPaid || this.paymentCheckInterval) {
+                return;
+            }
+            if (error && error.command === 'ERROR') {
+                // Subscription refused, e.g. the link was opened in another browser: fall back to polling
+                this.startPaymentStatusPolling();
+            } else {
+                setTimeout(() => this.connectOrderUpdates(orderNumber), 3000);
+            }
+        });
+    }
+
+    async refreshOrder(orderNumber) {
+        try {
+            const response = await fetch(`/customer/api/orders/${orderNumber}`);
+            const data = await response.json();
+            if (data.success && data.data) {
+                this.handleOrderUpdate(data.data);
+            }
+        } catch (error) {
+            console.error('Error refreshing order:', error);
+        }
+    }
+
+    handleOrderUpdate(order) {
+        if (this.orderPaid) {
+            return;
+        }
+        this.displayOrderDetails(order);
+        if (order.paymentStatus === 'PAID') {
+            this.orderPaid = true;
+            this.stopPaymentStatusChecker();
+            this.showToast('Pembayaran berhasil! Pesanan Anda sedang diproses.', 'success');
+            setTimeout(() => {
+                window.location.href = '/customer/menu?payment=success';
+            }, 2000);
+        }
     }
 }
 
@@ -0,0 +1,220 @@
+const KITCHEN_STATUSES = ['CONFIRMED', 'PREPARING', 'READY'];
+const NEXT_STATUS = {CONFIRMED: 'PREPARING', PREPARING: 'READY', READY: 'COMPLETED'};
+const NEXT_STATUS_LABEL = {CONFIRMED: 'Mulai Masak', PREPARING: 'Siap', READY: 'Selesai'};
+
+class KitchenApp {
+    constructor() {
+        this.tickets = new Map();
+        this.sequences = {};
+        this.alerted = new Set();
+        this.stompClient = null;
+        this.csrfToken = null;
+        this.csrfHeader = null;
+        this.init();
+    }
+
+    init() {
+        const tokenMeta = document.querySelector('meta[name="_csrf"]');
+        const headerMeta = document.querySelector('meta[name="_csrf_header"]');
+        if (tokenMeta && headerMeta) {
+            this.csrfToken = tokenMeta.getAttribute('content');
+            this.csrfHeader = headerMeta.getAttribute('content');
+        }
+
+        document.addEventListener('click', (event) => {
+            const button = event.target.closest('[data-advance-order]');
+            if (button) {
+                this.advance(button.dataset.advanceOrder, button.dataset.nextStatus);
+            }
+            const columnButton = event.target.closest('[data-advance-column]');
+            if (columnButton) {
+                this.advanceAll(columnButton.dataset.advanceColumn);
+            }
+        });
+
+        this.connect();
+        // Re-render every 30 seconds so SLA colours move with the clock between pushes
+        setInterval(() => this.render(), 30000);
+    }
+
+    connect() {
+        const socket = new SockJS('/ws');
+        this.stompClient = Stomp.over(socket);
+        this.stompClient.debug = null;
+
+        this.stompClient.connect({}, () => {
+            this.stompClient.subscribe('/topic/kitchen', (message) => {
+                const update = JSON.parse(message.body);
+                // A bulk status change arrives as one BATCH message; apply it all, then render once
+                (update.type === 'BATCH' ? update.updates : [update]).forEach(item => this.handleUpdate(item));
+                this.render();
+                this.checkSequence(message);
+            });
+            // Load the snapshot after subscribing (also after a reconnect) so no update falls between the two
+            this.loadQueue();
+        }, () => {
+            setTimeout(() => this.connect(), 3000);
+        });
+    }
+
+    // Each node numbers its /topic/kitchen messages; a skipped number means updates were lost
+    checkSequence(message) {
+        const node = message.headers['x-node'];
+        const seq = Number(message.headers['x-seq']);
+        if (!node || !seq) {
+            return;
+        }
+        const last = this.sequences[node];
+        this.sequences[node] = seq;
+        if (last !== undefined && seq !== last + 1) {
+            this.loadQueue();
+        }
+    }
+
+    async loadQueue() {
+        try {
+            const response = await fetch('/cashier/api/kitchen/queue');
+            const data = await response.json();
+            if (data.success) {
+                this.tickets = new Map(data.data.map(ticket => [ticket.orderId, ticket]));
+                this.render();
+            }
+        } catch (error) {
+            console.error('Error loading kitchen queue:', error);
+        }
+    }
+
+    handleUpdate(update) {
+        if (update.type === 'REMOVE') {
+            this.tickets.delete(update.orderId);
+        } else {
+            this.tickets.set(update.orderId, update.ticket);
+        }
+        // With an external broker every node pushes its own copy of the queue, so alert once per state
+        const alertKey = update.orderId + '|' + (update.ticket && update.ticket.slaState);
+        if (update.type === 'ALERT' && !this.alerted.has(alertKey)) {
+            this.alerted.add(alertKey);
+            this.showAlert(update.ticket);
+        }
+    }
+
+    async advance(orderId, nextStatus) {
+        try {
+            const headers = {};
+            if (this.csrfToken && this.csrfHeader) {
+                headers[this.csrfHeader] = this.csrfToken;
+            }
+            const response = await fetch(`/cashier/api/orders/${orderId}/status?status=${nextStatus}`, {
+                method: 'PUT',
+                headers: headers
+            });
+            const data = await response.json();
+            if (!data.success) {
+                alert('Gagal mengubah status: ' + data.message);
+            }
+        } catch (error) {
+            console.error('Error updating order status:', error);
+        }
+    }
+
+    async advanceAll(status) {
+        const orderIds = [...this.tickets.values()]
+            .filter(ticket => ticket.status === status)
+            .map(ticket => ticket.orderId);
+        if (orderIds.length === 0 || !confirm(`Pindahkan ${orderIds.length} pesanan ke ${NEXT_STATUS[status]}?`)) {
+            return;
+        }
+        try {
+            const headers = {'Content-Type': 'application/json'};
+            if (this.csrfToken && this.csrfHeader) {
+                headers[this.csrfHeader] = this.csrfToken;
+            }
+            const response = await fetch('/cashier/api/orders/status', {
+                method: 'PUT',
+                headers: headers,
+                body: JSON.stringify({orderIds: orderIds, status: NEXT_STATUS[status]})
+            });
+            const data = await response.json();
+            if (!data.success) {
+                alert('Gagal mengubah status: ' + data.message);
+                return;
+            }
+            const rejected = data.data.filter(result => !result.applied);
+            if (rejected.length > 0) {
+                alert('Sebagian pesanan tidak dipindahkan:\n' +
+                    rejected.map(result => `${result.orderNumber || result.orderId}: ${result.reason}`).join('\n'));
+            }
+        } catch (error) {
+            console.error('Error updating order statuses:', error);
+        }
+    }
+
+    render() {
+        const now = Date.now();
+        const sorted = [...this.tickets.values()].sort((a, b) =>
+            TimezoneUtils.parseDate(a.startBy) - TimezoneUtils.parseDate(b.startBy) || a.orderId - b.orderId);
+
+        KITCHEN_STATUSES.forEach(status => {
+            const column = document.getElementById('kitchen' + status);
+            const tickets = sorted.filter(ticket => ticket.status === status);
+            document.getElementById('count' + status).textContent = tickets.length;
+            column.innerHTML = tickets.map(ticket => this.renderTicket(ticket, now)).join('');
+        });
+
+        document.getElementById('kitchenLastUpdate').textContent = TimezoneUtils.formatTime(new Date());
+    }
+
+    renderTicket(ticket, now) {
+        const slaState = this.currentSlaState(ticket, now);
+        const slaClass = slaState === 'OVERDUE' ? 'sla-overdue' : slaState === 'START_LATE' ? 'sla-start-late' : '';
+        const items = ticket.items.map(item =>
+            `<li>${item.quantity}x ${this.escape(item.menuName)} <small class="text-muted">(${item.prepTimeMinutes}m)</small></li>`
+        ).join('');
+
+        return `
+            <div class="card kitchen-ticket ${slaClass}">
+                <div class="card-body">
+                    <div class="d-flex justify-content-between">
+                        <strong>${this.escape(ticket.orderNumber)}</strong>
+                        <small>Target ${TimezoneUtils.formatTime(ticket.dueAt)}</small>
+                    </div>
+                    <div class="text-muted mb-2">${this.escape(ticket.customerName || '-')}</div>
+                    <ul class="mb-2">${items}</ul>
+                    <button class="btn btn-sm btn-primary" data-advance-order="${ticket.orderId}"
+                            data-next-status="${NEXT_STATUS[ticket.status]}">${NEXT_STATUS_LABEL[ticket.status]}</button>
+                </div>
+            </div>
+        `;
+    }
+
+    currentSlaState(ticket, now) {
+        if (ticket.status === 'READY') {
+            return 'ON_TRACK';
+        }
+        if (now >= TimezoneUtils.parseDate(ticket.dueAt).getTime()) {
+            return 'OVERDUE';
+        }
+        if (ticket.status === 'CONFIRMED' && now >= TimezoneUtils.parseDate(ticket.startBy).getTime()) {
+            return 'START_LATE';
+        }
+        return 'ON_TRACK';
+    }
+
+    showAlert(ticket) {
+        const message = ticket.slaState === 'OVERDUE'
+            ? `Pesanan ${ticket.orderNumber} melewati target waktu`
+            : `Pesanan ${ticket.orderNumber} harus mulai dimasak sekarang`;
+        console.warn(message);
+        if (window.Notification && Notification.permission === 'granted') {
+            new Notification(message);
+        }
+    }
+
+    escape(value) {
+        const div = document.createElement('div');
+        div.textContent = value;
+        return div.innerHTML;
+    }
+}
+
+const kitchenApp = new KitchenApp();
@@ -5,6 +5,8 @@
         this.reconnectAttempts = 0;
         this.maxReconnectAttempts = 5;
         this.reconnectInterval = 3000; // 3 seconds
+        this.sequences = {};
+        this.hasConnected = false;
     }
 
     connect() {
@@ -17,6 +19,11 @@
             this.reconnectAttempts = 0;
 
             this.subscribeToOrders();
+            if (this.hasConnected) {
+                // Updates sent while disconnected are gone, reload the current state
+                this.handleDashboardUpdate();
+            }
+            this.hasConnected = true;
             this.onConnected();
         }, (error) => {
             console.log('WebSocket connection error: ', error);
@@ -28,11 +35,13 @@
     subscribeToOrders() {
         if (this.stompClient && this.connected) {
             this.stompClient.subscribe('/topic/orders', (message) => {
+                this.checkSequence('/topic/orders', message);
                 const orderUpdate = JSON.parse(message.body);
                 this.handleOrderUpdate(orderUpdate);
             });
 
             this.stompClient.subscribe('/topic/dashboard', (message) => {
+                this.checkSequence('/topic/dashboard', message);
                 console.log('Dashboard update received:', message.body);
                 this.handleDashboardUpdate();
             });
@@ -44,6 +53,22 @@
         }
     }
 
+    // Each node numbers what it sends per topic; a skipped number means messages were lost, so reload
+    checkSequence(destination, message) {
+        const node = message.headers['x-node'];
+        const seq = Number(message.headers['x-seq']);
+        if (!node || !seq) {
+            return;
+        }
+        const key = destination + '|' + node;
+        const last = this.sequences[key];
+        this.sequences[key] = seq;
+        if (last !== undefined && seq !== last + 1) {
+            console.warn(`Missed ${destination} messages from ${node} (${last} -> ${seq}), reloading`);
+            this.handleDashboardUpdate();
+        }
+    }
+
     handleDashboardUpdate() {
         if (window.cashierApp && typeof window.cashierApp.loadDashboardData === 'function') {
             console.log('Refreshing dashboard data...');
@@ -0,0 +1,257 @@
+package menuorderingapp.project.testcase;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import menuorderingapp.project.util.BusinessDayClock;
+import menuorderingapp.project.util.DateRange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.jpa.repository.Query;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Business Day Range Test")
+class BusinessDayRangeTestCase {
+
+    private static final ZoneId JAKARTA = ZoneId.of("Asia/Jakarta");
+
+    private static final String MODEL_PACKAGE = "menuorderingapp.project.model.";
+
+    private static final Pattern CREATE_INDEX = Pattern.compile(
+            "(?i)CREATE\\s+(?:UNIQUE\\s+)?INDEX\\s+\\w+\\s+ON\\s+(\\w+)\\s*\\(([^)]+)\\)");
+    private static final Pattern CREATE_TABLE = Pattern.compile(
+            "(?is)CREATE\\s+TABLE\\s+(\\w+)\\s*\\((.*?)\\)\\s*(?:[A-Z_=\\s]*);");
+    private static final Pattern KEY_COLUMNS = Pattern.compile(
+            "(?i)(?:PRIMARY\\s+KEY|FOREIGN\\s+KEY|UNIQUE(?:\\s+KEY)?)\\s*\\(([^)]+)\\)");
+    private static final Pattern INLINE_KEY = Pattern.compile(
+            "(?im)^\\s*(\\w+)\\s+[^,\\n]*\\b(?:PRIMARY\\s+KEY|UNIQUE)\\b");
+
+    private static final Pattern QUERY_ALIAS = Pattern.compile(
+            "(?i)\\b(?:FROM|JOIN(?:\\s+FETCH)?)\\s+([\\w.]+)\\s+(?:AS\\s+)?(\\w+)");
+    private static final Pattern WRAPPED_COLUMN = Pattern.compile(
+            "(?i)\\b(\\w+)\\s*\\(\\s*(\\w+)\\.(\\w+)");
+    private static final Set<String> KEYWORDS = Set.of("AND", "OR", "NOT", "IN", "EXISTS");
+
+    private static final Pattern WHERE_CLAUSE = Pattern.compile(
+            "(?is)\\bWHERE\\b(.*?)(?:\\bGROUP\\s+BY\\b|\\bORDER\\s+BY\\b|$)");
+
+    @Test
+    @DisplayName("Task 1: Day range is half-open from midnight to midnight without a cut-off")
+    void testDayRange_MidnightCutoff() {
+        BusinessDayClock clock = clockAt(LocalDateTime.of(2025, 3, 10, 14, 0), LocalTime.MIDNIGHT);
+
+        DateRange range = clock.todayRange();
+
+        assertThat(range.start()).isEqualTo(LocalDateTime.of(2025, 3, 10, 0, 0));
+        assertThat(range.end()).isEqualTo(LocalDateTime.of(2025, 3, 11, 0, 0));
+        assertThat(range.contains(LocalDateTime.of(2025, 3, 10, 23, 59, 59, 999_999_999))).isTrue();
+        assertThat(range.contains(range.end())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Task 2: Late-night orders before the cut-off belong to the previous business day")
+    void testTodayRange_LateNightShift() {
+        BusinessDayClock clock = clockAt(LocalDateTime.of(2025, 3, 11, 1, 30), LocalTime.of(4, 0));
+
+        DateRange range = clock.todayRange();
+
+        assertThat(clock.today()).isEqualTo(LocalDate.of(2025, 3, 10));
+        assertThat(range.start()).isEqualTo(LocalDateTime.of(2025, 3, 10, 4, 0));
+        assertThat(range.end()).isEqualTo(LocalDateTime.of(2025, 3, 11, 4, 0));
+    }
+
+    @Test
+    @DisplayName("Task 3: Multi-day range ends at the cut-off after the last day")
+    void testDayRange_InclusiveLastDay() {
+        BusinessDayClock clock = clockAt(LocalDateTime.of(2025, 3, 11, 12, 0), LocalTime.of(4, 0));
+
+        DateRange range = clock.dayRange(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31));
+
+        assertThat(range.start()).isEqualTo(LocalDateTime.of(2025, 3, 1, 4, 0));
+        assertThat(range.end()).isEqualTo(LocalDateTime.of(2025, 4, 1, 4, 0));
+    }
+
+    @Test
+    @DisplayName("Task 4: Detector flags a function wrapped around an indexed column")
+    void testDetector_FlagsDateOnCreatedAt() throws Exception {
+        Map<String, Set<String>> indexedColumns = loadIndexedColumns();
+
+        List<String> violations = findWrappedIndexedColumns(
+                "SELECT o FROM Order o WHERE DATE(o.createdAt) = CURRENT_DATE ORDER BY o.createdAt DESC",
+                indexedColumns);
+
+        assertThat(violations).containsExactly("DATE(orders.created_at)");
+    }
+
+    @Test
+    @DisplayName("Task 5: No repository query applies a function to an indexed column")
+    void testRepositoryQueries_AreSargable() throws Exception {
+        Map<String, Set<String>> indexedColumns = loadIndexedColumns();
+        List<String> violations = new ArrayList<>();
+
+        for (Class<?> repository : loadRepositoryInterfaces()) {
+            for (Method method : repository.getDeclaredMethods()) {
+                Query query = method.getAnnotation(Query.class);
+                if (query == null || query.nativeQuery()) {
+                    continue;
+                }
+                for (String violation : findWrappedIndexedColumns(query.value(), indexedColumns)) {
+                    violations.add(repository.getSimpleName() + "." + method.getName() + ": " + violation);
+                }
+            }
+        }
+
+        assertThat(violations).isEmpty();
+    }
+
+    private BusinessDayClock clockAt(LocalDateTime now, LocalTime cutoff) {
+        return new BusinessDayClock(Clock.fixed(ZonedDateTime.of(now, JAKARTA).toInstant(), JAKARTA), cutoff);
+    }
+
+    private List<String> findWrappedIndexedColumns(String jpql, Map<String, Set<String>> indexedColumns) {
+        Map<String, Class<?>> aliases = new HashMap<>();
+        Matcher aliasMatcher = QUERY_ALIAS.matcher(jpql);
+        while (aliasMatcher.find()) {
+            Class<?> type = resolveAliasType(aliasMatcher.group(1), aliases);
+            if (type != null) {
+                aliases.put(aliasMatcher.group(2), type);
+            }
+        }
+
+        List<String> violations = new ArrayList<>();
+        Matcher where = WHERE_CLAUSE.matcher(jpql);
+        if (!where.find()) {
+            return violations;
+        }
+
+        Matcher wrapped = WRAPPED_COLUMN.matcher(where.group(1));
+        while (wrapped.find()) {
+            if (KEYWORDS.contains(wrapped.group(1).toUpperCase(Locale.ROOT))) {
+                continue;
+            }
+            Class<?> entity = aliases.get(wrapped.group(2));
+            Field field = entity != null ? findField(entity, wrapped.group(3)) : null;
+            if (field == null) {
+                continue;
+            }
+            String table = entity.getAnnotation(Table.class).name();
+            String column = columnName(field);
+            if (indexedColumns.getOrDefault(table, Set.of()).contains(column)) {
+                violations.add(wrapped.group(1) + "(" + table + "." + column + ")");
+            }
+        }
+        return violations;
+    }
+
+    private Class<?> resolveAliasType(String source, Map<String, Class<?>> aliases) {
+        if (!source.contains(".")) {
+            try {
+                return Class.forName(MODEL_PACKAGE + source);
+            } catch (ClassNotFoundException e) {
+                return null;
+            }
+        }
+
+        String[] path = source.split("\\.");
+        Class<?> owner = aliases.get(path[0]);
+        Field field = owner != null ? findField(owner, path[1]) : null;
+        if (field == null) {
+            return null;
+        }
+        if (field.getGenericType() instanceof ParameterizedType collection) {
+            return (Class<?>) collection.getActualTypeArguments()[0];
+        }
+        return field.getType();
+    }
+
+    private Field findField(Class<?> type, String name) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                return current.getDeclaredField(name);
+            } catch (NoSuchFieldException ignored) {
+                // keep walking up
+            }
+        }
+        return null;
+    }
+
+    private String columnName(Field field) {
+        Column column = field.getAnnotation(Column.class);
+        if (column != null && !column.name().isEmpty()) {
+            return column.name();
+        }
+        JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+        if (joinColumn != null && !joinColumn.name().isEmpty()) {
+            return joinColumn.name();
+        }
+        return field.getName().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+    }
+
+    private Map<String, Set<String>> loadIndexedColumns() throws IOException {
+        Map<String, Set<String>> indexed = new HashMap<>();
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+
+        for (Resource migration : resolver.getResources("classpath:db/migration/*.sql")) {
+            String sql = migration.getContentAsString(StandardCharsets.UTF_8);
+
+            Matcher index = CREATE_INDEX.matcher(sql);
+            while (index.find()) {
+                addColumns(indexed, index.group(1), index.group(2));
+            }
+
+            Matcher table = CREATE_TABLE.matcher(sql);
+            while (table.find()) {
+                Matcher keys = KEY_COLUMNS.matcher(table.group(2));
+                while (keys.find()) {
+                    addColumns(indexed, table.group(1), keys.group(1));
+                }
+                Matcher inline = INLINE_KEY.matcher(table.group(2));
+                while (inline.find()) {
+                    addColumns(indexed, table.group(1), inline.group(1));
+                }
+            }
+        }
+        return indexed;
+    }
+
+    private void addColumns(Map<String, Set<String>> indexed, String table, String columns) {
+        Set<String> tableColumns = indexed.computeIfAbsent(table.toLowerCase(Locale.ROOT), t -> new HashSet<>());
+        for (String column : columns.split(",")) {
+            tableColumns.add(column.trim().split("[\\s(]")[0].toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private List<Class<?>> loadRepositoryInterfaces() throws IOException, ClassNotFoundException {
+        List<Class<?>> repositories = new ArrayList<>();
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+
+        for (Resource resource : resolver.getResources("classpath:menuorderingapp/project/repository/*.class")) {
+            String className = "menuorderingapp.project.repository." + resource.getFilename().replace(".class", "");
+            Class<?> type = Class.forName(className);
+            if (type.isInterface()) {
+                repositories.add(type);
+            }
+        }
+
+        assertThat(repositories).isNotEmpty();
+        return repositories;
+    }
+}
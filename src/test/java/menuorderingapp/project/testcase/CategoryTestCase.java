@@ -6,6 +6,7 @@ import jakarta.validation.Validator;
 import jakarta.validation.ValidatorFactory;
 import menuorderingapp.project.model.Category;
 import menuorderingapp.project.model.dto.CategoryRequest;
+import menuorderingapp.project.repository.CatalogVersionRepository;
 import menuorderingapp.project.repository.CategoryRepository;
 import menuorderingapp.project.service.impl.MenuServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,6 +31,9 @@ class CategoryTestCase {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private CatalogVersionRepository catalogVersionRepository;
+
     @InjectMocks
     private MenuServiceImpl menuService;
 
@@ -0,0 +1,167 @@
+package menuorderingapp.project.testcase;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import menuorderingapp.project.config.IdempotencyFilter;
+import menuorderingapp.project.repository.IdempotencyKeyRepository;
+import menuorderingapp.project.service.impl.IdempotencyServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Idempotency Test")
+class IdempotencyTestCase {
+
+    private static final String ORDER_BODY = "{\"customerName\":\"Budi\",\"items\":[{\"menuId\":1,\"quantity\":2}]}";
+
+    @Mock
+    private IdempotencyKeyRepository repository;
+
+    private IdempotencyFilter filter;
+    private AtomicInteger handled;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(new IdempotencyServiceImpl(repository, 24, 60, 100), new ObjectMapper());
+        handled = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Task 1: Retry with the same key replays the stored response without creating a second order")
+    void testRetry_ReplaysStoredResponse() throws Exception {
+        when(repository.insertInProgress(anyString(), anyString(), any(), any())).thenReturn(true);
+
+        MockHttpServletResponse first = send("key-1", ORDER_BODY, HttpServletResponse.SC_CREATED);
+        MockHttpServletResponse retry = send("key-1", ORDER_BODY, HttpServletResponse.SC_CREATED);
+
+        assertThat(handled).hasValue(1);
+        assertThat(retry.getStatus()).isEqualTo(HttpServletResponse.SC_CREATED);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        verify(repository).markCompleted(anyString(), eq(HttpServletResponse.SC_CREATED), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Task 2: Reusing a key with a different body is rejected with 422")
+    void testKeyReuse_DifferentBody() throws Exception {
+        when(repository.insertInProgress(anyString(), anyString(), any(), any())).thenReturn(true);
+
+        send("key-2", ORDER_BODY, HttpServletResponse.SC_CREATED);
+        MockHttpServletResponse reused = send("key-2", ORDER_BODY.replace("2}", "3}"), HttpServletResponse.SC_CREATED);
+
+        assertThat(handled).hasValue(1);
+        assertThat(reused.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    @DisplayName("Task 3: Request arriving while the first attempt is running gets 409")
+    void testConcurrentRetry_InProgress() throws Exception {
+        when(repository.insertInProgress(anyString(), anyString(), any(), any())).thenReturn(false);
+        when(repository.findByKeyHash(anyString())).thenAnswer(invocation -> Optional.of(
+                new IdempotencyKeyRepository.IdempotencyKeyRow(sha256(ORDER_BODY), false, 0, null, null,
+                        LocalDateTime.now().plusHours(24))));
+        when(repository.takeOver(anyString(), anyString(), any(), any(), any())).thenReturn(false);
+
+        MockHttpServletResponse response = send("key-3", ORDER_BODY, HttpServletResponse.SC_CREATED);
+
+        assertThat(handled).hasValue(0);
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_CONFLICT);
+    }
+
+    @Test
+    @DisplayName("Task 4: Failed attempt is not stored so the same key can be retried")
+    void testFailedAttempt_ReleasesKey() throws Exception {
+        when(repository.insertInProgress(anyString(), anyString(), any(), any())).thenReturn(true);
+
+        send("key-4", ORDER_BODY, HttpServletResponse.SC_BAD_REQUEST);
+        send("key-4", ORDER_BODY, HttpServletResponse.SC_CREATED);
+
+        assertThat(handled).hasValue(2);
+        verify(repository).deleteInProgress(anyString());
+        verify(repository).markCompleted(anyString(), eq(HttpServletResponse.SC_CREATED), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Task 5: Requests without the header are not deduplicated")
+    void testNoHeader_PassesThrough() throws Exception {
+        send(null, ORDER_BODY, HttpServletResponse.SC_CREATED);
+        send(null, ORDER_BODY, HttpServletResponse.SC_CREATED);
+
+        assertThat(handled).hasValue(2);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Task 6: Succeeded request keeps its claim when storing the response fails")
+    void testCompleteFails_KeepsClaim() throws Exception {
+        when(repository.insertInProgress(anyString(), anyString(), any(), any())).thenReturn(true);
+        doThrow(new RuntimeException("connection reset"))
+                .when(repository).markCompleted(anyString(), anyInt(), anyString(), any());
+
+        MockHttpServletResponse response = send("key-6", ORDER_BODY, HttpServletResponse.SC_CREATED);
+
+        assertThat(handled).hasValue(1);
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_CREATED);
+        assertThat(response.getContentAsString()).isEqualTo("{\"success\":true,\"data\":{\"id\":1}}");
+        verify(repository, times(3)).markCompleted(anyString(), eq(HttpServletResponse.SC_CREATED), anyString(), any());
+        verify(repository, never()).deleteInProgress(anyString());
+    }
+
+    @Test
+    @DisplayName("Task 7: Transient failure storing the response is retried")
+    void testCompleteFailsOnce_Retried() throws Exception {
+        when(repository.insertInProgress(anyString(), anyString(), any(), any())).thenReturn(true);
+        doThrow(new RuntimeException("deadlock")).doNothing()
+                .when(repository).markCompleted(anyString(), anyInt(), anyString(), any());
+
+        send("key-7", ORDER_BODY, HttpServletResponse.SC_CREATED);
+        MockHttpServletResponse retry = send("key-7", ORDER_BODY, HttpServletResponse.SC_CREATED);
+
+        assertThat(handled).hasValue(1);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        verify(repository, never()).deleteInProgress(anyString());
+    }
+
+    private MockHttpServletResponse send(String key, String body, int status) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/customer/api/orders");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            int orderId = handled.incrementAndGet();
+            byte[] received = req.getInputStream().readAllBytes();
+            assertThat(new String(received, StandardCharsets.UTF_8)).isEqualTo(body);
+            HttpServletResponse httpResponse = (HttpServletResponse) res;
+            httpResponse.setStatus(status);
+            httpResponse.setContentType("application/json");
+            httpResponse.getWriter().write("{\"success\":true,\"data\":{\"id\":" + orderId + "}}");
+        });
+        return response;
+    }
+
+    private static String sha256(String value) throws Exception {
+        return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,203 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.config.JdbcPollingWebSocketRelay;
+import menuorderingapp.project.config.StompBrokerWebSocketRelay;
+import menuorderingapp.project.model.Menu;
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.OrderItem;
+import menuorderingapp.project.model.dto.KitchenTicket;
+import menuorderingapp.project.model.dto.KitchenUpdate;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.repository.SchedulerLockRepository;
+import menuorderingapp.project.service.BroadcastService;
+import menuorderingapp.project.service.impl.KitchenQueueServiceImpl;
+import menuorderingapp.project.util.BusinessDayClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Kitchen Queue Test")
+class KitchenQueueTestCase {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 12, 0);
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private BroadcastService broadcastService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private BusinessDayClock businessDayClock;
+
+    @Mock
+    private ScheduledFuture<Object> timer;
+
+    @Mock
+    private SchedulerLockRepository lockRepository;
+
+    private KitchenQueueServiceImpl kitchenQueueService;
+
+    @BeforeEach
+    void setUp() {
+        kitchenQueueService = new KitchenQueueServiceImpl(orderRepository, broadcastService, taskScheduler,
+                businessDayClock, new JdbcPollingWebSocketRelay(), lockRepository, "node-a", 15, 20, 30000);
+        lenient().when(businessDayClock.now()).thenReturn(NOW);
+        lenient().doReturn(timer).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Task 1: Queue is ordered by latest start time from order type SLA and slowest item")
+    void testGetQueue_PriorityOrder() {
+        kitchenQueueService.apply(order(1L, Order.OrderType.CUSTOMER_SELF, NOW.minusMinutes(5), 10, 3));
+        kitchenQueueService.apply(order(2L, Order.OrderType.CASHIER_ASSISTED, NOW.minusMinutes(2), 5));
+        kitchenQueueService.apply(order(3L, Order.OrderType.CUSTOMER_SELF, NOW.minusMinutes(20), 5));
+
+        List<KitchenTicket> queue = kitchenQueueService.getQueue();
+
+        assertThat(queue).extracting(KitchenTicket::getOrderId).containsExactly(3L, 1L, 2L);
+        assertThat(queue.get(1).getPrepTimeMinutes()).isEqualTo(10);
+        assertThat(queue.get(1).getDueAt()).isEqualTo(NOW.plusMinutes(15));
+        assertThat(queue.get(1).getStartBy()).isEqualTo(NOW.plusMinutes(5));
+        assertThat(queue.get(2).getDueAt()).isEqualTo(NOW.plusMinutes(13));
+        assertThat(queue).extracting(KitchenTicket::getSlaState).containsExactly(
+                KitchenTicket.SlaState.OVERDUE, KitchenTicket.SlaState.ON_TRACK, KitchenTicket.SlaState.ON_TRACK);
+    }
+
+    @Test
+    @DisplayName("Task 2: Completed order leaves the queue, cancels its timer and pushes a REMOVE")
+    void testApply_CompletedRemoves() {
+        Order order = order(1L, Order.OrderType.CUSTOMER_SELF, NOW.minusMinutes(5), 5);
+        kitchenQueueService.apply(order);
+
+        order.setStatus(Order.OrderStatus.COMPLETED);
+        kitchenQueueService.apply(order);
+
+        assertThat(kitchenQueueService.getQueue()).isEmpty();
+        verify(timer).cancel(false);
+        ArgumentCaptor<KitchenUpdate> updates = ArgumentCaptor.forClass(KitchenUpdate.class);
+        verify(broadcastService, times(2)).send(eq(KitchenQueueServiceImpl.KITCHEN_TOPIC), updates.capture());
+        assertThat(updates.getAllValues()).extracting(KitchenUpdate::getType)
+                .containsExactly(KitchenUpdate.Type.UPSERT, KitchenUpdate.Type.REMOVE);
+    }
+
+    @Test
+    @DisplayName("Task 3: Timer raises a START_LATE alert and re-arms for the due time")
+    void testSlaTimer_AlertsAndRearms() {
+        kitchenQueueService.apply(order(1L, Order.OrderType.CUSTOMER_SELF, NOW.minusMinutes(5), 10));
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(task.capture(), any(Instant.class));
+
+        when(businessDayClock.now()).thenReturn(NOW.plusMinutes(5));
+        task.getValue().run();
+
+        ArgumentCaptor<KitchenUpdate> updates = ArgumentCaptor.forClass(KitchenUpdate.class);
+        verify(broadcastService, times(2)).send(eq(KitchenQueueServiceImpl.KITCHEN_TOPIC), updates.capture());
+        KitchenUpdate alert = updates.getAllValues().get(1);
+        assertThat(alert.getType()).isEqualTo(KitchenUpdate.Type.ALERT);
+        assertThat(alert.getTicket().getSlaState()).isEqualTo(KitchenTicket.SlaState.START_LATE);
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Task 4: Hydration loads active orders from the database only once")
+    void testHydrate_LoadsOnce() {
+        when(orderRepository.findWithItemsByStatusIn(anyCollection())).thenReturn(List.of(
+                order(1L, Order.OrderType.CASHIER_ASSISTED, NOW.minusMinutes(1), 5)));
+
+        kitchenQueueService.hydrate();
+        kitchenQueueService.hydrate();
+
+        assertThat(kitchenQueueService.getQueue()).extracting(KitchenTicket::getOrderId).containsExactly(1L);
+        verify(orderRepository, times(1)).findWithItemsByStatusIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Task 5: Orders applied together are pushed as one BATCH message")
+    void testApplyAll_OneBatchMessage() {
+        Order first = order(1L, Order.OrderType.CUSTOMER_SELF, NOW.minusMinutes(5), 5);
+        Order second = order(2L, Order.OrderType.CUSTOMER_SELF, NOW.minusMinutes(3), 5);
+        kitchenQueueService.applyAll(List.of(first, second));
+
+        first.setStatus(Order.OrderStatus.PREPARING);
+        second.setStatus(Order.OrderStatus.COMPLETED);
+        kitchenQueueService.applyAll(List.of(first, second));
+
+        ArgumentCaptor<KitchenUpdate> updates = ArgumentCaptor.forClass(KitchenUpdate.class);
+        verify(broadcastService, times(2)).send(eq(KitchenQueueServiceImpl.KITCHEN_TOPIC), updates.capture());
+        KitchenUpdate batch = updates.getAllValues().get(1);
+        assertThat(batch.getType()).isEqualTo(KitchenUpdate.Type.BATCH);
+        assertThat(batch.getUpdates()).extracting(KitchenUpdate::getType)
+                .containsExactly(KitchenUpdate.Type.UPSERT, KitchenUpdate.Type.REMOVE);
+        assertThat(kitchenQueueService.getQueue()).extracting(KitchenTicket::getStatus)
+                .containsExactly(Order.OrderStatus.PREPARING);
+    }
+
+    @Test
+    @DisplayName("Task 6: With a cluster-wide broker only the node holding the publisher lock broadcasts")
+    void testClusterWide_OnlyLockHolderPublishes() {
+        KitchenQueueServiceImpl nodeA = clusterWideNode("node-a");
+        KitchenQueueServiceImpl nodeB = clusterWideNode("node-b");
+        when(lockRepository.tryAcquire(eq(KitchenQueueServiceImpl.LOCK_NAME), startsWith("node-a:"), anyLong()))
+                .thenReturn(true);
+        when(lockRepository.tryAcquire(eq(KitchenQueueServiceImpl.LOCK_NAME), startsWith("node-b:"), anyLong()))
+                .thenReturn(false);
+        nodeA.renewPublisher();
+        nodeB.renewPublisher();
+
+        Order order = order(1L, Order.OrderType.CUSTOMER_SELF, NOW.minusMinutes(5), 10);
+        nodeA.apply(order);
+        nodeB.apply(order);
+
+        ArgumentCaptor<Runnable> timers = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, times(2)).schedule(timers.capture(), any(Instant.class));
+        when(businessDayClock.now()).thenReturn(NOW.plusMinutes(5));
+        timers.getAllValues().forEach(Runnable::run);
+
+        ArgumentCaptor<KitchenUpdate> updates = ArgumentCaptor.forClass(KitchenUpdate.class);
+        verify(broadcastService, times(2)).send(eq(KitchenQueueServiceImpl.KITCHEN_TOPIC), updates.capture());
+        assertThat(updates.getAllValues()).extracting(KitchenUpdate::getType)
+                .containsExactly(KitchenUpdate.Type.UPSERT, KitchenUpdate.Type.ALERT);
+        assertThat(nodeA.isPublisher()).isTrue();
+        assertThat(nodeB.getQueue()).extracting(KitchenTicket::getOrderId).containsExactly(1L);
+    }
+
+    private KitchenQueueServiceImpl clusterWideNode(String nodeId) {
+        return new KitchenQueueServiceImpl(orderRepository, broadcastService, taskScheduler, businessDayClock,
+                new StompBrokerWebSocketRelay(), lockRepository, nodeId, 15, 20, 30000);
+    }
+
+    private Order order(Long id, Order.OrderType type, LocalDateTime confirmedAt, int... prepMinutes) {
+        Order order = new Order(type, "Customer " + id, BigDecimal.TEN);
+        order.setId(id);
+        order.setOrderNumber("ORD-" + id);
+        order.setStatus(Order.OrderStatus.CONFIRMED);
+        order.setConfirmedAt(confirmedAt);
+        for (int minutes : prepMinutes) {
+            Menu menu = new Menu("Menu " + minutes, null, BigDecimal.TEN, null);
+            menu.setPrepTimeMinutes(minutes);
+            order.getOrderItems().add(new OrderItem(menu, 1));
+        }
+        return order;
+    }
+}
@@ -0,0 +1,135 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.security.BoundedPasswordEncoder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Shift change: 30 cashiers log in at once (BCrypt strength 10) while order requests keep arriving.
+ * Compares hashing on the request threads with the bounded hashing pool, reporting login throughput and
+ * the latency of the order requests running alongside, plus the one-off cost of a rehash on login.
+ * mvn test -Dtest=LoginBenchmarkTestCase -Dbenchmarks=true
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("Login Benchmark")
+class LoginBenchmarkTestCase {
+
+    private static final int CASHIERS = 30;
+    private static final int ORDER_REQUESTS = 2000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Test
+    @DisplayName("Task 1: Login burst with and without the bounded hashing pool")
+    void benchmarkLoginBurst() throws Exception {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(10);
+        String hash = bcrypt.encode("password123");
+        int poolSize = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        BoundedPasswordEncoder bounded = new BoundedPasswordEncoder(bcrypt, poolSize, 64, 30000);
+
+        try {
+            // Warm up the JIT so the first mode measured isn't penalised
+            run(bcrypt, hash);
+
+            Result direct = run(bcrypt, hash);
+            Result pooled = run(bounded, hash);
+
+            System.out.printf("%-10s %12s %12s %14s %14s%n",
+                    "mode", "logins/s", "login p99", "order p50 ms", "order p99 ms");
+            print("direct", direct);
+            print("bounded", pooled);
+
+            assertThat(direct.loginMs()).hasSize(CASHIERS);
+            assertThat(pooled.loginMs()).hasSize(CASHIERS);
+        } finally {
+            bounded.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Task 2: Cost of verifying an old hash plus re-hashing at a higher strength")
+    void benchmarkRehash() {
+        String weak = new BCryptPasswordEncoder(8).encode("password123");
+        BCryptPasswordEncoder current = new BCryptPasswordEncoder(10);
+
+        long start = System.nanoTime();
+        boolean matches = current.matches("password123", weak);
+        long verifyNanos = System.nanoTime() - start;
+        String upgraded = current.encode("password123");
+        long totalNanos = System.nanoTime() - start;
+
+        System.out.printf("verify strength 8: %d ms, verify + rehash at 10: %d ms, later logins verify at 10%n",
+                TimeUnit.NANOSECONDS.toMillis(verifyNanos), TimeUnit.NANOSECONDS.toMillis(totalNanos));
+        assertThat(matches).isTrue();
+        assertThat(current.upgradeEncoding(weak)).isTrue();
+        assertThat(current.upgradeEncoding(upgraded)).isFalse();
+    }
+
+    private Result run(PasswordEncoder encoder, String hash) throws Exception {
+        ExecutorService tomcat = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        List<Future<Long>> logins = new ArrayList<>();
+        List<Future<Long>> orders = new ArrayList<>();
+
+        long start = System.nanoTime();
+        try (tomcat) {
+            for (int i = 0; i < CASHIERS; i++) {
+                logins.add(tomcat.submit(() -> {
+                    long began = System.nanoTime();
+                    encoder.matches("password123", hash);
+                    return System.nanoTime() - began;
+                }));
+            }
+            for (int i = 0; i < ORDER_REQUESTS; i++) {
+                orders.add(tomcat.submit(() -> {
+                    long began = System.nanoTime();
+                    handleOrder();
+                    return System.nanoTime() - began;
+                }));
+            }
+        }
+        long wallNanos = System.nanoTime() - start;
+
+        List<Long> loginMs = collect(logins);
+        return new Result(CASHIERS * 1e9 / Math.max(1, Collections.max(loginMs) * 1_000_000L),
+                wallNanos, loginMs, collect(orders));
+    }
+
+    // JSON mapping and price arithmetic for a typical order, roughly a millisecond of CPU
+    private void handleOrder() {
+        long checksum = 0;
+        for (int i = 0; i < 200_000; i++) {
+            checksum += (i * 31L) ^ (checksum >>> 3);
+        }
+        if (checksum == 42) {
+            System.out.print("");
+        }
+    }
+
+    private List<Long> collect(List<Future<Long>> futures) throws Exception {
+        List<Long> millis = new ArrayList<>(futures.size());
+        for (Future<Long> future : futures) {
+            millis.add(TimeUnit.NANOSECONDS.toMillis(future.get()));
+        }
+        Collections.sort(millis);
+        return millis;
+    }
+
+    private void print(String mode, Result result) {
+        List<Long> orders = result.orderMs();
+        System.out.printf("%-10s %12.1f %12d %14d %14d%n", mode, result.loginsPerSecond(),
+                result.loginMs().get((int) (result.loginMs().size() * 0.99)),
+                orders.get(orders.size() / 2), orders.get((int) (orders.size() * 0.99)));
+    }
+
+    private record Result(double loginsPerSecond, long wallNanos, List<Long> loginMs, List<Long> orderMs) {
+    }
+}
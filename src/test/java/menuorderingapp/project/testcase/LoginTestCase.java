@@ -0,0 +1,105 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.exception.PasswordHashingBusyException;
+import menuorderingapp.project.model.Cashier;
+import menuorderingapp.project.repository.CashierRepository;
+import menuorderingapp.project.security.BoundedPasswordEncoder;
+import menuorderingapp.project.security.CashierUserDetailsService;
+import menuorderingapp.project.service.impl.CashierServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Login Test")
+class LoginTestCase {
+
+    @Mock
+    private CashierRepository cashierRepository;
+
+    @Test
+    @DisplayName("Task 1: Last login is a single UPDATE without loading the cashier")
+    void testUpdateLastLogin_SingleUpdate() {
+        CashierServiceImpl cashierService = new CashierServiceImpl(cashierRepository, mock(PasswordEncoder.class));
+        when(cashierRepository.updateLastLogin(eq(7L), any(LocalDateTime.class))).thenReturn(1);
+
+        LocalDateTime lastLogin = cashierService.updateLastLogin(7L);
+
+        verify(cashierRepository).updateLastLogin(7L, lastLogin);
+        verifyNoMoreInteractions(cashierRepository);
+    }
+
+    @Test
+    @DisplayName("Task 2: Login with a hash below the configured strength stores a re-hashed password")
+    void testLogin_UpgradesWeakHash() {
+        Cashier cashier = new Cashier("kasir", new BCryptPasswordEncoder(4).encode("secret"), "Kasir", Cashier.CashierRole.CASHIER);
+        when(cashierRepository.findByUsername("kasir")).thenReturn(Optional.of(cashier));
+        CashierUserDetailsService userDetailsService = new CashierUserDetailsService(cashierRepository);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 4, 5000);
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService(userDetailsService);
+
+        try {
+            provider.authenticate(new UsernamePasswordAuthenticationToken("kasir", "secret"));
+
+            ArgumentCaptor<String> newHash = ArgumentCaptor.forClass(String.class);
+            verify(cashierRepository).updatePasswordHash(eq("kasir"), newHash.capture());
+            assertThat(newHash.getValue()).startsWith("$2a$05$");
+            assertThat(encoder.matches("secret", newHash.getValue())).isTrue();
+            assertThat(encoder.upgradeEncoding(newHash.getValue())).isFalse();
+        } finally {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Task 3: Hashing pool refuses work beyond its queue instead of growing")
+    void testBoundedEncoder_RejectsWhenSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder slow = mock(PasswordEncoder.class);
+        when(slow.matches(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return true;
+        });
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slow, 1, 1, 5000);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+
+        try {
+            callers.submit(() -> encoder.matches("a", "hash"));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            callers.submit(() -> encoder.matches("b", "hash"));
+            while (encoder.getStats().queued() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThatThrownBy(() -> encoder.matches("c", "hash")).isInstanceOf(PasswordHashingBusyException.class);
+            assertThat(encoder.getStats().rejected()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            encoder.shutdown();
+        }
+    }
+}
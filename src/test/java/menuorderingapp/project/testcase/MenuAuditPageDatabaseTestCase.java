@@ -0,0 +1,120 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.model.MenuAuditLog;
+import menuorderingapp.project.repository.MenuAuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the audit page query against real rows: keyset paging across rows that share a created_at, and the
+ * menu/cashier/action filters alone and combined. Rows are rolled back after each test. Needs the local MySQL test database from
+ * application-test.properties:
+ * mvn test -Dtest=MenuAuditPageDatabaseTestCase -DconcurrencyTests=true
+ */
+@SpringBootTest(properties = {"app.archive.enabled=false"})
+@ActiveProfiles("test")
+@Transactional
+@EnabledIfSystemProperty(named = "concurrencyTests", matches = "true")
+@DisplayName("Menu Audit Page Database Test")
+class MenuAuditPageDatabaseTestCase {
+
+    // Far in the future (TIMESTAMP ends in 2038) so rows written by other tests never fall inside the window
+    private static final LocalDateTime FROM = LocalDateTime.of(2037, 12, 1, 0, 0);
+    private static final LocalDateTime TO = FROM.plusDays(1);
+    private static final LocalDateTime TIE = FROM.plusHours(9);
+
+    @Autowired
+    private MenuAuditLogRepository auditLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long menuA;
+    private long menuB;
+    private long cashierA;
+    private long cashierB;
+
+    @BeforeEach
+    void setUp() {
+        List<Long> menus = jdbcTemplate.queryForList("SELECT id FROM menus ORDER BY id LIMIT 2", Long.class);
+        List<Long> cashiers = jdbcTemplate.queryForList("SELECT id FROM cashiers ORDER BY id LIMIT 2", Long.class);
+        menuA = menus.get(0);
+        menuB = menus.get(1);
+        cashierA = cashiers.get(0);
+        cashierB = cashiers.get(1);
+
+        insert(menuA, cashierA, "PRICE_CHANGED", TIE.minusMinutes(5));
+        insert(menuA, cashierA, "PRICE_CHANGED", TIE);
+        insert(menuA, cashierB, "UPDATED", TIE);
+        insert(menuB, cashierA, "PRICE_CHANGED", TIE);
+        insert(menuB, cashierB, "AVAILABILITY_CHANGED", TIE);
+        insert(menuA, cashierB, "PRICE_CHANGED", TIE.plusMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Task 1: Paging two rows at a time returns every row once, ties ordered by id")
+    void testKeysetPaging_Ties() {
+        List<MenuAuditLog> all = page(null, null, null, null, null, 100);
+        List<MenuAuditLog> paged = new ArrayList<>();
+        LocalDateTime cursorCreatedAt = null;
+        Long cursorId = null;
+        List<MenuAuditLog> page;
+        do {
+            page = page(null, null, null, cursorCreatedAt, cursorId, 2);
+            paged.addAll(page);
+            if (!page.isEmpty()) {
+                cursorCreatedAt = page.get(page.size() - 1).getCreatedAt();
+                cursorId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == 2);
+
+        assertThat(all).hasSize(6);
+        assertThat(paged).extracting(MenuAuditLog::getId).containsExactlyElementsOf(
+                all.stream().map(MenuAuditLog::getId).toList());
+        List<Long> tiedIds = all.stream().filter(row -> row.getCreatedAt().equals(TIE)).map(MenuAuditLog::getId).toList();
+        assertThat(tiedIds).hasSize(4).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+
+    @Test
+    @DisplayName("Task 2: Menu, cashier and action filters narrow the page alone and combined")
+    void testFilters_Combinations() {
+        MenuAuditLog.AuditAction price = MenuAuditLog.AuditAction.PRICE_CHANGED;
+
+        assertThat(page(menuA, null, null, null, null, 100)).hasSize(4);
+        assertThat(page(null, cashierB, null, null, null, 100)).hasSize(3);
+        assertThat(page(null, null, price, null, null, 100)).hasSize(4);
+        assertThat(page(menuA, cashierA, null, null, null, 100)).hasSize(2);
+        assertThat(page(menuA, null, price, null, null, 100)).hasSize(3);
+        assertThat(page(menuB, cashierB, price, null, null, 100)).isEmpty();
+        assertThat(page(menuA, cashierB, price, null, null, 100))
+                .singleElement().extracting(MenuAuditLog::getCreatedAt).isEqualTo(TIE.plusMinutes(5));
+    }
+
+    private List<MenuAuditLog> page(Long menuId, Long cashierId, MenuAuditLog.AuditAction action,
+                                    LocalDateTime cursorCreatedAt, Long cursorId, int limit) {
+        return auditLogRepository.findAuditPage(menuId, cashierId, action, FROM, TO, cursorCreatedAt, cursorId,
+                PageRequest.of(0, limit));
+    }
+
+    private void insert(long menuId, long cashierId, String action, LocalDateTime createdAt) {
+        jdbcTemplate.update(
+                "INSERT INTO menu_audit_log (menu_id, menu_name, cashier_id, action, new_values, created_at) " +
+                "VALUES (?, 'Audit Test', ?, ?, '{}', ?)",
+                menuId, cashierId, action, Timestamp.valueOf(createdAt));
+    }
+}
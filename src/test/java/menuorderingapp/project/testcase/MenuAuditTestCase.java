@@ -0,0 +1,295 @@
+package menuorderingapp.project.testcase;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import menuorderingapp.project.controller.AuditController;
+import menuorderingapp.project.model.Cashier;
+import menuorderingapp.project.model.MenuAuditLog;
+import menuorderingapp.project.model.dto.ApiResponse;
+import menuorderingapp.project.model.dto.AuditLogPageResponse;
+import menuorderingapp.project.model.dto.MenuTimelineEntry;
+import menuorderingapp.project.repository.MenuAuditLogRepository;
+import menuorderingapp.project.security.CashierUserDetails;
+import menuorderingapp.project.service.MenuAuditService;
+import menuorderingapp.project.service.impl.MenuAuditServiceImpl;
+import menuorderingapp.project.service.impl.MenuAuditWriter;
+import menuorderingapp.project.util.BusinessDayClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Menu Audit Test")
+class MenuAuditTestCase {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2025, 1, 15, 9, 0);
+
+    @Mock
+    private MenuAuditService menuAuditService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Object[]> chunkQueries = new ArrayList<>();
+
+    private final BusinessDayClock businessDayClock =
+            new BusinessDayClock(Clock.system(ZoneId.of("Asia/Jakarta")), LocalTime.of(4, 0));
+
+    private AuditController auditController;
+
+    @BeforeEach
+    void setUp() {
+        auditController = new AuditController(menuAuditService, new ObjectMapper(), businessDayClock);
+        Cashier cashier = new Cashier();
+        cashier.setId(1L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new CashierUserDetails(cashier), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Task 1: Following nextCursor visits every row once, including rows sharing a created_at")
+    void testCursor_RoundTripWithTies() {
+        // Three rows share 09:00, so only the id can order them across a page break
+        List<MenuAuditLog> rows = List.of(
+                auditLog(5, NINE.plusMinutes(1)),
+                auditLog(4, NINE),
+                auditLog(3, NINE),
+                auditLog(2, NINE),
+                auditLog(1, NINE.minusMinutes(1)));
+        when(menuAuditService.getAuditLogPage(any(), any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenAnswer(invocation -> keysetPage(rows, invocation.getArgument(5), invocation.getArgument(6),
+                        invocation.getArgument(7)));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            AuditLogPageResponse page = auditController
+                    .getAuditLogs(null, null, null, null, null, cursor, 2).getBody().getData();
+            page.getItems().forEach(item -> seen.add(item.getId()));
+            cursor = page.getNextCursor();
+            assertThat(page.isHasMore()).isEqualTo(cursor != null);
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly(5L, 4L, 3L, 2L, 1L);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Task 2: The cursor carries the last row's created_at and id back to the query")
+    void testCursor_CarriesTieBreaker() {
+        when(menuAuditService.getAuditLogPage(any(), any(), any(), any(), any(), isNull(), isNull(), eq(3)))
+                .thenReturn(List.of(auditLog(9, NINE), auditLog(8, NINE), auditLog(7, NINE)));
+
+        String cursor = auditController.getAuditLogs(null, null, null, null, null, null, 2)
+                .getBody().getData().getNextCursor();
+        auditController.getAuditLogs(null, null, null, null, null, cursor, 2);
+
+        verify(menuAuditService).getAuditLogPage(isNull(), isNull(), isNull(), isNull(), isNull(),
+                eq(NINE), eq(8L), eq(3));
+    }
+
+    @Test
+    @DisplayName("Task 3: Menu, cashier and action filters are passed through alone and combined")
+    void testFilters_Combinations() {
+        when(menuAuditService.getAuditLogPage(any(), any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of());
+        MenuAuditLog.AuditAction price = MenuAuditLog.AuditAction.PRICE_CHANGED;
+
+        auditController.getAuditLogs(10L, null, null, null, null, null, 20);
+        auditController.getAuditLogs(null, 2L, null, null, null, null, 20);
+        auditController.getAuditLogs(null, null, price, null, null, null, 20);
+        auditController.getAuditLogs(10L, 2L, price, null, null, null, 20);
+        auditController.getAuditLogs(10L, null, price, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), null, 20);
+
+        verify(menuAuditService).getAuditLogPage(eq(10L), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), eq(21));
+        verify(menuAuditService).getAuditLogPage(isNull(), eq(2L), isNull(), isNull(), isNull(), isNull(), isNull(), eq(21));
+        verify(menuAuditService).getAuditLogPage(isNull(), isNull(), eq(price), isNull(), isNull(), isNull(), isNull(), eq(21));
+        verify(menuAuditService).getAuditLogPage(eq(10L), eq(2L), eq(price), isNull(), isNull(), isNull(), isNull(), eq(21));
+        // Dates become business-day bounds: from the first day's cut-off to the cut-off after the last day
+        verify(menuAuditService).getAuditLogPage(eq(10L), isNull(), eq(price),
+                eq(LocalDateTime.of(2025, 1, 1, 4, 0)), eq(LocalDateTime.of(2025, 2, 1, 4, 0)),
+                isNull(), isNull(), eq(21));
+    }
+
+    @Test
+    @DisplayName("Task 4: A cursor that doesn't decode is rejected before querying")
+    void testCursor_Invalid() {
+        ResponseEntity<ApiResponse<AuditLogPageResponse>> response =
+                auditController.getAuditLogs(null, null, null, null, null, "not-a-cursor", 20);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(400);
+        verifyNoInteractions(menuAuditService);
+    }
+
+    @Test
+    @DisplayName("Task 5: The timeline carries state forward across UPDATED, PRICE_CHANGED and AVAILABILITY_CHANGED rows")
+    void testTimeline_Reconstruction() throws Exception {
+        streamRows(
+                row(1, "CREATED", null, "{\"price\":25000,\"promoPrice\":null,\"isPromo\":false,\"available\":true}"),
+                row(2, "UPDATED", "{}", "{\"promoPrice\":20000,\"isPromo\":true}"),
+                row(3, "PRICE_CHANGED", "{\"price\":25000.00}", "{\"price\":27000.00}"),
+                row(4, "AVAILABILITY_CHANGED", "{\"available\":true}", "{\"available\":false}"),
+                row(5, "UPDATED", "{}", "{\"promoPrice\":null,\"isPromo\":false}"));
+
+        List<MenuTimelineEntry> timeline = timeline();
+
+        assertThat(timeline).extracting(MenuTimelineEntry::getPrice).extracting(BigDecimal::intValue)
+                .containsExactly(25000, 25000, 27000, 27000, 27000);
+        assertThat(timeline).extracting(MenuTimelineEntry::getPromoPrice)
+                .containsExactly(null, new BigDecimal("20000"), new BigDecimal("20000"), new BigDecimal("20000"), null);
+        assertThat(timeline).extracting(MenuTimelineEntry::getIsPromo)
+                .containsExactly(false, true, true, true, false);
+        assertThat(timeline).extracting(MenuTimelineEntry::getAvailable)
+                .containsExactly(true, true, true, false, false);
+    }
+
+    @Test
+    @DisplayName("Task 6: A DELETED row shows the last known values and marks the menu unavailable")
+    void testTimeline_Deleted() throws Exception {
+        streamRows(
+                row(1, "CREATED", null, "{\"price\":8000,\"available\":true}"),
+                row(2, "DELETED", "{\"price\":9000,\"available\":true}", null));
+
+        List<MenuTimelineEntry> timeline = timeline();
+
+        assertThat(timeline.get(1).getPrice()).isEqualByComparingTo("9000");
+        assertThat(timeline.get(1).getAvailable()).isFalse();
+        assertThat(timeline.get(1).getAction()).isEqualTo(MenuAuditLog.AuditAction.DELETED);
+    }
+
+    @Test
+    @DisplayName("Task 7: A timeline longer than one chunk is read in keyset chunks and keeps NULL cashiers")
+    void testTimeline_ChunkedWithNullCashier() throws Exception {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        rows.add(row(1, "CREATED", null, "{\"price\":10000,\"available\":true}"));
+        for (long id = 2; id <= MenuAuditServiceImpl.TIMELINE_CHUNK_SIZE + 10; id++) {
+            Map<String, Object> row = row(id, "PRICE_CHANGED", "{}", "{\"price\":" + (10000 + id) + "}");
+            // Rows sharing a created_at must not be skipped or repeated at a chunk boundary
+            row.put("created_at", Timestamp.valueOf(NINE.plusMinutes(id / 2)));
+            rows.add(row);
+        }
+        rows.get(3).put("cashier_id", null);
+        streamRows(rows);
+
+        List<MenuTimelineEntry> timeline = timeline();
+
+        assertThat(timeline).extracting(MenuTimelineEntry::getAuditId)
+                .containsExactlyElementsOf(rows.stream().map(row -> (Long) row.get("id")).toList());
+        assertThat(timeline.get(3).getCashierId()).isNull();
+        assertThat(timeline.get(4).getCashierId()).isEqualTo(1L);
+        assertThat(timeline.get(timeline.size() - 1).getPrice())
+                .isEqualByComparingTo(String.valueOf(10000 + MenuAuditServiceImpl.TIMELINE_CHUNK_SIZE + 10));
+        assertThat(chunkQueries).hasSize(2);
+        assertThat(chunkQueries.get(1)[3]).isEqualTo((long) MenuAuditServiceImpl.TIMELINE_CHUNK_SIZE);
+    }
+
+    private List<MenuAuditLog> keysetPage(List<MenuAuditLog> rows, LocalDateTime cursorCreatedAt, Long cursorId,
+                                          int limit) {
+        return rows.stream()
+                .filter(row -> cursorCreatedAt == null
+                        || row.getCreatedAt().isBefore(cursorCreatedAt)
+                        || (row.getCreatedAt().equals(cursorCreatedAt) && row.getId() < cursorId))
+                .sorted(Comparator.comparing(MenuAuditLog::getCreatedAt).thenComparing(MenuAuditLog::getId).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private List<MenuTimelineEntry> timeline() {
+        MenuAuditServiceImpl service = new MenuAuditServiceImpl(mock(MenuAuditLogRepository.class),
+                new ObjectMapper(), mock(MenuAuditWriter.class), jdbcTemplate);
+        List<MenuTimelineEntry> timeline = new ArrayList<>();
+        service.streamMenuTimeline(1L, timeline::add);
+        return timeline;
+    }
+
+    @SafeVarargs
+    private void streamRows(Map<String, Object>... rows) throws Exception {
+        streamRows(List.of(rows));
+    }
+
+    // Answers each chunk query like MySQL would: rows after the (created_at, id) cursor, in order, up to the limit
+    private void streamRows(List<Map<String, Object>> rows) throws Exception {
+        Map<String, Object> current = new HashMap<>();
+        ResultSet rs = mock(ResultSet.class);
+        lenient().when(rs.getString(anyString()))
+                .thenAnswer(invocation -> (String) current.get(invocation.getArgument(0)));
+        lenient().when(rs.getLong(anyString())).thenAnswer(invocation -> (Long) current.get(invocation.getArgument(0)));
+        lenient().when(rs.getObject(anyString(), eq(Long.class)))
+                .thenAnswer(invocation -> current.get(invocation.getArgument(0)));
+        lenient().when(rs.getTimestamp(anyString())).thenAnswer(invocation -> current.get(invocation.getArgument(0)));
+        doAnswer(invocation -> {
+            RowMapper<?> mapper = invocation.getArgument(1);
+            Object[] args = Arrays.copyOfRange(invocation.getArguments(), 2, invocation.getArguments().length);
+            Timestamp cursorCreatedAt = args.length > 2 ? (Timestamp) args[1] : null;
+            long cursorId = args.length > 2 ? (Long) args[3] : 0;
+            int limit = (Integer) args[args.length - 1];
+            chunkQueries.add(args);
+
+            List<Object> chunk = new ArrayList<>();
+            for (Map<String, Object> row : rows) {
+                Timestamp createdAt = (Timestamp) row.get("created_at");
+                boolean after = cursorCreatedAt == null || createdAt.after(cursorCreatedAt)
+                        || (createdAt.equals(cursorCreatedAt) && (Long) row.get("id") > cursorId);
+                if (after && chunk.size() < limit) {
+                    current.clear();
+                    current.putAll(row);
+                    chunk.add(mapper.mapRow(rs, chunk.size()));
+                }
+            }
+            return chunk;
+        }).when(jdbcTemplate).query(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+
+    private Map<String, Object> row(long id, String action, String oldValues, String newValues) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("action", action);
+        row.put("cashier_id", 1L);
+        row.put("old_values", oldValues);
+        row.put("new_values", newValues);
+        row.put("created_at", Timestamp.valueOf(NINE.plusMinutes(id)));
+        return row;
+    }
+
+    private MenuAuditLog auditLog(long id, LocalDateTime createdAt) {
+        MenuAuditLog auditLog = new MenuAuditLog();
+        auditLog.setId(id);
+        auditLog.setAction(MenuAuditLog.AuditAction.UPDATED);
+        auditLog.setCreatedAt(createdAt);
+        return auditLog;
+    }
+}
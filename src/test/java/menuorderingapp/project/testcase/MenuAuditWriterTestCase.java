@@ -0,0 +1,204 @@
+package menuorderingapp.project.testcase;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import menuorderingapp.project.model.MenuAuditLog;
+import menuorderingapp.project.service.impl.MenuAuditWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Menu Audit Writer Test")
+class MenuAuditWriterTestCase {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path dir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final List<List<String>> written = new ArrayList<>();
+
+    private Path journal;
+
+    @BeforeEach
+    void setUp() {
+        journal = dir.resolve("audit.jsonl");
+    }
+
+    @Test
+    @DisplayName("Task 1: An event is journaled before enqueue returns and the journal is removed after the flush commits")
+    void testEnqueue_JournaledUntilFlushed() throws Exception {
+        recordWrites();
+        MenuAuditWriter writer = writer(16, 200);
+        writer.flush();
+
+        writer.enqueue(event("Nasi Goreng"));
+        assertThat(Files.readAllLines(journal)).hasSize(1);
+
+        writer.flush();
+
+        assertThat(written).containsExactly(List.of("Nasi Goreng"));
+        verify(transactionManager).commit(any());
+        assertThat(journal).doesNotExist();
+        assertThat(dir.resolve("audit.jsonl.replay")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Task 2: Events that overflow the buffer are written from the journal in order")
+    void testEnqueue_OverflowReplayedFromJournal() {
+        recordWrites();
+        MenuAuditWriter writer = writer(2, 200);
+        writer.flush();
+
+        writer.enqueue(event("A"));
+        writer.enqueue(event("B"));
+        writer.enqueue(event("C"));
+        assertThat(writer.getBufferedCount()).isEqualTo(2);
+
+        writer.flush();
+
+        assertThat(written).containsExactly(List.of("A", "B", "C"));
+        assertThat(journal).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Task 3: A failed batch is rolled back and kept on disk, then written once on the next flush")
+    void testFlush_FailureKeptAndReplayedOnce() {
+        doThrow(new DataAccessResourceFailureException("database down"))
+                .doAnswer(recordBatch())
+                .when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(),
+                        any(ParameterizedPreparedStatementSetter.class));
+        MenuAuditWriter writer = writer(16, 200);
+        writer.flush();
+
+        writer.enqueue(event("A"));
+        writer.flush();
+        verify(transactionManager).rollback(any());
+        assertThat(written).isEmpty();
+        assertThat(dir.resolve("audit.jsonl.replay")).exists();
+
+        writer.enqueue(event("B"));
+        writer.flush();
+
+        assertThat(written).containsExactly(List.of("A"), List.of("B"));
+        assertThat(dir.resolve("audit.jsonl.replay")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Task 4: Only the unwritten batches are kept when a later batch fails")
+    void testFlush_KeepsOnlyUnwrittenTail() {
+        doAnswer(recordBatch())
+                .doThrow(new DataAccessResourceFailureException("database down"))
+                .doAnswer(recordBatch())
+                .when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(),
+                        any(ParameterizedPreparedStatementSetter.class));
+        MenuAuditWriter writer = writer(16, 2);
+        writer.flush();
+
+        writer.enqueue(event("A"));
+        writer.enqueue(event("B"));
+        writer.enqueue(event("C"));
+        writer.flush();
+        writer.flush();
+
+        assertThat(written).containsExactly(List.of("A", "B"), List.of("C"));
+    }
+
+    @Test
+    @DisplayName("Task 5: A journal left behind by a crash is replayed at startup")
+    void testReplayOnStartup_AfterCrash() {
+        MenuAuditWriter crashed = writer(16, 200);
+        crashed.enqueue(event("A"));
+        crashed.enqueue(event("B"));
+        recordWrites();
+
+        writer(16, 200).replayOnStartup();
+
+        assertThat(written).containsExactly(List.of("A", "B"));
+        assertThat(journal).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Task 6: Concurrent enqueues sharing the journal are all journaled and written once")
+    void testEnqueue_ConcurrentGroupCommit() throws Exception {
+        recordWrites();
+        MenuAuditWriter writer = writer(1024, 1000);
+        writer.flush();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                String name = "Menu " + i;
+                futures.add(executor.submit(() -> writer.enqueue(event(name))));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(Files.readAllLines(journal)).hasSize(400);
+
+        writer.flush();
+
+        assertThat(written).hasSize(1);
+        assertThat(written.get(0)).hasSize(400).doesNotHaveDuplicates();
+        assertThat(journal).doesNotExist();
+    }
+
+    private MenuAuditWriter writer(int bufferCapacity, int batchSize) {
+        return new MenuAuditWriter(jdbcTemplate, transactionManager, objectMapper, bufferCapacity, batchSize,
+                journal.toString());
+    }
+
+    private void recordWrites() {
+        doAnswer(recordBatch()).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Answer<int[][]> recordBatch() {
+        return invocation -> {
+            written.add(((Collection<MenuAuditWriter.MenuAuditEvent>) invocation.getArgument(1)).stream()
+                    .map(MenuAuditWriter.MenuAuditEvent::menuName)
+                    .toList());
+            return new int[0][];
+        };
+    }
+
+    private MenuAuditWriter.MenuAuditEvent event(String menuName) {
+        return new MenuAuditWriter.MenuAuditEvent(1L, menuName, 2L, MenuAuditLog.AuditAction.UPDATED,
+                "{}", "{}", LocalDateTime.of(2025, 1, 1, 9, 0));
+    }
+}
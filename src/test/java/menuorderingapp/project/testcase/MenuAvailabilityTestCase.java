@@ -0,0 +1,106 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.model.dto.MenuAvailability;
+import menuorderingapp.project.model.dto.MenuUpdate;
+import menuorderingapp.project.repository.CatalogVersionRepository;
+import menuorderingapp.project.service.BroadcastService;
+import menuorderingapp.project.service.impl.MenuAvailabilityServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Menu Availability Test")
+class MenuAvailabilityTestCase {
+
+    @Mock
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Mock
+    private BroadcastService broadcastService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MenuAvailabilityServiceImpl menuAvailabilityService;
+
+    private final MenuAvailability nasiGoreng = available(1L, "25000.00", null);
+    private final MenuAvailability esTeh = available(2L, "8000.00", null);
+
+    @BeforeEach
+    void setUp() {
+        menuAvailabilityService = new MenuAvailabilityServiceImpl(catalogVersionRepository, broadcastService,
+                transactionManager, true);
+    }
+
+    @Test
+    @DisplayName("Task 1: A new catalog version pushes only the menus whose card changed")
+    void testPublishChanges_OnlyChangedMenus() {
+        MenuAvailability soldOut = new MenuAvailability(1L, false, new BigDecimal("25000.00"), null);
+        when(catalogVersionRepository.findVersion()).thenReturn(4L, 5L, 5L);
+        when(catalogVersionRepository.findMenuAvailability())
+                .thenReturn(List.of(nasiGoreng, esTeh))
+                .thenReturn(List.of(soldOut, esTeh));
+
+        menuAvailabilityService.publishChanges();
+        verify(broadcastService, never()).send(any(), any());
+
+        menuAvailabilityService.publishChanges();
+
+        ArgumentCaptor<MenuUpdate> update = ArgumentCaptor.forClass(MenuUpdate.class);
+        verify(broadcastService).send(eq(MenuAvailabilityServiceImpl.MENU_TOPIC), update.capture());
+        assertThat(update.getValue().fromVersion()).isEqualTo(4);
+        assertThat(update.getValue().catalogVersion()).isEqualTo(5);
+        assertThat(update.getValue().menus()).containsExactly(soldOut);
+        assertThat(menuAvailabilityService.getSnapshot().menus()).containsExactly(soldOut, esTeh);
+    }
+
+    @Test
+    @DisplayName("Task 2: An unchanged catalog version costs one version read and sends nothing")
+    void testPublishChanges_VersionUnchanged() {
+        when(catalogVersionRepository.findVersion()).thenReturn(4L);
+        when(catalogVersionRepository.findMenuAvailability()).thenReturn(List.of(nasiGoreng, esTeh));
+
+        menuAvailabilityService.publishChanges();
+        menuAvailabilityService.publishChanges();
+        menuAvailabilityService.publishChanges();
+
+        verify(catalogVersionRepository, times(1)).findMenuAvailability();
+        verify(broadcastService, never()).send(any(), any());
+    }
+
+    @Test
+    @DisplayName("Task 3: Deleted menus are pushed as unavailable and promo prices carry the original price")
+    void testPublishChanges_DeletedAndPromo() {
+        MenuAvailability promo = available(2L, "6000.00", "8000.00");
+        when(catalogVersionRepository.findVersion()).thenReturn(4L, 6L, 6L);
+        when(catalogVersionRepository.findMenuAvailability())
+                .thenReturn(List.of(nasiGoreng, esTeh))
+                .thenReturn(List.of(promo));
+
+        menuAvailabilityService.publishChanges();
+        menuAvailabilityService.publishChanges();
+
+        ArgumentCaptor<MenuUpdate> update = ArgumentCaptor.forClass(MenuUpdate.class);
+        verify(broadcastService).send(eq(MenuAvailabilityServiceImpl.MENU_TOPIC), update.capture());
+        assertThat(update.getValue().menus()).containsExactly(promo, MenuAvailability.removed(1L));
+    }
+
+    private MenuAvailability available(Long menuId, String price, String originalPrice) {
+        return new MenuAvailability(menuId, true, new BigDecimal(price),
+                originalPrice != null ? new BigDecimal(originalPrice) : null);
+    }
+}
@@ -0,0 +1,226 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.exception.ImageProcessingBusyException;
+import menuorderingapp.project.exception.InvalidImageException;
+import menuorderingapp.project.repository.CatalogVersionRepository;
+import menuorderingapp.project.service.MenuImageService.StoredImage;
+import menuorderingapp.project.service.impl.MenuImageServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Menu Image Test")
+class MenuImageTestCase {
+
+    @TempDir
+    Path mediaDir;
+
+    @Mock
+    private CatalogVersionRepository catalogVersionRepository;
+
+    private MenuImageServiceImpl menuImageService;
+
+    @AfterEach
+    void tearDown() {
+        if (menuImageService != null) {
+            menuImageService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Task 1: Upload is stored under its hash and resized variants appear in the srcset")
+    void testStore_WritesVariantsAndSrcset() throws Exception {
+        menuImageService = service(2, 8);
+        byte[] png = png(1600, 1000, Color.ORANGE);
+
+        StoredImage stored = menuImageService.store(new ByteArrayInputStream(png));
+        awaitProcessed(1);
+
+        assertThat(stored.imageUrl()).matches("/media/menu/[0-9a-f]{2}/[0-9a-f]{64}\\.png");
+        assertThat(stored.variantsQueued()).isTrue();
+        assertThat(Files.readAllBytes(fileFor(stored.imageUrl()))).isEqualTo(png);
+
+        String base = stored.imageUrl().replace(".png", "");
+        assertThat(menuImageService.getSrcset(stored.imageUrl()))
+                .isEqualTo(base + "-320w.jpg 320w, " + base + "-640w.jpg 640w");
+
+        BufferedImage thumbnail = ImageIO.read(fileFor(base + "-320w.jpg").toFile());
+        assertThat(thumbnail.getWidth()).isEqualTo(320);
+        assertThat(thumbnail.getHeight()).isEqualTo(200);
+        assertThat(Files.size(fileFor(base + "-320w.jpg"))).isLessThan(Files.size(fileFor(base + "-640w.jpg")));
+        verify(catalogVersionRepository).increment();
+    }
+
+    @Test
+    @DisplayName("Task 2: The same bytes uploaded twice share one file and aren't resized again")
+    void testStore_DeduplicatesByContent() throws Exception {
+        menuImageService = service(2, 8);
+        byte[] jpeg = jpeg(800, 600, Color.GREEN);
+
+        StoredImage first = menuImageService.store(new ByteArrayInputStream(jpeg));
+        awaitProcessed(1);
+        StoredImage second = menuImageService.store(new ByteArrayInputStream(jpeg));
+
+        assertThat(second.imageUrl()).isEqualTo(first.imageUrl()).endsWith(".jpg");
+        assertThat(second.variantsQueued()).isFalse();
+        try (Stream<Path> files = Files.walk(mediaDir)) {
+            assertThat(files.filter(Files::isRegularFile).count()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @DisplayName("Task 3: Non-image uploads are refused and leave nothing on disk")
+    void testStore_RejectsNonImage() throws Exception {
+        menuImageService = service(2, 8);
+
+        assertThatThrownBy(() -> menuImageService.store(
+                new ByteArrayInputStream("<svg onload=alert(1)>".getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(InvalidImageException.class);
+
+        try (Stream<Path> files = Files.walk(mediaDir)) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Task 4: Images narrower than every variant keep only the original and no srcset")
+    void testStore_SmallImageHasNoVariants() throws Exception {
+        menuImageService = service(2, 8);
+
+        StoredImage stored = menuImageService.store(new ByteArrayInputStream(png(200, 150, Color.RED)));
+        awaitProcessed(1);
+
+        assertThat(menuImageService.getSrcset(stored.imageUrl())).isNull();
+        assertThat(menuImageService.getSrcset("/images/menu/paket-hemat-1.jpg")).isNull();
+        verify(catalogVersionRepository, never()).increment();
+    }
+
+    @Test
+    @DisplayName("Task 5: A full variant queue refuses the upload instead of growing without bound")
+    void testStore_BusyWhenQueueFull() throws Exception {
+        menuImageService = service(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(10, TimeUnit.SECONDS)).when(catalogVersionRepository).increment();
+
+        menuImageService.store(new ByteArrayInputStream(png(700, 400, Color.BLUE)));
+        awaitActive();
+        menuImageService.store(new ByteArrayInputStream(png(700, 400, Color.CYAN)));
+
+        assertThatThrownBy(() -> menuImageService.store(new ByteArrayInputStream(png(700, 400, Color.PINK))))
+                .isInstanceOf(ImageProcessingBusyException.class);
+        assertThat(menuImageService.getStats().rejected()).isEqualTo(1);
+
+        release.countDown();
+        awaitProcessed(2);
+    }
+
+    @Test
+    @DisplayName("Task 6: An incomplete variant set is queued again and its srcset completed")
+    void testGetSrcset_RequeuesIncompleteVariants() throws Exception {
+        menuImageService = service(2, 8);
+        byte[] png = png(1600, 1000, Color.MAGENTA);
+        StoredImage stored = menuImageService.store(new ByteArrayInputStream(png));
+        awaitProcessed(1);
+        String base = stored.imageUrl().replace(".png", "");
+        Files.delete(fileFor(base + "-640w.jpg"));
+
+        // A fresh node has nothing cached and finds the 640w variant missing
+        menuImageService.shutdown();
+        menuImageService = service(2, 8);
+        assertThat(menuImageService.getSrcset(stored.imageUrl())).isEqualTo(base + "-320w.jpg 320w");
+        awaitProcessed(1);
+
+        assertThat(fileFor(base + "-640w.jpg")).exists();
+        assertThat(menuImageService.getSrcset(stored.imageUrl()))
+                .isEqualTo(base + "-320w.jpg 320w, " + base + "-640w.jpg 640w");
+    }
+
+    @Test
+    @DisplayName("Task 7: Uploading an image again completes a partial variant set")
+    void testStore_RequeuesPartialVariants() throws Exception {
+        menuImageService = service(2, 8);
+        byte[] jpeg = jpeg(900, 600, Color.YELLOW);
+        StoredImage first = menuImageService.store(new ByteArrayInputStream(jpeg));
+        awaitProcessed(1);
+        Path variant = fileFor(first.imageUrl().replace(".jpg", "-320w.jpg"));
+        Files.delete(variant);
+
+        StoredImage second = menuImageService.store(new ByteArrayInputStream(jpeg));
+        awaitProcessed(2);
+
+        assertThat(second.variantsQueued()).isTrue();
+        assertThat(variant).exists();
+    }
+
+    private MenuImageServiceImpl service(int workers, int queueCapacity) {
+        return new MenuImageServiceImpl(catalogVersionRepository, mediaDir.toString(), new int[]{640, 320},
+                40, 0.8f, workers, queueCapacity);
+    }
+
+    private Path fileFor(String url) {
+        return mediaDir.resolve(url.substring("/media/".length()));
+    }
+
+    private void awaitProcessed(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (menuImageService.getStats().processed() < count && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(menuImageService.getStats().processed()).isEqualTo(count);
+    }
+
+    private void awaitActive() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (menuImageService.getStats().active() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        while (menuImageService.getStats().queued() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    private byte[] png(int width, int height, Color color) throws IOException {
+        return encode(width, height, color, "png");
+    }
+
+    private byte[] jpeg(int width, int height, Color color) throws IOException {
+        return encode(width, height, color, "jpg");
+    }
+
+    private byte[] encode(int width, int height, Color color, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, width, height);
+        graphics.setColor(Color.BLACK);
+        graphics.drawLine(0, 0, width, height);
+        graphics.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,178 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.model.Category;
+import menuorderingapp.project.model.Menu;
+import menuorderingapp.project.repository.CatalogVersionRepository;
+import menuorderingapp.project.service.MenuImageService;
+import menuorderingapp.project.service.MenuPageCacheService.MenuPage;
+import menuorderingapp.project.service.MenuService;
+import menuorderingapp.project.service.impl.MenuPageCacheServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Menu Page Cache Test")
+class MenuPageCacheTestCase {
+
+    private static final long CHECK_NANOS = 1_000_000_000L;
+
+    @Mock
+    private MenuService menuService;
+
+    @Mock
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Mock
+    private MenuImageService menuImageService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private MenuPageCacheServiceImpl menuPageCacheService;
+
+    private Category drinks;
+
+    @BeforeEach
+    void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        menuPageCacheService = new MenuPageCacheServiceImpl(menuService, catalogVersionRepository, templateEngine,
+                new ResourceUrlProvider(), menuImageService, transactionManager, true, 1000, clock::get);
+
+        drinks = category(2L, "MINUMAN");
+        lenient().when(menuService.getAllCategories()).thenReturn(List.of(category(1L, "MAKANAN"), drinks));
+        lenient().when(catalogVersionRepository.findVersion()).thenReturn(1L);
+    }
+
+    @Test
+    @DisplayName("Task 1: Category bar and grid are rendered once per catalog version")
+    void testMenuPage_RenderedOncePerVersion() {
+        when(menuService.getAvailableMenus()).thenReturn(List.of(menu(1L, "Nasi Goreng", drinks)));
+
+        MenuPage first = menuPageCacheService.getMenuPage(null, null);
+        MenuPage second = menuPageCacheService.getMenuPage(null, null);
+
+        assertThat(first.menuGridHtml()).contains("Nasi Goreng").contains("Rp 25,000");
+        assertThat(first.categoryBarHtml()).contains("MAKANAN").contains("MINUMAN");
+        assertThat(second).isEqualTo(first);
+        verify(menuService, times(1)).getAvailableMenus();
+        verify(menuService, times(1)).getAllCategories();
+        assertThat(menuPageCacheService.getStats().hits()).isEqualTo(1);
+        assertThat(menuPageCacheService.getStats().renders()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Task 2: A new catalog version is picked up after the check interval and re-renders")
+    void testMenuPage_VersionBumpReRenders() {
+        when(menuService.getAvailableMenus())
+                .thenReturn(List.of(menu(1L, "Es Teh", drinks)))
+                .thenReturn(List.of(menu(1L, "Es Jeruk", drinks)));
+
+        menuPageCacheService.getMenuPage(null, null);
+        when(catalogVersionRepository.findVersion()).thenReturn(2L);
+
+        clock.addAndGet(CHECK_NANOS / 2);
+        assertThat(menuPageCacheService.getMenuPage(null, null).menuGridHtml()).contains("Es Teh");
+        verify(catalogVersionRepository, times(1)).findVersion();
+
+        clock.addAndGet(CHECK_NANOS);
+        assertThat(menuPageCacheService.getMenuPage(null, null).menuGridHtml()).contains("Es Jeruk");
+        assertThat(menuPageCacheService.getStats().catalogVersion()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Task 3: Each category is cached separately and unknown names share the all-menus grid")
+    void testMenuPage_CachedPerCategory() {
+        when(menuService.getMenusByCategory(2L)).thenReturn(List.of(menu(2L, "Es Teh", drinks)));
+        when(menuService.getAvailableMenus()).thenReturn(List.of(menu(1L, "Nasi Goreng", drinks)));
+
+        assertThat(menuPageCacheService.getMenuPage("MINUMAN", null).menuGridHtml()).contains("Es Teh");
+        menuPageCacheService.getMenuPage("MINUMAN", null);
+        assertThat(menuPageCacheService.getMenuPage("NOPE-1", null).menuGridHtml()).contains("Nasi Goreng");
+        menuPageCacheService.getMenuPage("NOPE-2", null);
+        menuPageCacheService.getMenuPage("SEMUA", null);
+
+        verify(menuService, times(1)).getMenusByCategory(2L);
+        verify(menuService, times(1)).getAvailableMenus();
+        assertThat(menuPageCacheService.getStats().cachedGrids()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Task 4: Search results are rendered on every request and not cached")
+    void testMenuPage_SearchNotCached() {
+        when(menuService.searchMenus("teh")).thenReturn(List.of(menu(2L, "Es Teh", drinks)));
+
+        menuPageCacheService.getMenuPage(null, "teh");
+        MenuPage page = menuPageCacheService.getMenuPage(null, "teh");
+
+        assertThat(page.menuGridHtml()).contains("Es Teh");
+        verify(menuService, times(2)).searchMenus("teh");
+        assertThat(menuPageCacheService.getStats().cachedGrids()).isZero();
+    }
+
+    @Test
+    @DisplayName("Task 5: Menu text is escaped in the cached HTML")
+    void testMenuPage_EscapesMenuText() {
+        when(menuService.getAvailableMenus()).thenReturn(List.of(menu(1L, "<script>alert(1)</script>", drinks)));
+
+        String grid = menuPageCacheService.getMenuPage(null, null).menuGridHtml();
+
+        assertThat(grid).doesNotContain("<script>").contains("&lt;script&gt;");
+    }
+
+    @Test
+    @DisplayName("Task 6: Uploaded images get a srcset in the grid, other images keep a plain src")
+    void testMenuPage_ImageSrcset() {
+        Menu uploaded = menu(1L, "Es Teh", drinks);
+        uploaded.setImageUrl("/media/menu/ab/ab12.jpg");
+        Menu linked = menu(2L, "Es Jeruk", drinks);
+        linked.setImageUrl("/images/menu/es-jeruk.jpg");
+        when(menuService.getAvailableMenus()).thenReturn(List.of(uploaded, linked));
+        when(menuImageService.getSrcset("/media/menu/ab/ab12.jpg"))
+                .thenReturn("/media/menu/ab/ab12-320w.jpg 320w, /media/menu/ab/ab12-640w.jpg 640w");
+
+        String grid = menuPageCacheService.getMenuPage(null, null).menuGridHtml();
+
+        assertThat(grid).contains("src=\"/media/menu/ab/ab12.jpg\"")
+                .contains("srcset=\"/media/menu/ab/ab12-320w.jpg 320w, /media/menu/ab/ab12-640w.jpg 640w\"");
+        assertThat(grid).contains("src=\"/images/menu/es-jeruk.jpg\"");
+        assertThat(grid.split("srcset=", -1)).hasSize(2);
+        assertThat(grid).contains("loading=\"lazy\"");
+    }
+
+    private Category category(Long id, String name) {
+        Category category = new Category(name, id.intValue());
+        category.setId(id);
+        return category;
+    }
+
+    private Menu menu(Long id, String name, Category category) {
+        Menu menu = new Menu(name, "Deskripsi", new BigDecimal("25000"), category);
+        menu.setId(id);
+        menu.setAvailable(true);
+        return menu;
+    }
+}
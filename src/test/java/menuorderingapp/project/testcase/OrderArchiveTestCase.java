@@ -0,0 +1,245 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.model.Cashier;
+import menuorderingapp.project.model.Menu;
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.repository.CashierRepository;
+import menuorderingapp.project.repository.InvoiceRepository;
+import menuorderingapp.project.repository.MenuRepository;
+import menuorderingapp.project.repository.OrderArchiveRepository;
+import menuorderingapp.project.repository.OrderItemRepository;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.repository.SchedulerLockRepository;
+import menuorderingapp.project.service.impl.OrderArchiveServiceImpl;
+import menuorderingapp.project.service.impl.ReportServiceImpl;
+import menuorderingapp.project.util.BusinessDayClock;
+import menuorderingapp.project.util.Constants;
+import menuorderingapp.project.util.DateRange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Order Archive Test")
+class OrderArchiveTestCase {
+
+    private static final String LOCK = OrderArchiveServiceImpl.LOCK_NAME;
+
+    // Hot window starts 2025-03-01 with retain-months = 3
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 15, 10, 0);
+    private static final LocalDateTime HOT_WINDOW_START = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    @Mock
+    private OrderArchiveRepository archiveRepository;
+
+    @Mock
+    private SchedulerLockRepository lockRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private MenuRepository menuRepository;
+
+    @Mock
+    private CashierRepository cashierRepository;
+
+    private OrderArchiveServiceImpl archiveService;
+
+    private ReportServiceImpl reportService;
+
+    @BeforeEach
+    void setUp() {
+        ZoneId zone = ZoneId.of("Asia/Jakarta");
+        BusinessDayClock clock = new BusinessDayClock(
+                Clock.fixed(NOW.atZone(zone).toInstant(), zone), LocalTime.MIDNIGHT);
+        archiveService = new OrderArchiveServiceImpl(archiveRepository, lockRepository, transactionManager, clock,
+                "node-a");
+        ReflectionTestUtils.setField(archiveService, "retainMonths", 3);
+        ReflectionTestUtils.setField(archiveService, "batchSize", 2);
+        ReflectionTestUtils.setField(archiveService, "leaseMillis", 60000L);
+        reportService = new ReportServiceImpl(orderRepository, orderItemRepository, mock(InvoiceRepository.class),
+                archiveRepository, archiveService, menuRepository, cashierRepository, clock);
+    }
+
+    @Test
+    @DisplayName("Task 1: Closed months are moved in batches, oldest month first, under the archive lock")
+    void testArchiveClosedMonths_BatchesPerMonth() {
+        LocalDateTime january = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime february = LocalDateTime.of(2025, 2, 1, 0, 0);
+        when(lockRepository.tryAcquire(eq(LOCK), anyString(), eq(60000L))).thenReturn(true);
+        when(archiveRepository.findOldestOrderBefore(HOT_WINDOW_START))
+                .thenReturn(LocalDateTime.of(2025, 1, 20, 10, 0), LocalDateTime.of(2025, 2, 3, 8, 0), null);
+        when(archiveRepository.findOrderIdsCreatedBetween(january, february, 2))
+                .thenReturn(List.of(1L, 2L), List.of(3L), List.of());
+        when(archiveRepository.findOrderIdsCreatedBetween(february, HOT_WINDOW_START, 2))
+                .thenReturn(List.of(4L), List.of());
+
+        int archived = archiveService.archiveClosedMonths();
+
+        assertThat(archived).isEqualTo(4);
+        verify(archiveRepository).ensureMonthPartition(202501);
+        verify(archiveRepository).ensureMonthPartition(202502);
+        verify(archiveRepository).moveOrdersToArchive(List.of(1L, 2L));
+        verify(archiveRepository).moveOrdersToArchive(List.of(3L));
+        verify(archiveRepository).moveOrdersToArchive(List.of(4L));
+        verify(transactionManager, times(3)).commit(any());
+        verify(lockRepository).release(eq(LOCK), anyString());
+    }
+
+    @Test
+    @DisplayName("Task 2: Orders either side of midnight on the first of a month land in separate month batches")
+    void testArchiveClosedMonths_MonthBoundary() {
+        LocalDateTime lastMinuteOfJanuary = LocalDateTime.of(2025, 1, 31, 23, 59, 59);
+        LocalDateTime firstOfFebruary = LocalDateTime.of(2025, 2, 1, 0, 0);
+        when(lockRepository.tryAcquire(eq(LOCK), anyString(), anyLong())).thenReturn(true);
+        when(archiveRepository.findOldestOrderBefore(HOT_WINDOW_START))
+                .thenReturn(lastMinuteOfJanuary, firstOfFebruary, null);
+        when(archiveRepository.findOrderIdsCreatedBetween(any(), any(), anyInt()))
+                .thenReturn(List.of(10L), List.of(), List.of(11L), List.of());
+
+        archiveService.archiveClosedMonths();
+
+        verify(archiveRepository, times(2)).findOrderIdsCreatedBetween(
+                LocalDateTime.of(2025, 1, 1, 0, 0), firstOfFebruary, 2);
+        verify(archiveRepository, times(2)).findOrderIdsCreatedBetween(
+                firstOfFebruary, LocalDateTime.of(2025, 3, 1, 0, 0), 2);
+        verify(archiveRepository).ensureMonthPartition(202501);
+        verify(archiveRepository).ensureMonthPartition(202502);
+    }
+
+    @Test
+    @DisplayName("Task 3: Nothing is archived while another node holds the archive lock")
+    void testArchiveClosedMonths_SkipsWithoutLock() {
+        when(lockRepository.tryAcquire(eq(LOCK), anyString(), anyLong())).thenReturn(false);
+
+        assertThat(archiveService.archiveClosedMonths()).isZero();
+
+        verifyNoInteractions(archiveRepository);
+        verify(lockRepository, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Task 4: A run stops after the batch in which its lease was taken over")
+    void testArchiveClosedMonths_StopsWhenLeaseLost() {
+        when(lockRepository.tryAcquire(eq(LOCK), anyString(), anyLong())).thenReturn(true, false);
+        when(archiveRepository.findOldestOrderBefore(HOT_WINDOW_START)).thenReturn(LocalDateTime.of(2025, 1, 5, 9, 0));
+        when(archiveRepository.findOrderIdsCreatedBetween(any(), any(), anyInt())).thenReturn(List.of(1L, 2L));
+
+        assertThat(archiveService.archiveClosedMonths()).isEqualTo(2);
+
+        verify(archiveRepository, times(1)).moveOrdersToArchive(anyList());
+    }
+
+    @Test
+    @DisplayName("Task 5: A sales report reaching into closed months adds archived totals to the hot orders")
+    void testSalesReport_MergesArchive() {
+        DateRange range = new DateRange(LocalDateTime.of(2025, 2, 1, 0, 0), LocalDateTime.of(2025, 4, 1, 0, 0));
+        when(orderRepository.findPaidOrdersInRange(range.start(), range.end()))
+                .thenReturn(List.of(paidOrder(new BigDecimal("100.00"), Order.PaymentMethod.CASH)));
+        when(archiveRepository.getPaidTotalsByPaymentMethod(range.start(), range.end())).thenReturn(List.of(
+                new OrderArchiveRepository.PaymentMethodTotal("CASH", 2, new BigDecimal("200.00")),
+                new OrderArchiveRepository.PaymentMethodTotal("QR_CODE", 1, new BigDecimal("50.00"))));
+
+        Map<String, Object> report = reportService.getSalesReport(range);
+
+        double tax = 1 + Constants.TAX_RATE;
+        assertThat(report.get("totalOrders")).isEqualTo(4L);
+        assertThat((Double) report.get("totalRevenue")).isCloseTo(350 * tax, within(0.001));
+        @SuppressWarnings("unchecked")
+        Map<Order.PaymentMethod, Double> byMethod = (Map<Order.PaymentMethod, Double>) report.get("revenueByPaymentMethod");
+        assertThat(byMethod.get(Order.PaymentMethod.CASH)).isCloseTo(300 * tax, within(0.001));
+        assertThat(byMethod.get(Order.PaymentMethod.QR_CODE)).isCloseTo(50 * tax, within(0.001));
+    }
+
+    @Test
+    @DisplayName("Task 6: A report inside the hot window never reads the archive tables")
+    void testSalesReport_HotWindowOnly() {
+        DateRange range = new DateRange(LocalDateTime.of(2025, 5, 1, 0, 0), LocalDateTime.of(2025, 6, 1, 0, 0));
+        when(orderRepository.findPaidOrdersInRange(range.start(), range.end())).thenReturn(List.of());
+
+        reportService.getSalesReport(range);
+
+        verifyNoInteractions(archiveRepository);
+    }
+
+    @Test
+    @DisplayName("Task 7: Top sellers add archived quantities per menu and are re-sorted by the combined quantity")
+    void testTopSellingItems_MergesArchive() {
+        DateRange range = new DateRange(LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 6, 1, 0, 0));
+        Menu nasiGoreng = menu(1L, "Nasi Goreng");
+        Menu esTeh = menu(2L, "Es Teh");
+        List<Object[]> hot = List.<Object[]>of(new Object[]{nasiGoreng, 2L, new BigDecimal("50000.00")});
+        when(orderItemRepository.findTopSellingMenusInRange(range.start(), range.end())).thenReturn(hot);
+        when(archiveRepository.getPaidTotalsByMenu(range.start(), range.end())).thenReturn(List.of(
+                new OrderArchiveRepository.MenuTotal(1L, 3, new BigDecimal("75000.00")),
+                new OrderArchiveRepository.MenuTotal(2L, 10, new BigDecimal("80000.00"))));
+        when(menuRepository.findAllById(List.of(2L))).thenReturn(List.of(esTeh));
+
+        List<Map<String, Object>> items = reportService.getTopSellingItems(range);
+
+        assertThat(items).extracting(item -> item.get("menu")).containsExactly(esTeh, nasiGoreng);
+        assertThat(items.get(1).get("quantity")).isEqualTo(5L);
+        assertThat(items.get(1).get("revenue")).isEqualTo(125000.0);
+    }
+
+    @Test
+    @DisplayName("Task 8: Cashier performance adds archived orders to the cashier's hot totals")
+    void testCashierPerformance_MergesArchive() {
+        DateRange range = new DateRange(LocalDateTime.of(2025, 2, 1, 0, 0), LocalDateTime.of(2025, 4, 1, 0, 0));
+        Cashier cashier = new Cashier();
+        cashier.setId(7L);
+        Order order = paidOrder(new BigDecimal("100.00"), Order.PaymentMethod.CASH);
+        order.setCashier(cashier);
+        when(orderRepository.findPaidOrdersInRange(range.start(), range.end())).thenReturn(List.of(order));
+        when(archiveRepository.getPaidTotalsByCashier(range.start(), range.end())).thenReturn(List.of(
+                new OrderArchiveRepository.CashierTotal(7L, 3, new BigDecimal("300.00"))));
+
+        Map<String, Object> report = reportService.getCashierPerformanceReport(range);
+
+        @SuppressWarnings("unchecked")
+        Map<Cashier, Long> counts = (Map<Cashier, Long>) report.get("orderCountByCashier");
+        @SuppressWarnings("unchecked")
+        Map<Cashier, Double> revenue = (Map<Cashier, Double>) report.get("revenueByCashier");
+        assertThat(counts.get(cashier)).isEqualTo(4L);
+        assertThat(revenue.get(cashier)).isCloseTo(400 * (1 + Constants.TAX_RATE), within(0.001));
+        verifyNoInteractions(cashierRepository);
+    }
+
+    private Order paidOrder(BigDecimal total, Order.PaymentMethod paymentMethod) {
+        Order order = new Order(Order.OrderType.CASHIER_ASSISTED, "Guest", total);
+        order.setPaymentMethod(paymentMethod);
+        return order;
+    }
+
+    private Menu menu(Long id, String name) {
+        Menu menu = new Menu();
+        menu.setId(id);
+        menu.setName(name);
+        return menu;
+    }
+}
@@ -0,0 +1,157 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.exception.OrderConflictException;
+import menuorderingapp.project.model.Menu;
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.OrderItem;
+import menuorderingapp.project.repository.MenuRepository;
+import menuorderingapp.project.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers one order from many threads through OrderService and checks that no edit is lost: every add that
+ * reports success is in the final quantity and total, and every quantity change either wins or gets a conflict.
+ * Needs the local MySQL test database from application-test.properties:
+ * mvn test -Dtest=OrderConcurrencyStressTestCase -DconcurrencyTests=true
+ */
+@SpringBootTest(properties = {"app.archive.enabled=false", "app.orders.edit-retry.max-attempts=100",
+        "app.orders.edit-retry.backoff-ms=2"})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "concurrencyTests", matches = "true")
+@DisplayName("Order Concurrency Stress Test")
+class OrderConcurrencyStressTestCase {
+
+    private static final int THREADS = 8;
+    private static final int ADDS_PER_THREAD = 25;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Menu menu;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        menu = menuRepository.findAll().stream()
+                .filter(Menu::getAvailable)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Test database has no available menu"));
+
+        Order newOrder = new Order(Order.OrderType.CUSTOMER_SELF, "Stress Test", BigDecimal.ZERO);
+        newOrder.addOrderItem(new OrderItem(menu, 1));
+        order = orderService.createOrder(newOrder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderService.cancelOrder(order.getId());
+    }
+
+    @Test
+    @DisplayName("Task 1: Concurrent adds to the same line all land in the final quantity and total")
+    void testConcurrentAdds_NoLostUpdates() throws Exception {
+        AtomicInteger added = new AtomicInteger();
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < ADDS_PER_THREAD; i++) {
+                orderService.addItemToOrder(order.getId(), menu.getId(), 1);
+                added.incrementAndGet();
+            }
+            return null;
+        });
+
+        int quantity = jdbcTemplate.queryForObject(
+                "SELECT SUM(quantity) FROM order_items WHERE order_id = ?", Integer.class, order.getId());
+        BigDecimal total = jdbcTemplate.queryForObject(
+                "SELECT total FROM orders WHERE id = ?", BigDecimal.class, order.getId());
+        Long lines = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_items WHERE order_id = ?", Long.class, order.getId());
+
+        assertThat(added.get()).isEqualTo(THREADS * ADDS_PER_THREAD);
+        assertThat(quantity).isEqualTo(1 + added.get());
+        assertThat(lines).isEqualTo(1);
+        assertThat(total).isEqualByComparingTo(menu.getCurrentPrice().multiply(BigDecimal.valueOf(quantity)));
+    }
+
+    @Test
+    @DisplayName("Task 2: Quantity changes from the same version have exactly one winner, the rest conflict")
+    void testConcurrentQuantityChanges_OneWinner() throws Exception {
+        Long itemId = jdbcTemplate.queryForObject(
+                "SELECT id FROM order_items WHERE order_id = ?", Long.class, order.getId());
+        Long version = jdbcTemplate.queryForObject(
+                "SELECT version FROM orders WHERE id = ?", Long.class, order.getId());
+        AtomicInteger winner = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        runConcurrently(thread -> {
+            int quantity = 10 + thread;
+            try {
+                orderService.updateItemQuantity(order.getId(), itemId, quantity, version);
+                winner.set(quantity);
+            } catch (OrderConflictException e) {
+                conflicts.incrementAndGet();
+            }
+            return null;
+        });
+
+        int quantity = jdbcTemplate.queryForObject(
+                "SELECT quantity FROM order_items WHERE id = ?", Integer.class, itemId);
+
+        assertThat(conflicts.get()).isEqualTo(THREADS - 1);
+        assertThat(quantity).isEqualTo(winner.get());
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int index = thread;
+                Callable<Void> callable = () -> {
+                    start.await();
+                    return task.run(index);
+                };
+                futures.add(executor.submit(callable));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        Void run(int thread) throws Exception;
+    }
+}
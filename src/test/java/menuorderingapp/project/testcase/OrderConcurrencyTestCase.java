@@ -0,0 +1,182 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.exception.OrderConflictException;
+import menuorderingapp.project.model.Category;
+import menuorderingapp.project.model.Menu;
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.OrderItem;
+import menuorderingapp.project.repository.CashierRepository;
+import menuorderingapp.project.repository.DailySalesRollupRepository;
+import menuorderingapp.project.repository.MenuRepository;
+import menuorderingapp.project.repository.OrderLineRepository;
+import menuorderingapp.project.repository.OrderLineRepository.OrderLine;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.OrderEventService;
+import menuorderingapp.project.service.impl.OrderServiceImpl;
+import menuorderingapp.project.util.BusinessDayClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Order Concurrency Test")
+class OrderConcurrencyTestCase {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderLineRepository orderLineRepository;
+
+    @Mock
+    private MenuRepository menuRepository;
+
+    @Mock
+    private CashierRepository cashierRepository;
+
+    @Mock
+    private DailySalesRollupRepository rollupRepository;
+
+    @Mock
+    private OrderEventService orderEventService;
+
+    @Mock
+    private BusinessDayClock businessDayClock;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderServiceImpl orderService;
+
+    private Menu menu;
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderServiceImpl(orderRepository, orderLineRepository, menuRepository, cashierRepository,
+                rollupRepository, orderEventService, businessDayClock, transactionManager, 3, 0);
+
+        menu = new Menu("Nasi Goreng", "Deskripsi", new BigDecimal("10000"), new Category("MAKANAN", 1));
+        menu.setId(2L);
+        menu.setAvailable(true);
+    }
+
+    @Test
+    @DisplayName("Task 1: A first add that loses the race to another insert is replayed as an increment")
+    void testAddItem_RetriedAfterVersionClash() {
+        when(menuRepository.findById(2L)).thenReturn(Optional.of(menu));
+        when(orderLineRepository.findByMenu(1L, 2L))
+                .thenReturn(Optional.of(new OrderLine(5L, null, null, 0, 0L)))
+                .thenReturn(Optional.of(new OrderLine(6L, 10L, new BigDecimal("10000"), 2, 0L)));
+        when(orderLineRepository.addToTotal(1L, new BigDecimal("10000"), 5L)).thenReturn(false);
+        when(orderLineRepository.incrementQuantity(10L, 1)).thenReturn(true);
+        when(orderLineRepository.addToTotal(1L, new BigDecimal("10000"), null)).thenReturn(true);
+        Order order = order(7L, 3);
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(order));
+
+        Order updated = orderService.addItemToOrder(1L, 2L, 1);
+
+        assertThat(updated).isSameAs(order);
+        verify(orderLineRepository).insert(1L, 2L, 1, new BigDecimal("10000"));
+        verify(orderLineRepository).incrementQuantity(10L, 1);
+        verify(transactionManager).rollback(any());
+        verify(orderEventService, times(1)).publish(order, OrderEventService.EventType.ORDER_UPDATED);
+    }
+
+    @Test
+    @DisplayName("Task 2: Adding gives up with a conflict once every attempt has clashed")
+    void testAddItem_ConflictAfterMaxAttempts() {
+        when(menuRepository.findById(2L)).thenReturn(Optional.of(menu));
+        when(orderLineRepository.findByMenu(1L, 2L))
+                .thenReturn(Optional.of(new OrderLine(5L, 10L, new BigDecimal("10000"), 2, 0L)));
+        when(orderLineRepository.incrementQuantity(10L, 1)).thenReturn(false);
+
+        assertThatThrownBy(() -> orderService.addItemToOrder(1L, 2L, 1))
+                .isInstanceOf(OrderConflictException.class);
+
+        verify(orderLineRepository, times(3)).incrementQuantity(10L, 1);
+        verify(orderLineRepository, never()).addToTotal(any(), any(), any());
+        verify(orderEventService, never()).publish(any(), any());
+    }
+
+    @Test
+    @DisplayName("Task 3: Setting a quantity against an older order version is refused without writing")
+    void testUpdateQuantity_StaleExpectedVersion() {
+        when(orderLineRepository.findById(1L, 10L))
+                .thenReturn(Optional.of(new OrderLine(6L, 10L, new BigDecimal("10000"), 2, 0L)));
+
+        assertThatThrownBy(() -> orderService.updateItemQuantity(1L, 10L, 5, 5L))
+                .isInstanceOf(OrderConflictException.class);
+
+        verify(orderLineRepository, never()).setQuantity(any(), anyInt());
+        verify(orderLineRepository, never()).addToTotal(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Task 4: A version clash while setting a quantity is reported, not replayed")
+    void testUpdateQuantity_ClashNotRetried() {
+        OrderLine line = new OrderLine(5L, 10L, new BigDecimal("10000"), 2, 0L);
+        when(orderLineRepository.findById(1L, 10L)).thenReturn(Optional.of(line));
+        when(orderLineRepository.setQuantity(line, 5)).thenReturn(false);
+
+        assertThatThrownBy(() -> orderService.updateItemQuantity(1L, 10L, 5, 5L))
+                .isInstanceOf(OrderConflictException.class);
+
+        verify(orderLineRepository, times(1)).setQuantity(line, 5);
+        verify(orderEventService, never()).publish(any(), any());
+    }
+
+    @Test
+    @DisplayName("Task 5: Setting a quantity moves the order total by the line difference only")
+    void testUpdateQuantity_TotalByDelta() {
+        OrderLine line = new OrderLine(5L, 10L, new BigDecimal("10000"), 2, 0L);
+        when(orderLineRepository.findById(1L, 10L)).thenReturn(Optional.of(line));
+        when(orderLineRepository.setQuantity(line, 5)).thenReturn(true);
+        when(orderLineRepository.addToTotal(1L, new BigDecimal("30000"), 5L)).thenReturn(true);
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(order(6L, 5)));
+
+        Order updated = orderService.updateItemQuantity(1L, 10L, 5, 5L);
+
+        assertThat(updated.getTotal()).isEqualByComparingTo("50000");
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Task 6: Removing a line deletes that row and subtracts its subtotal")
+    void testRemoveItem_TotalByDelta() {
+        OrderLine line = new OrderLine(5L, 10L, new BigDecimal("10000"), 2, 3L);
+        when(orderLineRepository.findById(1L, 10L)).thenReturn(Optional.of(line));
+        when(orderLineRepository.delete(line)).thenReturn(true);
+        when(orderLineRepository.addToTotal(1L, new BigDecimal("-20000"), null)).thenReturn(true);
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(order(6L, 2)));
+
+        orderService.removeItemFromOrder(1L, 10L, null);
+
+        verify(orderLineRepository).delete(line);
+        verify(orderEventService).publish(any(Order.class), eq(OrderEventService.EventType.ORDER_UPDATED));
+    }
+
+    private Order order(Long version, int quantity) {
+        Order order = new Order(Order.OrderType.CUSTOMER_SELF, "Budi", BigDecimal.ZERO);
+        order.setId(1L);
+        order.setVersion(version);
+        OrderItem item = new OrderItem(order, menu, quantity);
+        item.setId(10L);
+        order.addOrderItem(item);
+        order.calculateTotal();
+        return order;
+    }
+}
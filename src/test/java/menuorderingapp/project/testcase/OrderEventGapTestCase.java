@@ -0,0 +1,105 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.repository.OrderEventRepository;
+import menuorderingapp.project.service.OrderEventConsumer;
+import menuorderingapp.project.service.OrderEventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Holds one order_events insert open while a later one commits and is relayed, then commits the first and
+ * checks the relay still delivers it. Needs the local MySQL test database from application-test.properties:
+ * mvn test -Dtest=OrderEventGapTestCase -DconcurrencyTests=true
+ */
+@SpringBootTest(properties = {"app.archive.enabled=false", "app.outbox.enabled=false", "app.outbox.settle-ms=0"})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "concurrencyTests", matches = "true")
+@DisplayName("Order Event Gap Test")
+class OrderEventGapTestCase {
+
+    private final String consumerName = "gap-test-" + System.nanoTime() % 1_000_000_000L;
+
+    private final List<Long> delivered = new ArrayList<>();
+
+    private final OrderEventConsumer consumer = new OrderEventConsumer() {
+        @Override
+        public String getConsumerName() {
+            return consumerName;
+        }
+
+        @Override
+        public void consume(List<OrderEventService.OrderEvent> events) {
+            events.forEach(event -> delivered.add(event.id()));
+        }
+    };
+
+    @Autowired
+    private OrderEventService orderEventService;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM order_event_gaps WHERE consumer = ?", consumerName);
+        jdbcTemplate.update("DELETE FROM order_event_checkpoints WHERE consumer = ?", consumerName);
+    }
+
+    @Test
+    @DisplayName("Task 1: A lower id committed after a higher id was relayed is still delivered")
+    void testLowerIdCommittedLate() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        orderEventService.relay(consumer);
+
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Long> slow = CompletableFuture.supplyAsync(() -> tx.execute(status -> {
+            orderEventRepository.insert(null, "ORDERS_EXPIRED", null);
+            Long id = jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+            inserted.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return id;
+        }));
+        assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        tx.executeWithoutResult(status -> orderEventRepository.insert(null, "ORDERS_EXPIRED", null));
+        orderEventService.relay(consumer);
+        assertThat(delivered).hasSize(1);
+
+        release.countDown();
+        long lowerId = slow.get(10, TimeUnit.SECONDS);
+        orderEventService.relay(consumer);
+
+        assertThat(delivered).hasSize(2);
+        assertThat(delivered.get(0)).isGreaterThan(lowerId);
+        assertThat(delivered.get(1)).isEqualTo(lowerId);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_event_gaps WHERE consumer = ?", Integer.class, consumerName)).isZero();
+    }
+}
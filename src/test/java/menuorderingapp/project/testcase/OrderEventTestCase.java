@@ -0,0 +1,252 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.config.JdbcPollingWebSocketRelay;
+import menuorderingapp.project.controller.OrderWebSocketController;
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.repository.DailySalesRollupRepository;
+import menuorderingapp.project.repository.OrderEventRepository;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.BroadcastService;
+import menuorderingapp.project.service.OrderEventConsumer;
+import menuorderingapp.project.service.OrderEventService;
+import menuorderingapp.project.service.impl.OrderEventServiceImpl;
+import menuorderingapp.project.service.impl.SalesRollupOrderEventConsumer;
+import menuorderingapp.project.util.BusinessDayClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Order Event Outbox Test")
+class OrderEventTestCase {
+
+    @Mock
+    private OrderEventRepository orderEventRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderEventConsumer consumer;
+
+    private OrderEventServiceImpl orderEventService;
+
+    @BeforeEach
+    void setUp() {
+        orderEventService = new OrderEventServiceImpl(orderEventRepository, orderRepository, List.of(consumer));
+        ReflectionTestUtils.setField(orderEventService, "batchSize", 200);
+        ReflectionTestUtils.setField(orderEventService, "settleMillis", 500L);
+        lenient().when(consumer.getConsumerName()).thenReturn("test");
+    }
+
+    @Test
+    @DisplayName("Task 1: Relay delivers events with their orders and advances the checkpoint to the last id")
+    void testRelay_AdvancesCheckpoint() {
+        when(orderEventRepository.lockCheckpoint("test")).thenReturn(10L);
+        when(orderEventRepository.findAfter(10L, 500L, 200)).thenReturn(List.of(
+                new OrderEventRepository.OrderEventRow(11, 1L, "ORDER_CREATED", null),
+                new OrderEventRepository.OrderEventRow(12, 1L, "PAID", 7L)));
+        when(orderRepository.findAllById(List.of(1L))).thenReturn(List.of(order(1L, LocalDateTime.now())));
+        List<OrderEventService.OrderEvent> delivered = new ArrayList<>();
+        doAnswer(invocation -> delivered.addAll(invocation.getArgument(0))).when(consumer).consume(anyList());
+
+        int count = orderEventService.relay(consumer);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(delivered).extracting(OrderEventService.OrderEvent::type)
+                .containsExactly(OrderEventService.EventType.ORDER_CREATED, OrderEventService.EventType.PAID);
+        assertThat(delivered.get(1).cashierId()).isEqualTo(7L);
+        assertThat(delivered.get(1).order().getId()).isEqualTo(1L);
+        verify(orderEventRepository).advanceCheckpoint("test", 12L);
+    }
+
+    @Test
+    @DisplayName("Task 2: Failing consumer keeps its checkpoint so the batch is redelivered")
+    void testRelay_ConsumerFailure() {
+        when(orderEventRepository.lockCheckpoint("test")).thenReturn(10L);
+        when(orderEventRepository.findAfter(10L, 500L, 200)).thenReturn(List.of(
+                new OrderEventRepository.OrderEventRow(11, 1L, "PAID", null)));
+        when(orderRepository.findAllById(anyList())).thenReturn(List.of());
+        doThrow(new RuntimeException("invoice failed")).when(consumer).consume(anyList());
+
+        assertThatThrownBy(() -> orderEventService.relay(consumer)).hasMessage("invoice failed");
+        verify(orderEventRepository, never()).advanceCheckpoint(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Task 3: Consumer locked by another node is skipped")
+    void testRelay_CheckpointHeldElsewhere() {
+        when(orderEventRepository.lockCheckpoint("test")).thenReturn(null);
+
+        assertThat(orderEventService.relay(consumer)).isZero();
+        verify(orderEventRepository, never()).findAfter(anyLong(), anyLong(), anyInt());
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Task 4: Sales rollup rebuilds each touched business day once")
+    void testRollup_RebuildsTouchedDays() {
+        DailySalesRollupRepository rollupRepository = mock(DailySalesRollupRepository.class);
+        ZoneId zone = ZoneId.of("Asia/Jakarta");
+        BusinessDayClock clock = new BusinessDayClock(Clock.system(zone), LocalTime.of(4, 0));
+        SalesRollupOrderEventConsumer rollup = new SalesRollupOrderEventConsumer(rollupRepository, clock);
+
+        rollup.consume(List.of(
+                event(1, order(1L, LocalDateTime.of(2025, 3, 10, 12, 0))),
+                event(2, order(2L, LocalDateTime.of(2025, 3, 11, 1, 30))),
+                event(3, order(3L, LocalDateTime.of(2025, 3, 11, 9, 0))),
+                event(4, null)));
+
+        verify(rollupRepository).rebuildDay(LocalDate.of(2025, 3, 10),
+                LocalDateTime.of(2025, 3, 10, 4, 0), LocalDateTime.of(2025, 3, 11, 4, 0));
+        verify(rollupRepository).rebuildDay(LocalDate.of(2025, 3, 11),
+                LocalDateTime.of(2025, 3, 11, 4, 0), LocalDateTime.of(2025, 3, 12, 4, 0));
+        verifyNoMoreInteractions(rollupRepository);
+    }
+
+    @Test
+    @DisplayName("Task 5: WebSocket consumer sends one update per order and one dashboard refresh per batch")
+    void testWebSocket_CollapsesBatch() {
+        BroadcastService broadcastService = mock(BroadcastService.class);
+        OrderWebSocketController webSocket = new OrderWebSocketController(
+                broadcastService, new JdbcPollingWebSocketRelay(), "node-a");
+        Order order = order(1L, LocalDateTime.now());
+
+        webSocket.consume(List.of(event(1, order), event(2, order), event(3, order(2L, LocalDateTime.now()))));
+
+        verify(broadcastService, times(2)).send(eq("/topic/orders"), any(Object.class));
+        verify(broadcastService).send("/topic/dashboard", "refresh");
+    }
+
+    @Test
+    @DisplayName("Task 6: A summary event without an order is delivered with a null order and only refreshes dashboards")
+    void testRelay_SummaryEvent() {
+        when(orderEventRepository.lockCheckpoint("test")).thenReturn(10L);
+        when(orderEventRepository.findAfter(10L, 500L, 200)).thenReturn(List.of(
+                new OrderEventRepository.OrderEventRow(11, 1L, "PAID", null),
+                new OrderEventRepository.OrderEventRow(12, null, "ORDERS_EXPIRED", null)));
+        when(orderRepository.findAllById(List.of(1L))).thenReturn(List.of(order(1L, LocalDateTime.now())));
+        List<OrderEventService.OrderEvent> delivered = new ArrayList<>();
+        doAnswer(invocation -> delivered.addAll(invocation.getArgument(0))).when(consumer).consume(anyList());
+
+        orderEventService.relay(consumer);
+
+        assertThat(delivered.get(1).type()).isEqualTo(OrderEventService.EventType.ORDERS_EXPIRED);
+        assertThat(delivered.get(1).order()).isNull();
+
+        BroadcastService broadcastService = mock(BroadcastService.class);
+        new OrderWebSocketController(broadcastService, new JdbcPollingWebSocketRelay(), "node-a")
+                .consume(List.of(delivered.get(1)));
+        verify(broadcastService, never()).send(eq("/topic/orders"), any(Object.class));
+        verify(broadcastService).send("/topic/dashboard", "refresh");
+    }
+
+    @Test
+    @DisplayName("Task 7: A lower id that commits after a higher id was relayed is delivered on a later poll")
+    void testRelay_LateLowerIdDelivered() {
+        ReflectionTestUtils.setField(orderEventService, "gapTimeoutMillis", 600000L);
+        List<OrderEventService.OrderEvent> delivered = new ArrayList<>();
+        doAnswer(invocation -> delivered.addAll(invocation.getArgument(0))).when(consumer).consume(anyList());
+        when(orderRepository.findAllById(anyList())).thenReturn(List.of());
+
+        // Id 11's transaction is still open while 12 commits
+        when(orderEventRepository.lockCheckpoint("test")).thenReturn(10L);
+        when(orderEventRepository.findGaps("test")).thenReturn(List.of());
+        when(orderEventRepository.findByIds(List.of())).thenReturn(List.of());
+        when(orderEventRepository.findAfter(10L, 500L, 200)).thenReturn(List.of(
+                new OrderEventRepository.OrderEventRow(12, 2L, "PAID", null)));
+
+        assertThat(orderEventService.relay(consumer)).isEqualTo(1);
+        verify(orderEventRepository).insertGaps("test", List.of(11L));
+        verify(orderEventRepository).advanceCheckpoint("test", 12L);
+
+        // Id 11 commits
+        when(orderEventRepository.lockCheckpoint("test")).thenReturn(12L);
+        when(orderEventRepository.findGaps("test")).thenReturn(List.of(11L));
+        when(orderEventRepository.findByIds(List.of(11L))).thenReturn(List.of(
+                new OrderEventRepository.OrderEventRow(11, 1L, "ORDER_CREATED", null)));
+        when(orderEventRepository.findAfter(12L, 500L, 200)).thenReturn(List.of());
+
+        assertThat(orderEventService.relay(consumer)).isEqualTo(1);
+        assertThat(delivered).extracting(OrderEventService.OrderEvent::id).containsExactly(12L, 11L);
+        verify(orderEventRepository).deleteGaps("test", List.of(11L));
+        verify(orderEventRepository, never()).advanceCheckpoint("test", 11L);
+    }
+
+    @Test
+    @DisplayName("Task 8: Gaps that never commit are expired after the timeout")
+    void testRelay_ExpiresGaps() {
+        ReflectionTestUtils.setField(orderEventService, "gapTimeoutMillis", 600000L);
+        when(orderEventRepository.lockCheckpoint("test")).thenReturn(12L);
+        when(orderEventRepository.findGaps("test")).thenReturn(List.of(11L));
+        when(orderEventRepository.findByIds(List.of(11L))).thenReturn(List.of());
+        when(orderEventRepository.findAfter(12L, 500L, 200)).thenReturn(List.of());
+        when(orderEventRepository.deleteExpiredGaps("test", 600000L)).thenReturn(1);
+
+        assertThat(orderEventService.relay(consumer)).isZero();
+        verify(consumer, never()).consume(anyList());
+        verify(orderEventRepository).deleteExpiredGaps("test", 600000L);
+    }
+
+    @Test
+    @DisplayName("Task 9: Ids purged below a lagging checkpoint are skipped, not recorded as gaps")
+    void testRelay_PurgedIdsAreNotGaps() {
+        when(orderEventRepository.lockCheckpoint("test")).thenReturn(10L);
+        when(orderEventRepository.findAfter(10L, 500L, 200)).thenReturn(List.of(
+                new OrderEventRepository.OrderEventRow(500000, 1L, "PAID", null),
+                new OrderEventRepository.OrderEventRow(500002, 1L, "PAID", null)));
+        when(orderEventRepository.findOldestId()).thenReturn(500000L);
+        when(orderRepository.findAllById(anyList())).thenReturn(List.of());
+
+        assertThat(orderEventService.relay(consumer)).isEqualTo(2);
+
+        verify(orderEventRepository).insertGaps("test", List.of(500001L));
+        verify(orderEventRepository).advanceCheckpoint("test", 500002L);
+    }
+
+    @Test
+    @DisplayName("Task 10: Purge keeps this node's checkpoints alive and limits deletion by every checkpoint")
+    void testPurge_AllCheckpoints() {
+        ReflectionTestUtils.setField(orderEventService, "retentionHours", 72);
+        when(orderEventRepository.deleteStaleCheckpoints(72)).thenReturn(1);
+        when(orderEventRepository.deleteDelivered(72, 1000)).thenReturn(5);
+
+        assertThat(orderEventService.purgeDelivered()).isEqualTo(5);
+
+        InOrder inOrder = inOrder(orderEventRepository);
+        inOrder.verify(orderEventRepository).touchCheckpoints(List.of("test"));
+        inOrder.verify(orderEventRepository).deleteStaleCheckpoints(72);
+        inOrder.verify(orderEventRepository).deleteDelivered(72, 1000);
+    }
+
+    private OrderEventService.OrderEvent event(long id, Order order) {
+        return new OrderEventService.OrderEvent(id, OrderEventService.EventType.PAID, null, order);
+    }
+
+    private Order order(Long id, LocalDateTime createdAt) {
+        Order order = new Order();
+        order.setId(id);
+        order.setCreatedAt(createdAt);
+        order.setStatus(Order.OrderStatus.CONFIRMED);
+        order.setPaymentStatus(Order.PaymentStatus.PAID);
+        return order;
+    }
+}
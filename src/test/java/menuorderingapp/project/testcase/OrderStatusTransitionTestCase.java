@@ -0,0 +1,160 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.exception.OrderConflictException;
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.StatusTransitionResult;
+import menuorderingapp.project.repository.CashierRepository;
+import menuorderingapp.project.repository.DailySalesRollupRepository;
+import menuorderingapp.project.repository.MenuRepository;
+import menuorderingapp.project.repository.OrderLineRepository;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.OrderEventService;
+import menuorderingapp.project.service.impl.OrderServiceImpl;
+import menuorderingapp.project.util.BusinessDayClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Order Status Transition Test")
+class OrderStatusTransitionTestCase {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderLineRepository orderLineRepository;
+
+    @Mock
+    private MenuRepository menuRepository;
+
+    @Mock
+    private CashierRepository cashierRepository;
+
+    @Mock
+    private DailySalesRollupRepository rollupRepository;
+
+    @Mock
+    private OrderEventService orderEventService;
+
+    @Mock
+    private BusinessDayClock businessDayClock;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderServiceImpl orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderServiceImpl(orderRepository, orderLineRepository, menuRepository, cashierRepository,
+                rollupRepository, orderEventService, businessDayClock, transactionManager, 3, 0);
+        lenient().when(orderRepository.getReferenceById(any())).thenAnswer(invocation -> {
+            Order order = new Order();
+            order.setId(invocation.getArgument(0));
+            return order;
+        });
+    }
+
+    @Test
+    @DisplayName("Task 1: Bulk change moves the allowed orders in one update and reports the rest per order")
+    void testBulkTransition_MixedResults() {
+        when(orderRepository.findStatusesByIdIn(List.of(1L, 2L, 3L, 4L))).thenReturn(List.of(
+                row(1L, Order.OrderStatus.PREPARING),
+                row(2L, Order.OrderStatus.COMPLETED),
+                row(4L, Order.OrderStatus.PREPARING)));
+        when(orderRepository.transitionStatus(eq(List.of(1L, 4L)), eq(Set.of(Order.OrderStatus.PREPARING)),
+                eq(Order.OrderStatus.READY), any(), any())).thenReturn(2);
+
+        List<StatusTransitionResult> results =
+                orderService.updateOrderStatuses(List.of(1L, 2L, 3L, 4L, 1L), Order.OrderStatus.READY);
+
+        assertThat(results).extracting(StatusTransitionResult::getOrderId).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(results).extracting(StatusTransitionResult::isApplied).containsExactly(true, false, false, true);
+        assertThat(results).extracting(StatusTransitionResult::getStatus).containsExactly(
+                Order.OrderStatus.READY, Order.OrderStatus.COMPLETED, null, Order.OrderStatus.READY);
+        assertThat(results.get(1).getReason()).isEqualTo("Order cannot move from COMPLETED to READY");
+        verify(orderRepository, times(1)).transitionStatus(anyCollection(), anyCollection(), any(), any(), any());
+        verify(orderEventService, times(2)).publish(any(), eq(OrderEventService.EventType.STATUS_CHANGED));
+    }
+
+    @Test
+    @DisplayName("Task 2: A transition the table doesn't allow is refused without writing")
+    void testUpdateStatus_NotAllowed() {
+        when(orderRepository.findStatusesByIdIn(List.of(1L))).thenReturn(List.of(row(1L, Order.OrderStatus.COMPLETED)));
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(1L, Order.OrderStatus.PREPARING))
+                .isInstanceOf(OrderConflictException.class)
+                .hasMessage("Order cannot move from COMPLETED to PREPARING");
+
+        verify(orderRepository, never()).transitionStatus(any(), any(), any(), any(), any());
+        verify(orderEventService, never()).publish(any(), any());
+    }
+
+    @Test
+    @DisplayName("Task 3: Orders another writer moved between the read and the update are reported as changed")
+    void testBulkTransition_LostRace() {
+        when(orderRepository.transitionStatus(eq(List.of(1L, 2L)), any(), eq(Order.OrderStatus.PREPARING), any(), any()))
+                .thenReturn(1);
+        // First the read before the update, then the read back after it matched only one row
+        when(orderRepository.findStatusesByIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                row(1L, Order.OrderStatus.CONFIRMED),
+                row(2L, Order.OrderStatus.CONFIRMED))).thenReturn(List.of(
+                row(1L, Order.OrderStatus.CONFIRMED),
+                row(2L, Order.OrderStatus.PREPARING)));
+
+        List<StatusTransitionResult> results =
+                orderService.updateOrderStatuses(List.of(1L, 2L), Order.OrderStatus.PREPARING);
+
+        assertThat(results).extracting(StatusTransitionResult::isApplied).containsExactly(false, true);
+        assertThat(results.get(0).getReason()).contains("changed by someone else");
+        verify(orderEventService, times(1)).publish(any(), any());
+    }
+
+    @Test
+    @DisplayName("Task 4: Cancelling a completed order is refused, cancelling a ready one writes a CANCELLED event")
+    void testCancelOrder_Transitions() {
+        when(orderRepository.findStatusesByIdIn(List.of(1L))).thenReturn(List.of(row(1L, Order.OrderStatus.COMPLETED)));
+        when(orderRepository.findStatusesByIdIn(List.of(2L))).thenReturn(List.of(row(2L, Order.OrderStatus.READY)));
+        when(orderRepository.cancel(eq(List.of(2L)), eq(Order.OrderStatus.CANCELLED.allowedFrom()), any())).thenReturn(1);
+
+        assertThatThrownBy(() -> orderService.cancelOrder(1L)).isInstanceOf(OrderConflictException.class);
+        orderService.cancelOrder(2L);
+
+        verify(orderRepository, times(1)).cancel(anyCollection(), anyCollection(), any());
+        verify(orderEventService).publish(any(), eq(OrderEventService.EventType.CANCELLED));
+    }
+
+    private OrderRepository.StatusRow row(Long id, Order.OrderStatus status) {
+        return new OrderRepository.StatusRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getOrderNumber() {
+                return "ORD-" + id;
+            }
+
+            @Override
+            public Order.OrderStatus getStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.model.Menu;
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.OrderItem;
+import menuorderingapp.project.repository.MenuRepository;
+import menuorderingapp.project.service.OrderService;
+import menuorderingapp.project.service.PaymentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires hundreds of simultaneous cash and QR payments at each of several orders and checks that every order is
+ * paid exactly once: one caller succeeds, one PAID event is written and the outbox relay creates one invoice.
+ * Needs the local MySQL test database from application-test.properties:
+ * mvn test -Dtest=PaymentConcurrencyStressTestCase -DconcurrencyTests=true
+ */
+@SpringBootTest(properties = {"app.archive.enabled=false"})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "concurrencyTests", matches = "true")
+@DisplayName("Payment Concurrency Stress Test")
+class PaymentConcurrencyStressTestCase {
+
+    private static final int ORDERS = 5;
+    private static final int ATTEMPTS_PER_ORDER = 200;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Task 1: Simultaneous payments pay each order exactly once")
+    void testConcurrentPayments_ExactlyOnce() throws Exception {
+        Menu menu = menuRepository.findAll().stream()
+                .filter(Menu::getAvailable)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Test database has no available menu"));
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order(Order.OrderType.CUSTOMER_SELF, "Payment Stress " + i, BigDecimal.ZERO);
+            order.addOrderItem(new OrderItem(menu, 2));
+            orders.add(orderService.createOrder(order));
+        }
+
+        List<Attempt> attempts = new ArrayList<>();
+        for (Order order : orders) {
+            for (int i = 0; i < ATTEMPTS_PER_ORDER; i++) {
+                attempts.add(new Attempt(order.getOrderNumber(), i % 2 == 0));
+            }
+        }
+        Collections.shuffle(attempts);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (Attempt attempt : attempts) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return attempt.cash()
+                            ? paymentService.processCashPayment(attempt.orderNumber(), 1_000_000.0)
+                            : paymentService.simulateQRPayment(attempt.orderNumber());
+                }));
+            }
+            start.countDown();
+
+            int successes = 0;
+            for (Future<Boolean> result : results) {
+                successes += result.get(2, TimeUnit.MINUTES) ? 1 : 0;
+            }
+            assertThat(successes).isEqualTo(ORDERS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (Order order : orders) {
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT payment_status FROM orders WHERE id = ?", String.class, order.getId())).isEqualTo("PAID");
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM order_events WHERE order_id = ? AND event_type = 'PAID'",
+                    Long.class, order.getId())).isEqualTo(1);
+            assertThat(awaitInvoices(order.getId())).isEqualTo(1);
+        }
+    }
+
+    private long awaitInvoices(Long orderId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+        long invoices = 0;
+        while (invoices == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            invoices = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM invoices WHERE order_id = ?", Long.class, orderId);
+        }
+        // Give a duplicate delivery the chance to show up before counting
+        Thread.sleep(1000);
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM invoices WHERE order_id = ?", Long.class, orderId);
+    }
+
+    private record Attempt(String orderNumber, boolean cash) {
+    }
+}
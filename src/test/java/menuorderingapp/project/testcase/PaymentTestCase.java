@@ -0,0 +1,118 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.OrderEventService;
+import menuorderingapp.project.service.impl.PaymentServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Payment Test")
+class PaymentTestCase {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderEventService orderEventService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PaymentServiceImpl paymentService;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        paymentService = new PaymentServiceImpl(orderRepository, orderEventService, transactionManager);
+
+        order = new Order(Order.OrderType.CUSTOMER_SELF, "Budi", new BigDecimal("45000"));
+        order.setId(1L);
+        order.setOrderNumber("ORD-TEST0001");
+        lenient().when(orderRepository.findByOrderNumber("ORD-TEST0001")).thenReturn(Optional.of(order));
+    }
+
+    @Test
+    @DisplayName("Task 1: A cash payment that flips the order to PAID writes one PAID event")
+    void testCashPayment_WinsCompareAndSet() {
+        when(orderRepository.markPaid(eq(1L), eq(Order.PaymentMethod.CASH), eq(new BigDecimal("45000")), any()))
+                .thenReturn(1);
+
+        assertThat(paymentService.processCashPayment("ORD-TEST0001", 50000.0)).isTrue();
+
+        verify(orderEventService).publish(order, OrderEventService.EventType.PAID);
+    }
+
+    @Test
+    @DisplayName("Task 2: A payment whose conditional update matches nothing fails without an event")
+    void testCashPayment_LosesCompareAndSet() {
+        when(orderRepository.markPaid(eq(1L), eq(Order.PaymentMethod.CASH), any(), any())).thenReturn(0);
+
+        assertThat(paymentService.processCashPayment("ORD-TEST0001", 50000.0)).isFalse();
+
+        verify(orderEventService, never()).publish(any(), any());
+    }
+
+    @Test
+    @DisplayName("Task 3: Too little cash is refused before any update is attempted")
+    void testCashPayment_Underpaid() {
+        assertThat(paymentService.processCashPayment("ORD-TEST0001", 49000.0)).isFalse();
+
+        verify(orderRepository, never()).markPaid(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Task 4: Hundreds of simultaneous attempts on one order succeed exactly once")
+    void testConcurrentPayments_ExactlyOnce() throws Exception {
+        AtomicBoolean paid = new AtomicBoolean();
+        when(orderRepository.markPaid(eq(1L), any(), any(), any()))
+                .thenAnswer(invocation -> paid.compareAndSet(false, true) ? 1 : 0);
+
+        int attempts = 300;
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                boolean cash = i % 2 == 0;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cash ? paymentService.processCashPayment("ORD-TEST0001", 50000.0)
+                            : paymentService.simulateQRPayment("ORD-TEST0001");
+                }));
+            }
+            start.countDown();
+
+            int successes = 0;
+            for (Future<Boolean> result : results) {
+                successes += result.get() ? 1 : 0;
+            }
+            assertThat(successes).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(orderEventService, times(1)).publish(order, OrderEventService.EventType.PAID);
+    }
+}
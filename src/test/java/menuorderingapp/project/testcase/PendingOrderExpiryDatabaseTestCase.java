@@ -0,0 +1,73 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.repository.SchedulerLockRepository;
+import menuorderingapp.project.service.PendingOrderExpiryService;
+import menuorderingapp.project.service.impl.PendingOrderExpiryServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the pending order expiry against real rows: an abandoned kiosk order is cancelled and a cashier-assisted
+ * order of the same age is kept. Needs the local MySQL test database from application-test.properties:
+ * mvn test -Dtest=PendingOrderExpiryDatabaseTestCase -DconcurrencyTests=true
+ */
+@SpringBootTest(properties = {"app.archive.enabled=false", "app.orders.pending-expiry.enabled=false"})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "concurrencyTests", matches = "true")
+@DisplayName("Pending Order Expiry Database Test")
+class PendingOrderExpiryDatabaseTestCase {
+
+    private final String prefix = "EXPIRY-TEST-" + System.nanoTime() % 1_000_000_000L;
+
+    @Autowired
+    private PendingOrderExpiryService expiryService;
+
+    @Autowired
+    private SchedulerLockRepository lockRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM orders WHERE order_number LIKE ?", prefix + "%");
+    }
+
+    @Test
+    @DisplayName("Task 1: A stale cashier-assisted PENDING order survives while a stale kiosk order is cancelled")
+    void testCashierAssistedOrderSurvives() {
+        LocalDateTime stale = LocalDateTime.now().minusHours(5);
+        insertPendingOrder(prefix + "-SELF", "CUSTOMER_SELF", stale);
+        insertPendingOrder(prefix + "-CASHIER", "CASHIER_ASSISTED", stale);
+        assertThat(lockRepository.findHolder(PendingOrderExpiryServiceImpl.LOCK_NAME)).isNull();
+
+        PendingOrderExpiryService.ExpiryRun run = expiryService.expireStaleOrders();
+
+        assertThat(run).isNotNull();
+        assertThat(statusOf(prefix + "-SELF")).isEqualTo("CANCELLED");
+        assertThat(statusOf(prefix + "-CASHIER")).isEqualTo("PENDING");
+    }
+
+    private void insertPendingOrder(String orderNumber, String orderType, LocalDateTime createdAt) {
+        jdbcTemplate.update(
+                "INSERT INTO orders (order_number, total, status, order_type, payment_status, created_at) " +
+                "VALUES (?, 10000, 'PENDING', ?, 'PENDING', ?)",
+                orderNumber, orderType, Timestamp.valueOf(createdAt));
+    }
+
+    private String statusOf(String orderNumber) {
+        return jdbcTemplate.queryForObject(
+                "SELECT status FROM orders WHERE order_number = ?", String.class, orderNumber);
+    }
+}
@@ -0,0 +1,129 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.repository.PendingOrderExpiryRepository;
+import menuorderingapp.project.repository.PendingOrderExpiryRepository.PendingOrderKey;
+import menuorderingapp.project.repository.SchedulerLockRepository;
+import menuorderingapp.project.service.OrderEventService;
+import menuorderingapp.project.service.PendingOrderExpiryService;
+import menuorderingapp.project.service.impl.PendingOrderExpiryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pending Order Expiry Test")
+class PendingOrderExpiryTestCase {
+
+    private static final String LOCK = PendingOrderExpiryServiceImpl.LOCK_NAME;
+
+    @Mock
+    private PendingOrderExpiryRepository expiryRepository;
+
+    @Mock
+    private SchedulerLockRepository lockRepository;
+
+    @Mock
+    private OrderEventService orderEventService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PendingOrderExpiryServiceImpl expiryService;
+
+    @BeforeEach
+    void setUp() {
+        expiryService = new PendingOrderExpiryServiceImpl(expiryRepository, lockRepository, orderEventService,
+                transactionManager, "node-a", 120, 2, 0, 60000);
+    }
+
+    @Test
+    @DisplayName("Task 1: Stale orders are expired in keyset chunks and the run writes one summary event")
+    void testExpiry_ChunksAndOneSummaryEvent() {
+        LocalDateTime old = LocalDateTime.now().minusHours(5);
+        PendingOrderKey first = new PendingOrderKey(1, old);
+        PendingOrderKey second = new PendingOrderKey(2, old);
+        PendingOrderKey third = new PendingOrderKey(3, old.plusMinutes(1));
+
+        when(lockRepository.tryAcquire(eq(LOCK), anyString(), eq(60000L))).thenReturn(true);
+        when(expiryRepository.findStale(any(), isNull(), eq(2))).thenReturn(List.of(first, second));
+        when(expiryRepository.findStale(any(), eq(second), eq(2))).thenReturn(List.of(third));
+        // The second order was paid after it was read, so the guarded update skips it
+        when(expiryRepository.expire(eq(List.of(first, second)), any(), any())).thenReturn(1);
+        when(expiryRepository.expire(eq(List.of(third)), any(), any())).thenReturn(1);
+
+        PendingOrderExpiryService.ExpiryRun run = expiryService.expireStaleOrders();
+
+        assertThat(run.ordersExpired()).isEqualTo(2);
+        assertThat(run.batches()).isEqualTo(2);
+        assertThat(run.completed()).isTrue();
+        verify(orderEventService, times(1)).publishSummary(OrderEventService.EventType.ORDERS_EXPIRED);
+        verify(orderEventService, never()).publish(any(), any());
+        verify(lockRepository).release(eq(LOCK), anyString());
+    }
+
+    @Test
+    @DisplayName("Task 2: Only orders older than the TTL are looked for")
+    void testExpiry_CutoffFromTtl() {
+        when(lockRepository.tryAcquire(eq(LOCK), anyString(), anyLong())).thenReturn(true);
+        when(expiryRepository.findStale(any(), isNull(), anyInt())).thenReturn(List.of());
+
+        LocalDateTime before = LocalDateTime.now();
+        PendingOrderExpiryService.ExpiryRun run = expiryService.expireStaleOrders();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(expiryRepository).findStale(cutoff.capture(), isNull(), eq(2));
+        assertThat(cutoff.getValue()).isBetween(before.minusMinutes(120), LocalDateTime.now().minusMinutes(120));
+        assertThat(run.ordersExpired()).isZero();
+        verify(expiryRepository, never()).expire(anyList(), any(), any());
+        verifyNoInteractions(orderEventService);
+    }
+
+    @Test
+    @DisplayName("Task 3: Nothing is expired while another node holds the expiry lock")
+    void testExpiry_SkipsWithoutLock() {
+        when(lockRepository.tryAcquire(eq(LOCK), anyString(), anyLong())).thenReturn(false);
+
+        assertThat(expiryService.expireStaleOrders()).isNull();
+
+        verifyNoInteractions(expiryRepository, orderEventService);
+        verify(lockRepository, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Task 4: Every expiry query is limited to self-service orders so cashier-assisted orders survive")
+    void testRepository_SkipsCashierAssisted() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        NamedParameterJdbcTemplate namedJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        PendingOrderExpiryRepository repository = new PendingOrderExpiryRepository(jdbcTemplate, namedJdbcTemplate);
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(2);
+        PendingOrderKey key = new PendingOrderKey(1, cutoff.minusHours(1));
+
+        repository.findStale(cutoff, null, 10);
+        repository.findStale(cutoff, key, 10);
+        repository.expire(List.of(key), cutoff, LocalDateTime.now());
+        repository.getBacklog(cutoff);
+
+        List<String> statements = Stream.concat(
+                        mockingDetails(jdbcTemplate).getInvocations().stream(),
+                        mockingDetails(namedJdbcTemplate).getInvocations().stream())
+                .map(invocation -> (String) invocation.getArgument(0))
+                .toList();
+        assertThat(statements).hasSize(4)
+                .allSatisfy(sql -> assertThat(sql).contains("order_type = 'CUSTOMER_SELF'"));
+    }
+}
@@ -0,0 +1,380 @@
+package menuorderingapp.project.testcase;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL behind every @Query in the repository package and fails when a query
+ * full-scans one of the large tables. Needs the local MySQL test database from application-test.properties:
+ * mvn test -Dtest=QueryPlanTestCase -DqueryPlanTests=true
+ * The seeded rows are marked with SEED- and deleted again after the run (and before it, if a run was killed).
+ */
+@SpringBootTest(properties = {"app.archive.enabled=false"})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "queryPlanTests", matches = "true")
+@DisplayName("Repository Query Plan Test")
+class QueryPlanTestCase {
+
+    private static final String REPOSITORY_PACKAGE = "menuorderingapp.project.repository";
+
+    private static final Set<String> LARGE_TABLES = Set.of(
+            "orders", "order_items", "invoices", "menu_audit_log", "cashier_sessions");
+
+    // Full scans that are accepted, with the reason
+    private static final Map<String, String> ALLOWED_FULL_SCANS = Map.of(
+            "MenuRepository.searchAvailableMenus", "leading-wildcard LIKE on the small menus table"
+    );
+
+    private static final Pattern TABLE_ALIAS = Pattern.compile("(?i)\\b(?:from|join|update|into)\\s+(\\w+)\\s+(\\w+)");
+
+    private static final int SEED_ORDERS = 20000;
+    private static final String SEED_PREFIX = "SEED-";
+
+    private static final ThreadLocal<List<RecordedStatement>> RECORDED = new ThreadLocal<>();
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    void seedDatabase() {
+        deleteSeedData();
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Long.class);
+        if (existing != null && existing >= SEED_ORDERS) {
+            return;
+        }
+
+        List<Long> menuIds = jdbcTemplate.queryForList("SELECT id FROM menus", Long.class);
+        List<Long> cashierIds = jdbcTemplate.queryForList("SELECT id FROM cashiers", Long.class);
+        String[] statuses = {"PENDING", "CONFIRMED", "PREPARING", "READY", "COMPLETED", "CANCELLED"};
+        String[] paymentStatuses = {"PENDING", "PAID", "PAID", "PAID", "REFUNDED"};
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> orders = new ArrayList<>();
+        for (int i = 0; i < SEED_ORDERS; i++) {
+            Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(random.nextInt(60 * 24 * 90)));
+            orders.add(new Object[]{
+                    SEED_PREFIX + UUID.randomUUID().toString().substring(0, 12),
+                    10000 + random.nextInt(200000),
+                    statuses[random.nextInt(statuses.length)],
+                    random.nextBoolean() ? "CUSTOMER_SELF" : "CASHIER_ASSISTED",
+                    random.nextBoolean() ? "CASH" : "QR_CODE",
+                    paymentStatuses[random.nextInt(paymentStatuses.length)],
+                    "Seed",
+                    cashierIds.get(random.nextInt(cashierIds.size())),
+                    createdAt,
+                    createdAt
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (order_number, total, status, order_type, payment_method, " +
+                "payment_status, customer_name, cashier_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", orders);
+
+        List<Object[]> items = new ArrayList<>();
+        for (Map<String, Object> order : jdbcTemplate.queryForList(
+                "SELECT id, created_at FROM orders WHERE order_number LIKE ?", SEED_PREFIX + "%")) {
+            for (int j = 0; j < 3; j++) {
+                items.add(new Object[]{order.get("id"), menuIds.get(random.nextInt(menuIds.size())),
+                        1 + random.nextInt(3), 15000 + random.nextInt(20000), order.get("created_at")});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO order_items (order_id, menu_id, quantity, price, created_at) " +
+                "VALUES (?, ?, ?, ?, ?)", items);
+
+        jdbcTemplate.update("INSERT INTO invoices (invoice_number, order_id, cashier_id, total_amount, tax_amount, " +
+                "final_amount, payment_method, created_at) " +
+                "SELECT CONCAT('INV-', o.order_number), o.id, o.cashier_id, o.total, o.total * 0.1, o.total * 1.1, " +
+                "o.payment_method, o.created_at FROM orders o " +
+                "WHERE o.payment_status = 'PAID' AND o.order_number LIKE ?", SEED_PREFIX + "%");
+
+        List<Object[]> audits = new ArrayList<>();
+        for (int i = 0; i < SEED_ORDERS / 4; i++) {
+            audits.add(new Object[]{menuIds.get(random.nextInt(menuIds.size())), SEED_PREFIX + "menu",
+                    cashierIds.get(random.nextInt(cashierIds.size())), "PRICE_CHANGED",
+                    "{\"price\":10000.00}", "{\"price\":12000.00}",
+                    Timestamp.valueOf(now.minusMinutes(random.nextInt(60 * 24 * 90)))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO menu_audit_log (menu_id, menu_name, cashier_id, action, old_values, " +
+                "new_values, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)", audits);
+
+        List<Object[]> sessions = new ArrayList<>();
+        for (int i = 0; i < SEED_ORDERS / 4; i++) {
+            sessions.add(new Object[]{cashierIds.get(random.nextInt(cashierIds.size())), SEED_PREFIX + UUID.randomUUID(),
+                    Timestamp.valueOf(now.plusHours(random.nextInt(48) - 24))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO cashier_sessions (cashier_id, session_token, expires_at) VALUES (?, ?, ?)", sessions);
+
+        for (String table : LARGE_TABLES) {
+            jdbcTemplate.execute("ANALYZE TABLE " + table);
+        }
+    }
+
+    @AfterAll
+    void deleteSeedData() {
+        String seed = SEED_PREFIX + "%";
+        jdbcTemplate.update("DELETE FROM invoices WHERE invoice_number LIKE ?", "INV-" + seed);
+        jdbcTemplate.update("DELETE FROM order_items WHERE order_id IN " +
+                "(SELECT id FROM orders WHERE order_number LIKE ?)", seed);
+        jdbcTemplate.update("DELETE FROM orders WHERE order_number LIKE ?", seed);
+        jdbcTemplate.update("DELETE FROM menu_audit_log WHERE menu_name LIKE ?", seed);
+        jdbcTemplate.update("DELETE FROM cashier_sessions WHERE session_token LIKE ?", seed);
+    }
+
+    @TestFactory
+    @DisplayName("No @Query in the repository package full-scans a large table")
+    Collection<DynamicTest> everyRepositoryQueryUsesAnIndex() {
+        List<DynamicTest> tests = new ArrayList<>();
+        Repositories repositories = new Repositories(applicationContext);
+
+        for (Class<?> domainType : repositories) {
+            Class<?> repositoryInterface = repositories.getRepositoryInformationFor(domainType)
+                    .orElseThrow()
+                    .getRepositoryInterface();
+            if (!repositoryInterface.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                continue;
+            }
+            Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+
+            for (Method method : repositoryInterface.getDeclaredMethods()) {
+                if (!method.isAnnotationPresent(Query.class)) {
+                    continue;
+                }
+                String name = repositoryInterface.getSimpleName() + "." + method.getName();
+                tests.add(DynamicTest.dynamicTest(name, () -> assertNoFullScan(name, repository, method)));
+            }
+        }
+
+        assertThat(tests).isNotEmpty();
+        return tests;
+    }
+
+    private void assertNoFullScan(String name, Object repository, Method method) throws Exception {
+        List<RecordedStatement> statements = new ArrayList<>();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            RECORDED.set(statements);
+            try {
+                method.invoke(repository, buildArguments(method));
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Failed to invoke " + name, e);
+            } finally {
+                RECORDED.remove();
+                status.setRollbackOnly();
+            }
+        });
+
+        assertThat(statements).as("SQL executed by %s", name).isNotEmpty();
+
+        for (RecordedStatement statement : statements) {
+            Map<String, String> aliases = tableAliases(statement.sql());
+            for (Map<String, Object> row : explain(statement)) {
+                String alias = String.valueOf(row.get("table"));
+                String table = aliases.getOrDefault(alias, alias);
+                String type = String.valueOf(row.get("type"));
+                boolean fullScan = "ALL".equals(type) || "index".equals(type);
+
+                if (fullScan && LARGE_TABLES.contains(table) && !ALLOWED_FULL_SCANS.containsKey(name)) {
+                    throw new AssertionError(String.format("%s full-scans %s (type=%s, key=%s)%nSQL: %s",
+                            name, table, type, row.get("key"), statement.sql()));
+                }
+            }
+        }
+    }
+
+    private List<Map<String, Object>> explain(RecordedStatement statement) throws Exception {
+        DataSource target = ((RecordingDataSourceHandler) Proxy.getInvocationHandler(dataSource)).target;
+        try (Connection connection = target.getConnection();
+             PreparedStatement ps = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+            for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                ps.setObject(parameter.getKey(), parameter.getValue());
+            }
+            List<Map<String, Object>> rows = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Map<String, Object> row = new HashMap<>();
+                    row.put("table", rs.getString("table"));
+                    row.put("type", rs.getString("type"));
+                    row.put("key", rs.getString("key"));
+                    rows.add(row);
+                }
+            }
+            return rows;
+        }
+    }
+
+    private Map<String, String> tableAliases(String sql) {
+        Map<String, String> aliases = new HashMap<>();
+        Matcher matcher = TABLE_ALIAS.matcher(sql);
+        while (matcher.find()) {
+            aliases.put(matcher.group(2), matcher.group(1));
+        }
+        return aliases;
+    }
+
+    private Object[] buildArguments(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] args = new Object[types.length];
+        LocalDateTime end = LocalDateTime.now();
+        LocalDateTime start = end.minusDays(7);
+        int dateTimes = 0;
+
+        for (int i = 0; i < types.length; i++) {
+            Class<?> type = types[i];
+            if (type == Long.class || type == long.class) {
+                args[i] = 1L;
+            } else if (type == Integer.class || type == int.class) {
+                args[i] = 20;
+            } else if (type == String.class) {
+                args[i] = "nasi";
+            } else if (type == LocalDateTime.class) {
+                args[i] = dateTimes++ % 2 == 0 ? start : end;
+            } else if (type == LocalDate.class) {
+                args[i] = LocalDate.now();
+            } else if (type == Pageable.class) {
+                args[i] = PageRequest.of(0, 20);
+            } else if (type.isEnum()) {
+                args[i] = enumArgument(type);
+            } else if (Collection.class.isAssignableFrom(type)
+                    && method.getGenericParameterTypes()[i] instanceof ParameterizedType collection
+                    && collection.getActualTypeArguments()[0] instanceof Class<?> element && element.isEnum()) {
+                args[i] = List.of(enumArgument(element));
+            } else if (type.isAnnotationPresent(Entity.class)) {
+                args[i] = entityManager.getReference(type, 1L);
+            } else {
+                throw new IllegalArgumentException("No test argument for " + type.getName() + " in " + method);
+            }
+        }
+        return args;
+    }
+
+    private Object enumArgument(Class<?> type) {
+        Object[] constants = type.getEnumConstants();
+        for (Object constant : constants) {
+            // Prefer the values the hot paths actually filter on
+            if (constant.toString().equals("PAID") || constant.toString().equals("PENDING")) {
+                return constant;
+            }
+        }
+        return constants[0];
+    }
+
+    record RecordedStatement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())) {
+                        return Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+                                new Class<?>[]{DataSource.class}, new RecordingDataSourceHandler(dataSource));
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    static class RecordingDataSourceHandler implements InvocationHandler {
+
+        final DataSource target;
+
+        RecordingDataSourceHandler(DataSource target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Connection connection) {
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                        (connectionProxy, connectionMethod, connectionArgs) -> {
+                            Object statement = invokeTarget(connection, connectionMethod, connectionArgs);
+                            if (statement instanceof PreparedStatement ps && connectionMethod.getName().equals("prepareStatement")) {
+                                return recordingStatement(ps, (String) connectionArgs[0]);
+                            }
+                            return statement;
+                        });
+            }
+            return result;
+        }
+
+        private PreparedStatement recordingStatement(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            parameters.put(index, name.equals("setNull") ? null : args[1]);
+                        } else if (name.startsWith("execute") && RECORDED.get() != null) {
+                            RECORDED.get().add(new RecordedStatement(sql, new TreeMap<>(parameters)));
+                        }
+                        return invokeTarget(statement, method, args);
+                    });
+        }
+
+        private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package menuorderingapp.project.testcase;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import menuorderingapp.project.config.RateLimitFilter;
+import menuorderingapp.project.config.RateLimitProperties;
+import menuorderingapp.project.service.RateLimitService;
+import menuorderingapp.project.service.impl.RateLimitServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Rate Limit Test")
+class RateLimitTestCase {
+
+    private final AtomicLong nanos = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    private RateLimitServiceImpl rateLimitService;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitService = new RateLimitServiceImpl(100, nanos::get);
+    }
+
+    @Test
+    @DisplayName("Task 1: Bucket allows a burst of capacity, then refuses until a token refills")
+    void testTryAcquire_BurstThenRefill() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimitService.tryAcquire("login", "ip:1", 5, 10)).isZero();
+        }
+
+        long wait = rateLimitService.tryAcquire("login", "ip:1", 5, 10);
+        assertThat(wait).isEqualTo(TimeUnit.SECONDS.toNanos(6));
+        assertThat(rateLimitService.tryAcquire("login", "ip:2", 5, 10)).isZero();
+
+        nanos.addAndGet(wait);
+        assertThat(rateLimitService.tryAcquire("login", "ip:1", 5, 10)).isZero();
+
+        RateLimitService.RouteStats stats = rateLimitService.getStats().routes().get("login");
+        assertThat(stats.allowed()).isEqualTo(7);
+        assertThat(stats.rejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Task 2: Only buckets that have refilled completely are evicted")
+    void testEvictIdle_KeepsPartialBuckets() {
+        rateLimitService.tryAcquire("menus", "ip:1", 60, 600);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        rateLimitService.tryAcquire("menus", "ip:2", 60, 600);
+
+        assertThat(rateLimitService.evictIdle()).isEqualTo(1);
+        assertThat(rateLimitService.getStats().activeBuckets()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Task 3: New clients share an overflow bucket once the table is full of active clients")
+    void testTryAcquire_BoundedBuckets() {
+        RateLimitServiceImpl small = new RateLimitServiceImpl(2, nanos::get);
+        small.tryAcquire("login", "ip:1", 1, 1);
+        small.tryAcquire("login", "ip:2", 1, 1);
+
+        assertThat(small.tryAcquire("login", "ip:3", 1, 1)).isZero();
+        assertThat(small.tryAcquire("login", "ip:4", 1, 1)).isPositive();
+
+        RateLimitService.RateLimitStats stats = small.getStats();
+        assertThat(stats.activeBuckets()).isEqualTo(3);
+        assertThat(stats.overflowed()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Task 4: Filter answers 429 with Retry-After on a matching route and ignores other paths")
+    void testFilter_TooManyRequests() throws Exception {
+        RateLimitProperties.Route login = new RateLimitProperties.Route();
+        login.setPaths(List.of("/auth/api/login"));
+        login.setMethods(List.of("POST"));
+        login.setCapacity(1);
+        login.setRefillPerMinute(2);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRoutes().put("login", login);
+        RateLimitFilter filter = new RateLimitFilter(properties, rateLimitService, new ObjectMapper());
+
+        assertThat(post(filter, "/auth/api/login").getStatus()).isEqualTo(200);
+        MockHttpServletResponse refused = post(filter, "/auth/api/login");
+        assertThat(post(filter, "/customer/api/orders").getStatus()).isEqualTo(200);
+
+        assertThat(refused.getStatus()).isEqualTo(429);
+        assertThat(refused.getHeader("Retry-After")).isEqualTo("30");
+        assertThat(refused.getContentAsString()).contains("Too many requests");
+    }
+
+    private MockHttpServletResponse post(RateLimitFilter filter, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,202 @@
+package menuorderingapp.project.testcase;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import menuorderingapp.project.config.ReadReplicaGuard;
+import menuorderingapp.project.config.ReplicaDataSourceConfig;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs transactions through a real Hibernate EntityManagerFactory and JpaTransactionManager on top of the
+ * routing data source, with the EntityManager bound for the whole "request" the way open-in-view binds it.
+ * The databases are mocks; which one a transaction used shows in which connection ran its statement.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Read Replica Routing Test")
+class ReadReplicaRoutingTestCase {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private final ReplicaDataSourceConfig config = new ReplicaDataSourceConfig();
+
+    private ReadReplicaGuard guard;
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(primary.getConnection()).thenReturn(primaryConnection);
+        lenient().when(replica.getConnection()).thenReturn(replicaConnection);
+        guard = new ReadReplicaGuard(replica, 5000, 5);
+        startRequest();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        if (entityManagerFactory != null) {
+            entityManagerFactory.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Task 1: A read and then a write in one request-scoped EntityManager each get their own database")
+    void testReadThenWrite_SameEntityManager_WriteOnPrimary() throws SQLException {
+        entityManagerFactory = entityManagerFactory(true);
+
+        inRequest(entityManager -> {
+            inTransaction(entityManager, true);
+            inTransaction(entityManager, false);
+        });
+
+        verify(replicaConnection, times(1)).createStatement();
+        verify(primaryConnection, times(1)).createStatement();
+    }
+
+    @Test
+    @DisplayName("Task 2: Holding the connection for the session would pin the write to the replica")
+    void testReadThenWrite_HeldConnection_PinnedToReplica() throws SQLException {
+        entityManagerFactory = entityManagerFactory(false);
+
+        inRequest(entityManager -> {
+            inTransaction(entityManager, true);
+            inTransaction(entityManager, false);
+        });
+
+        verify(replicaConnection, times(2)).createStatement();
+        verify(primaryConnection, never()).createStatement();
+    }
+
+    @Test
+    @DisplayName("Task 3: Reads after a write in the same session stay on primary")
+    void testWriteThenRead_SameSession_ReadOnPrimary() throws SQLException {
+        entityManagerFactory = entityManagerFactory(true);
+
+        inRequest(entityManager -> inTransaction(entityManager, false));
+        inRequest(entityManager -> inTransaction(entityManager, true));
+
+        verify(primaryConnection, times(2)).createStatement();
+        verify(replicaConnection, never()).createStatement();
+    }
+
+    @Test
+    @DisplayName("Task 4: A write in another session doesn't move this session's reads")
+    void testWriteThenRead_OtherSession_ReadOnReplica() throws SQLException {
+        entityManagerFactory = entityManagerFactory(true);
+
+        inRequest(entityManager -> inTransaction(entityManager, false));
+        startRequest();
+        inRequest(entityManager -> inTransaction(entityManager, true));
+
+        verify(primaryConnection, times(1)).createStatement();
+        verify(replicaConnection, times(1)).createStatement();
+    }
+
+    @Test
+    @DisplayName("Task 5: Unreachable replica sends reads to primary")
+    void testUnhealthyReplica_ReadOnPrimary() throws SQLException {
+        entityManagerFactory = entityManagerFactory(true);
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        guard.checkReplicaLag();
+
+        inRequest(entityManager -> inTransaction(entityManager, true));
+
+        assertThat(guard.isReplicaHealthy()).isFalse();
+        verify(primaryConnection, times(1)).createStatement();
+    }
+
+    @Test
+    @DisplayName("Task 6: Lazy loading outside a transaction, as the view does, uses primary")
+    void testNoTransaction_Primary() throws SQLException {
+        entityManagerFactory = entityManagerFactory(true);
+
+        inRequest(entityManager -> {
+            inTransaction(entityManager, true);
+            entityManager.unwrap(Session.class).doWork(connection -> connection.createStatement());
+        });
+
+        verify(replicaConnection, times(1)).createStatement();
+        verify(primaryConnection, times(1)).createStatement();
+    }
+
+    private EntityManagerFactory entityManagerFactory(boolean releaseAfterTransaction) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.dialect", "org.hibernate.dialect.MySQLDialect");
+        properties.put("hibernate.boot.allow_jdbc_metadata_access", "false");
+        if (releaseAfterTransaction) {
+            config.replicaConnectionHandling().customize(properties);
+        }
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(config.dataSource(primary, replica, guard));
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setPackagesToScan("menuorderingapp.project.model");
+        factory.setJpaPropertyMap(properties);
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+
+    private void startRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.getSession(true);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    // Binds one EntityManager for the duration, as OpenEntityManagerInViewInterceptor does for a request
+    private void inRequest(RequestWork work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            work.run(entityManager);
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    private void inTransaction(EntityManager entityManager, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        transaction.setReadOnly(readOnly);
+        transaction.executeWithoutResult(status ->
+                entityManager.unwrap(Session.class).doWork(connection -> connection.createStatement()));
+    }
+
+    @FunctionalInterface
+    private interface RequestWork {
+        void run(EntityManager entityManager);
+    }
+}
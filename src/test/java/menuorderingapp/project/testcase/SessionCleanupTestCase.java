@@ -0,0 +1,131 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.repository.SchedulerLockRepository;
+import menuorderingapp.project.repository.SessionCleanupRepository;
+import menuorderingapp.project.repository.SessionCleanupRepository.CashierSessionKey;
+import menuorderingapp.project.repository.SessionCleanupRepository.SpringSessionKey;
+import menuorderingapp.project.service.SessionCleanupService;
+import menuorderingapp.project.service.impl.SessionCleanupServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Session Cleanup Test")
+class SessionCleanupTestCase {
+
+    private static final String LOCK = SessionCleanupServiceImpl.LOCK_NAME;
+
+    @Mock
+    private SessionCleanupRepository sessionCleanupRepository;
+
+    @Mock
+    private SchedulerLockRepository lockRepository;
+
+    private SessionCleanupServiceImpl sessionCleanupService;
+
+    @BeforeEach
+    void setUp() {
+        sessionCleanupService = new SessionCleanupServiceImpl(
+                sessionCleanupRepository, lockRepository, "node-a", 2, 0, 60000);
+    }
+
+    @Test
+    @DisplayName("Task 1: Expired sessions are deleted in chunks, each continuing after the last key of the previous one")
+    void testCleanup_DeletesInKeysetChunks() {
+        LocalDateTime expired = LocalDateTime.now().minusHours(1);
+        CashierSessionKey first = new CashierSessionKey(1, expired);
+        CashierSessionKey second = new CashierSessionKey(2, expired);
+        CashierSessionKey third = new CashierSessionKey(3, expired.plusMinutes(1));
+        SpringSessionKey http = new SpringSessionKey("a", 1000);
+
+        when(lockRepository.tryAcquire(eq(LOCK), anyString(), eq(60000L))).thenReturn(true);
+        when(sessionCleanupRepository.findExpiredCashierSessions(any(), isNull(), eq(2)))
+                .thenReturn(List.of(first, second));
+        when(sessionCleanupRepository.findExpiredCashierSessions(any(), eq(second), eq(2)))
+                .thenReturn(List.of(third));
+        when(sessionCleanupRepository.deleteCashierSessions(anyList(), any()))
+                .thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+        when(sessionCleanupRepository.findExpiredSpringSessions(anyLong(), isNull(), eq(2)))
+                .thenReturn(List.of(http));
+        when(sessionCleanupRepository.deleteSpringSessions(eq(List.of(http)), anyLong())).thenReturn(1);
+
+        SessionCleanupService.CleanupRun run = sessionCleanupService.cleanupExpiredSessions();
+
+        assertThat(run.cashierSessionsDeleted()).isEqualTo(3);
+        assertThat(run.httpSessionsDeleted()).isEqualTo(1);
+        assertThat(run.batches()).isEqualTo(3);
+        assertThat(run.completed()).isTrue();
+        verify(sessionCleanupRepository).deleteCashierSessions(eq(List.of(first, second)), any());
+        verify(sessionCleanupRepository).deleteCashierSessions(eq(List.of(third)), any());
+        // Lease taken once up front and renewed after the one full chunk
+        verify(lockRepository, times(2)).tryAcquire(eq(LOCK), anyString(), eq(60000L));
+        verify(lockRepository).release(eq(LOCK), anyString());
+    }
+
+    @Test
+    @DisplayName("Task 2: Nothing is deleted while another node holds the cleanup lock")
+    void testCleanup_SkipsWithoutLock() {
+        when(lockRepository.tryAcquire(eq(LOCK), anyString(), anyLong())).thenReturn(false);
+
+        assertThat(sessionCleanupService.cleanupExpiredSessions()).isNull();
+
+        verifyNoInteractions(sessionCleanupRepository);
+        verify(lockRepository, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Task 3: A run stops after the chunk in progress when its lease is lost")
+    void testCleanup_StopsWhenLeaseLost() {
+        LocalDateTime expired = LocalDateTime.now().minusHours(1);
+        when(lockRepository.tryAcquire(eq(LOCK), anyString(), anyLong())).thenReturn(true, false);
+        when(sessionCleanupRepository.findExpiredCashierSessions(any(), isNull(), eq(2)))
+                .thenReturn(List.of(new CashierSessionKey(1, expired), new CashierSessionKey(2, expired)));
+        when(sessionCleanupRepository.deleteCashierSessions(anyList(), any())).thenReturn(2);
+
+        SessionCleanupService.CleanupRun run = sessionCleanupService.cleanupExpiredSessions();
+
+        assertThat(run.cashierSessionsDeleted()).isEqualTo(2);
+        assertThat(run.completed()).isFalse();
+        verify(sessionCleanupRepository, times(1)).findExpiredCashierSessions(any(), any(), anyInt());
+        verify(sessionCleanupRepository, never()).findExpiredSpringSessions(anyLong(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Task 4: Stats report the expired backlog, the lock holder and this node's last run")
+    void testStats_ReportBacklog() {
+        LocalDateTime oldest = LocalDateTime.now().minusDays(2);
+        when(lockRepository.tryAcquire(eq(LOCK), anyString(), anyLong())).thenReturn(true);
+        when(sessionCleanupRepository.findExpiredCashierSessions(any(), isNull(), eq(2)))
+                .thenReturn(List.of(new CashierSessionKey(1, oldest)));
+        when(sessionCleanupRepository.deleteCashierSessions(anyList(), any())).thenReturn(1);
+        when(sessionCleanupRepository.findExpiredSpringSessions(anyLong(), isNull(), eq(2))).thenReturn(List.of());
+        sessionCleanupService.cleanupExpiredSessions();
+
+        when(sessionCleanupRepository.getCashierSessionBacklog(any()))
+                .thenReturn(new SessionCleanupRepository.Backlog(0, null));
+        when(sessionCleanupRepository.getSpringSessionBacklog(anyLong()))
+                .thenReturn(new SessionCleanupRepository.Backlog(4200, oldest));
+        when(lockRepository.findHolder(LOCK)).thenReturn(
+                new SchedulerLockRepository.LockHolder("node-b:1", LocalDateTime.now().plusMinutes(1)));
+
+        SessionCleanupService.SessionCleanupStats stats = sessionCleanupService.getStats();
+
+        assertThat(stats.httpSessions().expiredRows()).isEqualTo(4200);
+        assertThat(stats.httpSessions().oldestExpiry()).isEqualTo(oldest);
+        assertThat(stats.cashierSessions().expiredRows()).isZero();
+        assertThat(stats.lockHolder()).isEqualTo("node-b:1");
+        assertThat(stats.lastRun().cashierSessionsDeleted()).isEqualTo(1);
+        assertThat(stats.totalDeleted()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,173 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.MenuOrderingAppApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application in a fresh JVM and measures the time until the first GET /api/menus succeeds:
+ * default settings, the prod profile, and the prod profile with an AppCDS archive built the same way as
+ * in the Dockerfile. Needs the MySQL database configured through .env or DB_URL.
+ * The AppCDS row needs the packaged jar (class data sharing can't archive classes from directories):
+ * mvn package -DskipTests && mvn test -Dtest=StartupBenchmarkTestCase -Dbenchmarks=true \
+ *     -Dbenchmark.jar=target/menu-ordering-app-0.0.1-SNAPSHOT.jar
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("Startup Benchmark")
+class StartupBenchmarkTestCase {
+
+    private static final int RUNS = Integer.getInteger("benchmark.runs", 3);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    private static final Path WORK_DIR = Paths.get("target", "startup-benchmark");
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @Test
+    @DisplayName("Task 1: Time to first request with default settings, prod profile and AppCDS")
+    void benchmarkTimeToFirstRequest() throws Exception {
+        Files.createDirectories(WORK_DIR);
+        List<String> launch = launchArguments();
+
+        List<Long> defaults = measure("default", launch, List.of());
+        List<Long> prod = measure("prod", launch, List.of("-Dspring.profiles.active=prod"));
+        List<Long> cds = null;
+        if (launch.get(0).equals("-jar")) {
+            Path archive = WORK_DIR.resolve("app.jsa").toAbsolutePath();
+            train(launch, archive);
+            cds = measure("prod-cds", launch,
+                    List.of("-Dspring.profiles.active=prod", "-XX:SharedArchiveFile=" + archive));
+        }
+
+        System.out.printf("%-10s %14s %10s %10s%n", "mode", "median ms", "min ms", "max ms");
+        print("default", defaults);
+        print("prod", prod);
+        if (cds != null) {
+            print("prod-cds", cds);
+        } else {
+            System.out.println("prod-cds   skipped, pass -Dbenchmark.jar=<packaged jar> to measure AppCDS");
+        }
+
+        assertThat(defaults).hasSize(RUNS);
+        assertThat(prod).hasSize(RUNS);
+    }
+
+    private List<String> launchArguments() throws Exception {
+        String jar = System.getProperty("benchmark.jar");
+        if (jar == null || jar.isBlank()) {
+            String classpath = Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                    .filter(entry -> !entry.endsWith("test-classes"))
+                    .collect(Collectors.joining(File.pathSeparator));
+            return List.of("-cp", classpath, MenuOrderingAppApplication.class.getName());
+        }
+
+        // Unpacked like the Dockerfile so the archive can map the application and library jars
+        Path extracted = WORK_DIR.resolve("app").toAbsolutePath();
+        run(List.of(java(), "-Djarmode=tools", "-jar", Paths.get(jar).toAbsolutePath().toString(),
+                "extract", "--force", "--destination", extracted.toString()), WORK_DIR.resolve("extract.log"));
+        try (Stream<Path> files = Files.list(extracted)) {
+            Path appJar = files.filter(file -> file.toString().endsWith(".jar")).findFirst().orElseThrow();
+            return List.of("-jar", appJar.toString());
+        }
+    }
+
+    // Refreshes the context without serving or migrating, recording every loaded class in the archive
+    private void train(List<String> launch, Path archive) throws Exception {
+        Files.deleteIfExists(archive);
+        List<String> command = new ArrayList<>(List.of(java(), "-XX:ArchiveClassesAtExit=" + archive,
+                "-Dspring.context.exit=onRefresh", "-Dspring.profiles.active=prod", "-Dspring.flyway.enabled=false"));
+        command.addAll(launch);
+        run(command, WORK_DIR.resolve("train.log"));
+        assertThat(archive).exists();
+    }
+
+    private List<Long> measure(String mode, List<String> launch, List<String> jvmOptions) throws Exception {
+        List<Long> timings = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            int port = freePort();
+            List<String> command = new ArrayList<>();
+            command.add(java());
+            command.addAll(jvmOptions);
+            command.addAll(launch);
+            command.add("--server.port=" + port);
+
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(WORK_DIR.resolve(mode + "-" + i + ".log").toFile())
+                    .start();
+            try {
+                awaitFirstResponse(process, port);
+                timings.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } finally {
+                process.destroy();
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        }
+        return timings;
+    }
+
+    private void awaitFirstResponse(Process process, int port) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/menus")).GET().build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            assertThat(process.isAlive()).as("application exited during startup, see " + WORK_DIR).isTrue();
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // not listening yet
+            }
+            Thread.sleep(25);
+        }
+        throw new AssertionError("No response within " + STARTUP_TIMEOUT);
+    }
+
+    private void run(List<String> command, Path log) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        assertThat(process.waitFor()).as("exit code of " + command + ", see " + log).isZero();
+    }
+
+    private static String java() {
+        return Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private void print(String mode, List<Long> timings) {
+        List<Long> sorted = new ArrayList<>(timings);
+        Collections.sort(sorted);
+        System.out.printf("%-10s %14d %10d %10d%n", mode, sorted.get(sorted.size() / 2),
+                sorted.get(0), sorted.get(sorted.size() - 1));
+    }
+}
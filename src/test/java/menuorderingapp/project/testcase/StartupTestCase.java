@@ -0,0 +1,169 @@
+package menuorderingapp.project.testcase;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import menuorderingapp.project.config.FlywayFastPath;
+import menuorderingapp.project.config.FlywayFastPath.AppliedMigration;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.internal.resolver.ChecksumCalculator;
+import org.flywaydb.core.internal.resource.classpath.ClassPathResource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Startup Test")
+class StartupTestCase {
+
+    private static final Pattern CREATE_TABLE = Pattern.compile(
+            "(?is)^\\s*CREATE\\s+TABLE\\s+(?:IF\\s+NOT\\s+EXISTS\\s+)?(\\w+)\\s*\\((.*)\\)");
+    private static final Pattern ADD_COLUMN = Pattern.compile(
+            "(?i)ALTER\\s+TABLE\\s+(\\w+)\\s+ADD\\s+COLUMN\\s+(\\w+)");
+    private static final Pattern COLUMN_DEFINITION = Pattern.compile("^(\\w+)\\s+\\w+");
+    private static final Set<String> TABLE_CLAUSES = Set.of(
+            "PRIMARY", "FOREIGN", "UNIQUE", "INDEX", "KEY", "CONSTRAINT", "CHECK");
+
+    @Test
+    @DisplayName("Task 1: Fast-path checksums are identical to Flyway's for every bundled migration")
+    void testChecksums_MatchFlyway() throws Exception {
+        Configuration config = Flyway.configure().locations("classpath:db/migration");
+
+        Map<MigrationVersion, Integer> checksums = FlywayFastPath.resolveChecksums(config);
+
+        assertThat(checksums).isNotEmpty();
+        Location location = new Location("classpath:db/migration");
+        for (Resource migration : migrations()) {
+            String filename = migration.getFilename();
+            int flywayChecksum = ChecksumCalculator.calculate(new ClassPathResource(location,
+                    "db/migration/" + filename, getClass().getClassLoader(), StandardCharsets.UTF_8));
+            String version = filename.substring(1, filename.indexOf("__"));
+            assertThat(checksums.get(MigrationVersion.fromVersion(version))).as(filename).isEqualTo(flywayChecksum);
+        }
+    }
+
+    @Test
+    @DisplayName("Task 2: Flyway is skipped only when every local migration is applied with the same checksum")
+    void testFastPath_RequiresMatchingHistory() {
+        Map<MigrationVersion, Integer> local = Map.of(v("1"), 11, v("2"), 22, v("3"), 33);
+
+        assertThat(FlywayFastPath.matches(local, List.of(sql("1", 11), sql("2", 22), sql("3", 33)))).isTrue();
+        // New migration not applied yet
+        assertThat(FlywayFastPath.matches(local, List.of(sql("1", 11), sql("2", 22)))).isFalse();
+        // Edited after it was applied
+        assertThat(FlywayFastPath.matches(local, List.of(sql("1", 11), sql("2", 99), sql("3", 33)))).isFalse();
+        // Failed migration needs repair
+        assertThat(FlywayFastPath.matches(local, List.of(sql("1", 11), sql("2", 22),
+                new AppliedMigration(v("3"), 33, "SQL", false)))).isFalse();
+        // Applied but no longer bundled
+        assertThat(FlywayFastPath.matches(Map.of(v("1"), 11, v("3"), 33),
+                List.of(sql("1", 11), sql("2", 22), sql("3", 33)))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Task 3: Baselined databases and migrations from a newer release still take the fast path")
+    void testFastPath_BaselineAndFutureMigrations() {
+        Map<MigrationVersion, Integer> local = Map.of(v("1"), 11, v("2"), 22, v("3"), 33);
+
+        assertThat(FlywayFastPath.matches(local, List.of(
+                new AppliedMigration(v("1"), null, "BASELINE", true), sql("2", 22), sql("3", 33)))).isTrue();
+        assertThat(FlywayFastPath.matches(local, List.of(
+                sql("1", 11), sql("2", 22), sql("3", 33), sql("4", 44)))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Task 4: Every mapped entity column is created by a migration, so the schema needs no runtime DDL")
+    void testMigrations_CoverEntityColumns() throws Exception {
+        Map<String, Set<String>> migrated = loadMigratedColumns();
+        List<String> missing = new ArrayList<>();
+
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        for (Resource resource : resolver.getResources("classpath:menuorderingapp/project/model/*.class")) {
+            Class<?> type = Class.forName("menuorderingapp.project.model." + resource.getFilename().replace(".class", ""));
+            if (!type.isAnnotationPresent(Entity.class)) {
+                continue;
+            }
+            String table = type.getAnnotation(Table.class).name().toLowerCase(Locale.ROOT);
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isAnnotationPresent(Transient.class)
+                        || field.isAnnotationPresent(OneToMany.class) || field.isAnnotationPresent(ManyToMany.class)) {
+                    continue;
+                }
+                String column = columnName(field);
+                if (!migrated.getOrDefault(table, Set.of()).contains(column)) {
+                    missing.add(table + "." + column);
+                }
+            }
+        }
+
+        assertThat(migrated).isNotEmpty();
+        assertThat(missing).isEmpty();
+    }
+
+    private static MigrationVersion v(String version) {
+        return MigrationVersion.fromVersion(version);
+    }
+
+    private static AppliedMigration sql(String version, int checksum) {
+        return new AppliedMigration(v(version), checksum, "SQL", true);
+    }
+
+    private Resource[] migrations() throws IOException {
+        return new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*.sql");
+    }
+
+    private Map<String, Set<String>> loadMigratedColumns() throws IOException {
+        Map<String, Set<String>> columns = new HashMap<>();
+        for (Resource migration : migrations()) {
+            String sql = migration.getContentAsString(StandardCharsets.UTF_8).replaceAll("--[^\\n]*", "");
+            for (String statement : sql.split(";")) {
+                Matcher table = CREATE_TABLE.matcher(statement);
+                if (table.find()) {
+                    Set<String> tableColumns = columns.computeIfAbsent(
+                            table.group(1).toLowerCase(Locale.ROOT), t -> new HashSet<>());
+                    for (String line : table.group(2).split("\\n")) {
+                        Matcher definition = COLUMN_DEFINITION.matcher(line.trim());
+                        if (definition.find() && !TABLE_CLAUSES.contains(definition.group(1).toUpperCase(Locale.ROOT))) {
+                            tableColumns.add(definition.group(1).toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+                Matcher added = ADD_COLUMN.matcher(statement);
+                while (added.find()) {
+                    columns.computeIfAbsent(added.group(1).toLowerCase(Locale.ROOT), t -> new HashSet<>())
+                            .add(added.group(2).toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return columns;
+    }
+
+    private String columnName(Field field) {
+        Column column = field.getAnnotation(Column.class);
+        if (column != null && !column.name().isEmpty()) {
+            return column.name().toLowerCase(Locale.ROOT);
+        }
+        JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+        if (joinColumn != null && !joinColumn.name().isEmpty()) {
+            return joinColumn.name().toLowerCase(Locale.ROOT);
+        }
+        return field.getName().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,137 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.config.StaticAssetPrecompressor;
+import menuorderingapp.project.config.WebConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Static Asset Test")
+class StaticAssetTestCase {
+
+    @TempDir
+    Path assetDir;
+
+    @Test
+    @DisplayName("Task 1: Scripts and stylesheets are written with a .gz that unpacks to the original")
+    void testPrecompress_WritesGzipVariants() throws IOException {
+        List<String> written = new StaticAssetPrecompressor(assetDir.toString(), 1024).precompress();
+
+        byte[] original = classpathBytes("static/js/cashier-app.js");
+        assertThat(written).contains("js/cashier-app.js", "css/customer-style.css");
+        assertThat(Files.readAllBytes(assetDir.resolve("js/cashier-app.js"))).isEqualTo(original);
+        assertThat(gunzip(Files.readAllBytes(assetDir.resolve("js/cashier-app.js.gz")))).isEqualTo(original);
+        assertThat(Files.size(assetDir.resolve("js/cashier-app.js.gz"))).isLessThan(original.length);
+        assertThat(assetDir.resolve("images")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Task 2: A restart rewrites only changed files and removes ones no longer on the classpath")
+    void testPrecompress_SyncsWithClasspath() throws IOException {
+        StaticAssetPrecompressor precompressor = new StaticAssetPrecompressor(assetDir.toString(), 1024);
+        precompressor.precompress();
+
+        Files.writeString(assetDir.resolve("js/cashier-app.js"), "// stale build");
+        Files.writeString(assetDir.resolve("js/removed-app.js"), "// gone");
+
+        assertThat(precompressor.precompress()).containsExactly("js/cashier-app.js");
+        assertThat(Files.readAllBytes(assetDir.resolve("js/cashier-app.js")))
+                .isEqualTo(classpathBytes("static/js/cashier-app.js"));
+        assertThat(assetDir.resolve("js/removed-app.js")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Task 3: Fingerprinted URLs serve the precompressed file with an immutable Cache-Control")
+    void testFingerprintedAsset_ServedPrecompressedAndImmutable() throws Exception {
+        new StaticAssetPrecompressor(assetDir.toString(), 1024).precompress();
+
+        try (AnnotationConfigWebApplicationContext context = webContext()) {
+            MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+            String hash = DigestUtils.md5DigestAsHex(classpathBytes("static/js/cashier-app.js"));
+
+            String url = context.getBean(ResourceUrlProvider.class).getForLookupPath("/js/cashier-app.js");
+            assertThat(url).isEqualTo("/js/cashier-app-" + hash + ".js");
+
+            mockMvc.perform(get(url).header("Accept-Encoding", "gzip, br"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Encoding", "gzip"))
+                    .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+                    .andExpect(content().bytes(Files.readAllBytes(assetDir.resolve("js/cashier-app.js.gz"))));
+
+            mockMvc.perform(get("/js/cashier-app.js"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("Content-Encoding"))
+                    .andExpect(header().string("Cache-Control", "no-cache, public"));
+
+            mockMvc.perform(get("/js/cashier-app-00000000000000000000000000000000.js"))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Test
+    @DisplayName("Task 4: Images are fingerprinted from the classpath when no precompressed copy exists")
+    void testImageAsset_FingerprintedFromClasspath() throws Exception {
+        try (AnnotationConfigWebApplicationContext context = webContext()) {
+            MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+            String url = context.getBean(ResourceUrlProvider.class).getForLookupPath("/images/menu/paket-hemat-1.jpg");
+            assertThat(url).matches("/images/menu/paket-hemat-1-[0-9a-f]{32}\\.jpg");
+
+            mockMvc.perform(get(url).header("Accept-Encoding", "gzip"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("Content-Encoding"))
+                    .andExpect(content().bytes(classpathBytes("static/images/menu/paket-hemat-1.jpg")));
+        }
+    }
+
+    private AnnotationConfigWebApplicationContext webContext() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.assets.precompressed-dir", assetDir.toString());
+        AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+        context.setEnvironment(environment);
+        context.setServletContext(new MockServletContext());
+        context.register(AssetWebConfig.class);
+        context.refresh();
+        return context;
+    }
+
+    private byte[] classpathBytes(String path) throws IOException {
+        return new ClassPathResource(path).getContentAsByteArray();
+    }
+
+    private byte[] gunzip(byte[] gzipped) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @Import(WebConfig.class)
+    static class AssetWebConfig {
+    }
+}
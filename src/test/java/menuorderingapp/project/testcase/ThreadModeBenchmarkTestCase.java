@@ -0,0 +1,171 @@
+package menuorderingapp.project.testcase;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import menuorderingapp.project.MenuOrderingAppApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application twice, with spring.threads.virtual.enabled off and on, and sends the same request
+ * mix over HTTP to each: menu page views, order creation, QR payments (ZXing render plus the 1s gateway wait)
+ * and daily reports. Requests go through the real Tomcat connector, Hikari pool, transactions and MySQL, so
+ * carrier pinning and connection hold times show up in the latencies. Requests arrive at a fixed rate (open
+ * model, like the load test). Needs the local MySQL test database from application-test.properties:
+ * mvn test -Dtest=ThreadModeBenchmarkTestCase -Dbenchmarks=true
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("Thread Mode Benchmark")
+class ThreadModeBenchmarkTestCase {
+
+    private static final int REQUESTS = 4000;
+    private static final int ARRIVALS_PER_SECOND = 400;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    @DisplayName("Task 1: Platform vs virtual threads on the running application")
+    void benchmarkThreadModes() throws Exception {
+        Result platform = runApplication(false);
+        Result virtual = runApplication(true);
+
+        System.out.printf("%-10s %10s %12s %10s %10s %8s%n", "mode", "wall ms", "req/s", "p50 ms", "p99 ms", "errors");
+        print("platform", platform);
+        print("virtual", virtual);
+
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+    }
+
+    private Result runApplication(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MenuOrderingAppApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "app.rate-limit.enabled=false",
+                        "app.archive.enabled=false")
+                .run()) {
+            String baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            long menuId = context.getBean(JdbcTemplate.class).queryForObject(
+                    "SELECT id FROM menus WHERE available = TRUE ORDER BY id LIMIT 1", Long.class);
+            String token = login(baseUrl);
+
+            // Warm up the JIT, ZXing and the pool so the first mode measured isn't penalised
+            run(baseUrl, menuId, token, REQUESTS / 10);
+            return run(baseUrl, menuId, token, REQUESTS);
+        }
+    }
+
+    private Result run(String baseUrl, long menuId, String token, int requests) throws Exception {
+        Random random = new Random(7);
+        AtomicInteger errors = new AtomicInteger();
+        List<Future<Long>> futures = new ArrayList<>(requests);
+
+        long interval = TimeUnit.SECONDS.toNanos(1) / ARRIVALS_PER_SECOND;
+        long start = System.nanoTime();
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                int roll = random.nextInt(100);
+                long submitted = start + i * interval;
+                LockSupport.parkNanos(submitted - System.nanoTime());
+                futures.add(senders.submit(() -> {
+                    try {
+                        handle(baseUrl, menuId, token, roll);
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    return System.nanoTime() - submitted;
+                }));
+            }
+        }
+        long wallNanos = System.nanoTime() - start;
+
+        List<Long> latencies = new ArrayList<>(requests);
+        for (Future<Long> future : futures) {
+            latencies.add(TimeUnit.NANOSECONDS.toMillis(future.get()));
+        }
+        Collections.sort(latencies);
+        return new Result(TimeUnit.NANOSECONDS.toMillis(wallNanos), latencies, errors.get());
+    }
+
+    private void handle(String baseUrl, long menuId, String token, int roll) throws Exception {
+        if (roll < 60) {
+            send(HttpRequest.newBuilder(URI.create(baseUrl + "/customer/menu")).GET());
+        } else if (roll < 85) {
+            createOrder(baseUrl, menuId);
+        } else if (roll < 95) {
+            String orderNumber = createOrder(baseUrl, menuId);
+            send(HttpRequest.newBuilder(URI.create(baseUrl + "/customer/api/orders/" + orderNumber + "/qr-code")).GET());
+            send(json(baseUrl + "/customer/api/payments",
+                    "{\"orderNumber\":\"" + orderNumber + "\",\"paymentMethod\":\"QR_CODE\",\"qrData\":\"bench\"}"));
+        } else {
+            send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/reports/daily?date=" + LocalDate.now()))
+                    .header("Authorization", "Bearer " + token)
+                    .GET());
+        }
+    }
+
+    private String createOrder(String baseUrl, long menuId) throws Exception {
+        JsonNode response = send(json(baseUrl + "/customer/api/orders",
+                "{\"customerName\":\"Benchmark\",\"items\":[{\"menuId\":" + menuId + ",\"quantity\":2}]}"));
+        return response.path("data").path("orderNumber").asText();
+    }
+
+    private String login(String baseUrl) throws Exception {
+        JsonNode response = send(json(baseUrl + "/auth/api/login",
+                "{\"username\":\"kasir1\",\"password\":\"password123\"}"));
+        return response.path("data").path("sessionToken").asText();
+    }
+
+    private HttpRequest.Builder json(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private JsonNode send(HttpRequest.Builder request) throws Exception {
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(response.uri() + " returned " + response.statusCode());
+        }
+        String contentType = response.headers().firstValue("Content-Type").orElse("");
+        return contentType.contains("json") ? objectMapper.readTree(response.body()) : null;
+    }
+
+    private void print(String mode, Result result) {
+        List<Long> latencies = result.latenciesMs();
+        System.out.printf("%-10s %10d %12.1f %10d %10d %8d%n", mode, result.wallMs(),
+                latencies.size() * 1000.0 / Math.max(1, result.wallMs()),
+                latencies.get(latencies.size() / 2),
+                latencies.get((int) (latencies.size() * 0.99)),
+                result.errors());
+    }
+
+    private record Result(long wallMs, List<Long> latenciesMs, int errors) {
+    }
+}
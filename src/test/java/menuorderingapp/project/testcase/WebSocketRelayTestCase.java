@@ -0,0 +1,68 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.config.JdbcPollingWebSocketRelay;
+import menuorderingapp.project.config.StompBrokerWebSocketRelay;
+import menuorderingapp.project.controller.OrderWebSocketController;
+import menuorderingapp.project.service.BroadcastService;
+import menuorderingapp.project.service.impl.BroadcastServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WebSocket Relay Test")
+class WebSocketRelayTestCase {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private BroadcastService broadcastService;
+
+    @Test
+    @DisplayName("Task 1: Broadcasts carry the node id and a gap-free sequence per destination")
+    @SuppressWarnings("unchecked")
+    void testSend_SequencePerDestination() {
+        BroadcastServiceImpl broadcaster = new BroadcastServiceImpl(messagingTemplate, "node-a");
+
+        broadcaster.send("/topic/orders", "a");
+        broadcaster.send("/topic/dashboard", "refresh");
+        broadcaster.send("/topic/orders", "b");
+
+        ArgumentCaptor<Map<String, Object>> headers = ArgumentCaptor.forClass(Map.class);
+        verify(messagingTemplate, times(3)).convertAndSend(anyString(), any(Object.class), headers.capture());
+        List<Map<String, Object>> sent = headers.getAllValues();
+        assertThat(sent).extracting(h -> h.get(BroadcastService.SEQUENCE_HEADER)).containsExactly("1", "1", "2");
+        assertThat((String) sent.get(0).get(BroadcastService.NODE_HEADER)).startsWith("node-a:");
+        assertThat(sent).extracting(h -> h.get(BroadcastService.NODE_HEADER)).containsOnly(sent.get(0).get(BroadcastService.NODE_HEADER));
+    }
+
+    @Test
+    @DisplayName("Task 2: Node-local broker relays the outbox under a per-node checkpoint")
+    void testConsumerName_PerNodeWithLocalBroker() {
+        OrderWebSocketController webSocket = new OrderWebSocketController(
+                broadcastService, new JdbcPollingWebSocketRelay(), "node-a");
+
+        assertThat(webSocket.getConsumerName()).isEqualTo("websocket@node-a");
+    }
+
+    @Test
+    @DisplayName("Task 3: Cluster-wide broker relays each event once under a shared checkpoint")
+    void testConsumerName_SharedWithBrokerRelay() {
+        OrderWebSocketController webSocket = new OrderWebSocketController(
+                broadcastService, new StompBrokerWebSocketRelay(), "node-a");
+
+        assertThat(webSocket.getConsumerName()).isEqualTo("websocket");
+    }
+}
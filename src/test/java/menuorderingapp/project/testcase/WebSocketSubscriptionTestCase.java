@@ -0,0 +1,101 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.config.JdbcPollingWebSocketRelay;
+import menuorderingapp.project.config.WebSocketSubscriptionInterceptor;
+import menuorderingapp.project.controller.OrderWebSocketController;
+import menuorderingapp.project.model.Cashier;
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.security.CashierUserDetails;
+import menuorderingapp.project.service.BroadcastService;
+import menuorderingapp.project.service.OrderEventService;
+import menuorderingapp.project.util.CustomerOrderSession;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.math.BigDecimal;
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WebSocket Subscription Test")
+class WebSocketSubscriptionTestCase {
+
+    @Mock
+    private BroadcastService broadcastService;
+
+    private final WebSocketSubscriptionInterceptor interceptor = new WebSocketSubscriptionInterceptor();
+
+    @Test
+    @DisplayName("Task 1: Only cashiers may subscribe to the shared order and dashboard topics")
+    void testSharedTopics_CashiersOnly() {
+        CashierUserDetails cashier = new CashierUserDetails(
+                new Cashier("kasir", "hash", "Kasir", Cashier.CashierRole.CASHIER));
+        Principal user = new UsernamePasswordAuthenticationToken(cashier, null, cashier.getAuthorities());
+
+        assertThat(interceptor.preSend(subscribe("/topic/orders", user, Map.of()), null)).isNotNull();
+        assertThat(interceptor.preSend(subscribe("/topic/orders/ORD-OTHER", user, Map.of()), null)).isNotNull();
+        assertThatThrownBy(() -> interceptor.preSend(subscribe("/topic/orders", null, Map.of()), null))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> interceptor.preSend(subscribe("/topic/dashboard", null, Map.of()), null))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThat(interceptor.preSend(subscribe("/topic/menu", null, Map.of()), null)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Task 2: A customer may subscribe only to orders created in their own session")
+    void testOrderTopic_CreatorSessionOnly() {
+        MockHttpSession session = new MockHttpSession();
+        CustomerOrderSession.remember(session, "ORD-TEST0001");
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(CustomerOrderSession.SESSION_KEY, session.getAttribute(CustomerOrderSession.SESSION_KEY));
+
+        assertThat(interceptor.preSend(subscribe("/topic/orders/ORD-TEST0001", null, attributes), null)).isNotNull();
+        assertThatThrownBy(() -> interceptor.preSend(subscribe("/topic/orders/ORD-TEST0002", null, attributes), null))
+                .isInstanceOf(AccessDeniedException.class);
+        // The broker matches subscriptions as patterns, so a wildcard would receive every order
+        assertThatThrownBy(() -> interceptor.preSend(subscribe("/topic/orders/**", null, attributes), null))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    @DisplayName("Task 3: Each order update also goes to the order's own topic without a sequence number")
+    void testBroadcast_PerOrderTopic() {
+        OrderWebSocketController webSocket = new OrderWebSocketController(
+                broadcastService, new JdbcPollingWebSocketRelay(), "node-a");
+        Order order = new Order(Order.OrderType.CUSTOMER_SELF, "Budi", new BigDecimal("45000"));
+        order.setId(1L);
+        order.setOrderNumber("ORD-TEST0001");
+
+        webSocket.consume(List.of(new OrderEventService.OrderEvent(1, OrderEventService.EventType.PAID, null, order)));
+
+        verify(broadcastService).send(eq("/topic/orders"), any(Object.class));
+        verify(broadcastService).sendUnsequenced(eq("/topic/orders/ORD-TEST0001"), any(Object.class));
+    }
+
+    private Message<byte[]> subscribe(String destination, Principal user, Map<String, Object> attributes) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        accessor.setUser(user);
+        accessor.setSessionAttributes(attributes);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}